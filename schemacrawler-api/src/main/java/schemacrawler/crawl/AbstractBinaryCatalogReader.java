@@ -0,0 +1,798 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_AUTO_INCREMENTED;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_GENERATED;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_HIDDEN;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_IN_CATALOG;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_NONE;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_NULLABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PARTIAL;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PART_OF_INDEX;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PART_OF_PRIMARY_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PART_OF_UNIQUE_INDEX;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_ALTERNATE_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_FOREIGN_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_PRIMARY_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_TABLE_CONSTRAINT;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_AUTO_INCREMENTABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_CASE_SENSITIVE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_FIXED_PRECISION_SCALE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_NULLABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_UNSIGNED;
+import static schemacrawler.crawl.BinaryCatalogFormat.FUNCTION;
+import static schemacrawler.crawl.BinaryCatalogFormat.PROCEDURE;
+import static schemacrawler.crawl.BinaryCatalogFormat.REFERENCED_OTHER;
+import static schemacrawler.crawl.BinaryCatalogFormat.REFERENCED_ROUTINE;
+import static schemacrawler.crawl.BinaryCatalogFormat.REFERENCED_TABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.TABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VIEW;
+
+import java.io.IOException;
+import java.math.BigInteger;
+import java.sql.DriverPropertyInfo;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import schemacrawler.BaseProductVersion;
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.ParameterModeType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Reads objects in the SchemaCrawler binary catalog format. The encoding of each object is the same
+ * whether a catalog is read as a single stream, or from the indexed layout. Subclasses decide which
+ * objects are read, and how references to tables, foreign keys, weak associations and routines by
+ * position are resolved.
+ */
+abstract class AbstractBinaryCatalogReader {
+
+  static <T> T lookup(final List<T> list, final int index) throws IOException {
+    if (index < 0 || index >= list.size()) {
+      throw new IOException(String.format("Bad reference <%d> in binary catalog", index));
+    }
+    return list.get(index);
+  }
+
+  final BinaryCatalogInput in;
+  private final Map<List<String>, SchemaReference> schemas;
+  private final List<MutableColumnDataType> columnDataTypes;
+  private final JavaSqlTypes javaSqlTypes;
+
+  AbstractBinaryCatalogReader(final BinaryCatalogInput in) {
+    this.in = requireNonNull(in, "No input provided");
+    schemas = new HashMap<>();
+    columnDataTypes = new ArrayList<>();
+    javaSqlTypes = new JavaSqlTypes();
+  }
+
+  /**
+   * Adds a table as soon as it is created, before the rest of the table is read, so that the table
+   * can refer to itself.
+   *
+   * @param table Table that is being read
+   */
+  abstract void addTable(MutableTable table);
+
+  abstract MutableForeignKey lookupForeignKey(int foreignKeyIndex) throws IOException;
+
+  abstract DatabaseObject lookupRoutine(int routineIndex) throws IOException;
+
+  /**
+   * Looks up a table in the catalog by position.
+   *
+   * @param tableIndex Position of the table
+   * @return Table, or null if the table is in the catalog but was not read
+   */
+  abstract MutableTable lookupTable(int tableIndex) throws IOException;
+
+  abstract MutableWeakAssociation lookupWeakAssociation(int weakAssociationIndex)
+      throws IOException;
+
+  /**
+   * Looks up the partial table for a table in the catalog that was not read. Every reference to the
+   * same table gets the same partial table.
+   *
+   * @param tableIndex Position of the table
+   * @return Partial table
+   */
+  abstract TablePartial lookupTablePartial(int tableIndex) throws IOException;
+
+  /** Schemas are shared, so that all objects in the same schema have the same schema reference. */
+  SchemaReference lookupSchema(final String catalogName, final String schemaName) {
+    final List<String> key = Arrays.asList(catalogName, schemaName);
+    SchemaReference schema = schemas.get(key);
+    if (schema == null) {
+      schema = new SchemaReference(catalogName, schemaName);
+      schemas.put(key, schema);
+    }
+    return schema;
+  }
+
+  /**
+   * Reads the catalog itself, with database and driver information, schemas, column data types and
+   * database users.
+   *
+   * @return Catalog, without any tables, routines, sequences or synonyms
+   */
+  MutableCatalog readCatalog() throws IOException {
+    // A new catalog does not share any objects with a catalog that was read before
+    schemas.clear();
+    columnDataTypes.clear();
+
+    final String catalogName = in.readString();
+    final Map<String, Object> catalogAttributes = in.readAttributes();
+
+    final MutableDatabaseInfo databaseInfo = readDatabaseInfo();
+    final MutableJdbcDriverInfo jdbcDriverInfo = readJdbcDriverInfo();
+    final MutableCatalog catalog = new MutableCatalog(catalogName, databaseInfo, jdbcDriverInfo);
+    catalog.addAttributes(catalogAttributes);
+    catalog.setCrawlInfo(readCrawlInfo());
+
+    final int schemasCount = in.readCount();
+    for (int i = 0; i < schemasCount; i++) {
+      final SchemaReference schema = readSchema();
+      for (final Map.Entry<String, Object> attribute : in.readAttributes().entrySet()) {
+        schema.setAttribute(attribute.getKey(), attribute.getValue());
+      }
+      catalog.addSchema(schema);
+    }
+
+    final int catalogColumnDataTypesCount = readColumnDataTypes();
+    for (int i = 0; i < catalogColumnDataTypesCount; i++) {
+      catalog.addColumnDataType(columnDataTypes.get(i));
+    }
+
+    final int databaseUsersCount = in.readCount();
+    for (int i = 0; i < databaseUsersCount; i++) {
+      final ImmutableDatabaseUser databaseUser = new ImmutableDatabaseUser(in.readString());
+      databaseUser.addAttributes(in.readAttributes());
+      catalog.addDatabaseUser(databaseUser);
+    }
+
+    return catalog;
+  }
+
+  MutableForeignKey readForeignKey() throws IOException {
+    final String name = in.readString();
+    final Map<String, Object> attributes = in.readAttributes();
+    final int columnReferencesCount = in.readCount();
+    if (columnReferencesCount == 0) {
+      throw new IOException(String.format("No column references for foreign key <%s>", name));
+    }
+
+    MutableForeignKey foreignKey = null;
+    for (int i = 0; i < columnReferencesCount; i++) {
+      final Column fkColumn = readColumnReference();
+      final Column pkColumn = readColumnReference();
+      final int keySequence = in.readSignedVarInt();
+      final ImmutableColumnReference columnReference =
+          new ImmutableColumnReference(keySequence, fkColumn, pkColumn);
+      if (foreignKey == null) {
+        foreignKey = new MutableForeignKey(name, columnReference);
+      } else {
+        foreignKey.addColumnReference(columnReference);
+      }
+
+      // Link partial columns to the foreign key, the same way as when the catalog is crawled
+      if (fkColumn instanceof ColumnPartial) {
+        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+      }
+      if (fkColumn.getParent() instanceof TablePartial) {
+        ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      if (pkColumn.getParent() instanceof TablePartial) {
+        ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+    }
+    foreignKey.addAttributes(attributes);
+
+    foreignKey.setUpdateRule(in.readEnum(ForeignKeyUpdateRule.class, ForeignKeyUpdateRule.unknown));
+    foreignKey.setDeleteRule(in.readEnum(ForeignKeyUpdateRule.class, ForeignKeyUpdateRule.unknown));
+    foreignKey.setDeferrability(
+        in.readEnum(ForeignKeyDeferrability.class, ForeignKeyDeferrability.unknown));
+    foreignKey.appendDefinition(in.readString());
+    return foreignKey;
+  }
+
+  MutableRoutine readRoutine() throws IOException {
+    final int routineType = in.readVarInt();
+    final Schema schema = readSchema();
+    final String name = in.readString();
+    final String specificName = in.readString();
+
+    final MutableRoutine routine;
+    if (routineType == FUNCTION) {
+      final MutableFunction function = new MutableFunction(schema, name, specificName);
+      function.setReturnType(in.readEnum(FunctionReturnType.class, FunctionReturnType.unknown));
+      routine = function;
+    } else if (routineType == PROCEDURE) {
+      final MutableProcedure procedure = new MutableProcedure(schema, name, specificName);
+      procedure.setReturnType(in.readEnum(ProcedureReturnType.class, ProcedureReturnType.unknown));
+      routine = procedure;
+    } else {
+      throw new IOException(String.format("Bad routine type <%d> in binary catalog", routineType));
+    }
+    routine.setRoutineBodyType(in.readEnum(RoutineBodyType.class, RoutineBodyType.unknown));
+    routine.appendDefinition(in.readString());
+    routine.addAttributes(in.readAttributes());
+
+    final int parametersCount = in.readCount();
+    for (int i = 0; i < parametersCount; i++) {
+      final String parameterName = in.readString();
+      final ParameterModeType parameterMode = in.readEnum(ParameterModeType.class, null);
+      if (routine instanceof MutableFunction) {
+        final MutableFunction function = (MutableFunction) routine;
+        final MutableFunctionParameter parameter =
+            new MutableFunctionParameter(function, parameterName);
+        parameter.setParameterMode(parameterMode);
+        readColumnFields(parameter);
+        function.addParameter(parameter);
+      } else {
+        final MutableProcedure procedure = (MutableProcedure) routine;
+        final MutableProcedureParameter parameter =
+            new MutableProcedureParameter(procedure, parameterName);
+        parameter.setParameterMode(parameterMode);
+        readColumnFields(parameter);
+        procedure.addParameter(parameter);
+      }
+    }
+
+    return routine;
+  }
+
+  void readSequencesAndSynonyms(final MutableCatalog catalog) throws IOException {
+    final int sequencesCount = in.readCount();
+    for (int i = 0; i < sequencesCount; i++) {
+      catalog.addSequence(readSequence());
+    }
+
+    final int synonymsCount = in.readCount();
+    for (int i = 0; i < synonymsCount; i++) {
+      catalog.addSynonym(readSynonym());
+    }
+  }
+
+  MutableTable readTable() throws IOException {
+    final int tableKind = in.readVarInt();
+    final Schema schema = readSchema();
+    final String name = in.readString();
+    final MutableTable table;
+    if (tableKind == VIEW) {
+      table = new MutableView(schema, name);
+    } else if (tableKind == TABLE) {
+      table = new MutableTable(schema, name);
+    } else {
+      throw new IOException(String.format("Bad table type <%d> in binary catalog", tableKind));
+    }
+    // Add the table right away, so that its own indexes can refer to it
+    addTable(table);
+
+    table.setTableType(new TableType(in.readString()));
+    table.setSortIndex(in.readSignedVarInt());
+    table.appendDefinition(in.readString());
+    table.addAttributes(in.readAttributes());
+
+    final int columnsCount = in.readCount();
+    for (int i = 0; i < columnsCount; i++) {
+      table.addColumn(readColumn(table));
+    }
+    final int hiddenColumnsCount = in.readCount();
+    for (int i = 0; i < hiddenColumnsCount; i++) {
+      table.addHiddenColumn(readColumn(table));
+    }
+
+    if (in.readBoolean()) {
+      final MutablePrimaryKey primaryKey = MutablePrimaryKey.newPrimaryKey(table, in.readString());
+      in.readEnum(TableConstraintType.class, TableConstraintType.primary_key);
+      readTableConstraintDetails(primaryKey, table);
+      table.setPrimaryKey(primaryKey);
+    }
+    final int alternateKeysCount = in.readCount();
+    for (int i = 0; i < alternateKeysCount; i++) {
+      final MutablePrimaryKey alternateKey =
+          MutablePrimaryKey.newAlternateKey(table, in.readString());
+      in.readEnum(TableConstraintType.class, TableConstraintType.alternate_key);
+      readTableConstraintDetails(alternateKey, table);
+      table.addAlternateKey(alternateKey);
+    }
+
+    final int indexesCount = in.readCount();
+    for (int i = 0; i < indexesCount; i++) {
+      table.addIndex(readIndex(table));
+    }
+
+    final int triggersCount = in.readCount();
+    for (int i = 0; i < triggersCount; i++) {
+      final MutableTrigger trigger = new MutableTrigger(table, in.readString());
+      trigger.setEventManipulationType(
+          in.readEnum(EventManipulationType.class, EventManipulationType.unknown));
+      trigger.setActionOrder(in.readSignedVarInt());
+      trigger.appendActionCondition(in.readString());
+      trigger.appendActionStatement(in.readString());
+      trigger.setActionOrientation(
+          in.readEnum(ActionOrientationType.class, ActionOrientationType.unknown));
+      trigger.setConditionTiming(
+          in.readEnum(ConditionTimingType.class, ConditionTimingType.unknown));
+      trigger.addAttributes(in.readAttributes());
+      table.addTrigger(trigger);
+    }
+
+    final int privilegesCount = in.readCount();
+    for (int i = 0; i < privilegesCount; i++) {
+      table.addPrivilege(readPrivilege(new TablePointer(table)));
+    }
+
+    if (table instanceof MutableView) {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(in.readEnum(CheckOptionType.class, null));
+      view.setUpdatable(in.readBoolean());
+    }
+
+    return table;
+  }
+
+  void readTableRelationships(final MutableTable table) throws IOException {
+    final int foreignKeysCount = in.readCount();
+    for (int i = 0; i < foreignKeysCount; i++) {
+      table.addForeignKey(lookupForeignKey(in.readVarInt()));
+    }
+    final int weakAssociationsCount = in.readCount();
+    for (int i = 0; i < weakAssociationsCount; i++) {
+      table.addWeakAssociation(lookupWeakAssociation(in.readVarInt()));
+    }
+
+    final int tableConstraintsCount = in.readCount();
+    for (int i = 0; i < tableConstraintsCount; i++) {
+      final int tableConstraintKind = in.readVarInt();
+      switch (tableConstraintKind) {
+        case CONSTRAINT_PRIMARY_KEY:
+          table.addTableConstraint(table.getPrimaryKey());
+          break;
+        case CONSTRAINT_FOREIGN_KEY:
+          table.addTableConstraint(lookupForeignKey(in.readVarInt()));
+          break;
+        case CONSTRAINT_ALTERNATE_KEY:
+          final String alternateKeyName = in.readString();
+          final Optional<MutablePrimaryKey> alternateKey =
+              table.lookupAlternateKey(alternateKeyName);
+          if (alternateKey.isPresent()) {
+            table.addTableConstraint(alternateKey.get());
+          }
+          break;
+        case CONSTRAINT_TABLE_CONSTRAINT:
+          final MutableTableConstraint tableConstraint =
+              new MutableTableConstraint(table, in.readString());
+          tableConstraint.setTableConstraintType(
+              in.readEnum(TableConstraintType.class, TableConstraintType.unknown));
+          readTableConstraintDetails(tableConstraint, table);
+          table.addTableConstraint(tableConstraint);
+          break;
+        default:
+          throw new IOException(
+              String.format(
+                  "Bad table constraint type <%d> in binary catalog", tableConstraintKind));
+      }
+    }
+
+    final int referencingColumnsCount = in.readCount();
+    for (int i = 0; i < referencingColumnsCount; i++) {
+      final String columnName = in.readString();
+      final Column referencedColumn = readColumnReference();
+      final Optional<MutableColumn> optionalColumn = table.lookupColumn(columnName);
+      if (optionalColumn.isPresent()) {
+        optionalColumn.get().setReferencedColumn(referencedColumn);
+      }
+    }
+
+    if (table instanceof MutableView) {
+      final MutableView view = (MutableView) table;
+      final int tableUsageCount = in.readCount();
+      for (int i = 0; i < tableUsageCount; i++) {
+        final MutableTable usedTable = lookupTable(in.readVarInt());
+        if (usedTable != null) {
+          view.addTableUsage(usedTable);
+        }
+      }
+    }
+  }
+
+  MutableWeakAssociation readWeakAssociation() throws IOException {
+    final String name = in.readString();
+    final Map<String, Object> attributes = in.readAttributes();
+    final int columnReferencesCount = in.readCount();
+    if (columnReferencesCount == 0) {
+      throw new IOException(String.format("No column references for weak association <%s>", name));
+    }
+    MutableWeakAssociation weakAssociation = null;
+    for (int i = 0; i < columnReferencesCount; i++) {
+      final Column fkColumn = readColumnReference();
+      final Column pkColumn = readColumnReference();
+      final ImmutableColumnReference columnReference =
+          new ImmutableColumnReference(in.readSignedVarInt(), fkColumn, pkColumn);
+      if (weakAssociation == null) {
+        weakAssociation = new MutableWeakAssociation(name, columnReference);
+      } else {
+        weakAssociation.addColumnReference(columnReference);
+      }
+    }
+    weakAssociation.addAttributes(attributes);
+    return weakAssociation;
+  }
+
+  private ColumnPartial newColumnPartial(final TablePartial partialTable, final String columnName) {
+    final ColumnPartial partialColumn = new ColumnPartial(partialTable, columnName);
+    partialTable.addColumn(partialColumn);
+    return partialColumn;
+  }
+
+  private BigInteger readBigInteger() throws IOException {
+    final String value = in.readString();
+    return value == null ? null : new BigInteger(value);
+  }
+
+  private MutableColumn readColumn(final MutableTable table) throws IOException {
+    final MutableColumn column = new MutableColumn(table, in.readString());
+    final int flags = in.readVarInt();
+    readColumnFields(column);
+    column.setNullable((flags & COLUMN_NULLABLE) != 0);
+    column.setAutoIncremented((flags & COLUMN_AUTO_INCREMENTED) != 0);
+    column.setGenerated((flags & COLUMN_GENERATED) != 0);
+    column.setHidden((flags & COLUMN_HIDDEN) != 0);
+    if ((flags & COLUMN_PART_OF_INDEX) != 0) {
+      column.markAsPartOfIndex();
+    }
+    if ((flags & COLUMN_PART_OF_PRIMARY_KEY) != 0) {
+      column.markAsPartOfPrimaryKey();
+    }
+    if ((flags & COLUMN_PART_OF_UNIQUE_INDEX) != 0) {
+      column.markAsPartOfUniqueIndex();
+    }
+    column.setDefaultValue(in.readString());
+
+    final int privilegesCount = in.readCount();
+    for (int i = 0; i < privilegesCount; i++) {
+      column.addPrivilege(readPrivilege(new ColumnPointer(column)));
+    }
+    return column;
+  }
+
+  private MutableColumnDataType readColumnDataTypeReference() throws IOException {
+    final int reference = in.readVarInt();
+    if (reference == 0) {
+      return null;
+    }
+    return lookup(columnDataTypes, reference - 1);
+  }
+
+  /**
+   * Reads column data types, including those that are not in the catalog itself.
+   *
+   * @return Number of column data types that belong in the catalog
+   */
+  private int readColumnDataTypes() throws IOException {
+    final int columnDataTypesCount = in.readCount();
+    final int catalogColumnDataTypesCount = in.readCount();
+    if (catalogColumnDataTypesCount > columnDataTypesCount) {
+      throw new IOException("Bad column data types count in binary catalog");
+    }
+
+    for (int i = 0; i < columnDataTypesCount; i++) {
+      final Schema schema = readSchema();
+      final String name = in.readString();
+      final DataTypeType type = in.readEnum(DataTypeType.class, DataTypeType.system);
+      final MutableColumnDataType columnDataType = new MutableColumnDataType(schema, name, type);
+
+      final int flags = in.readVarInt();
+      columnDataType.setAutoIncrementable((flags & DATA_TYPE_AUTO_INCREMENTABLE) != 0);
+      columnDataType.setCaseSensitive((flags & DATA_TYPE_CASE_SENSITIVE) != 0);
+      columnDataType.setFixedPrecisionScale((flags & DATA_TYPE_FIXED_PRECISION_SCALE) != 0);
+      columnDataType.setNullable((flags & DATA_TYPE_NULLABLE) != 0);
+      columnDataType.setUnsigned((flags & DATA_TYPE_UNSIGNED) != 0);
+
+      columnDataType.setJavaSqlType(javaSqlTypes.valueOf(in.readSignedVarInt()));
+      columnDataType.setTypeMappedClass(in.readString());
+      columnDataType.setCreateParameters(in.readString());
+      columnDataType.setEnumValues(in.readStrings());
+      columnDataType.setLiteralPrefix(in.readString());
+      columnDataType.setLiteralSuffix(in.readString());
+      columnDataType.setLocalTypeName(in.readString());
+      columnDataType.setMaximumScale(in.readSignedVarInt());
+      columnDataType.setMinimumScale(in.readSignedVarInt());
+      columnDataType.setNumPrecisionRadix(in.readSignedVarInt());
+      columnDataType.setPrecision(in.readSignedVarLong());
+      columnDataType.setSearchable(in.readEnum(SearchableType.class, SearchableType.unknown));
+      columnDataType.addAttributes(in.readAttributes());
+
+      columnDataTypes.add(columnDataType);
+    }
+    for (final MutableColumnDataType columnDataType : columnDataTypes) {
+      columnDataType.setBaseType(readColumnDataTypeReference());
+    }
+
+    return catalogColumnDataTypesCount;
+  }
+
+  private void readColumnFields(final AbstractColumn<?> column) throws IOException {
+    column.setOrdinalPosition(in.readSignedVarInt());
+    column.setSize(in.readSignedVarInt());
+    column.setDecimalDigits(in.readSignedVarInt());
+    column.setNullable(in.readBoolean());
+    column.setColumnDataType(readColumnDataTypeReference());
+    column.addAttributes(in.readAttributes());
+  }
+
+  private Column readColumnReference() throws IOException {
+    final int columnReferenceType = in.readVarInt();
+    switch (columnReferenceType) {
+      case COLUMN_NONE:
+        return null;
+      case COLUMN_IN_CATALOG:
+        final int tableIndex = in.readVarInt();
+        final String columnName = in.readString();
+        final MutableTable table = lookupTable(tableIndex);
+        if (table == null) {
+          return newColumnPartial(lookupTablePartial(tableIndex), columnName);
+        }
+        final Optional<MutableColumn> optionalColumn = table.lookupColumn(columnName);
+        if (optionalColumn.isPresent()) {
+          return optionalColumn.get();
+        }
+        return new ColumnPartial(table, columnName);
+      case COLUMN_PARTIAL:
+        final TablePartial partialTable = new TablePartial(readSchema(), in.readString());
+        return newColumnPartial(partialTable, in.readString());
+      default:
+        throw new IOException(
+            String.format("Bad column reference type <%d> in binary catalog", columnReferenceType));
+    }
+  }
+
+  private MutableCrawlInfo readCrawlInfo() throws IOException {
+    final ProductVersion schemaCrawlerVersion = readProductVersion();
+    final ProductVersion operatingSystemVersion = readProductVersion();
+    final ProductVersion jvmVersion = readProductVersion();
+    final ProductVersion databaseVersion = readProductVersion();
+    final ProductVersion jdbcDriverVersion = readProductVersion();
+    final Instant crawlTimestamp = Instant.ofEpochSecond(in.readSignedVarLong(), in.readVarInt());
+    final UUID runId = UUID.fromString(in.readString());
+    final List<String> skippedRetrievals = in.readStrings();
+    return new MutableCrawlInfo(
+        schemaCrawlerVersion,
+        operatingSystemVersion,
+        jvmVersion,
+        databaseVersion,
+        jdbcDriverVersion,
+        crawlTimestamp,
+        runId,
+        skippedRetrievals);
+  }
+
+  private MutableDatabaseInfo readDatabaseInfo() throws IOException {
+    final String productName = in.readString();
+    final String productVersion = in.readString();
+    final String userName = in.readString();
+    final MutableDatabaseInfo databaseInfo =
+        new MutableDatabaseInfo(productName, productVersion, userName);
+
+    final int serverInfoCount = in.readCount();
+    for (int i = 0; i < serverInfoCount; i++) {
+      final String name = in.readString();
+      final String value = in.readString();
+      final String description = in.readString();
+      databaseInfo.addServerInfo(new ImmutableServerInfoProperty(name, value, description));
+    }
+
+    final int propertiesCount = in.readCount();
+    final List<ImmutableDatabaseProperty> properties = new ArrayList<>(propertiesCount);
+    for (int i = 0; i < propertiesCount; i++) {
+      final String name = in.readString();
+      final Object value = in.readValue();
+      properties.add(new ImmutableDatabaseProperty(name, value));
+    }
+    databaseInfo.addAll(properties);
+
+    return databaseInfo;
+  }
+
+  private MutableIndex readIndex(final MutableTable table) throws IOException {
+    final MutableIndex index = new MutableIndex(table, in.readString());
+    index.setUnique(in.readBoolean());
+    index.setIndexType(in.readEnum(IndexType.class, IndexType.unknown));
+    index.setCardinality(in.readSignedVarLong());
+    index.setPages(in.readSignedVarLong());
+    index.appendDefinition(in.readString());
+    index.addAttributes(in.readAttributes());
+
+    final int columnsCount = in.readCount();
+    for (int i = 0; i < columnsCount; i++) {
+      final Column column = requireNonNull(readColumnReference(), "No index column");
+      final MutableIndexColumn indexColumn = new MutableIndexColumn(index, column);
+      indexColumn.setKeyOrdinalPosition(in.readSignedVarInt());
+      indexColumn.setSortSequence(in.readEnum(IndexColumnSortSequence.class, null));
+      index.addColumn(indexColumn);
+    }
+    return index;
+  }
+
+  private MutableJdbcDriverInfo readJdbcDriverInfo() throws IOException {
+    final String driverName = in.readString();
+    final String driverVersion = in.readString();
+    final String driverClassName = in.readString();
+    final int driverMajorVersion = in.readSignedVarInt();
+    final int driverMinorVersion = in.readSignedVarInt();
+    final int jdbcMajorVersion = in.readSignedVarInt();
+    final int jdbcMinorVersion = in.readSignedVarInt();
+    final boolean jdbcCompliant = in.readBoolean();
+    final String connectionUrl = in.readString();
+    final MutableJdbcDriverInfo jdbcDriverInfo =
+        new MutableJdbcDriverInfo(
+            driverName,
+            driverClassName,
+            driverVersion,
+            driverMajorVersion,
+            driverMinorVersion,
+            jdbcMajorVersion,
+            jdbcMinorVersion,
+            jdbcCompliant,
+            connectionUrl);
+
+    final int driverPropertiesCount = in.readCount();
+    for (int i = 0; i < driverPropertiesCount; i++) {
+      final DriverPropertyInfo driverPropertyInfo =
+          new DriverPropertyInfo(in.readString(), in.readString());
+      driverPropertyInfo.description = in.readString();
+      driverPropertyInfo.required = in.readBoolean();
+      driverPropertyInfo.choices = in.readStrings().toArray(new String[0]);
+      jdbcDriverInfo.addJdbcDriverProperty(new ImmutableJdbcDriverProperty(driverPropertyInfo));
+    }
+
+    return jdbcDriverInfo;
+  }
+
+  private <D extends DatabaseObject> MutablePrivilege<D> readPrivilege(
+      final DatabaseObjectReference<D> parent) throws IOException {
+    final MutablePrivilege<D> privilege = new MutablePrivilege<>(parent, in.readString());
+    privilege.addAttributes(in.readAttributes());
+    final int grantsCount = in.readCount();
+    for (int i = 0; i < grantsCount; i++) {
+      final String grantor = in.readString();
+      final String grantee = in.readString();
+      final boolean isGrantable = in.readBoolean();
+      privilege.addGrant(grantor, grantee, isGrantable);
+    }
+    return privilege;
+  }
+
+  private ProductVersion readProductVersion() throws IOException {
+    final String productName = in.readString();
+    final String productVersion = in.readString();
+    return new BaseProductVersion(productName, productVersion);
+  }
+
+  private SchemaReference readSchema() throws IOException {
+    final String catalogName = in.readString();
+    final String schemaName = in.readString();
+    return lookupSchema(catalogName, schemaName);
+  }
+
+  private MutableSequence readSequence() throws IOException {
+    final MutableSequence sequence = new MutableSequence(readSchema(), in.readString());
+    sequence.setIncrement(in.readSignedVarLong());
+    sequence.setStartValue(readBigInteger());
+    sequence.setMinimumValue(readBigInteger());
+    sequence.setMaximumValue(readBigInteger());
+    sequence.setCycle(in.readBoolean());
+    sequence.addAttributes(in.readAttributes());
+    return sequence;
+  }
+
+  private MutableSynonym readSynonym() throws IOException {
+    final MutableSynonym synonym = new MutableSynonym(readSchema(), in.readString());
+    synonym.addAttributes(in.readAttributes());
+
+    final int referencedObjectType = in.readVarInt();
+    final DatabaseObject referencedObject;
+    switch (referencedObjectType) {
+      case REFERENCED_TABLE:
+        final int tableIndex = in.readVarInt();
+        final MutableTable table = lookupTable(tableIndex);
+        if (table == null) {
+          referencedObject = lookupTablePartial(tableIndex);
+        } else {
+          referencedObject = table;
+        }
+        break;
+      case REFERENCED_ROUTINE:
+        referencedObject = lookupRoutine(in.readVarInt());
+        break;
+      case REFERENCED_OTHER:
+        referencedObject =
+            new SynonymRetriever.UnknownDatabaseObject(readSchema(), in.readString());
+        break;
+      default:
+        throw new IOException(
+            String.format(
+                "Bad synonym referenced object type <%d> in binary catalog", referencedObjectType));
+    }
+    synonym.setReferencedObject(referencedObject);
+    return synonym;
+  }
+
+  private void readTableConstraintDetails(
+      final MutableTableConstraint tableConstraint, final MutableTable table) throws IOException {
+    tableConstraint.setDeferrable(in.readBoolean());
+    tableConstraint.setInitiallyDeferred(in.readBoolean());
+    tableConstraint.appendDefinition(in.readString());
+    tableConstraint.addAttributes(in.readAttributes());
+
+    final int columnsCount = in.readCount();
+    for (int i = 0; i < columnsCount; i++) {
+      final String columnName = in.readString();
+      final Optional<MutableColumn> optionalColumn = table.lookupColumn(columnName);
+      final Column column;
+      if (optionalColumn.isPresent()) {
+        column = optionalColumn.get();
+      } else {
+        column = new ColumnPartial(table, columnName);
+      }
+      final MutableTableConstraintColumn tableConstraintColumn =
+          new MutableTableConstraintColumn(tableConstraint, column);
+      tableConstraintColumn.setKeyOrdinalPosition(in.readSignedVarInt());
+      tableConstraint.addColumn(tableConstraintColumn);
+    }
+  }
+}
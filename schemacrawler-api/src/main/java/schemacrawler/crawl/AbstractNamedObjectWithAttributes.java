@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.crawl;
 
+import static java.util.Collections.emptyMap;
 import static us.fatehi.utility.Utility.isBlank;
 import static us.fatehi.utility.Utility.trimToEmpty;
 
@@ -47,7 +48,7 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
 
   private static final long serialVersionUID = -1486322887991472729L;
 
-  private final Map<String, Object> attributeMap;
+  private volatile Map<String, Object> attributeMap;
 
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private constructors make a class
@@ -57,7 +58,8 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
    */
   AbstractNamedObjectWithAttributes(final String name) {
     super(name);
-    attributeMap = new ConcurrentHashMap<>();
+    // Most objects never have attributes, so share an empty map until the first one is set
+    attributeMap = emptyMap();
   }
 
   /** {@inheritDoc} */
@@ -113,7 +115,7 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   /** {@inheritDoc} */
   @Override
   public final void removeAttribute(final String name) {
-    if (!isBlank(name)) {
+    if (!isBlank(name) && !attributeMap.isEmpty()) {
       attributeMap.remove(name);
     }
   }
@@ -123,9 +125,9 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
   public final void setAttribute(final String name, final Object value) {
     if (!isBlank(name)) {
       if (value == null) {
-        attributeMap.remove(name);
+        removeAttribute(name);
       } else {
-        attributeMap.put(name, value);
+        writableAttributeMap().put(name, value);
       }
     }
   }
@@ -144,8 +146,32 @@ abstract class AbstractNamedObjectWithAttributes extends AbstractNamedObject
       final String key = entry.getKey();
       final Object value = entry.getValue();
       if (key != null && value != null) {
-        attributeMap.put(key, value);
+        writableAttributeMap().put(key, value);
+      }
+    }
+  }
+
+  /**
+   * Compacts the object once it is fully built, and will only be read. Attributes can still be set
+   * after the object is frozen.
+   */
+  void freeze() {
+    if (attributeMap.isEmpty()) {
+      attributeMap = emptyMap();
+    }
+  }
+
+  private Map<String, Object> writableAttributeMap() {
+    Map<String, Object> map = attributeMap;
+    if (!(map instanceof ConcurrentHashMap)) {
+      synchronized (this) {
+        map = attributeMap;
+        if (!(map instanceof ConcurrentHashMap)) {
+          map = new ConcurrentHashMap<>(map);
+          attributeMap = map;
+        }
       }
     }
+    return map;
   }
 }
@@ -30,11 +30,22 @@ package schemacrawler.crawl;
 
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.DatabaseObjectRuleForInclusion.ruleForSchemaInclusion;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.foreignKeysRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.indexesRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
 import static us.fatehi.utility.Utility.isBlank;
 
+import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.SQLFeatureNotSupportedException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.Optional;
+import java.util.Set;
 import java.util.function.Supplier;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -45,17 +56,60 @@ import schemacrawler.schema.DatabaseObject;
 import schemacrawler.schema.JavaSqlType;
 import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.InformationSchemaKey;
+import schemacrawler.schemacrawler.MetadataRetrievalStrategy;
+import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.Retriever;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy;
 import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import schemacrawler.schemacrawler.exceptions.SchemaCrawlerException;
 import schemacrawler.utility.TypeMap;
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.string.StringFormat;
 
 /** Base class for retriever that uses database metadata to get the details about the schema. */
 @Retriever
 abstract class AbstractRetriever {
 
+  /** Retrieves metadata for all tables in a schema together. */
+  @FunctionalInterface
+  interface SchemaRetrieval {
+    /**
+     * Retrieves metadata for all tables in a schema.
+     *
+     * @param schema Schema to retrieve metadata for
+     * @return False if the database returned no rows at all
+     * @throws SQLException If the database cannot retrieve metadata for all tables together
+     */
+    boolean retrieve(Schema schema) throws SQLException;
+  }
+
+  /**
+   * Retrieves metadata for a single table. A schema-wide retrieval that fails may already have
+   * added some metadata for the table, so the retrieval needs to replace, rather than add to, any
+   * columns, indexes or foreign keys with the same names.
+   */
+  @FunctionalInterface
+  interface TableRetrieval {
+    void retrieve(MutableTable table) throws SQLException;
+  }
+
   private static final Logger LOGGER = Logger.getLogger(AbstractRetriever.class.getName());
 
+  /** Table name for schema-wide metadata calls, which means all tables in the schema. */
+  static final String ALL_TABLES = null;
+
+  // Up to this many database objects, one metadata call for each is fast enough
+  private static final int MAX_OBJECTS_FOR_METADATA = 100;
+  // Schema-wide metadata calls are only worth it for schemas with at least this many objects
+  private static final int MIN_OBJECTS_PER_SCHEMA_FOR_METADATA_ALL = 10;
+
+  private static final Set<SchemaInfoMetadataRetrievalStrategy> supportsMetadataAll =
+      EnumSet.of(
+          tableColumnsRetrievalStrategy, indexesRetrievalStrategy, foreignKeysRetrievalStrategy);
+
   final MutableCatalog catalog;
   private final SchemaCrawlerOptions options;
   private final RetrieverConnection retrieverConnection;
@@ -105,6 +159,156 @@ abstract class AbstractRetriever {
     return catalog.getAllSchemas();
   }
 
+  /**
+   * Gets the strategy for retrieving metadata for the database objects in the crawl. If the
+   * strategy is automatic, it is chosen from the number of database objects, and the number of
+   * schemas they belong to. Small crawls use a metadata call for each database object. Large crawls
+   * use data dictionary SQL if it is provided, or otherwise schema-wide metadata calls if the
+   * objects are not spread thinly across schemas.
+   *
+   * @param schemaInfoMetadataRetrievalStrategy Type of metadata to retrieve
+   * @param dataDictionaryKey Key for the data dictionary SQL for this type of metadata
+   * @param databaseObjects Database objects to retrieve metadata for
+   * @return Metadata retrieval strategy to use, which is never automatic
+   */
+  final MetadataRetrievalStrategy getRetrievalStrategy(
+      final SchemaInfoMetadataRetrievalStrategy schemaInfoMetadataRetrievalStrategy,
+      final InformationSchemaKey dataDictionaryKey,
+      final Iterable<? extends DatabaseObject> databaseObjects) {
+    requireNonNull(schemaInfoMetadataRetrievalStrategy, "No metadata retrieval strategy provided");
+    requireNonNull(dataDictionaryKey, "No data dictionary key provided");
+    requireNonNull(databaseObjects, "No database objects provided");
+
+    final MetadataRetrievalStrategy retrievalStrategy =
+        retrieverConnection.get(schemaInfoMetadataRetrievalStrategy);
+    if (retrievalStrategy != MetadataRetrievalStrategy.auto) {
+      return retrievalStrategy;
+    }
+
+    int objectCount = 0;
+    final Set<Schema> schemas = new HashSet<>();
+    for (final DatabaseObject databaseObject : databaseObjects) {
+      objectCount = objectCount + 1;
+      schemas.add(databaseObject.getSchema());
+    }
+
+    final MetadataRetrievalStrategy autoRetrievalStrategy;
+    if (objectCount <= MAX_OBJECTS_FOR_METADATA) {
+      autoRetrievalStrategy = MetadataRetrievalStrategy.metadata;
+    } else if (retrieverConnection.getInformationSchemaViews().hasQuery(dataDictionaryKey)) {
+      autoRetrievalStrategy = MetadataRetrievalStrategy.data_dictionary_all;
+    } else if (supportsMetadataAll.contains(schemaInfoMetadataRetrievalStrategy)
+        && objectCount >= schemas.size() * MIN_OBJECTS_PER_SCHEMA_FOR_METADATA_ALL) {
+      autoRetrievalStrategy = MetadataRetrievalStrategy.metadata_all;
+    } else {
+      autoRetrievalStrategy = MetadataRetrievalStrategy.metadata;
+    }
+
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Using <%s> for <%s>, for %d database objects in %d schemas",
+            autoRetrievalStrategy,
+            schemaInfoMetadataRetrievalStrategy,
+            objectCount,
+            schemas.size()));
+    return autoRetrievalStrategy;
+  }
+
+  /**
+   * Runs a retrieval for each schema that has at least one of the tables, using the task runner for
+   * the crawl. The retrieval is expected to get metadata for all tables in the schema with a single
+   * database round trip, and to route results to tables by looking them up by name. Some drivers
+   * need a table name, and either throw an exception or return no rows without one, so for those
+   * schemas metadata is retrieved one table at a time instead.
+   *
+   * @param tables Tables to retrieve metadata for
+   * @param retrieval Retrieval to run for each schema
+   * @param tableRetrieval Retrieval to run for each table, if the schema retrieval does not work
+   * @throws SQLException On an exception from any one of the retrievals
+   */
+  final void forEachSchema(
+      final Iterable<? extends MutableTable> tables,
+      final SchemaRetrieval retrieval,
+      final TableRetrieval tableRetrieval)
+      throws SQLException {
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(retrieval, "No retrieval provided");
+    requireNonNull(tableRetrieval, "No table retrieval provided");
+
+    final Set<Schema> schemas = new LinkedHashSet<>();
+    for (final MutableTable table : tables) {
+      schemas.add(table.getSchema());
+    }
+
+    final CrawlCancellation cancellation = retrieverConnection.getCancellation();
+    final Collection<TaskDefinition> taskDefinitions = new ArrayList<>();
+    for (final Schema schema : schemas) {
+      // Schema names can be blank for databases that do not support schemas
+      final String taskName = "schema " + schema.getFullName();
+      taskDefinitions.add(
+          new TaskDefinition(
+              taskName,
+              cancellation.inherit(
+                  () -> retrieveForSchema(tables, schema, retrieval, tableRetrieval))));
+    }
+    invokeAll(taskDefinitions);
+  }
+
+  /**
+   * Runs a retrieval for each table, using the task runner for the crawl, so that database round
+   * trips for different tables overlap. Since retrievals for different tables may run at the same
+   * time, any changes to shared objects need to be made safely.
+   *
+   * @param tables Tables to retrieve metadata for
+   * @param retrieval Retrieval to run for each table
+   * @throws SQLException On an exception from any one of the retrievals
+   */
+  final void forEachTable(
+      final Iterable<? extends MutableTable> tables, final TableRetrieval retrieval)
+      throws SQLException {
+    requireNonNull(tables, "No tables provided");
+    requireNonNull(retrieval, "No retrieval provided");
+
+    final CrawlCancellation cancellation = retrieverConnection.getCancellation();
+    final Collection<TaskDefinition> taskDefinitions = new ArrayList<>();
+    for (final MutableTable table : tables) {
+      taskDefinitions.add(
+          new TaskDefinition(
+              table.getFullName(), cancellation.inherit(() -> retrieval.retrieve(table))));
+    }
+    invokeAll(taskDefinitions);
+  }
+
+  /**
+   * Executes a data dictionary query, with the fetch size configured for the query. Names read from
+   * the results are pooled for the crawl.
+   *
+   * @param key Key for the data dictionary query
+   * @param query Data dictionary query, which may have been expanded from a template
+   * @param statement Statement to execute the query with
+   * @param schemaInclusionRule Schemas to run the query for
+   * @return Metadata result-set
+   * @throws SQLException On an exception
+   */
+  final MetadataResultSet executeDataDictionaryQuery(
+      final InformationSchemaKey key,
+      final Query query,
+      final Statement statement,
+      final InclusionRule schemaInclusionRule)
+      throws SQLException {
+    requireNonNull(key, "No data dictionary key provided");
+    final MetadataResultSet results =
+        new MetadataResultSet(
+            query,
+            statement,
+            schemaInclusionRule,
+            retrieverConnection.getFetchSize(key),
+            retrieverConnection.isAdaptiveFetchSize());
+    results.setStringInterner(retrieverConnection.getStringInterner());
+    return results;
+  }
+
   final RetrieverConnection getRetrieverConnection() {
     return retrieverConnection;
   }
@@ -133,6 +337,27 @@ abstract class AbstractRetriever {
     LOGGER.log(Level.FINE, e, message);
   }
 
+  /**
+   * Wraps the result-set from a database metadata call, with the configured fetch size. Names read
+   * from the results are pooled for the crawl.
+   *
+   * @param resultSet Result-set from a database metadata call
+   * @param description Description of the metadata call, for logging
+   * @return Metadata result-set
+   * @throws SQLException On an exception
+   */
+  final MetadataResultSet newMetadataResultSet(final ResultSet resultSet, final String description)
+      throws SQLException {
+    final MetadataResultSet results =
+        new MetadataResultSet(
+            resultSet,
+            description,
+            retrieverConnection.getFetchSize(),
+            retrieverConnection.isAdaptiveFetchSize());
+    results.setStringInterner(retrieverConnection.getStringInterner());
+    return results;
+  }
+
   /**
    * Creates a data type from the JDBC data type id, and the database specific type name, if it does
    * not exist.
@@ -223,4 +448,62 @@ abstract class AbstractRetriever {
       return null;
     }
   }
+
+  /**
+   * Gets tables that belong to a schema.
+   *
+   * @param tables Tables to check
+   * @param schema Schema that tables need to belong to
+   * @return Tables in the schema
+   */
+  final Collection<MutableTable> tablesInSchema(
+      final Iterable<? extends MutableTable> tables, final Schema schema) {
+    final Collection<MutableTable> tablesInSchema = new ArrayList<>();
+    for (final MutableTable table : tables) {
+      if (table.getSchema().equals(schema)) {
+        tablesInSchema.add(table);
+      }
+    }
+    return tablesInSchema;
+  }
+
+  private void invokeAll(final Collection<TaskDefinition> taskDefinitions) throws SQLException {
+    try {
+      // Run on the task runner for the crawl, so that the number of
+      // connections in use is limited across all retrievals
+      retrieverConnection.getTaskRunner().invokeAll(taskDefinitions);
+    } catch (final SQLException | SchemaCrawlerException e) {
+      throw e;
+    } catch (final Exception e) {
+      throw new ExecutionRuntimeException(e.getMessage(), e);
+    }
+  }
+
+  private void retrieveForSchema(
+      final Iterable<? extends MutableTable> tables,
+      final Schema schema,
+      final SchemaRetrieval retrieval,
+      final TableRetrieval tableRetrieval)
+      throws SQLException {
+    try {
+      if (retrieval.retrieve(schema)) {
+        return;
+      }
+      // Without rows, it is not known whether the driver ignored the request for all tables
+      LOGGER.log(
+          Level.FINE,
+          new StringFormat("Retrieving metadata one table at a time for schema <%s>", schema));
+    } catch (final SQLException e) {
+      // Rows are not necessarily ordered by table, so any table that already got rows may be
+      // incomplete, and all of them are retrieved again, replacing the partial results
+      LOGGER.log(
+          Level.WARNING,
+          e,
+          new StringFormat(
+              "Could not retrieve metadata for all tables in schema <%s>, "
+                  + "so retrieving metadata one table at a time",
+              schema));
+    }
+    forEachTable(tablesInSchema(tables, schema), tableRetrieval);
+  }
 }
@@ -0,0 +1,149 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants for the SchemaCrawler binary catalog format. A binary catalog starts with a header of
+ * magic bytes and a format version, followed by sections for the catalog, schemas, column data
+ * types, database users, tables, foreign keys, weak associations, routines, sequences and synonyms,
+ * in that order. Counts, indexes and references are written as variable length integers. Strings
+ * are written once, the first time that they occur, and are referred to by number after that.
+ *
+ * <p>The indexed layout uses the same encoding for each object, but is not written as a single
+ * stream. Tables, foreign keys, weak associations and routines are each written separately, and all
+ * strings are referred to by number in a string table that is written after them. A table of
+ * contents has the position of each object, along with names that can be used to filter objects
+ * before they are read, and a trailer at the end of the file has the positions of the table of
+ * contents and the string table.
+ */
+final class BinaryCatalogFormat {
+
+  /** Magic bytes at the start of every binary catalog. */
+  static final byte[] MAGIC = "SCBC".getBytes(StandardCharsets.US_ASCII);
+
+  /** Current version of the format, which is incremented for incompatible changes. */
+  static final int FORMAT_VERSION = 1;
+
+  /** Magic bytes at the start and end of every indexed binary catalog. */
+  static final byte[] INDEXED_MAGIC = "SCBI".getBytes(StandardCharsets.US_ASCII);
+
+  /** Current version of the indexed layout, which is incremented for incompatible changes. */
+  static final int INDEXED_FORMAT_VERSION = 1;
+
+  /**
+   * Size of the trailer of an indexed binary catalog, which has the positions of the table of
+   * contents and the string table, followed by the magic bytes.
+   */
+  static final int INDEXED_TRAILER_SIZE = 8 + 8 + 4;
+
+  /**
+   * Largest number of items in a list, or of bytes in a string, that is read from a stream. Counts
+   * are checked before memory is allocated for them, so that a corrupt stream cannot use up memory.
+   */
+  static final int MAXIMUM_COUNT = 1 << 24;
+
+  /** Marks the end of the catalog, so that truncated files can be detected. */
+  static final int END_OF_CATALOG = 0x5CBC;
+
+  // String encoding
+  static final int STRING_NULL = 0;
+  static final int STRING_NEW = 1;
+  static final int STRING_REFERENCE_OFFSET = 2;
+
+  // Attribute and property values
+  static final int VALUE_NULL = 0;
+  static final int VALUE_STRING = 1;
+  static final int VALUE_BOOLEAN = 2;
+  static final int VALUE_INTEGER = 3;
+  static final int VALUE_LONG = 4;
+  static final int VALUE_SHORT = 5;
+  static final int VALUE_BYTE = 6;
+  static final int VALUE_DOUBLE = 7;
+  static final int VALUE_FLOAT = 8;
+  static final int VALUE_BIG_INTEGER = 9;
+  static final int VALUE_BIG_DECIMAL = 10;
+  static final int VALUE_CHARACTER = 11;
+  static final int VALUE_STRING_ARRAY = 12;
+  static final int VALUE_LIST = 13;
+  static final int VALUE_SET = 14;
+  static final int VALUE_MAP = 15;
+  static final int VALUE_ENUM = 16;
+  static final int VALUE_TIMESTAMP = 17;
+  static final int VALUE_DATE = 18;
+  static final int VALUE_TIME = 19;
+  // Binary data placeholders have no content, so nothing follows the value type
+  static final int VALUE_BINARY_DATA = 20;
+  static final int VALUE_BYTES = 21;
+
+  // Column references
+  static final int COLUMN_NONE = 0;
+  static final int COLUMN_IN_CATALOG = 1;
+  static final int COLUMN_PARTIAL = 2;
+
+  // Tables
+  static final int TABLE = 0;
+  static final int VIEW = 1;
+
+  // Table constraints
+  static final int CONSTRAINT_TABLE_CONSTRAINT = 0;
+  static final int CONSTRAINT_PRIMARY_KEY = 1;
+  static final int CONSTRAINT_FOREIGN_KEY = 2;
+  static final int CONSTRAINT_ALTERNATE_KEY = 3;
+
+  // Routines
+  static final int PROCEDURE = 0;
+  static final int FUNCTION = 1;
+
+  // Objects referenced by synonyms
+  static final int REFERENCED_TABLE = 0;
+  static final int REFERENCED_ROUTINE = 1;
+  static final int REFERENCED_OTHER = 2;
+
+  // Column flags
+  static final int COLUMN_NULLABLE = 1;
+  static final int COLUMN_AUTO_INCREMENTED = 1 << 1;
+  static final int COLUMN_GENERATED = 1 << 2;
+  static final int COLUMN_HIDDEN = 1 << 3;
+  static final int COLUMN_PART_OF_INDEX = 1 << 4;
+  static final int COLUMN_PART_OF_PRIMARY_KEY = 1 << 5;
+  static final int COLUMN_PART_OF_UNIQUE_INDEX = 1 << 6;
+
+  // Column data type flags
+  static final int DATA_TYPE_AUTO_INCREMENTABLE = 1;
+  static final int DATA_TYPE_CASE_SENSITIVE = 1 << 1;
+  static final int DATA_TYPE_FIXED_PRECISION_SCALE = 1 << 2;
+  static final int DATA_TYPE_NULLABLE = 1 << 3;
+  static final int DATA_TYPE_UNSIGNED = 1 << 4;
+
+  private BinaryCatalogFormat() {
+    // Prevent instantiation
+  }
+}
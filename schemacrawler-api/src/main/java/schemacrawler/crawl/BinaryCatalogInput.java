@@ -0,0 +1,421 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAGIC;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAXIMUM_COUNT;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_NEW;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_NULL;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_REFERENCE_OFFSET;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BIG_DECIMAL;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BIG_INTEGER;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BINARY_DATA;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BOOLEAN;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BYTE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BYTES;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_CHARACTER;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_DATE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_DOUBLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_ENUM;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_FLOAT;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_INTEGER;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_LIST;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_LONG;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_MAP;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_NULL;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_SET;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_SHORT;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_STRING;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_STRING_ARRAY;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_TIME;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_TIMESTAMP;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.utility.BinaryData;
+import us.fatehi.utility.string.StringFormat;
+
+/** Low level reader for the binary catalog format. */
+final class BinaryCatalogInput implements Closeable {
+
+  private static final Logger LOGGER = Logger.getLogger(BinaryCatalogInput.class.getName());
+
+  /**
+   * Checks whether a stream starts with the binary catalog magic bytes, without consuming any of
+   * the stream.
+   *
+   * @param in Input stream, which needs to support mark and reset
+   * @return True if the stream has a binary catalog
+   */
+  static boolean isBinaryCatalog(final InputStream in) throws IOException {
+    requireNonNull(in, "No input stream provided");
+    if (!in.markSupported()) {
+      throw new IOException("Input stream does not support mark and reset");
+    }
+    in.mark(MAGIC.length);
+    try {
+      for (final byte magicByte : MAGIC) {
+        if (in.read() != magicByte) {
+          return false;
+        }
+      }
+      return true;
+    } finally {
+      in.reset();
+    }
+  }
+
+  private final InputStream in;
+  private final List<String> strings;
+  private final boolean useSharedStrings;
+  private final boolean isAvailableExact;
+  private byte[] buffer;
+
+  BinaryCatalogInput(final InputStream in) {
+    requireNonNull(in, "No input stream provided");
+    if (in instanceof BufferedInputStream) {
+      this.in = in;
+    } else {
+      this.in = new BufferedInputStream(in, 65_536);
+    }
+    strings = new ArrayList<>();
+    useSharedStrings = false;
+    isAvailableExact = false;
+    buffer = new byte[256];
+  }
+
+  /**
+   * Reads from a stream in which strings are always referred to by number, from a shared string
+   * table. The stream is read as is, without buffering.
+   *
+   * @param in Input stream, which returns the exact number of bytes remaining from {@link
+   *     InputStream#available()}
+   * @param sharedStrings Shared string table
+   */
+  BinaryCatalogInput(final InputStream in, final List<String> sharedStrings) {
+    this.in = requireNonNull(in, "No input stream provided");
+    strings = requireNonNull(sharedStrings, "No shared string table provided");
+    useSharedStrings = true;
+    isAvailableExact = true;
+    buffer = new byte[256];
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  Map<String, Object> readAttributes() throws IOException {
+    final int count = readCount();
+    if (count == 0) {
+      return new HashMap<>();
+    }
+    final Map<String, Object> attributes = new HashMap<>(count * 2);
+    for (int i = 0; i < count; i++) {
+      final String name = readString();
+      final Object value = readValue();
+      if (name != null && value != null) {
+        attributes.put(name, value);
+      }
+    }
+    return attributes;
+  }
+
+  boolean readBoolean() throws IOException {
+    return readByte() != 0;
+  }
+
+  /**
+   * Reads a count of items, or of bytes. Every item takes at least one byte, so a count cannot be
+   * more than the number of bytes remaining, when that is known.
+   *
+   * @return Count
+   */
+  int readCount() throws IOException {
+    final int count = readVarInt();
+    final int maximumCount = isAvailableExact ? in.available() : MAXIMUM_COUNT;
+    if (count < 0 || count > maximumCount) {
+      throw new IOException(String.format("Bad count <%d> in binary catalog", count));
+    }
+    return count;
+  }
+
+  /**
+   * Reads an enumerated value by name.
+   *
+   * @param enumClass Enum class
+   * @param defaultValue Value to use if no value was written, or if the name is not known
+   * @return Enumerated value
+   */
+  <E extends Enum<E>> E readEnum(final Class<E> enumClass, final E defaultValue)
+      throws IOException {
+    final String name = readString();
+    if (name == null) {
+      return defaultValue;
+    }
+    try {
+      return Enum.valueOf(enumClass, name);
+    } catch (final IllegalArgumentException e) {
+      LOGGER.log(
+          Level.CONFIG,
+          new StringFormat(
+              "Unknown value <%s> for <%s>, using <%s>",
+              name, enumClass.getSimpleName(), defaultValue));
+      return defaultValue;
+    }
+  }
+
+  void readHeader(final byte[] magic, final int supportedFormatVersion) throws IOException {
+    for (final byte magicByte : magic) {
+      if (readByte() != magicByte) {
+        throw new IOException("Not a SchemaCrawler binary catalog");
+      }
+    }
+    final int formatVersion = readVarInt();
+    if (formatVersion < 1 || formatVersion > supportedFormatVersion) {
+      throw new IOException(
+          String.format(
+              "Cannot read binary catalog format version <%d>, only up to version <%d> is"
+                  + " supported",
+              formatVersion, supportedFormatVersion));
+    }
+  }
+
+  int readSignedVarInt() throws IOException {
+    final int value = readVarInt();
+    return value >>> 1 ^ -(value & 1);
+  }
+
+  long readSignedVarLong() throws IOException {
+    final long value = readVarLong();
+    return value >>> 1 ^ -(value & 1);
+  }
+
+  String readString() throws IOException {
+    final int code = readVarInt();
+    if (code == STRING_NULL) {
+      return null;
+    }
+    if (code == STRING_NEW) {
+      if (useSharedStrings) {
+        throw new IOException("Unexpected string definition in binary catalog");
+      }
+      final int length = readCount();
+      final String value = new String(readBytes(length), 0, length, StandardCharsets.UTF_8);
+      strings.add(value);
+      return value;
+    }
+
+    final int stringId = code - STRING_REFERENCE_OFFSET;
+    if (stringId < 0 || stringId >= strings.size()) {
+      throw new IOException(String.format("Bad string reference <%d> in binary catalog", code));
+    }
+    return strings.get(stringId);
+  }
+
+  List<String> readStrings() throws IOException {
+    final int count = readCount();
+    final List<String> values = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      values.add(readString());
+    }
+    return values;
+  }
+
+  /**
+   * Reads a value. Enumerated values of classes that are not available are read as null.
+   *
+   * @return Value
+   */
+  Object readValue() throws IOException {
+    final int valueType = readVarInt();
+    switch (valueType) {
+      case VALUE_NULL:
+        return null;
+      case VALUE_STRING:
+        return readString();
+      case VALUE_BOOLEAN:
+        return readBoolean();
+      case VALUE_INTEGER:
+        return readSignedVarInt();
+      case VALUE_LONG:
+        return readSignedVarLong();
+      case VALUE_SHORT:
+        return (short) readSignedVarInt();
+      case VALUE_BYTE:
+        return (byte) readSignedVarInt();
+      case VALUE_DOUBLE:
+        return Double.longBitsToDouble(readSignedVarLong());
+      case VALUE_FLOAT:
+        return Float.intBitsToFloat(readSignedVarInt());
+      case VALUE_BIG_INTEGER:
+        return new BigInteger(readString());
+      case VALUE_BIG_DECIMAL:
+        return new BigDecimal(readString());
+      case VALUE_CHARACTER:
+        return (char) readVarInt();
+      case VALUE_STRING_ARRAY:
+        final String[] array = new String[readCount()];
+        for (int i = 0; i < array.length; i++) {
+          array[i] = readString();
+        }
+        return array;
+      case VALUE_LIST:
+        final int listSize = readCount();
+        final List<Object> list = new ArrayList<>(listSize);
+        for (int i = 0; i < listSize; i++) {
+          list.add(readValue());
+        }
+        return list;
+      case VALUE_SET:
+        final int setSize = readCount();
+        final Set<Object> set = new LinkedHashSet<>(setSize * 2);
+        for (int i = 0; i < setSize; i++) {
+          set.add(readValue());
+        }
+        return set;
+      case VALUE_MAP:
+        final int mapSize = readCount();
+        final Map<Object, Object> map = new LinkedHashMap<>(mapSize * 2);
+        for (int i = 0; i < mapSize; i++) {
+          map.put(readValue(), readValue());
+        }
+        return map;
+      case VALUE_ENUM:
+        return readEnumValue(readString(), readString());
+      case VALUE_TIMESTAMP:
+        final Timestamp timestamp = new Timestamp(readSignedVarLong());
+        timestamp.setNanos(readVarInt());
+        return timestamp;
+      case VALUE_DATE:
+        return new java.sql.Date(readSignedVarLong());
+      case VALUE_TIME:
+        return new Time(readSignedVarLong());
+      case VALUE_BINARY_DATA:
+        // Binary data is never retrieved, so there is only a placeholder to read back
+        return new BinaryData();
+      case VALUE_BYTES:
+        final int length = readCount();
+        final byte[] bytes = new byte[length];
+        readFully(bytes, length);
+        return bytes;
+      default:
+        throw new IOException(String.format("Bad value type <%d> in binary catalog", valueType));
+    }
+  }
+
+  int readVarInt() throws IOException {
+    int value = 0;
+    for (int shift = 0; shift < 35; shift += 7) {
+      final int currentByte = readByte();
+      value |= (currentByte & 0x7F) << shift;
+      if ((currentByte & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Bad variable length integer in binary catalog");
+  }
+
+  long readVarLong() throws IOException {
+    long value = 0;
+    for (int shift = 0; shift < 70; shift += 7) {
+      final int currentByte = readByte();
+      value |= (long) (currentByte & 0x7F) << shift;
+      if ((currentByte & 0x80) == 0) {
+        return value;
+      }
+    }
+    throw new IOException("Bad variable length integer in binary catalog");
+  }
+
+  private int readByte() throws IOException {
+    final int value = in.read();
+    if (value < 0) {
+      throw new EOFException("Unexpected end of binary catalog");
+    }
+    return value;
+  }
+
+  /** Reads bytes into a shared buffer, which is only valid until the next read. */
+  private byte[] readBytes(final int length) throws IOException {
+    if (buffer.length < length) {
+      buffer = new byte[Math.max(length, buffer.length * 2)];
+    }
+    readFully(buffer, length);
+    return buffer;
+  }
+
+  private Object readEnumValue(final String className, final String name) {
+    try {
+      final Class<?> enumClass =
+          Class.forName(className, false, BinaryCatalogInput.class.getClassLoader());
+      if (enumClass.isEnum()) {
+        for (final Object enumConstant : enumClass.getEnumConstants()) {
+          if (((Enum<?>) enumConstant).name().equals(name)) {
+            return enumConstant;
+          }
+        }
+      }
+    } catch (final ClassNotFoundException | LinkageError e) {
+      LOGGER.log(Level.FINE, e, new StringFormat("Could not load enum class <%s>", className));
+    }
+    LOGGER.log(Level.FINE, new StringFormat("Not reading value <%s.%s>", className, name));
+    return null;
+  }
+
+  private void readFully(final byte[] bytes, final int length) throws IOException {
+    int offset = 0;
+    while (offset < length) {
+      final int read = in.read(bytes, offset, length - offset);
+      if (read < 0) {
+        throw new EOFException("Unexpected end of binary catalog");
+      }
+      offset += read;
+    }
+  }
+}
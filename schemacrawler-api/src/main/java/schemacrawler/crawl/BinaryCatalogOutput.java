@@ -0,0 +1,416 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAXIMUM_COUNT;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_NEW;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_NULL;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_REFERENCE_OFFSET;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BIG_DECIMAL;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BIG_INTEGER;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BINARY_DATA;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BOOLEAN;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BYTE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BYTES;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_CHARACTER;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_DATE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_DOUBLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_ENUM;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_FLOAT;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_INTEGER;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_LIST;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_LONG;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_MAP;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_NULL;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_SET;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_SHORT;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_STRING;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_STRING_ARRAY;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_TIME;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_TIMESTAMP;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.sql.Time;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.utility.BinaryData;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Low level writer for the binary catalog format. Integers are written as variable length
+ * quantities, seven bits at a time, and strings are added to a string table the first time that
+ * they are written. With a shared string table, strings are always written by number, and the
+ * string table is written out separately at the end.
+ */
+final class BinaryCatalogOutput implements Closeable {
+
+  private static final Logger LOGGER = Logger.getLogger(BinaryCatalogOutput.class.getName());
+
+  static boolean isSupportedValue(final Object value) {
+    if (value == null
+        || value instanceof String
+        || value instanceof Boolean
+        || value instanceof Integer
+        || value instanceof Long
+        || value instanceof Short
+        || value instanceof Byte
+        || value instanceof Double
+        || value instanceof Float
+        || value instanceof BigInteger
+        || value instanceof BigDecimal
+        || value instanceof Character
+        || value instanceof String[]
+        || value instanceof Enum
+        || value instanceof java.sql.Date
+        || value instanceof Time
+        || value instanceof Timestamp
+        || value instanceof BinaryData
+        || value instanceof byte[]) {
+      return true;
+    }
+    if (value instanceof List || value instanceof Set) {
+      for (final Object element : (Collection<?>) value) {
+        if (!isSupportedValue(element)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    if (value instanceof Map) {
+      for (final Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        if (!isSupportedValue(entry.getKey()) || !isSupportedValue(entry.getValue())) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return false;
+  }
+
+  private final OutputStream out;
+  private final Map<String, Integer> strings;
+  private final List<String> sharedStrings;
+  private long position;
+
+  BinaryCatalogOutput(final OutputStream out) {
+    this(out, false);
+  }
+
+  BinaryCatalogOutput(final OutputStream out, final boolean useSharedStrings) {
+    this.out = new BufferedOutputStream(requireNonNull(out, "No output stream provided"), 65_536);
+    strings = new HashMap<>();
+    if (useSharedStrings) {
+      sharedStrings = new ArrayList<>();
+    } else {
+      sharedStrings = null;
+    }
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  void flush() throws IOException {
+    out.flush();
+  }
+
+  /**
+   * Gets the number of bytes written so far.
+   *
+   * @return Position in the output
+   */
+  long position() {
+    return position;
+  }
+
+  /**
+   * Writes attributes, skipping any with values that cannot be represented in the binary format.
+   *
+   * @param attributes Attributes to write
+   */
+  void writeAttributes(final Map<String, Object> attributes) throws IOException {
+    final List<Entry<String, Object>> supportedAttributes = new ArrayList<>(attributes.size());
+    for (final Entry<String, Object> attribute : attributes.entrySet()) {
+      final Object value = attribute.getValue();
+      if (isSupportedValue(value)) {
+        supportedAttributes.add(attribute);
+      } else {
+        LOGGER.log(
+            Level.FINE,
+            new StringFormat(
+                "Not writing attribute <%s>, since values of type <%s> are not supported",
+                attribute.getKey(), value.getClass().getName()));
+      }
+    }
+
+    writeCount(supportedAttributes.size());
+    for (final Entry<String, Object> attribute : supportedAttributes) {
+      writeString(attribute.getKey());
+      writeValue(attribute.getValue());
+    }
+  }
+
+  void writeBoolean(final boolean value) throws IOException {
+    write(value ? 1 : 0);
+  }
+
+  void writeCount(final int count) throws IOException {
+    if (count < 0 || count > MAXIMUM_COUNT) {
+      // Larger counts could not be read back
+      throw new IOException(String.format("Cannot write count <%d> to binary catalog", count));
+    }
+    writeVarInt(count);
+  }
+
+  void writeEnum(final Enum<?> value) throws IOException {
+    // Enums are written by name, so that constants can be added or reordered between versions
+    writeString(value == null ? null : value.name());
+  }
+
+  void writeFixedInt(final int value) throws IOException {
+    write(value >>> 24);
+    write(value >>> 16);
+    write(value >>> 8);
+    write(value);
+  }
+
+  void writeFixedLong(final long value) throws IOException {
+    writeFixedInt((int) (value >>> 32));
+    writeFixedInt((int) value);
+  }
+
+  void writeHeader(final byte[] magic, final int formatVersion) throws IOException {
+    write(magic);
+    writeVarInt(formatVersion);
+  }
+
+  void writeMagic(final byte[] magic) throws IOException {
+    write(magic);
+  }
+
+  void writeSignedVarInt(final int value) throws IOException {
+    // Zig-zag encoding, so that small negative numbers are also short
+    writeVarInt(value << 1 ^ value >> 31);
+  }
+
+  void writeSignedVarLong(final long value) throws IOException {
+    writeVarLong(value << 1 ^ value >> 63);
+  }
+
+  void writeString(final String value) throws IOException {
+    if (value == null) {
+      writeVarInt(STRING_NULL);
+      return;
+    }
+    Integer stringId = strings.get(value);
+    if (stringId == null) {
+      stringId = strings.size();
+      strings.put(value, stringId);
+      if (sharedStrings != null) {
+        sharedStrings.add(value);
+      } else {
+        final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        writeVarInt(STRING_NEW);
+        writeVarInt(bytes.length);
+        write(bytes);
+        return;
+      }
+    }
+    writeVarInt(stringId + STRING_REFERENCE_OFFSET);
+  }
+
+  /**
+   * Writes the shared string table, with the position of every string, so that each string can be
+   * read without reading any of the others. The table has the number of strings, followed by the
+   * end position of each string relative to the start of the string data, and then the UTF-8
+   * encoded string data.
+   */
+  void writeStringTable() throws IOException {
+    if (sharedStrings == null) {
+      throw new IllegalStateException("No shared string table");
+    }
+    final List<byte[]> encodedStrings = new ArrayList<>(sharedStrings.size());
+    writeFixedInt(sharedStrings.size());
+    int endPosition = 0;
+    for (final String value : sharedStrings) {
+      final byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+      encodedStrings.add(bytes);
+      endPosition += bytes.length;
+      writeFixedInt(endPosition);
+    }
+    for (final byte[] bytes : encodedStrings) {
+      write(bytes);
+    }
+  }
+
+  void writeStrings(final Collection<String> values) throws IOException {
+    writeCount(values.size());
+    for (final String value : values) {
+      writeString(value);
+    }
+  }
+
+  /**
+   * Writes a value, which must be of a supported type.
+   *
+   * @param value Value to write
+   * @see #isSupportedValue(Object)
+   */
+  void writeValue(final Object value) throws IOException {
+    if (value == null) {
+      writeVarInt(VALUE_NULL);
+    } else if (value instanceof String) {
+      writeVarInt(VALUE_STRING);
+      writeString((String) value);
+    } else if (value instanceof Boolean) {
+      writeVarInt(VALUE_BOOLEAN);
+      writeBoolean((Boolean) value);
+    } else if (value instanceof Integer) {
+      writeVarInt(VALUE_INTEGER);
+      writeSignedVarInt((Integer) value);
+    } else if (value instanceof Long) {
+      writeVarInt(VALUE_LONG);
+      writeSignedVarLong((Long) value);
+    } else if (value instanceof Short) {
+      writeVarInt(VALUE_SHORT);
+      writeSignedVarInt((Short) value);
+    } else if (value instanceof Byte) {
+      writeVarInt(VALUE_BYTE);
+      writeSignedVarInt((Byte) value);
+    } else if (value instanceof Double) {
+      writeVarInt(VALUE_DOUBLE);
+      writeSignedVarLong(Double.doubleToLongBits((Double) value));
+    } else if (value instanceof Float) {
+      writeVarInt(VALUE_FLOAT);
+      writeSignedVarInt(Float.floatToIntBits((Float) value));
+    } else if (value instanceof BigInteger) {
+      writeVarInt(VALUE_BIG_INTEGER);
+      writeString(value.toString());
+    } else if (value instanceof BigDecimal) {
+      writeVarInt(VALUE_BIG_DECIMAL);
+      writeString(value.toString());
+    } else if (value instanceof Character) {
+      writeVarInt(VALUE_CHARACTER);
+      writeVarInt((Character) value);
+    } else if (value instanceof String[]) {
+      final String[] array = (String[]) value;
+      writeVarInt(VALUE_STRING_ARRAY);
+      writeCount(array.length);
+      for (final String element : array) {
+        writeString(element);
+      }
+    } else if (value instanceof List || value instanceof Set) {
+      final Collection<?> collection = (Collection<?>) value;
+      writeVarInt(value instanceof List ? VALUE_LIST : VALUE_SET);
+      writeCount(collection.size());
+      for (final Object element : collection) {
+        writeValue(element);
+      }
+    } else if (value instanceof Map) {
+      final Map<?, ?> map = (Map<?, ?>) value;
+      writeVarInt(VALUE_MAP);
+      writeCount(map.size());
+      for (final Entry<?, ?> entry : map.entrySet()) {
+        writeValue(entry.getKey());
+        writeValue(entry.getValue());
+      }
+    } else if (value instanceof Enum) {
+      final Enum<?> enumValue = (Enum<?>) value;
+      writeVarInt(VALUE_ENUM);
+      writeString(enumValue.getDeclaringClass().getName());
+      writeString(enumValue.name());
+    } else if (value instanceof Timestamp) {
+      final Timestamp timestamp = (Timestamp) value;
+      writeVarInt(VALUE_TIMESTAMP);
+      writeSignedVarLong(timestamp.getTime());
+      writeVarInt(timestamp.getNanos());
+    } else if (value instanceof java.sql.Date) {
+      writeVarInt(VALUE_DATE);
+      writeSignedVarLong(((java.sql.Date) value).getTime());
+    } else if (value instanceof Time) {
+      writeVarInt(VALUE_TIME);
+      writeSignedVarLong(((Time) value).getTime());
+    } else if (value instanceof BinaryData) {
+      writeVarInt(VALUE_BINARY_DATA);
+    } else if (value instanceof byte[]) {
+      final byte[] bytes = (byte[]) value;
+      writeVarInt(VALUE_BYTES);
+      writeCount(bytes.length);
+      write(bytes);
+    } else {
+      throw new IOException(
+          String.format("Cannot write value of type <%s>", value.getClass().getName()));
+    }
+  }
+
+  void writeVarInt(final int value) throws IOException {
+    int remaining = value;
+    while ((remaining & ~0x7F) != 0) {
+      write(remaining & 0x7F | 0x80);
+      remaining >>>= 7;
+    }
+    write(remaining);
+  }
+
+  void writeVarLong(final long value) throws IOException {
+    long remaining = value;
+    while ((remaining & ~0x7FL) != 0) {
+      write((int) (remaining & 0x7F | 0x80));
+      remaining >>>= 7;
+    }
+    write((int) remaining);
+  }
+
+  private void write(final byte[] bytes) throws IOException {
+    out.write(bytes);
+    position += bytes.length;
+  }
+
+  private void write(final int value) throws IOException {
+    out.write(value);
+    position++;
+  }
+}
@@ -0,0 +1,155 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static schemacrawler.crawl.BinaryCatalogFormat.END_OF_CATALOG;
+import static schemacrawler.crawl.BinaryCatalogFormat.FORMAT_VERSION;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAGIC;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.DatabaseObject;
+
+/**
+ * Reads a catalog in the SchemaCrawler binary catalog format, as written by a {@link
+ * BinaryCatalogWriter}. The catalog is read as a single stream, and objects are created as they are
+ * read. Tables and columns that were not in the original catalog, such as the other end of a
+ * foreign key to a schema that was not crawled, are read as partial objects, just as they are when
+ * the catalog is crawled.
+ */
+public final class BinaryCatalogReader extends AbstractBinaryCatalogReader implements Closeable {
+
+  /**
+   * Checks whether a stream has a catalog in the binary catalog format, without consuming any of
+   * the stream.
+   *
+   * @param in Input stream, which needs to support mark and reset
+   * @return True if the stream has a binary catalog
+   */
+  public static boolean isBinaryCatalog(final InputStream in) throws IOException {
+    return BinaryCatalogInput.isBinaryCatalog(in);
+  }
+
+  private final List<MutableTable> tables;
+  private final List<MutableForeignKey> foreignKeys;
+  private final List<MutableWeakAssociation> weakAssociations;
+  private final List<MutableRoutine> routines;
+
+  public BinaryCatalogReader(final InputStream in) {
+    super(new BinaryCatalogInput(in));
+    tables = new ArrayList<>();
+    foreignKeys = new ArrayList<>();
+    weakAssociations = new ArrayList<>();
+    routines = new ArrayList<>();
+  }
+
+  @Override
+  public void close() throws IOException {
+    in.close();
+  }
+
+  /**
+   * Reads a catalog. The stream is not closed.
+   *
+   * @return Catalog
+   * @throws IOException On an error reading the stream, or if the stream does not have a binary
+   *     catalog in a supported format version
+   */
+  public Catalog read() throws IOException {
+    in.readHeader(MAGIC, FORMAT_VERSION);
+    final MutableCatalog catalog = readCatalog();
+
+    final int tablesCount = in.readCount();
+    for (int i = 0; i < tablesCount; i++) {
+      catalog.addTable(readTable());
+    }
+    final int foreignKeysCount = in.readCount();
+    for (int i = 0; i < foreignKeysCount; i++) {
+      foreignKeys.add(readForeignKey());
+    }
+    final int weakAssociationsCount = in.readCount();
+    for (int i = 0; i < weakAssociationsCount; i++) {
+      weakAssociations.add(readWeakAssociation());
+    }
+    for (final MutableTable table : tables) {
+      readTableRelationships(table);
+    }
+
+    final int routinesCount = in.readCount();
+    for (int i = 0; i < routinesCount; i++) {
+      final MutableRoutine routine = readRoutine();
+      routines.add(routine);
+      catalog.addRoutine(routine);
+    }
+
+    readSequencesAndSynonyms(catalog);
+
+    if (in.readVarInt() != END_OF_CATALOG) {
+      throw new IOException("Binary catalog is not correctly terminated");
+    }
+
+    return catalog;
+  }
+
+  @Override
+  void addTable(final MutableTable table) {
+    tables.add(table);
+  }
+
+  @Override
+  MutableForeignKey lookupForeignKey(final int foreignKeyIndex) throws IOException {
+    return lookup(foreignKeys, foreignKeyIndex);
+  }
+
+  @Override
+  DatabaseObject lookupRoutine(final int routineIndex) throws IOException {
+    return lookup(routines, routineIndex);
+  }
+
+  @Override
+  MutableTable lookupTable(final int tableIndex) throws IOException {
+    return lookup(tables, tableIndex);
+  }
+
+  @Override
+  MutableWeakAssociation lookupWeakAssociation(final int weakAssociationIndex) throws IOException {
+    return lookup(weakAssociations, weakAssociationIndex);
+  }
+
+  @Override
+  TablePartial lookupTablePartial(final int tableIndex) throws IOException {
+    // Every table in the catalog is read, so there is never a need for a partial table
+    throw new IOException(String.format("Bad reference <%d> in binary catalog", tableIndex));
+  }
+}
@@ -0,0 +1,781 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_AUTO_INCREMENTED;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_GENERATED;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_HIDDEN;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_IN_CATALOG;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_NONE;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_NULLABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PARTIAL;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PART_OF_INDEX;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PART_OF_PRIMARY_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.COLUMN_PART_OF_UNIQUE_INDEX;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_ALTERNATE_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_FOREIGN_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_PRIMARY_KEY;
+import static schemacrawler.crawl.BinaryCatalogFormat.CONSTRAINT_TABLE_CONSTRAINT;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_AUTO_INCREMENTABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_CASE_SENSITIVE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_FIXED_PRECISION_SCALE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_NULLABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.DATA_TYPE_UNSIGNED;
+import static schemacrawler.crawl.BinaryCatalogFormat.END_OF_CATALOG;
+import static schemacrawler.crawl.BinaryCatalogFormat.FORMAT_VERSION;
+import static schemacrawler.crawl.BinaryCatalogFormat.FUNCTION;
+import static schemacrawler.crawl.BinaryCatalogFormat.MAGIC;
+import static schemacrawler.crawl.BinaryCatalogFormat.PROCEDURE;
+import static schemacrawler.crawl.BinaryCatalogFormat.REFERENCED_OTHER;
+import static schemacrawler.crawl.BinaryCatalogFormat.REFERENCED_ROUTINE;
+import static schemacrawler.crawl.BinaryCatalogFormat.REFERENCED_TABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.TABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VIEW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.BaseColumn;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DatabaseUser;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Procedure;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.TableReference;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import schemacrawler.schema.WeakAssociation;
+
+/**
+ * Writes a catalog in the SchemaCrawler binary catalog format. The format is versioned, and is
+ * written as a single stream. All strings go into a string table the first time that they are
+ * written, and are referenced by number after that. Other objects in the catalog, such as tables
+ * and column data types, are referenced by their position in the stream, so there is no need for
+ * object identity information. A catalog is read back with a {@link BinaryCatalogReader}.
+ */
+public final class BinaryCatalogWriter implements Closeable {
+
+  private final BinaryCatalogOutput out;
+  private final List<Table> tables;
+  private final List<ForeignKey> foreignKeys;
+  private final List<WeakAssociation> weakAssociations;
+  private final List<Routine> routines;
+  private final Map<ColumnDataType, Integer> columnDataTypeIndexes;
+  private final Map<Table, Integer> tableIndexes;
+  private final Map<Routine, Integer> routineIndexes;
+  private final Map<ForeignKey, Integer> foreignKeyIndexes;
+  private final Map<WeakAssociation, Integer> weakAssociationIndexes;
+
+  public BinaryCatalogWriter(final OutputStream out) {
+    this(new BinaryCatalogOutput(out));
+  }
+
+  BinaryCatalogWriter(final BinaryCatalogOutput out) {
+    this.out = requireNonNull(out, "No output provided");
+    tables = new ArrayList<>();
+    foreignKeys = new ArrayList<>();
+    weakAssociations = new ArrayList<>();
+    routines = new ArrayList<>();
+    columnDataTypeIndexes = new IdentityHashMap<>();
+    tableIndexes = new IdentityHashMap<>();
+    routineIndexes = new IdentityHashMap<>();
+    foreignKeyIndexes = new IdentityHashMap<>();
+    weakAssociationIndexes = new IdentityHashMap<>();
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Writes a catalog, and flushes the stream. The stream is not closed.
+   *
+   * @param catalog Catalog to write
+   */
+  public void write(final Catalog catalog) throws IOException {
+    requireNonNull(catalog, "No catalog provided");
+
+    out.writeHeader(MAGIC, FORMAT_VERSION);
+    indexCatalog(catalog);
+    writeCatalogInfo(catalog);
+
+    // Tables are written in two passes, so that foreign keys can refer to tables that come later
+    out.writeCount(tables.size());
+    for (final Table table : tables) {
+      writeTable(table);
+    }
+    out.writeCount(foreignKeys.size());
+    for (final ForeignKey foreignKey : foreignKeys) {
+      writeForeignKey(foreignKey);
+    }
+    out.writeCount(weakAssociations.size());
+    for (final WeakAssociation weakAssociation : weakAssociations) {
+      writeTableReference(weakAssociation);
+    }
+    for (final Table table : tables) {
+      writeTableRelationships(table);
+    }
+
+    out.writeCount(routines.size());
+    for (final Routine routine : routines) {
+      writeRoutine(routine);
+    }
+
+    writeSequencesAndSynonyms(catalog);
+
+    out.writeVarInt(END_OF_CATALOG);
+    out.flush();
+  }
+
+  int getForeignKeyIndex(final ForeignKey foreignKey) {
+    return foreignKeyIndexes.get(foreignKey);
+  }
+
+  List<ForeignKey> getForeignKeys() {
+    return foreignKeys;
+  }
+
+  List<Routine> getRoutines() {
+    return routines;
+  }
+
+  /**
+   * Gets the position of a table in the catalog.
+   *
+   * @param table Table to look up
+   * @return Position of the table, or -1 if the table is not in the catalog
+   */
+  int getTableIndex(final Table table) {
+    final Integer tableIndex = tableIndexes.get(table);
+    return tableIndex == null ? -1 : tableIndex;
+  }
+
+  List<Table> getTables() {
+    return tables;
+  }
+
+  int getWeakAssociationIndex(final WeakAssociation weakAssociation) {
+    return weakAssociationIndexes.get(weakAssociation);
+  }
+
+  List<WeakAssociation> getWeakAssociations() {
+    return weakAssociations;
+  }
+
+  /**
+   * Numbers tables, foreign keys, weak associations and routines, so that they can be referred to
+   * by position. Foreign keys and weak associations are shared by the tables at both ends, so they
+   * are numbered once each.
+   *
+   * @param catalog Catalog to write
+   */
+  void indexCatalog(final Catalog catalog) {
+    for (final Table table : catalog.getTables()) {
+      tableIndexes.put(table, tables.size());
+      tables.add(table);
+    }
+    for (final Table table : tables) {
+      for (final ForeignKey foreignKey : table.getForeignKeys()) {
+        if (!foreignKeyIndexes.containsKey(foreignKey)) {
+          foreignKeyIndexes.put(foreignKey, foreignKeys.size());
+          foreignKeys.add(foreignKey);
+        }
+      }
+      for (final WeakAssociation weakAssociation : table.getWeakAssociations()) {
+        if (!weakAssociationIndexes.containsKey(weakAssociation)) {
+          weakAssociationIndexes.put(weakAssociation, weakAssociations.size());
+          weakAssociations.add(weakAssociation);
+        }
+      }
+    }
+    for (final Routine routine : catalog.getRoutines()) {
+      routineIndexes.put(routine, routines.size());
+      routines.add(routine);
+    }
+  }
+
+  /**
+   * Writes the catalog itself, with database and driver information, schemas, column data types and
+   * database users.
+   *
+   * @param catalog Catalog to write
+   */
+  void writeCatalogInfo(final Catalog catalog) throws IOException {
+    out.writeString(catalog.getName());
+    out.writeAttributes(catalog.getAttributes());
+
+    writeDatabaseInfo(catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(catalog.getJdbcDriverInfo());
+    writeCrawlInfo(catalog.getCrawlInfo());
+
+    final Collection<Schema> schemas = catalog.getSchemas();
+    out.writeCount(schemas.size());
+    for (final Schema schema : schemas) {
+      writeSchema(schema);
+      out.writeAttributes(schema.getAttributes());
+    }
+
+    writeColumnDataTypes(catalog);
+
+    final Collection<DatabaseUser> databaseUsers = catalog.getDatabaseUsers();
+    out.writeCount(databaseUsers.size());
+    for (final DatabaseUser databaseUser : databaseUsers) {
+      out.writeString(databaseUser.getName());
+      out.writeAttributes(databaseUser.getAttributes());
+    }
+  }
+
+  void writeForeignKey(final ForeignKey foreignKey) throws IOException {
+    writeTableReference(foreignKey);
+    out.writeEnum(foreignKey.getUpdateRule());
+    out.writeEnum(foreignKey.getDeleteRule());
+    out.writeEnum(foreignKey.getDeferrability());
+    out.writeString(foreignKey.getDefinition());
+  }
+
+  void writeRoutine(final Routine routine) throws IOException {
+    if (routine instanceof Function) {
+      out.writeVarInt(FUNCTION);
+    } else {
+      out.writeVarInt(PROCEDURE);
+    }
+    writeSchema(routine.getSchema());
+    out.writeString(routine.getName());
+    out.writeString(routine.getSpecificName());
+    if (routine instanceof Function) {
+      out.writeEnum(((Function) routine).getReturnType());
+    } else if (routine instanceof Procedure) {
+      out.writeEnum(((Procedure) routine).getReturnType());
+    } else {
+      out.writeEnum(null);
+    }
+    out.writeEnum(routine.getRoutineBodyType());
+    out.writeString(routine.getDefinition());
+    out.writeAttributes(routine.getAttributes());
+
+    final List<RoutineParameter<? extends Routine>> parameters = routine.getParameters();
+    out.writeCount(parameters.size());
+    for (final RoutineParameter<? extends Routine> parameter : parameters) {
+      out.writeString(parameter.getName());
+      out.writeEnum(parameter.getParameterMode());
+      writeColumnFields(parameter);
+    }
+  }
+
+  void writeSequencesAndSynonyms(final Catalog catalog) throws IOException {
+    final Collection<Sequence> sequences = catalog.getSequences();
+    out.writeCount(sequences.size());
+    for (final Sequence sequence : sequences) {
+      writeSequence(sequence);
+    }
+
+    final Collection<Synonym> synonyms = catalog.getSynonyms();
+    out.writeCount(synonyms.size());
+    for (final Synonym synonym : synonyms) {
+      writeSynonym(synonym);
+    }
+  }
+
+  void writeTable(final Table table) throws IOException {
+    out.writeVarInt(table instanceof View ? VIEW : TABLE);
+    writeSchema(table.getSchema());
+    out.writeString(table.getName());
+    out.writeString(table.getTableType().getTableType());
+    out.writeSignedVarInt(
+        table instanceof MutableTable ? ((MutableTable) table).getSortIndex() : 0);
+    out.writeString(table.getDefinition());
+    out.writeAttributes(table.getAttributes());
+
+    final List<Column> columns = table.getColumns();
+    out.writeCount(columns.size());
+    for (final Column column : columns) {
+      writeColumn(column);
+    }
+    final Collection<Column> hiddenColumns = table.getHiddenColumns();
+    out.writeCount(hiddenColumns.size());
+    for (final Column column : hiddenColumns) {
+      writeColumn(column);
+    }
+
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    out.writeBoolean(primaryKey != null);
+    if (primaryKey != null) {
+      writeTableConstraint(primaryKey);
+    }
+    final Collection<PrimaryKey> alternateKeys = table.getAlternateKeys();
+    out.writeCount(alternateKeys.size());
+    for (final PrimaryKey alternateKey : alternateKeys) {
+      writeTableConstraint(alternateKey);
+    }
+
+    final Collection<Index> indexes = table.getIndexes();
+    out.writeCount(indexes.size());
+    for (final Index index : indexes) {
+      writeIndex(index);
+    }
+
+    final Collection<Trigger> triggers = table.getTriggers();
+    out.writeCount(triggers.size());
+    for (final Trigger trigger : triggers) {
+      out.writeString(trigger.getName());
+      out.writeEnum(trigger.getEventManipulationType());
+      out.writeSignedVarInt(trigger.getActionOrder());
+      out.writeString(trigger.getActionCondition());
+      out.writeString(trigger.getActionStatement());
+      out.writeEnum(trigger.getActionOrientation());
+      out.writeEnum(trigger.getConditionTiming());
+      out.writeAttributes(trigger.getAttributes());
+    }
+
+    writePrivileges(table.getPrivileges());
+
+    if (table instanceof View) {
+      final View view = (View) table;
+      out.writeEnum(view.getCheckOption());
+      out.writeBoolean(view.isUpdatable());
+    }
+  }
+
+  void writeTableReference(final TableReference tableReference) throws IOException {
+    out.writeString(tableReference.getName());
+    out.writeAttributes(tableReference.getAttributes());
+    final List<ColumnReference> columnReferences = tableReference.getColumnReferences();
+    out.writeCount(columnReferences.size());
+    for (final ColumnReference columnReference : columnReferences) {
+      writeColumnReference(columnReference.getForeignKeyColumn());
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+      out.writeSignedVarInt(columnReference.getKeySequence());
+    }
+  }
+
+  void writeTableRelationships(final Table table) throws IOException {
+    final Collection<ForeignKey> foreignKeys = table.getForeignKeys();
+    out.writeCount(foreignKeys.size());
+    for (final ForeignKey foreignKey : foreignKeys) {
+      out.writeVarInt(foreignKeyIndexes.get(foreignKey));
+    }
+    final Collection<WeakAssociation> weakAssociations = table.getWeakAssociations();
+    out.writeCount(weakAssociations.size());
+    for (final WeakAssociation weakAssociation : weakAssociations) {
+      out.writeVarInt(weakAssociationIndexes.get(weakAssociation));
+    }
+
+    final Collection<TableConstraint> tableConstraints = table.getTableConstraints();
+    out.writeCount(tableConstraints.size());
+    for (final TableConstraint tableConstraint : tableConstraints) {
+      final Integer foreignKeyIndex = foreignKeyIndexes.get(tableConstraint);
+      if (tableConstraint == table.getPrimaryKey()) {
+        out.writeVarInt(CONSTRAINT_PRIMARY_KEY);
+      } else if (foreignKeyIndex != null) {
+        out.writeVarInt(CONSTRAINT_FOREIGN_KEY);
+        out.writeVarInt(foreignKeyIndex);
+      } else if (isAlternateKey(table, tableConstraint)) {
+        out.writeVarInt(CONSTRAINT_ALTERNATE_KEY);
+        out.writeString(tableConstraint.getName());
+      } else {
+        out.writeVarInt(CONSTRAINT_TABLE_CONSTRAINT);
+        writeTableConstraint(tableConstraint);
+      }
+    }
+
+    final List<Column> referencingColumns = new ArrayList<>();
+    for (final Column column : table.getColumns()) {
+      if (column.getReferencedColumn() != null) {
+        referencingColumns.add(column);
+      }
+    }
+    for (final Column column : table.getHiddenColumns()) {
+      if (column.getReferencedColumn() != null) {
+        referencingColumns.add(column);
+      }
+    }
+    out.writeCount(referencingColumns.size());
+    for (final Column column : referencingColumns) {
+      out.writeString(column.getName());
+      writeColumnReference(column.getReferencedColumn());
+    }
+
+    if (table instanceof View) {
+      final List<Integer> tableUsage = new ArrayList<>();
+      for (final Table usedTable : ((View) table).getTableUsage()) {
+        final Integer tableIndex = tableIndexes.get(usedTable);
+        if (tableIndex != null) {
+          tableUsage.add(tableIndex);
+        }
+      }
+      out.writeCount(tableUsage.size());
+      for (final int tableIndex : tableUsage) {
+        out.writeVarInt(tableIndex);
+      }
+    }
+  }
+
+  private void addColumnDataType(
+      final ColumnDataType columnDataType, final List<ColumnDataType> columnDataTypes) {
+    if (columnDataType != null && !columnDataTypeIndexes.containsKey(columnDataType)) {
+      columnDataTypeIndexes.put(columnDataType, columnDataTypes.size());
+      columnDataTypes.add(columnDataType);
+    }
+  }
+
+  private boolean isAlternateKey(final Table table, final TableConstraint tableConstraint) {
+    for (final PrimaryKey alternateKey : table.getAlternateKeys()) {
+      if (alternateKey == tableConstraint) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private void writeBigInteger(final BigInteger value) throws IOException {
+    out.writeString(value == null ? null : value.toString());
+  }
+
+  private void writeColumn(final Column column) throws IOException {
+    int flags = 0;
+    if (column.isNullable()) {
+      flags |= COLUMN_NULLABLE;
+    }
+    if (column.isAutoIncremented()) {
+      flags |= COLUMN_AUTO_INCREMENTED;
+    }
+    if (column.isGenerated()) {
+      flags |= COLUMN_GENERATED;
+    }
+    if (column.isHidden()) {
+      flags |= COLUMN_HIDDEN;
+    }
+    if (column.isPartOfIndex()) {
+      flags |= COLUMN_PART_OF_INDEX;
+    }
+    if (column.isPartOfPrimaryKey()) {
+      flags |= COLUMN_PART_OF_PRIMARY_KEY;
+    }
+    if (column.isPartOfUniqueIndex()) {
+      flags |= COLUMN_PART_OF_UNIQUE_INDEX;
+    }
+
+    out.writeString(column.getName());
+    out.writeVarInt(flags);
+    writeColumnFields(column);
+    out.writeString(column.getDefaultValue());
+    writePrivileges(column.getPrivileges());
+  }
+
+  private void writeColumnDataTypeReference(final ColumnDataType columnDataType)
+      throws IOException {
+    final Integer index = columnDataType == null ? null : columnDataTypeIndexes.get(columnDataType);
+    out.writeVarInt(index == null ? 0 : index + 1);
+  }
+
+  private void writeColumnDataTypes(final Catalog catalog) throws IOException {
+    // Column data types that are not in the catalog are still written out, since they are needed
+    // by columns and routine parameters
+    final List<ColumnDataType> columnDataTypes = new ArrayList<>();
+    for (final ColumnDataType columnDataType : catalog.getColumnDataTypes()) {
+      addColumnDataType(columnDataType, columnDataTypes);
+    }
+    final int catalogColumnDataTypesCount = columnDataTypes.size();
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        addColumnDataType(column.getColumnDataType(), columnDataTypes);
+      }
+      for (final Column column : table.getHiddenColumns()) {
+        addColumnDataType(column.getColumnDataType(), columnDataTypes);
+      }
+    }
+    for (final Routine routine : catalog.getRoutines()) {
+      for (final RoutineParameter<? extends Routine> parameter : routine.getParameters()) {
+        addColumnDataType(parameter.getColumnDataType(), columnDataTypes);
+      }
+    }
+    for (int i = 0; i < columnDataTypes.size(); i++) {
+      addColumnDataType(columnDataTypes.get(i).getBaseType(), columnDataTypes);
+    }
+
+    out.writeCount(columnDataTypes.size());
+    out.writeCount(catalogColumnDataTypesCount);
+    for (final ColumnDataType columnDataType : columnDataTypes) {
+      int flags = 0;
+      if (columnDataType.isAutoIncrementable()) {
+        flags |= DATA_TYPE_AUTO_INCREMENTABLE;
+      }
+      if (columnDataType.isCaseSensitive()) {
+        flags |= DATA_TYPE_CASE_SENSITIVE;
+      }
+      if (columnDataType.isFixedPrecisionScale()) {
+        flags |= DATA_TYPE_FIXED_PRECISION_SCALE;
+      }
+      if (columnDataType.isNullable()) {
+        flags |= DATA_TYPE_NULLABLE;
+      }
+      if (columnDataType.isUnsigned()) {
+        flags |= DATA_TYPE_UNSIGNED;
+      }
+
+      writeSchema(columnDataType.getSchema());
+      out.writeString(columnDataType.getName());
+      out.writeEnum(columnDataType.getType());
+      out.writeVarInt(flags);
+      out.writeSignedVarInt(columnDataType.getJavaSqlType().getVendorTypeNumber());
+      out.writeString(columnDataType.getTypeMappedClass().getName());
+      out.writeString(columnDataType.getCreateParameters());
+      out.writeStrings(columnDataType.getEnumValues());
+      out.writeString(columnDataType.getLiteralPrefix());
+      out.writeString(columnDataType.getLiteralSuffix());
+      out.writeString(columnDataType.getLocalTypeName());
+      out.writeSignedVarInt(columnDataType.getMaximumScale());
+      out.writeSignedVarInt(columnDataType.getMinimumScale());
+      out.writeSignedVarInt(columnDataType.getNumPrecisionRadix());
+      out.writeSignedVarLong(columnDataType.getPrecision());
+      out.writeEnum(columnDataType.getSearchable());
+      out.writeAttributes(columnDataType.getAttributes());
+    }
+    for (final ColumnDataType columnDataType : columnDataTypes) {
+      writeColumnDataTypeReference(columnDataType.getBaseType());
+    }
+  }
+
+  private void writeColumnFields(final BaseColumn<?> column) throws IOException {
+    out.writeSignedVarInt(column.getOrdinalPosition());
+    out.writeSignedVarInt(column.getSize());
+    out.writeSignedVarInt(column.getDecimalDigits());
+    out.writeBoolean(column.isNullable());
+    writeColumnDataTypeReference(column.getColumnDataType());
+    out.writeAttributes(column.getAttributes());
+  }
+
+  /**
+   * Columns of tables in the catalog are referenced by table position and column name. Columns of
+   * other tables are written out in full, as partial objects.
+   */
+  private void writeColumnReference(final Column column) throws IOException {
+    if (column == null) {
+      out.writeVarInt(COLUMN_NONE);
+      return;
+    }
+    final Table table = column.getParent();
+    final Integer tableIndex = tableIndexes.get(table);
+    if (tableIndex != null) {
+      out.writeVarInt(COLUMN_IN_CATALOG);
+      out.writeVarInt(tableIndex);
+    } else {
+      out.writeVarInt(COLUMN_PARTIAL);
+      writeSchema(table.getSchema());
+      out.writeString(table.getName());
+    }
+    out.writeString(column.getName());
+  }
+
+  private void writeCrawlInfo(final CrawlInfo crawlInfo) throws IOException {
+    writeProductVersion(crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion(crawlInfo.getOperatingSystemVersion());
+    writeProductVersion(crawlInfo.getJvmVersion());
+    writeProductVersion(crawlInfo.getDatabaseVersion());
+    writeProductVersion(crawlInfo.getJdbcDriverVersion());
+    final Instant crawlTimestamp = crawlInfo.getCrawlTimestampInstant();
+    out.writeSignedVarLong(crawlTimestamp.getEpochSecond());
+    out.writeVarInt(crawlTimestamp.getNano());
+    out.writeString(crawlInfo.getRunId());
+    out.writeStrings(crawlInfo.getSkippedRetrievals());
+  }
+
+  private void writeDatabaseInfo(final DatabaseInfo databaseInfo) throws IOException {
+    writeProductVersion(databaseInfo);
+    out.writeString(databaseInfo.getUserName());
+
+    final Collection<Property> serverInfo = databaseInfo.getServerInfo();
+    out.writeCount(serverInfo.size());
+    for (final Property property : serverInfo) {
+      final Object value = property.getValue();
+      out.writeString(property.getName());
+      out.writeString(value == null ? null : String.valueOf(value));
+      out.writeString(property.getDescription());
+    }
+
+    final Collection<DatabaseProperty> properties = databaseInfo.getProperties();
+    out.writeCount(properties.size());
+    for (final DatabaseProperty property : properties) {
+      final Object value = property.getValue();
+      out.writeString(property.getName());
+      if (BinaryCatalogOutput.isSupportedValue(value)) {
+        out.writeValue(value);
+      } else {
+        out.writeValue(String.valueOf(value));
+      }
+    }
+  }
+
+  private void writeIndex(final Index index) throws IOException {
+    out.writeString(index.getName());
+    out.writeBoolean(index.isUnique());
+    out.writeEnum(index.getIndexType());
+    out.writeSignedVarLong(index.getCardinality());
+    out.writeSignedVarLong(index.getPages());
+    out.writeString(index.getDefinition());
+    out.writeAttributes(index.getAttributes());
+
+    final List<IndexColumn> columns = index.getColumns();
+    out.writeCount(columns.size());
+    for (final IndexColumn column : columns) {
+      writeColumnReference(column);
+      out.writeSignedVarInt(column.getIndexOrdinalPosition());
+      out.writeEnum(column.getSortSequence());
+    }
+  }
+
+  private void writeJdbcDriverInfo(final JdbcDriverInfo jdbcDriverInfo) throws IOException {
+    writeProductVersion(jdbcDriverInfo);
+    out.writeString(jdbcDriverInfo.getDriverClassName());
+    out.writeSignedVarInt(jdbcDriverInfo.getDriverMajorVersion());
+    out.writeSignedVarInt(jdbcDriverInfo.getDriverMinorVersion());
+    out.writeSignedVarInt(jdbcDriverInfo.getJdbcMajorVersion());
+    out.writeSignedVarInt(jdbcDriverInfo.getJdbcMinorVersion());
+    out.writeBoolean(jdbcDriverInfo.isJdbcCompliant());
+    out.writeString(jdbcDriverInfo.getConnectionUrl());
+
+    final Collection<JdbcDriverProperty> driverProperties = jdbcDriverInfo.getDriverProperties();
+    out.writeCount(driverProperties.size());
+    for (final JdbcDriverProperty property : driverProperties) {
+      out.writeString(property.getName());
+      out.writeString(property.getValue());
+      out.writeString(property.getDescription());
+      out.writeBoolean(property.isRequired());
+      out.writeStrings(property.getChoices());
+    }
+  }
+
+  private <D extends DatabaseObject> void writePrivileges(final Collection<Privilege<D>> privileges)
+      throws IOException {
+    out.writeCount(privileges.size());
+    for (final Privilege<D> privilege : privileges) {
+      out.writeString(privilege.getName());
+      out.writeAttributes(privilege.getAttributes());
+      final Collection<Grant<D>> grants = privilege.getGrants();
+      out.writeCount(grants.size());
+      for (final Grant<D> grant : grants) {
+        out.writeString(grant.getGrantor());
+        out.writeString(grant.getGrantee());
+        out.writeBoolean(grant.isGrantable());
+      }
+    }
+  }
+
+  private void writeProductVersion(final ProductVersion productVersion) throws IOException {
+    out.writeString(productVersion.getProductName());
+    out.writeString(productVersion.getProductVersion());
+  }
+
+  private void writeSchema(final Schema schema) throws IOException {
+    out.writeString(schema.getCatalogName());
+    out.writeString(schema.getName());
+  }
+
+  private void writeSequence(final Sequence sequence) throws IOException {
+    writeSchema(sequence.getSchema());
+    out.writeString(sequence.getName());
+    out.writeSignedVarLong(sequence.getIncrement());
+    writeBigInteger(sequence.getStartValue());
+    writeBigInteger(sequence.getMinimumValue());
+    writeBigInteger(sequence.getMaximumValue());
+    out.writeBoolean(sequence.isCycle());
+    out.writeAttributes(sequence.getAttributes());
+  }
+
+  private void writeSynonym(final Synonym synonym) throws IOException {
+    writeSchema(synonym.getSchema());
+    out.writeString(synonym.getName());
+    out.writeAttributes(synonym.getAttributes());
+
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    final Integer tableIndex = tableIndexes.get(referencedObject);
+    final Integer routineIndex = routineIndexes.get(referencedObject);
+    if (tableIndex != null) {
+      out.writeVarInt(REFERENCED_TABLE);
+      out.writeVarInt(tableIndex);
+    } else if (routineIndex != null) {
+      out.writeVarInt(REFERENCED_ROUTINE);
+      out.writeVarInt(routineIndex);
+    } else {
+      out.writeVarInt(REFERENCED_OTHER);
+      writeSchema(referencedObject.getSchema());
+      out.writeString(referencedObject.getName());
+    }
+  }
+
+  private void writeTableConstraint(final TableConstraint tableConstraint) throws IOException {
+    out.writeString(tableConstraint.getName());
+    out.writeEnum(tableConstraint.getType());
+    out.writeBoolean(tableConstraint.isDeferrable());
+    out.writeBoolean(tableConstraint.isInitiallyDeferred());
+    out.writeString(tableConstraint.getDefinition());
+    out.writeAttributes(tableConstraint.getAttributes());
+
+    final List<TableConstraintColumn> columns = tableConstraint.getConstrainedColumns();
+    out.writeCount(columns.size());
+    for (final TableConstraintColumn column : columns) {
+      out.writeString(column.getName());
+      out.writeSignedVarInt(column.getTableConstraintOrdinalPosition());
+    }
+  }
+}
@@ -0,0 +1,79 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import schemacrawler.schema.Catalog;
+import us.fatehi.utility.UtilityMarker;
+
+/**
+ * Freezes a catalog once it is fully loaded, so that it takes less memory while it is kept around
+ * only to be read. A frozen catalog implements the same interfaces, but its lists of named objects
+ * are sized to their contents with a fixed sort order, and objects without attributes share an
+ * empty attribute map. Named objects can no longer be added to or removed from a frozen catalog,
+ * though attributes can still be set. A frozen catalog is not frozen after it is deserialized.
+ */
+@UtilityMarker
+public final class CatalogFreezer {
+
+  private static final Logger LOGGER = Logger.getLogger(CatalogFreezer.class.getName());
+
+  /**
+   * Freezes a catalog, if it was created by SchemaCrawler. Freezing a catalog more than once has no
+   * effect.
+   *
+   * @param catalog Fully loaded catalog
+   * @return The same catalog, frozen
+   */
+  public static Catalog freeze(final Catalog catalog) {
+    requireNonNull(catalog, "No catalog provided");
+    if (catalog instanceof MutableCatalog) {
+      ((MutableCatalog) catalog).freeze();
+    } else {
+      LOGGER.log(Level.FINE, "Cannot freeze catalog, since it was not created by SchemaCrawler");
+    }
+    return catalog;
+  }
+
+  /**
+   * Checks whether a catalog is frozen.
+   *
+   * @param catalog Catalog to check
+   * @return Whether the catalog is frozen
+   */
+  public static boolean isFrozen(final Catalog catalog) {
+    return catalog instanceof MutableCatalog && ((MutableCatalog) catalog).isFrozen();
+  }
+
+  private CatalogFreezer() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,282 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.SchemaReference;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Replaces tables in a catalog with tables from another crawl, and links the replacement tables to
+ * the rest of the catalog. Foreign keys, view table usage and synonyms that refer to tables that
+ * were replaced are pointed to the replacement tables.
+ */
+final class CatalogTablesMerger {
+
+  private static final Logger LOGGER = Logger.getLogger(CatalogTablesMerger.class.getName());
+
+  private final MutableCatalog catalog;
+  private final Identifiers identifiers;
+  private final boolean isForeignKeyTableConstraints;
+
+  /**
+   * Merges tables into a catalog.
+   *
+   * @param catalog Catalog that is modified
+   * @param identifiers Identifiers for quoting names
+   * @param isForeignKeyTableConstraints Whether foreign keys are also table constraints of the
+   *     referencing table
+   */
+  CatalogTablesMerger(
+      final MutableCatalog catalog,
+      final Identifiers identifiers,
+      final boolean isForeignKeyTableConstraints) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    this.identifiers = requireNonNull(identifiers, "No identifiers provided");
+    this.isForeignKeyTableConstraints = isForeignKeyTableConstraints;
+  }
+
+  /**
+   * Removes stale tables from the catalog, and adds tables from another crawl in their place.
+   *
+   * @param staleTables Tables that were dropped, or that have changed
+   * @param replacementCatalog Catalog with the tables that replace the stale tables, or null if
+   *     there are no replacement tables
+   */
+  void replaceTables(
+      final Collection<? extends Table> staleTables, final MutableCatalog replacementCatalog) {
+    requireNonNull(staleTables, "No stale tables provided");
+
+    for (final Table staleTable : staleTables) {
+      final Optional<MutableTable> tableOptional = catalog.lookupTable(staleTable.key());
+      if (tableOptional.isPresent()) {
+        removeTable(tableOptional.get());
+      }
+    }
+
+    final List<MutableTable> replacementTables = new ArrayList<>();
+    if (replacementCatalog != null) {
+      for (final SchemaReference schema : replacementCatalog.getAllSchemas()) {
+        if (!catalog.getAllSchemas().contains(schema)) {
+          catalog.addSchema(schema);
+        }
+      }
+      for (final ColumnDataType columnDataType : replacementCatalog.getColumnDataTypes()) {
+        if (!catalog
+            .lookupColumnDataType(columnDataType.getSchema(), columnDataType.getName())
+            .isPresent()) {
+          catalog.addColumnDataType((MutableColumnDataType) columnDataType);
+        }
+      }
+      for (final MutableTable table : replacementCatalog.getAllTables()) {
+        catalog.addTable(table);
+        replacementTables.add(table);
+      }
+    }
+
+    for (final MutableTable table : replacementTables) {
+      relinkForeignKeys(table);
+    }
+    relinkViewTableUsage();
+    relinkSynonyms();
+
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Replaced %d stale tables with %d tables",
+            staleTables.size(), replacementTables.size()));
+
+    // Sort tables again, since foreign keys may have changed
+    final TablesGraph tablesGraph = new TablesGraph(catalog.getAllTables());
+    tablesGraph.setTablesSortIndexes();
+  }
+
+  private void relinkForeignKeys(final MutableTable table) {
+    for (final ForeignKey foreignKey : table.getForeignKeys()) {
+      // Tables that were not crawled again are only known as partial tables, so look them up in
+      // the catalog
+      final List<ColumnReference> columnReferences = new ArrayList<>();
+      boolean isRelinked = false;
+      for (final ColumnReference columnReference : foreignKey.getColumnReferences()) {
+        final Column fkColumn = lookupColumn(columnReference.getForeignKeyColumn());
+        final Column pkColumn = lookupColumn(columnReference.getPrimaryKeyColumn());
+        isRelinked =
+            isRelinked
+                || fkColumn != columnReference.getForeignKeyColumn()
+                || pkColumn != columnReference.getPrimaryKeyColumn();
+        columnReferences.add(
+            new ImmutableColumnReference(columnReference.getKeySequence(), fkColumn, pkColumn));
+      }
+      if (!isRelinked || columnReferences.isEmpty()) {
+        continue;
+      }
+
+      final MutableForeignKey oldForeignKey = (MutableForeignKey) foreignKey;
+      final MutableForeignKey newForeignKey =
+          new MutableForeignKey(oldForeignKey.getName(), columnReferences.get(0));
+      for (final ColumnReference columnReference : columnReferences) {
+        newForeignKey.addColumnReference(columnReference);
+      }
+      newForeignKey.setUpdateRule(oldForeignKey.getUpdateRule());
+      newForeignKey.setDeleteRule(oldForeignKey.getDeleteRule());
+      newForeignKey.setDeferrability(oldForeignKey.getDeferrability());
+      newForeignKey.appendDefinition(oldForeignKey.getDefinition());
+      newForeignKey.setRemarks(oldForeignKey.getRemarks());
+      newForeignKey.addAttributes(oldForeignKey.getAttributes());
+      newForeignKey.withQuoting(identifiers);
+
+      // Replace the foreign key in both tables
+      table.removeForeignKey(oldForeignKey);
+      table.addForeignKey(newForeignKey);
+      final Optional<TableConstraint> tableConstraint =
+          table.lookupTableConstraint(oldForeignKey.getName());
+      if (tableConstraint.isPresent() && tableConstraint.get() == oldForeignKey) {
+        table.removeTableConstraint(oldForeignKey);
+        table.addTableConstraint(newForeignKey);
+      }
+
+      final Table fkTable = newForeignKey.getForeignKeyTable();
+      final Table pkTable = newForeignKey.getPrimaryKeyTable();
+      if (pkTable != table && pkTable instanceof MutableTable) {
+        ((MutableTable) pkTable).addForeignKey(newForeignKey);
+      }
+      if (fkTable instanceof MutableTable) {
+        if (fkTable != table) {
+          ((MutableTable) fkTable).addForeignKey(newForeignKey);
+          if (isForeignKeyTableConstraints) {
+            ((MutableTable) fkTable).addTableConstraint(newForeignKey);
+          }
+        }
+        for (final ColumnReference columnReference : columnReferences) {
+          final Column fkColumn = columnReference.getForeignKeyColumn();
+          if (fkColumn instanceof MutableColumn) {
+            ((MutableColumn) fkColumn).setReferencedColumn(columnReference.getPrimaryKeyColumn());
+          }
+        }
+      }
+    }
+  }
+
+  private void relinkSynonyms() {
+    for (final MutableSynonym synonym : catalog.getAllSynonyms()) {
+      final DatabaseObject referencedObject = synonym.getReferencedObject();
+      if (!(referencedObject instanceof Table)) {
+        continue;
+      }
+      final Optional<MutableTable> tableOptional = catalog.lookupTable(referencedObject.key());
+      if (tableOptional.isPresent() && tableOptional.get() != referencedObject) {
+        synonym.setReferencedObject(tableOptional.get());
+      }
+    }
+  }
+
+  private void relinkViewTableUsage() {
+    for (final MutableTable table : catalog.getAllTables()) {
+      if (!(table instanceof MutableView)) {
+        continue;
+      }
+      final MutableView view = (MutableView) table;
+      for (final Table usedTable : view.getTableUsage()) {
+        final Optional<MutableTable> tableOptional = catalog.lookupTable(usedTable.key());
+        if (!tableOptional.isPresent()) {
+          view.removeTableUsage((MutableTable) usedTable);
+        } else if (tableOptional.get() != usedTable) {
+          view.addTableUsage(tableOptional.get());
+        }
+      }
+    }
+  }
+
+  /**
+   * Looks up the column in the catalog, if it belongs to a table that is not fully known.
+   *
+   * @param column Column to look up
+   * @return Column from the catalog, or the same column
+   */
+  private Column lookupColumn(final Column column) {
+    if (!(column instanceof ColumnPartial)) {
+      return column;
+    }
+    final Optional<MutableTable> tableOptional = catalog.lookupTable(column.getParent().key());
+    if (!tableOptional.isPresent()) {
+      return column;
+    }
+    final Optional<MutableColumn> columnOptional =
+        tableOptional.get().lookupColumn(column.getName());
+    if (columnOptional.isPresent()) {
+      return columnOptional.get();
+    }
+    return column;
+  }
+
+  /**
+   * Removes a table from the catalog, and removes foreign keys to it from other tables.
+   *
+   * @param table Table to remove
+   */
+  private void removeTable(final MutableTable table) {
+    LOGGER.log(Level.FINE, new StringFormat("Removing stale table <%s>", table));
+    for (final ForeignKey foreignKey : table.getForeignKeys()) {
+      final MutableForeignKey mutableForeignKey = (MutableForeignKey) foreignKey;
+      final Table fkTable = foreignKey.getForeignKeyTable();
+      final Table pkTable = foreignKey.getPrimaryKeyTable();
+      if (pkTable != table && pkTable instanceof MutableTable) {
+        ((MutableTable) pkTable).removeForeignKey(mutableForeignKey);
+      }
+      if (fkTable != table && fkTable instanceof MutableTable) {
+        final MutableTable otherTable = (MutableTable) fkTable;
+        otherTable.removeForeignKey(mutableForeignKey);
+        otherTable.removeTableConstraint(mutableForeignKey);
+        for (final ColumnReference columnReference : foreignKey.getColumnReferences()) {
+          final Column fkColumn = columnReference.getForeignKeyColumn();
+          if (fkColumn instanceof MutableColumn) {
+            ((MutableColumn) fkColumn).setReferencedColumn(null);
+          }
+        }
+      }
+    }
+    catalog.getAllTables().remove(table);
+  }
+}
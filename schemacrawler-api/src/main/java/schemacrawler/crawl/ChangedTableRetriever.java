@@ -0,0 +1,136 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_CHANGED_TABLES;
+import static us.fatehi.utility.TemplatingUtility.expandTemplate;
+import static us.fatehi.utility.Utility.requireNotBlank;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schemacrawler.InformationSchemaViews;
+import schemacrawler.schemacrawler.Query;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Finds tables that have changed since a previous crawl, using a database specific query for the
+ * time of the last change to each table, such as the last DDL time.
+ */
+final class ChangedTableRetriever extends AbstractRetriever {
+
+  private static final Logger LOGGER = Logger.getLogger(ChangedTableRetriever.class.getName());
+
+  ChangedTableRetriever(
+      final RetrieverConnection retrieverConnection,
+      final MutableCatalog catalog,
+      final SchemaCrawlerOptions options)
+      throws SQLException {
+    super(retrieverConnection, catalog, options);
+  }
+
+  /**
+   * Checks if there is a query to find changed tables for this database.
+   *
+   * @return Whether changed tables can be retrieved
+   */
+  boolean canRetrieveChangedTables() {
+    final InformationSchemaViews informationSchemaViews =
+        getRetrieverConnection().getInformationSchemaViews();
+    return informationSchemaViews.hasQuery(EXT_CHANGED_TABLES);
+  }
+
+  /**
+   * Retrieves tables in the catalog that have changed since the given time. The query is expected
+   * to use the ${changedsince} variable, which is a UTC timestamp in the form of "yyyy-MM-dd
+   * HH:mm:ss". Unlike other retrievals, errors are not ignored, since if changed tables cannot be
+   * found, the whole database needs to be crawled again.
+   *
+   * @param changedSince UTC timestamp of the previous crawl
+   * @return Tables that have changed
+   * @throws SQLException On a SQL exception
+   */
+  Collection<MutableTable> retrieveChangedTables(final String changedSince) throws SQLException {
+    requireNotBlank(changedSince, "No timestamp provided");
+
+    final InformationSchemaViews informationSchemaViews =
+        getRetrieverConnection().getInformationSchemaViews();
+    if (!informationSchemaViews.hasQuery(EXT_CHANGED_TABLES)) {
+      throw new SQLException("Changed tables SQL statement was not provided");
+    }
+
+    LOGGER.log(
+        Level.INFO, new StringFormat("Retrieving tables that have changed since %s", changedSince));
+
+    final Query changedTablesTemplate = informationSchemaViews.getQuery(EXT_CHANGED_TABLES);
+    final Map<String, String> variables = new HashMap<>();
+    variables.put("changedsince", changedSince);
+    final Query changedTablesSql =
+        new Query(
+            changedTablesTemplate.getName(),
+            expandTemplate(changedTablesTemplate.getQuery(), variables));
+
+    final Collection<MutableTable> changedTables = new LinkedHashSet<>();
+    try (final Connection connection = getRetrieverConnection().getConnection();
+        final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            executeDataDictionaryQuery(
+                EXT_CHANGED_TABLES, changedTablesSql, statement, getSchemaInclusionRule()); ) {
+
+      while (results.next()) {
+        final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
+        final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEMA"));
+        final String tableName = results.getString("TABLE_NAME");
+
+        final Optional<MutableTable> tableOptional =
+            lookupTable(catalogName, schemaName, tableName);
+        if (!tableOptional.isPresent()) {
+          LOGGER.log(
+              Level.FINE,
+              new StringFormat("Cannot find table <%s.%s.%s>", catalogName, schemaName, tableName));
+          continue;
+        }
+
+        changedTables.add(tableOptional.get());
+      }
+    }
+
+    LOGGER.log(Level.INFO, new StringFormat("Found %d changed tables", changedTables.size()));
+    return changedTables;
+  }
+}
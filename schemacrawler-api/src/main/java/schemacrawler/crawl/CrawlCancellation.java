@@ -0,0 +1,426 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.lang.reflect.Proxy.newProxyInstance;
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.Utility.requireNotBlank;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schemacrawler.LoadOptions;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoRetrieval;
+import us.fatehi.utility.scheduler.TaskDefinition.TaskRunnable;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Enforces time limits on a crawl, and allows a crawl to be cancelled. Statements opened on
+ * connections for the crawl are tracked, so that they can be cancelled when a retrieval runs out of
+ * time, or when the whole crawl is cancelled. Retrievals that are cancelled are skipped, so that
+ * the crawl can still return a partial catalog.
+ */
+final class CrawlCancellation implements AutoCloseable {
+
+  /** A running retrieval, and the statements opened for it. */
+  private static final class Retrieval {
+    private final String name;
+    private final long deadline;
+    private final Set<Statement> statements;
+    private volatile boolean timedOut;
+
+    Retrieval(final String name, final Duration timeout) {
+      this.name = requireNotBlank(name, "No retrieval name provided");
+      if (timeout.isZero()) {
+        deadline = 0;
+      } else {
+        deadline = System.nanoTime() + timeout.toNanos();
+      }
+      statements = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    }
+
+    void cancelStatements() {
+      for (final Statement statement : statements) {
+        cancel(statement);
+      }
+      statements.clear();
+    }
+
+    void track(final Statement statement) {
+      statements.removeIf(CrawlCancellation::isClosed);
+      statements.add(statement);
+    }
+  }
+
+  /** Tracks statements opened on a connection, including statements for metadata calls. */
+  private final class TrackedInvocationHandler implements InvocationHandler {
+
+    private final Object delegate;
+
+    TrackedInvocationHandler(final Object delegate) {
+      this.delegate = requireNonNull(delegate, "No delegate provided");
+    }
+
+    @Override
+    public Object invoke(final Object proxy, final Method method, final Object[] args)
+        throws Exception {
+      final Object returnValue;
+      try {
+        returnValue = method.invoke(delegate, args);
+      } catch (final IllegalAccessException
+          | IllegalArgumentException
+          | InvocationTargetException e) {
+        final Throwable cause = e.getCause();
+        if (cause instanceof Exception) {
+          throw (Exception) cause;
+        }
+        throw new SQLException(String.format("Could not delegate method <%s>", method), e);
+      }
+
+      if (returnValue instanceof Statement) {
+        track((Statement) returnValue);
+      } else if (returnValue instanceof ResultSet) {
+        // Metadata calls run their own statements
+        track(((ResultSet) returnValue).getStatement());
+      } else if (returnValue instanceof DatabaseMetaData) {
+        return newTrackedProxy(DatabaseMetaData.class, returnValue);
+      }
+      return returnValue;
+    }
+  }
+
+  private static final Logger LOGGER = Logger.getLogger(CrawlCancellation.class.getName());
+
+  private static void cancel(final Statement statement) {
+    try {
+      if (!statement.isClosed()) {
+        statement.cancel();
+      }
+    } catch (final SQLException e) {
+      LOGGER.log(Level.FINE, "Could not cancel statement", e);
+    }
+  }
+
+  private static boolean isClosed(final Statement statement) {
+    try {
+      return statement.isClosed();
+    } catch (final SQLException e) {
+      return true;
+    }
+  }
+
+  private static boolean isTimeout(final Throwable throwable) {
+    Throwable cause = throwable;
+    while (cause != null) {
+      if (cause instanceof SQLTimeoutException) {
+        return true;
+      }
+      cause = cause.getCause();
+    }
+    return false;
+  }
+
+  private final LoadOptions loadOptions;
+  private final AtomicBoolean isCancelled;
+  private final Set<Retrieval> runningRetrievals;
+  private final Collection<String> skippedRetrievals;
+  private final ThreadLocal<Retrieval> currentRetrieval;
+  private ScheduledExecutorService scheduler;
+  private long deadline;
+
+  /** No time limits, but the crawl can still be cancelled. */
+  CrawlCancellation() {
+    this(LoadOptionsBuilder.newLoadOptions());
+  }
+
+  CrawlCancellation(final LoadOptions loadOptions) {
+    this.loadOptions = requireNonNull(loadOptions, "No load options provided");
+    isCancelled = new AtomicBoolean(false);
+    runningRetrievals = Collections.newSetFromMap(new ConcurrentHashMap<>());
+    skippedRetrievals = Collections.synchronizedSet(new LinkedHashSet<>());
+    currentRetrieval = new ThreadLocal<>();
+  }
+
+  /**
+   * Cancels the crawl. Statements that are running are cancelled, and retrievals that have not yet
+   * started will be skipped.
+   */
+  void cancel() {
+    if (!isCancelled.compareAndSet(false, true)) {
+      return;
+    }
+    LOGGER.log(Level.WARNING, "Cancelling crawl");
+    for (final Retrieval retrieval : runningRetrievals) {
+      retrieval.cancelStatements();
+    }
+  }
+
+  /** Stops the timers for the crawl. */
+  @Override
+  public synchronized void close() {
+    if (scheduler != null) {
+      scheduler.shutdownNow();
+      scheduler = null;
+    }
+  }
+
+  /**
+   * Gets the names of retrievals that were skipped because they ran out of time, or because the
+   * crawl was cancelled.
+   *
+   * @return Names of skipped retrievals
+   */
+  Collection<String> getSkippedRetrievals() {
+    synchronized (skippedRetrievals) {
+      return new ArrayList<>(skippedRetrievals);
+    }
+  }
+
+  /**
+   * Gets the time allowed for a retrieval.
+   *
+   * @param retrieval Retrieval, or null for retrievals that are not identified
+   * @return Time allowed, or zero for no limit
+   */
+  Duration getRetrievalTimeout(final SchemaInfoRetrieval retrieval) {
+    return loadOptions.getRetrievalTimeout(retrieval);
+  }
+
+  /**
+   * Allows a task that is part of a retrieval to be run on another thread, by making the retrieval
+   * current on that thread. The task does not run if the retrieval has timed out, or if the crawl
+   * has been cancelled.
+   *
+   * @param task Task that is part of the current retrieval
+   * @return Task that can be run on any thread
+   */
+  TaskRunnable inherit(final TaskRunnable task) {
+    requireNonNull(task, "No task provided");
+    final Retrieval retrieval = currentRetrieval.get();
+    if (retrieval == null) {
+      return task;
+    }
+    return () -> {
+      if (isCancelled() || retrieval.timedOut) {
+        return;
+      }
+      final Retrieval previousRetrieval = currentRetrieval.get();
+      currentRetrieval.set(retrieval);
+      try {
+        task.run();
+      } finally {
+        currentRetrieval.set(previousRetrieval);
+      }
+    };
+  }
+
+  boolean isCancelled() {
+    return isCancelled.get();
+  }
+
+  /**
+   * Checks whether a retrieval was skipped, because it ran out of time, or because the crawl was
+   * cancelled.
+   *
+   * @param name Name of the retrieval
+   * @return Whether the retrieval was skipped
+   */
+  boolean isSkipped(final String name) {
+    return skippedRetrievals.contains(name);
+  }
+
+  /**
+   * Wraps a retrieval so that it is cancelled if it runs out of time. A retrieval that is cancelled
+   * is skipped, rather than failing the crawl.
+   *
+   * @param name Name of the retrieval
+   * @param timeout Time allowed for the retrieval, or zero for no limit
+   * @param task Retrieval task
+   * @return Task that enforces time limits
+   */
+  TaskRunnable retrieval(final String name, final Duration timeout, final TaskRunnable task) {
+    requireNotBlank(name, "No retrieval name provided");
+    requireNonNull(timeout, "No timeout provided");
+    requireNonNull(task, "No task provided");
+    return () -> {
+      if (isCancelled()) {
+        skip(name, null);
+        return;
+      }
+
+      final Retrieval retrieval = new Retrieval(name, timeout);
+      final ScheduledFuture<?> timer = scheduleTimeout(retrieval, timeout);
+      runningRetrievals.add(retrieval);
+      currentRetrieval.set(retrieval);
+      try {
+        task.run();
+      } catch (final Exception e) {
+        if (isCancelled() || retrieval.timedOut || isTimeout(e)) {
+          skip(name, e);
+        } else {
+          throw e;
+        }
+      } finally {
+        currentRetrieval.remove();
+        runningRetrievals.remove(retrieval);
+        if (timer != null) {
+          timer.cancel(false);
+        }
+      }
+      if (retrieval.timedOut) {
+        // The retrieval may have ignored failures of cancelled statements
+        skip(name, null);
+      }
+    };
+  }
+
+  /** Starts the timer for the whole crawl, if there is a time limit. */
+  void start() {
+    final Duration crawlTimeout = loadOptions.getCrawlTimeout();
+    if (crawlTimeout.isZero()) {
+      return;
+    }
+    deadline = System.nanoTime() + crawlTimeout.toNanos();
+    getScheduler().schedule((Runnable) this::cancel, crawlTimeout.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  /**
+   * Wraps a database connection so that statements opened on it can be cancelled, and are given a
+   * query timeout based on the time left for the current retrieval and for the crawl.
+   *
+   * @param connection Database connection
+   * @return Tracked database connection
+   */
+  Connection track(final Connection connection) {
+    requireNonNull(connection, "No database connection provided");
+    return newTrackedProxy(Connection.class, connection);
+  }
+
+  private synchronized ScheduledExecutorService getScheduler() {
+    if (scheduler == null) {
+      scheduler =
+          Executors.newSingleThreadScheduledExecutor(
+              runnable -> {
+                final Thread thread = new Thread(runnable, "schemacrawler-crawl-timer");
+                thread.setDaemon(true);
+                return thread;
+              });
+    }
+    return scheduler;
+  }
+
+  @SuppressWarnings("unchecked")
+  private <T> T newTrackedProxy(final Class<T> type, final Object delegate) {
+    return (T)
+        newProxyInstance(
+            CrawlCancellation.class.getClassLoader(),
+            new Class[] {type},
+            new TrackedInvocationHandler(delegate));
+  }
+
+  private ScheduledFuture<?> scheduleTimeout(final Retrieval retrieval, final Duration timeout) {
+    if (timeout.isZero()) {
+      return null;
+    }
+    return getScheduler()
+        .schedule(
+            () -> {
+              LOGGER.log(
+                  Level.WARNING,
+                  new StringFormat(
+                      "Retrieval <%s> ran out of time, after %s", retrieval.name, timeout));
+              retrieval.timedOut = true;
+              retrieval.cancelStatements();
+            },
+            timeout.toNanos(),
+            TimeUnit.NANOSECONDS);
+  }
+
+  private void skip(final String name, final Exception e) {
+    skippedRetrievals.add(name);
+    LOGGER.log(Level.WARNING, e, new StringFormat("Skipped retrieval <%s>", name));
+  }
+
+  private void track(final Statement statement) {
+    if (statement == null) {
+      return;
+    }
+
+    final long now = System.nanoTime();
+    long timeLeft = 0;
+    if (deadline > 0) {
+      timeLeft = deadline - now;
+    }
+
+    final Retrieval retrieval = currentRetrieval.get();
+    if (retrieval != null) {
+      if (retrieval.deadline > 0 && (timeLeft == 0 || retrieval.deadline - now < timeLeft)) {
+        timeLeft = retrieval.deadline - now;
+      }
+      retrieval.track(statement);
+    }
+
+    if (isCancelled() || retrieval != null && retrieval.timedOut) {
+      cancel(statement);
+      return;
+    }
+
+    if (deadline > 0 || retrieval != null && retrieval.deadline > 0) {
+      // Round up, since a query timeout of zero means no limit
+      final int seconds = (int) Math.max(1, TimeUnit.NANOSECONDS.toSeconds(timeLeft) + 1);
+      try {
+        statement.setQueryTimeout(seconds);
+      } catch (final SQLException e) {
+        LOGGER.log(Level.FINE, "Could not set query timeout", e);
+      }
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import schemacrawler.schema.Table;
+
+/**
+ * Receives notifications as a crawl progresses, so that work on the parts of the catalog that have
+ * been retrieved can start before the whole crawl is complete. Notifications are sent on the
+ * threads that run the crawl, so listeners need to be thread-safe, and should return quickly.
+ */
+public interface CrawlListener {
+
+  /**
+   * Called when a retrieval has completed, and its data is in the catalog. Retrievals that were not
+   * requested are not notified, and retrievals that were skipped are notified as skipped instead.
+   *
+   * @param retrievalName Name of the retrieval
+   */
+  default void retrievalCompleted(final String retrievalName) {
+    // Default implementation - NO-OP
+  }
+
+  /**
+   * Called when a retrieval was skipped, because it ran out of time, or because the crawl was
+   * cancelled. The catalog may not have the data for the retrieval, or may only have part of it.
+   *
+   * @param retrievalName Name of the retrieval
+   */
+  default void retrievalSkipped(final String retrievalName) {
+    // Default implementation - NO-OP
+  }
+
+  /**
+   * Called for each table, once all the retrievals for tables have completed, and the tables have
+   * been filtered and sorted. Retrievals for tables each cover all tables, so tables are not
+   * completed one at a time, but all together, at the end of the phase of the crawl for tables.
+   * Other objects, such as routines, may still be being retrieved. The table is not modified by the
+   * rest of the crawl.
+   *
+   * @param table Completed table
+   */
+  default void tableCompleted(final Table table) {
+    // Default implementation - NO-OP
+  }
+}
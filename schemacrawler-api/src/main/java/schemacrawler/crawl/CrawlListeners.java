@@ -0,0 +1,103 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schema.Table;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Notifies all registered crawl listeners. A listener that fails is logged, and does not stop the
+ * crawl, or prevent other listeners from being notified.
+ */
+final class CrawlListeners implements CrawlListener {
+
+  private static final Logger LOGGER = Logger.getLogger(CrawlListeners.class.getName());
+
+  private final List<CrawlListener> listeners;
+
+  CrawlListeners() {
+    listeners = new CopyOnWriteArrayList<>();
+  }
+
+  void add(final CrawlListener listener) {
+    requireNonNull(listener, "No crawl listener provided");
+    listeners.add(listener);
+  }
+
+  boolean isEmpty() {
+    return listeners.isEmpty();
+  }
+
+  @Override
+  public void retrievalCompleted(final String retrievalName) {
+    for (final CrawlListener listener : listeners) {
+      try {
+        listener.retrievalCompleted(retrievalName);
+      } catch (final RuntimeException e) {
+        LOGGER.log(
+            Level.WARNING,
+            e,
+            new StringFormat("Crawl listener failed for retrieval <%s>", retrievalName));
+      }
+    }
+  }
+
+  @Override
+  public void retrievalSkipped(final String retrievalName) {
+    for (final CrawlListener listener : listeners) {
+      try {
+        listener.retrievalSkipped(retrievalName);
+      } catch (final RuntimeException e) {
+        LOGGER.log(
+            Level.WARNING,
+            e,
+            new StringFormat("Crawl listener failed for retrieval <%s>", retrievalName));
+      }
+    }
+  }
+
+  @Override
+  public void tableCompleted(final Table table) {
+    for (final CrawlListener listener : listeners) {
+      try {
+        listener.tableCompleted(table);
+      } catch (final RuntimeException e) {
+        LOGGER.log(
+            Level.WARNING, e, new StringFormat("Crawl listener failed for table <%s>", table));
+      }
+    }
+  }
+}
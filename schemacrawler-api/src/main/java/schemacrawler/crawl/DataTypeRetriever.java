@@ -80,6 +80,8 @@ final class DataTypeRetriever extends AbstractRetriever {
         retrieveSystemColumnDataTypesFromDataDictionary(systemSchema);
         break;
 
+      case auto:
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving system column data types");
         retrieveSystemColumnDataTypesFromMetadata(systemSchema);
@@ -164,7 +166,8 @@ final class DataTypeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(typeInfoSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                TYPE_INFO, typeInfoSql, statement, getSchemaInclusionRule()); ) {
       int numSystemColumnDataTypes = 0;
       while (results.next()) {
         numSystemColumnDataTypes = numSystemColumnDataTypes + 1;
@@ -180,7 +183,7 @@ final class DataTypeRetriever extends AbstractRetriever {
       throws SQLException {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final MetadataResultSet results =
-            new MetadataResultSet(
+            newMetadataResultSet(
                 connection.getMetaData().getTypeInfo(), "DatabaseMetaData::getTypeInfo"); ) {
       int numSystemColumnDataTypes = 0;
       while (results.next()) {
@@ -216,7 +219,7 @@ final class DataTypeRetriever extends AbstractRetriever {
 
     try (final Connection connection = getRetrieverConnection().getConnection();
         final MetadataResultSet results =
-            new MetadataResultSet(
+            newMetadataResultSet(
                 connection.getMetaData().getUDTs(catalogName, schemaName, null, null),
                 "DatabaseMetaData::getUDTs"); ) {
       while (results.next()) {
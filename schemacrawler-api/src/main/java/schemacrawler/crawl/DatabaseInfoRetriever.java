@@ -235,7 +235,8 @@ final class DatabaseInfoRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(databaseUsersSql, statement, new IncludeAll()); ) {
+            executeDataDictionaryQuery(
+                DATABASE_USERS, databaseUsersSql, statement, new IncludeAll()); ) {
       while (results.next()) {
         final String username = results.getString("USERNAME");
         if (isBlank(username)) {
@@ -270,7 +271,8 @@ final class DatabaseInfoRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(serverInfoSql, statement, new IncludeAll()); ) {
+            executeDataDictionaryQuery(
+                SERVER_INFORMATION, serverInfoSql, statement, new IncludeAll()); ) {
       while (results.next()) {
         final String propertyName = results.getString("NAME");
         if (isBlank(propertyName)) {
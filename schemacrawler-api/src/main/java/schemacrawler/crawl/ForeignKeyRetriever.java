@@ -70,7 +70,7 @@ final class ForeignKeyRetriever extends AbstractRetriever {
   void retrieveForeignKeys(final NamedObjectList<MutableTable> allTables) throws SQLException {
     requireNonNull(allTables, "No tables provided");
 
-    switch (getRetrieverConnection().get(foreignKeysRetrievalStrategy)) {
+    switch (getRetrievalStrategy(foreignKeysRetrievalStrategy, FOREIGN_KEYS, allTables)) {
       case data_dictionary_all:
         LOGGER.log(Level.INFO, "Retrieving foreign keys, using fast data dictionary retrieval");
         retrieveForeignKeysFromDataDictionary();
@@ -81,6 +81,11 @@ final class ForeignKeyRetriever extends AbstractRetriever {
         retrieveForeignKeysFromMetadata(allTables);
         break;
 
+      case metadata_all:
+        LOGGER.log(Level.INFO, "Retrieving foreign keys, using schema-wide metadata retrieval");
+        retrieveForeignKeysFromMetadataForAllTables(allTables);
+        break;
+
       default:
         LOGGER.log(Level.INFO, "Not retrieving foreign keys");
         break;
@@ -120,63 +125,67 @@ final class ForeignKeyRetriever extends AbstractRetriever {
       final ForeignKeyDeferrability deferrability =
           results.getEnumFromId("DEFERRABILITY", ForeignKeyDeferrability.unknown);
 
-      final Column pkColumn =
-          lookupOrCreateColumn(pkTableCatalogName, pkTableSchemaName, pkTableName, pkColumnName);
-      final Column fkColumn =
-          lookupOrCreateColumn(fkTableCatalogName, fkTableSchemaName, fkTableName, fkColumnName);
-      final boolean isPkColumnPartial = pkColumn instanceof ColumnPartial;
-      final boolean isFkColumnPartial = fkColumn instanceof ColumnPartial;
-
-      if (pkColumn == null || fkColumn == null || isFkColumnPartial && isPkColumnPartial) {
-        continue;
-      }
+      // Foreign keys for different tables may be retrieved at the same time,
+      // and a foreign key is shared by the referencing and referenced tables
+      synchronized (foreignKeys) {
+        final Column pkColumn =
+            lookupOrCreateColumn(pkTableCatalogName, pkTableSchemaName, pkTableName, pkColumnName);
+        final Column fkColumn =
+            lookupOrCreateColumn(fkTableCatalogName, fkTableSchemaName, fkTableName, fkColumnName);
+        final boolean isPkColumnPartial = pkColumn instanceof ColumnPartial;
+        final boolean isFkColumnPartial = fkColumn instanceof ColumnPartial;
+
+        if (pkColumn == null || fkColumn == null || isFkColumnPartial && isPkColumnPartial) {
+          continue;
+        }
 
-      final Table fkTable = fkColumn.getParent();
-      final Table pkTable = pkColumn.getParent();
+        final Table fkTable = fkColumn.getParent();
+        final Table pkTable = pkColumn.getParent();
 
-      if (isBlank(foreignKeyName)) {
-        foreignKeyName = RetrieverUtility.constructForeignKeyName(fkTable, pkTable);
-        LOGGER.log(
-            Level.CONFIG,
-            new StringFormat(
-                "Identifying foreign key with blank name: %s from %s --> %s",
-                foreignKeyName, fkTable, pkTable));
-      }
+        if (isBlank(foreignKeyName)) {
+          foreignKeyName = RetrieverUtility.constructForeignKeyName(fkTable, pkTable);
+          LOGGER.log(
+              Level.CONFIG,
+              new StringFormat(
+                  "Identifying foreign key with blank name: %s from %s --> %s",
+                  foreignKeyName, fkTable, pkTable));
+        }
 
-      final NamedObjectKey fkLookupKey =
-          new NamedObjectKey(fkTableCatalogName, fkTableSchemaName, fkTableName, foreignKeyName);
-      final ColumnReference columnReference =
-          new ImmutableColumnReference(keySequence, fkColumn, pkColumn);
-
-      final Optional<MutableForeignKey> foreignKeyOptional =
-          Optional.ofNullable(foreignKeys.get(fkLookupKey));
-      final MutableForeignKey foreignKey;
-      if (foreignKeyOptional.isPresent()) {
-        foreignKey = foreignKeyOptional.get();
-        foreignKey.addColumnReference(columnReference);
-      } else {
-        foreignKey = new MutableForeignKey(foreignKeyName, columnReference);
-        foreignKeys.put(fkLookupKey, foreignKey);
-      }
+        final NamedObjectKey fkLookupKey =
+            new NamedObjectKey(fkTableCatalogName, fkTableSchemaName, fkTableName, foreignKeyName);
+        final ColumnReference columnReference =
+            new ImmutableColumnReference(keySequence, fkColumn, pkColumn);
+
+        final Optional<MutableForeignKey> foreignKeyOptional =
+            Optional.ofNullable(foreignKeys.get(fkLookupKey));
+        final MutableForeignKey foreignKey;
+        if (foreignKeyOptional.isPresent()) {
+          foreignKey = foreignKeyOptional.get();
+          foreignKey.addColumnReference(columnReference);
+        } else {
+          foreignKey = new MutableForeignKey(foreignKeyName, columnReference);
+          foreignKeys.put(fkLookupKey, foreignKey);
+        }
 
-      foreignKey.setUpdateRule(updateRule);
-      foreignKey.setDeleteRule(deleteRule);
-      foreignKey.setDeferrability(deferrability);
-      foreignKey.addAttributes(results.getAttributes());
-      foreignKey.withQuoting(getRetrieverConnection().getIdentifiers());
-
-      if (fkColumn instanceof MutableColumn) {
-        ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
-        ((MutableTable) fkTable).addForeignKey(foreignKey);
-      } else if (isFkColumnPartial) {
-        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
-        ((TablePartial) fkTable).addForeignKey(foreignKey);
-      }
+        foreignKey.setUpdateRule(updateRule);
+        foreignKey.setDeleteRule(deleteRule);
+        foreignKey.setDeferrability(deferrability);
+        foreignKey.addAttributes(results.getAttributes());
+        foreignKey.withQuoting(getRetrieverConnection().getIdentifiers());
+
+        if (fkColumn instanceof MutableColumn) {
+          ((MutableColumn) fkColumn).setReferencedColumn(pkColumn);
+          ((MutableTable) fkTable).addForeignKey(foreignKey);
+        } else if (isFkColumnPartial) {
+          ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+          ((TablePartial) fkTable).addForeignKey(foreignKey);
+        }
 
-      if (pkColumn instanceof MutableColumn) {
-        ((MutableTable) pkTable).addForeignKey(foreignKey);
-      } else if (isPkColumnPartial) {
-        ((TablePartial) pkTable).addForeignKey(foreignKey);
+        if (pkColumn instanceof MutableColumn) {
+          ((MutableTable) pkTable).addForeignKey(foreignKey);
+        } else if (isPkColumnPartial) {
+          ((TablePartial) pkTable).addForeignKey(foreignKey);
+        }
       }
     }
   }
@@ -208,7 +217,8 @@ final class ForeignKeyRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(fkSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                FOREIGN_KEYS, fkSql, statement, getSchemaInclusionRule()); ) {
       createForeignKeys(results, foreignKeys);
     } catch (final SQLException e) {
       throw new WrappedSQLException(
@@ -216,47 +226,86 @@ final class ForeignKeyRetriever extends AbstractRetriever {
     }
   }
 
-  private void retrieveForeignKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
+  private void retrieveForeignKeysFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables) throws SQLException {
+    final Map<NamedObjectKey, MutableForeignKey> foreignKeys = new ConcurrentHashMap<>();
+    forEachSchema(
+        allTables,
+        schema -> {
+          try (final Connection connection = getRetrieverConnection().getConnection(); ) {
+            final DatabaseMetaData metaData = connection.getMetaData();
+
+            // Get imported foreign keys
+            try (final MetadataResultSet results =
+                newMetadataResultSet(
+                    metaData.getImportedKeys(schema.getCatalogName(), schema.getName(), ALL_TABLES),
+                    "DatabaseMetaData::getImportedKeys")) {
+              createForeignKeys(results, foreignKeys);
+              if (results.getRowCount() == 0) {
+                return false;
+              }
+            }
+
+            // We need to get exported keys as well, to get foreign keys from
+            // tables in other schemas that reference tables in this schema
+            try (final MetadataResultSet results =
+                newMetadataResultSet(
+                    metaData.getExportedKeys(schema.getCatalogName(), schema.getName(), ALL_TABLES),
+                    "DatabaseMetaData::getExportedKeys")) {
+              createForeignKeys(results, foreignKeys);
+            } catch (final SQLException e) {
+              logPossiblyUnsupportedSQLFeature(
+                  new StringFormat(
+                      "Could not retrieve exported foreign keys for schema <%s>", schema),
+                  e);
+            }
+            return true;
+          }
+        },
+        table -> retrieveForeignKeysForTable(table, foreignKeys));
+  }
+
+  private void retrieveForeignKeysForTable(
+      final MutableTable table, final Map<NamedObjectKey, MutableForeignKey> foreignKeys)
       throws SQLException {
+    if (table instanceof View) {
+      return;
+    }
+
     try (final Connection connection = getRetrieverConnection().getConnection(); ) {
       final DatabaseMetaData metaData = connection.getMetaData();
-      final Map<NamedObjectKey, MutableForeignKey> foreignKeys = new ConcurrentHashMap<>();
-      for (final MutableTable table : allTables) {
-        if (table instanceof View) {
-          continue;
-        }
 
-        // Get imported foreign keys
-        try (final MetadataResultSet results =
-            new MetadataResultSet(
-                metaData.getImportedKeys(
-                    table.getSchema().getCatalogName(),
-                    table.getSchema().getName(),
-                    table.getName()),
-                "DatabaseMetaData::getImportedKeys")) {
-          createForeignKeys(results, foreignKeys);
-        } catch (final SQLException e) {
-          logPossiblyUnsupportedSQLFeature(
-              new StringFormat("Could not retrieve foreign keys for table <%s>", table), e);
-        }
+      // Get imported foreign keys
+      try (final MetadataResultSet results =
+          newMetadataResultSet(
+              metaData.getImportedKeys(
+                  table.getSchema().getCatalogName(), table.getSchema().getName(), table.getName()),
+              "DatabaseMetaData::getImportedKeys")) {
+        createForeignKeys(results, foreignKeys);
+      } catch (final SQLException e) {
+        logPossiblyUnsupportedSQLFeature(
+            new StringFormat("Could not retrieve foreign keys for table <%s>", table), e);
+      }
 
-        // We need to get exported keys as well, since if only a single
-        // table is selected, we have not retrieved it's keys that are
-        // imported by other tables.
-        try (final MetadataResultSet results =
-            new MetadataResultSet(
-                metaData.getExportedKeys(
-                    table.getSchema().getCatalogName(),
-                    table.getSchema().getName(),
-                    table.getName()),
-                "DatabaseMetaData::getExportedKeys")) {
-          createForeignKeys(results, foreignKeys);
-        } catch (final SQLException e) {
-          logPossiblyUnsupportedSQLFeature(
-              new StringFormat("Could not retrieve exported foreign keys for table <%s>", table),
-              e);
-        }
+      // We need to get exported keys as well, since if only a single
+      // table is selected, we have not retrieved it's keys that are
+      // imported by other tables.
+      try (final MetadataResultSet results =
+          newMetadataResultSet(
+              metaData.getExportedKeys(
+                  table.getSchema().getCatalogName(), table.getSchema().getName(), table.getName()),
+              "DatabaseMetaData::getExportedKeys")) {
+        createForeignKeys(results, foreignKeys);
+      } catch (final SQLException e) {
+        logPossiblyUnsupportedSQLFeature(
+            new StringFormat("Could not retrieve exported foreign keys for table <%s>", table), e);
       }
     }
   }
+
+  private void retrieveForeignKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
+      throws SQLException {
+    final Map<NamedObjectKey, MutableForeignKey> foreignKeys = new ConcurrentHashMap<>();
+    forEachTable(allTables, table -> retrieveForeignKeysForTable(table, foreignKeys));
+  }
 }
@@ -78,13 +78,15 @@ final class FunctionParameterRetriever extends AbstractRetriever {
       return;
     }
 
-    switch (getRetrieverConnection().get(functionParametersRetrievalStrategy)) {
+    switch (getRetrievalStrategy(
+        functionParametersRetrievalStrategy, FUNCTION_COLUMNS, allRoutines)) {
       case data_dictionary_all:
         LOGGER.log(
             Level.INFO, "Retrieving function parameters, using fast data dictionary retrieval");
         retrieveFunctionParametersFromDataDictionary(allRoutines, parameterFilter);
         break;
 
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving function parameters");
         retrieveFunctionParametersFromMetadata(allRoutines, parameterFilter);
@@ -203,7 +205,8 @@ final class FunctionParameterRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(functionColumnsSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                FUNCTION_COLUMNS, functionColumnsSql, statement, getSchemaInclusionRule()); ) {
       while (results.next()) {
         createFunctionParameter(results, allRoutines, parameterFilter);
       }
@@ -222,7 +225,7 @@ final class FunctionParameterRetriever extends AbstractRetriever {
       LOGGER.log(Level.FINE, "Retrieving function parameters for " + function);
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
-              new MetadataResultSet(
+              newMetadataResultSet(
                   connection
                       .getMetaData()
                       .getFunctionColumns(
@@ -0,0 +1,259 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveForeignKeys;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveTableColumns;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveTableDefinitionsInformation;
+import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveTriggerInformation;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.inclusionrule.ExcludeAll;
+import schemacrawler.inclusionrule.ListInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.NamedObjectKey;
+import schemacrawler.schemacrawler.FilterOptions;
+import schemacrawler.schemacrawler.FilterOptionsBuilder;
+import schemacrawler.schemacrawler.GrepOptions;
+import schemacrawler.schemacrawler.GrepOptionsBuilder;
+import schemacrawler.schemacrawler.LimitOptions;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptions;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaInfoLevel;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.exceptions.DatabaseAccessException;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Refreshes a catalog from a previous crawl, by crawling only the tables that have changed since
+ * then. Changed tables are found with a database specific query, provided by the
+ * METADATA_EXTENSION.EXT_CHANGED_TABLES information schema view. If the database does not provide
+ * such a query, the whole database is crawled again. The previous catalog is refreshed in place,
+ * and routines, synonyms and sequences in it are kept. Grep and filter options are applied to the
+ * whole database, as for a full crawl, so tables may be found with more than their names when those
+ * options are used.
+ */
+public final class IncrementalSchemaCrawler {
+
+  private static final Logger LOGGER = Logger.getLogger(IncrementalSchemaCrawler.class.getName());
+
+  private final DatabaseConnectionSource dataSource;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
+  private final SchemaCrawlerOptions options;
+
+  /**
+   * Constructs an incremental SchemaCrawler, from a database connection source.
+   *
+   * @param dataSource A database connection source.
+   * @param schemaRetrievalOptions Database-specific schema retrieval overrides
+   * @param options SchemaCrawler options, which should be the same as for the previous crawl
+   */
+  public IncrementalSchemaCrawler(
+      final DatabaseConnectionSource dataSource,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final SchemaCrawlerOptions options) {
+    this.dataSource = requireNonNull(dataSource, "Database connection source not provided");
+    this.schemaRetrievalOptions =
+        requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+  }
+
+  /**
+   * Crawls the tables that have changed since the previous crawl, and merges them into the previous
+   * catalog, in place. New tables are crawled, and tables that were dropped are removed. The
+   * previous catalog is only modified once the changed tables have been crawled, and should not be
+   * read by other threads while it is refreshed. Frozen catalogs, and catalogs that were not
+   * created by SchemaCrawler, cannot be refreshed in place, so for those the whole database is
+   * crawled again, into a new catalog.
+   *
+   * @param previousCatalog Catalog from a previous crawl, which is modified
+   * @return Refreshed catalog, which is the previous catalog unless the whole database was crawled
+   *     again
+   */
+  public Catalog crawl(final Catalog previousCatalog) {
+    requireNonNull(previousCatalog, "No previous catalog provided");
+    if (!(previousCatalog instanceof MutableCatalog) || CatalogFreezer.isFrozen(previousCatalog)) {
+      LOGGER.log(Level.INFO, "Cannot refresh previous catalog, so crawling the whole database");
+      return new SchemaCrawler(dataSource, schemaRetrievalOptions, options).crawl();
+    }
+
+    try {
+      // Crawl table names only, which is quick, to find new and dropped tables
+      final MutableCatalog currentTablesCatalog = crawlTableNames();
+
+      final ChangedTableRetriever changedTableRetriever =
+          new ChangedTableRetriever(
+              new RetrieverConnection(dataSource, schemaRetrievalOptions),
+              currentTablesCatalog,
+              options);
+      if (!changedTableRetriever.canRetrieveChangedTables()) {
+        LOGGER.log(
+            Level.INFO,
+            "Cannot find changed tables for this database, so crawling the whole database");
+        return new SchemaCrawler(dataSource, schemaRetrievalOptions, options).crawl();
+      }
+      final Set<NamedObjectKey> changedTables = new HashSet<>();
+      for (final MutableTable changedTable :
+          changedTableRetriever.retrieveChangedTables(
+              previousCatalog.getCrawlInfo().getCrawlTimestamp())) {
+        changedTables.add(changedTable.key());
+      }
+
+      final MutableCatalog catalog = (MutableCatalog) previousCatalog;
+
+      final Set<NamedObjectKey> previousTables = new HashSet<>();
+      for (final MutableTable table : catalog.getAllTables()) {
+        previousTables.add(table.key());
+      }
+      final Set<NamedObjectKey> currentTables = new HashSet<>();
+      final List<String> tablesToCrawl = new ArrayList<>();
+      for (final MutableTable table : currentTablesCatalog.getAllTables()) {
+        final NamedObjectKey tableKey = table.key();
+        currentTables.add(tableKey);
+        if (changedTables.contains(tableKey) || !previousTables.contains(tableKey)) {
+          tablesToCrawl.add(table.getFullName());
+        }
+      }
+      final Collection<MutableTable> staleTables = new ArrayList<>();
+      for (final MutableTable table : catalog.getAllTables()) {
+        final NamedObjectKey tableKey = table.key();
+        if (changedTables.contains(tableKey) || !currentTables.contains(tableKey)) {
+          staleTables.add(table);
+        }
+      }
+
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat(
+              "Crawling %d new or changed tables, and removing %d stale tables",
+              tablesToCrawl.size(), staleTables.size()));
+
+      final MutableCrawlInfo crawlInfo = (MutableCrawlInfo) currentTablesCatalog.getCrawlInfo();
+      MutableCatalog changedTablesCatalog = null;
+      if (!tablesToCrawl.isEmpty()) {
+        changedTablesCatalog = crawlTables(tablesToCrawl);
+        for (final String skippedRetrieval :
+            changedTablesCatalog.getCrawlInfo().getSkippedRetrievals()) {
+          crawlInfo.addSkippedRetrieval(skippedRetrieval);
+        }
+      }
+
+      final CatalogTablesMerger merger =
+          new CatalogTablesMerger(
+              catalog,
+              schemaRetrievalOptions.getIdentifiers(),
+              options.getLoadOptions().getSchemaInfoLevel().is(retrieveTableColumns));
+      merger.replaceTables(staleTables, changedTablesCatalog);
+
+      // The next refresh needs to find changes since the start of this one
+      catalog.setCrawlInfo(crawlInfo);
+
+      return catalog;
+    } catch (final RuntimeException e) {
+      throw e;
+    } catch (final SQLException e) {
+      throw new DatabaseAccessException(e);
+    } catch (final Exception e) {
+      throw new ExecutionRuntimeException(e);
+    }
+  }
+
+  private MutableCatalog crawlTableNames() {
+    // Grep and filter options are applied over the whole database, so that the same tables are
+    // found as by a full crawl. Only what they need is retrieved, and only if a full crawl would.
+    final SchemaInfoLevel infoLevel = options.getLoadOptions().getSchemaInfoLevel();
+    final GrepOptions grepOptions = options.getGrepOptions();
+    final FilterOptions filterOptions = options.getFilterOptions();
+    final boolean grepDefinitions = grepOptions.isGrepDefinitions();
+    final boolean grepColumns = grepOptions.isGrepColumns() || grepDefinitions;
+    final boolean relatedTables =
+        filterOptions.getChildTableFilterDepth() > 0
+            || filterOptions.getParentTableFilterDepth() > 0;
+    final LoadOptions loadOptions =
+        LoadOptionsBuilder.builder()
+            .fromOptions(options.getLoadOptions())
+            .withSchemaInfoLevel(
+                SchemaInfoLevelBuilder.builder()
+                    .withTag("tables")
+                    .setRetrieveTables(true)
+                    .setRetrieveTableColumns(
+                        (grepColumns || relatedTables) && infoLevel.is(retrieveTableColumns))
+                    .setRetrieveForeignKeys(relatedTables && infoLevel.is(retrieveForeignKeys))
+                    .setRetrieveTableDefinitionsInformation(
+                        grepDefinitions && infoLevel.is(retrieveTableDefinitionsInformation))
+                    .setRetrieveTriggerInformation(
+                        grepDefinitions && infoLevel.is(retrieveTriggerInformation))
+                    .toOptions())
+            .toOptions();
+    final SchemaCrawlerOptions tableNamesOptions =
+        options
+            .withLimitOptions(limitToTables(options.getLimitOptions()).toOptions())
+            .withLoadOptions(loadOptions);
+    return (MutableCatalog)
+        new SchemaCrawler(dataSource, schemaRetrievalOptions, tableNamesOptions).crawl();
+  }
+
+  private MutableCatalog crawlTables(final List<String> tableNames) {
+    final LimitOptions limitOptions =
+        limitToTables(options.getLimitOptions())
+            .includeTables(new ListInclusionRule(tableNames))
+            .toOptions();
+    // Tables were already selected with the grep and filter options, by the table names crawl,
+    // and applying them again to only some of the tables could exclude more tables
+    final SchemaCrawlerOptions tablesOptions =
+        options
+            .withLimitOptions(limitOptions)
+            .withGrepOptions(GrepOptionsBuilder.newGrepOptions())
+            .withFilterOptions(FilterOptionsBuilder.newFilterOptions());
+    return (MutableCatalog)
+        new SchemaCrawler(dataSource, schemaRetrievalOptions, tablesOptions).crawl();
+  }
+
+  private LimitOptionsBuilder limitToTables(final LimitOptions limitOptions) {
+    return LimitOptionsBuilder.builder()
+        .fromOptions(limitOptions)
+        .includeRoutines(new ExcludeAll())
+        .includeSynonyms(new ExcludeAll())
+        .includeSequences(new ExcludeAll());
+  }
+}
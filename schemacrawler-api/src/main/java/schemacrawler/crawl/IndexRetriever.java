@@ -43,6 +43,7 @@ import java.util.logging.Logger;
 import schemacrawler.schema.Column;
 import schemacrawler.schema.IndexColumnSortSequence;
 import schemacrawler.schema.IndexType;
+import schemacrawler.schema.NamedObjectKey;
 import schemacrawler.schema.Schema;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.Query;
@@ -65,7 +66,7 @@ final class IndexRetriever extends AbstractRetriever {
   void retrieveIndexes(final NamedObjectList<MutableTable> allTables) throws SQLException {
     requireNonNull(allTables, "No tables provided");
 
-    switch (getRetrieverConnection().get(indexesRetrievalStrategy)) {
+    switch (getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, allTables)) {
       case data_dictionary_all:
         LOGGER.log(Level.INFO, "Retrieving indexes, using fast data dictionary retrieval");
         retrieveIndexesFromDataDictionary(allTables);
@@ -76,6 +77,11 @@ final class IndexRetriever extends AbstractRetriever {
         retrieveIndexesFromMetadata(allTables);
         break;
 
+      case metadata_all:
+        LOGGER.log(Level.INFO, "Retrieving indexes, using schema-wide metadata retrieval");
+        retrieveIndexesFromMetadataForAllTables(allTables);
+        break;
+
       default:
         LOGGER.log(Level.INFO, "Not retrieving indexes");
         break;
@@ -174,7 +180,8 @@ final class IndexRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(indexesSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                INDEXES, indexesSql, statement, getSchemaInclusionRule()); ) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
         final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
@@ -194,27 +201,65 @@ final class IndexRetriever extends AbstractRetriever {
     }
   }
 
+  private void retrieveIndexesFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables) throws SQLException {
+    forEachSchema(
+        allTables,
+        schema -> {
+          try (final Connection connection = getRetrieverConnection().getConnection();
+              final MetadataResultSet results =
+                  newMetadataResultSet(
+                      connection
+                          .getMetaData()
+                          .getIndexInfo(
+                              schema.getCatalogName(),
+                              schema.getName(),
+                              ALL_TABLES,
+                              false /* return indices regardless of whether unique or not */,
+                              true /* approximate - reflect approximate or out of data values */),
+                      "DatabaseMetaData::getIndexInfo"); ) {
+            while (results.next()) {
+              final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
+              final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
+              final String tableName = results.getString("TABLE_NAME");
+
+              final Optional<MutableTable> optionalTable =
+                  allTables.lookup(new NamedObjectKey(catalogName, schemaName, tableName));
+              if (!optionalTable.isPresent()) {
+                continue;
+              }
+              final MutableTable table = optionalTable.get();
+              createIndexForTable(table, results);
+            }
+            return results.getRowCount() > 0;
+          }
+        },
+        this::retrieveIndexesForTable);
+  }
+
   private void retrieveIndexesFromMetadata(final NamedObjectList<MutableTable> allTables)
       throws SQLException {
-    for (final MutableTable table : allTables) {
-      final Schema tableSchema = table.getSchema();
-      try (final Connection connection = getRetrieverConnection().getConnection();
-          final MetadataResultSet results =
-              new MetadataResultSet(
-                  connection
-                      .getMetaData()
-                      .getIndexInfo(
-                          tableSchema.getCatalogName(),
-                          tableSchema.getName(),
-                          table.getName(),
-                          false /* return indices regardless of whether unique or not */,
-                          true /* approximate - reflect approximate or out of data values */),
-                  "DatabaseMetaData::getIndexInfo"); ) {
-        createIndexes(table, results);
-      } catch (final SQLException e) {
-        logPossiblyUnsupportedSQLFeature(
-            new StringFormat("Could not retrieve indexes for table <%s>", table), e);
-      }
+    forEachTable(allTables, this::retrieveIndexesForTable);
+  }
+
+  private void retrieveIndexesForTable(final MutableTable table) {
+    final Schema tableSchema = table.getSchema();
+    try (final Connection connection = getRetrieverConnection().getConnection();
+        final MetadataResultSet results =
+            newMetadataResultSet(
+                connection
+                    .getMetaData()
+                    .getIndexInfo(
+                        tableSchema.getCatalogName(),
+                        tableSchema.getName(),
+                        table.getName(),
+                        false /* return indices regardless of whether unique or not */,
+                        true /* approximate - reflect approximate or out of data values */),
+                "DatabaseMetaData::getIndexInfo"); ) {
+      createIndexes(table, results);
+    } catch (final SQLException e) {
+      logPossiblyUnsupportedSQLFeature(
+          new StringFormat("Could not retrieve indexes for table <%s>", table), e);
     }
   }
 }
@@ -0,0 +1,672 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.FUNCTION;
+import static schemacrawler.crawl.BinaryCatalogFormat.INDEXED_FORMAT_VERSION;
+import static schemacrawler.crawl.BinaryCatalogFormat.INDEXED_MAGIC;
+import static schemacrawler.crawl.BinaryCatalogFormat.INDEXED_TRAILER_SIZE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VIEW;
+import static schemacrawler.filter.FilterFactory.routineFilter;
+import static schemacrawler.filter.FilterFactory.tableFilter;
+import static schemacrawler.schemacrawler.GrepOptionsBuilder.newGrepOptions;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.Buffer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+import java.util.function.Predicate;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.FilterOptions;
+import schemacrawler.schemacrawler.GrepOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import us.fatehi.utility.string.StringFormat;
+
+/**
+ * Reads a catalog in the indexed layout of the SchemaCrawler binary catalog format, as written by
+ * an {@link IndexedCatalogWriter}. The file is memory mapped, and only the table of contents is
+ * read up front. Tables and routines are filtered using the names in the table of contents, and
+ * only the ones that are needed are read, along with their foreign keys and weak associations.
+ * Strings are read from the string table the first time that they are needed. Tables that were not
+ * read are referred to by partial objects, just as tables that were not crawled are.
+ */
+public final class IndexedCatalogReader extends AbstractBinaryCatalogReader {
+
+  /** Reads from the mapped file, at the current position of the buffer. */
+  private static final class BufferInputStream extends InputStream {
+
+    private final ByteBuffer buffer;
+
+    BufferInputStream(final ByteBuffer buffer) {
+      this.buffer = buffer;
+    }
+
+    @Override
+    public int available() {
+      return buffer.remaining();
+    }
+
+    @Override
+    public int read() {
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      return buffer.get() & 0xFF;
+    }
+
+    @Override
+    public int read(final byte[] bytes, final int offset, final int length) {
+      if (length == 0) {
+        return 0;
+      }
+      if (!buffer.hasRemaining()) {
+        return -1;
+      }
+      final int count = Math.min(length, buffer.remaining());
+      buffer.get(bytes, offset, count);
+      return count;
+    }
+  }
+
+  private static final class RoutineEntry {
+    int position;
+    int routineType;
+    String catalogName;
+    String schemaName;
+    String name;
+    String specificName;
+    int parameterNamesPosition;
+  }
+
+  /**
+   * Shared string table, with strings that are decoded the first time that they are looked up. The
+   * table has the number of strings, followed by the end position of each string, and then the
+   * string data.
+   */
+  private static final class StringTable extends AbstractList<String> {
+
+    private final ByteBuffer buffer;
+    private final int endPositionsPosition;
+    private final int dataPosition;
+    private final String[] strings;
+
+    StringTable(final ByteBuffer buffer, final int position, final int limit) throws IOException {
+      this.buffer = buffer.duplicate();
+      if (position < 0 || limit - position < 4) {
+        throw new IOException("Bad string table in indexed binary catalog");
+      }
+      final int size = buffer.getInt(position);
+      endPositionsPosition = position + 4;
+      if (size < 0 || size > (limit - endPositionsPosition) / 4) {
+        throw new IOException("Bad string table in indexed binary catalog");
+      }
+      dataPosition = endPositionsPosition + size * 4;
+
+      // Check the positions of all strings up front, so that strings can be looked up safely
+      int previousEndPosition = 0;
+      for (int i = 0; i < size; i++) {
+        final int endPosition = buffer.getInt(endPositionsPosition + i * 4);
+        if (endPosition < previousEndPosition || endPosition > limit - dataPosition) {
+          throw new IOException("Bad string table in indexed binary catalog");
+        }
+        previousEndPosition = endPosition;
+      }
+
+      strings = new String[size];
+    }
+
+    @Override
+    public String get(final int index) {
+      String value = strings[index];
+      if (value == null) {
+        final int startPosition =
+            index == 0 ? 0 : buffer.getInt(endPositionsPosition + (index - 1) * 4);
+        final int endPosition = buffer.getInt(endPositionsPosition + index * 4);
+        final byte[] bytes = new byte[endPosition - startPosition];
+        ((Buffer) buffer).position(dataPosition + startPosition);
+        buffer.get(bytes);
+        value = new String(bytes, StandardCharsets.UTF_8);
+        strings[index] = value;
+      }
+      return value;
+    }
+
+    @Override
+    public int size() {
+      return strings.length;
+    }
+  }
+
+  private static final class TableEntry {
+    int position;
+    int relationshipsPosition;
+    int tableKind;
+    String catalogName;
+    String schemaName;
+    String name;
+    String tableType;
+    int columnNamesPosition;
+    int[] foreignKeys;
+    int[] weakAssociations;
+  }
+
+  private static final Logger LOGGER = Logger.getLogger(IndexedCatalogReader.class.getName());
+
+  /**
+   * Checks whether a file has a catalog in the indexed layout of the binary catalog format.
+   *
+   * @param file File to check
+   * @return True if the file has an indexed binary catalog
+   */
+  public static boolean isIndexedCatalog(final Path file) throws IOException {
+    requireNonNull(file, "No file provided");
+    try (final InputStream in = Files.newInputStream(file)) {
+      for (final byte magicByte : INDEXED_MAGIC) {
+        if (in.read() != magicByte) {
+          return false;
+        }
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Definitions are not in the table of contents, so if they need to be searched, objects are only
+   * filtered by name and type before they are read.
+   */
+  private static SchemaCrawlerOptions indexFilterOptions(final SchemaCrawlerOptions options) {
+    if (options.getGrepOptions().isGrepDefinitions()) {
+      return options.withGrepOptions(newGrepOptions());
+    }
+    return options;
+  }
+
+  private static ByteBuffer map(final Path file) throws IOException {
+    requireNonNull(file, "No file provided");
+    try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      final long size = channel.size();
+      if (size > Integer.MAX_VALUE) {
+        throw new IOException(
+            String.format("Indexed binary catalog <%s> is too large to be mapped", file));
+      }
+      // The mapping stays valid after the channel is closed
+      return channel.map(MapMode.READ_ONLY, 0, size);
+    }
+  }
+
+  private static List<String> readStringTable(final ByteBuffer buffer) throws IOException {
+    final int trailerPosition = buffer.limit() - INDEXED_TRAILER_SIZE;
+    if (trailerPosition < INDEXED_MAGIC.length) {
+      throw new IOException("Not a SchemaCrawler indexed binary catalog");
+    }
+    final int magicPosition = trailerPosition + 16;
+    for (int i = 0; i < INDEXED_MAGIC.length; i++) {
+      if (buffer.get(magicPosition + i) != INDEXED_MAGIC[i]) {
+        throw new IOException("Indexed binary catalog is not correctly terminated");
+      }
+    }
+    final long stringTablePosition = buffer.getLong(trailerPosition + 8);
+    if (stringTablePosition < 0 || stringTablePosition > trailerPosition) {
+      throw new IOException("Bad string table position in indexed binary catalog");
+    }
+    return new StringTable(buffer, (int) stringTablePosition, trailerPosition);
+  }
+
+  private final ByteBuffer buffer;
+  private final List<TableEntry> tableEntries;
+  private final List<RoutineEntry> routineEntries;
+  private final List<List<Integer>> parentTables;
+  private final List<List<Integer>> childTables;
+  private int catalogPosition;
+  private int sequencesAndSynonymsPosition;
+  private int[] foreignKeyPositions;
+  private int[] weakAssociationPositions;
+
+  private MutableTable[] tables;
+  private TablePartial[] tablePartials;
+  private MutableForeignKey[] foreignKeys;
+  private MutableWeakAssociation[] weakAssociations;
+  private MutableRoutine[] routines;
+  private int tableIndex;
+
+  /**
+   * Maps a file with an indexed binary catalog, and reads the table of contents.
+   *
+   * @param file File to read
+   * @throws IOException On an error reading the file, or if the file does not have an indexed
+   *     binary catalog in a supported format version
+   */
+  public IndexedCatalogReader(final Path file) throws IOException {
+    this(map(file));
+  }
+
+  private IndexedCatalogReader(final ByteBuffer buffer) throws IOException {
+    super(new BinaryCatalogInput(new BufferInputStream(buffer), readStringTable(buffer)));
+    this.buffer = buffer;
+    tableEntries = new ArrayList<>();
+    routineEntries = new ArrayList<>();
+    parentTables = new ArrayList<>();
+    childTables = new ArrayList<>();
+
+    seek(0);
+    in.readHeader(INDEXED_MAGIC, INDEXED_FORMAT_VERSION);
+    final long tableOfContentsPosition = buffer.getLong(buffer.limit() - INDEXED_TRAILER_SIZE);
+    seek(toPosition(tableOfContentsPosition));
+    readTableOfContents();
+  }
+
+  /**
+   * Reads the complete catalog.
+   *
+   * @return Catalog
+   */
+  public Catalog read() throws IOException {
+    final MutableCatalog catalog = readCatalogInfo();
+    final BitSet selectedTables = new BitSet(tableEntries.size());
+    selectedTables.set(0, tableEntries.size());
+    final BitSet selectedRoutines = new BitSet(routineEntries.size());
+    selectedRoutines.set(0, routineEntries.size());
+    readObjects(catalog, selectedTables, selectedRoutines);
+    return catalog;
+  }
+
+  /**
+   * Reads the tables and routines that are needed for the limit, grep and filter options, along
+   * with all sequences and synonyms. Some objects that do not match the options may also be read,
+   * so the catalog needs to be reduced with the same options afterwards.
+   *
+   * @param options SchemaCrawler options
+   * @return Catalog
+   */
+  public Catalog read(final SchemaCrawlerOptions options) throws IOException {
+    requireNonNull(options, "No SchemaCrawler options provided");
+
+    final MutableCatalog catalog = readCatalogInfo();
+    final BitSet selectedTables = selectTables(options);
+    final BitSet selectedRoutines = selectRoutines(options);
+    LOGGER.log(
+        Level.INFO,
+        new StringFormat(
+            "Reading <%d> of <%d> tables, and <%d> of <%d> routines",
+            selectedTables.cardinality(),
+            tableEntries.size(),
+            selectedRoutines.cardinality(),
+            routineEntries.size()));
+    readObjects(catalog, selectedTables, selectedRoutines);
+    return catalog;
+  }
+
+  @Override
+  void addTable(final MutableTable table) {
+    tables[tableIndex] = table;
+  }
+
+  @Override
+  MutableForeignKey lookupForeignKey(final int foreignKeyIndex) throws IOException {
+    checkIndex(foreignKeyIndex, foreignKeys.length);
+    final MutableForeignKey foreignKey = foreignKeys[foreignKeyIndex];
+    if (foreignKey == null) {
+      throw new IOException(
+          String.format("Foreign key <%d> was not read from binary catalog", foreignKeyIndex));
+    }
+    return foreignKey;
+  }
+
+  @Override
+  DatabaseObject lookupRoutine(final int routineIndex) throws IOException {
+    checkIndex(routineIndex, routines.length);
+    final MutableRoutine routine = routines[routineIndex];
+    if (routine == null) {
+      final RoutineEntry routineEntry = routineEntries.get(routineIndex);
+      return new SynonymRetriever.UnknownDatabaseObject(
+          lookupSchema(routineEntry.catalogName, routineEntry.schemaName), routineEntry.name);
+    }
+    return routine;
+  }
+
+  @Override
+  MutableTable lookupTable(final int tableIndex) throws IOException {
+    checkIndex(tableIndex, tables.length);
+    return tables[tableIndex];
+  }
+
+  @Override
+  MutableWeakAssociation lookupWeakAssociation(final int weakAssociationIndex) throws IOException {
+    checkIndex(weakAssociationIndex, weakAssociations.length);
+    final MutableWeakAssociation weakAssociation = weakAssociations[weakAssociationIndex];
+    if (weakAssociation == null) {
+      throw new IOException(
+          String.format(
+              "Weak association <%d> was not read from binary catalog", weakAssociationIndex));
+    }
+    return weakAssociation;
+  }
+
+  @Override
+  TablePartial lookupTablePartial(final int tableIndex) throws IOException {
+    checkIndex(tableIndex, tablePartials.length);
+    TablePartial tablePartial = tablePartials[tableIndex];
+    if (tablePartial == null) {
+      final TableEntry tableEntry = tableEntries.get(tableIndex);
+      tablePartial =
+          new TablePartial(
+              lookupSchema(tableEntry.catalogName, tableEntry.schemaName), tableEntry.name);
+      tablePartials[tableIndex] = tablePartial;
+    }
+    return tablePartial;
+  }
+
+  private void checkIndex(final int index, final int size) throws IOException {
+    if (index < 0 || index >= size) {
+      throw new IOException(String.format("Bad reference <%d> in binary catalog", index));
+    }
+  }
+
+  /**
+   * Breadth-first search from the tables that were selected, one level of related tables for each
+   * level of depth, the same way as tables are reduced after they are read.
+   */
+  private void includeRelatedTables(
+      final List<List<Integer>> relatedTables,
+      final int depth,
+      final BitSet greppedTables,
+      final BitSet keepTables) {
+    final BitSet visitedTables = (BitSet) greppedTables.clone();
+    BitSet frontier = greppedTables;
+    for (int i = 0; i < depth && !frontier.isEmpty(); i++) {
+      final BitSet nextFrontier = new BitSet(tableEntries.size());
+      for (int j = frontier.nextSetBit(0); j >= 0; j = frontier.nextSetBit(j + 1)) {
+        for (final int relatedTable : relatedTables.get(j)) {
+          if (!visitedTables.get(relatedTable)) {
+            visitedTables.set(relatedTable);
+            nextFrontier.set(relatedTable);
+          }
+        }
+      }
+      keepTables.or(nextFrontier);
+      frontier = nextFrontier;
+    }
+  }
+
+  /** Creates a routine with just the names from the table of contents, for filtering. */
+  private Routine newIndexRoutine(final RoutineEntry routineEntry, final boolean withParameters)
+      throws IOException {
+    final Schema schema = lookupSchema(routineEntry.catalogName, routineEntry.schemaName);
+    final List<String> parameterNames;
+    if (withParameters) {
+      seek(routineEntry.parameterNamesPosition);
+      parameterNames = in.readStrings();
+    } else {
+      parameterNames = new ArrayList<>();
+    }
+
+    if (routineEntry.routineType == FUNCTION) {
+      final MutableFunction function =
+          new MutableFunction(schema, routineEntry.name, routineEntry.specificName);
+      for (final String parameterName : parameterNames) {
+        function.addParameter(new MutableFunctionParameter(function, parameterName));
+      }
+      return function;
+    } else {
+      final MutableProcedure procedure =
+          new MutableProcedure(schema, routineEntry.name, routineEntry.specificName);
+      for (final String parameterName : parameterNames) {
+        procedure.addParameter(new MutableProcedureParameter(procedure, parameterName));
+      }
+      return procedure;
+    }
+  }
+
+  /** Creates a table with just the names from the table of contents, for filtering. */
+  private Table newIndexTable(final TableEntry tableEntry, final boolean withColumns)
+      throws IOException {
+    final Schema schema = lookupSchema(tableEntry.catalogName, tableEntry.schemaName);
+    final MutableTable table;
+    if (tableEntry.tableKind == VIEW) {
+      table = new MutableView(schema, tableEntry.name);
+    } else {
+      table = new MutableTable(schema, tableEntry.name);
+    }
+    table.setTableType(new TableType(tableEntry.tableType));
+    if (withColumns) {
+      seek(tableEntry.columnNamesPosition);
+      for (final String columnName : in.readStrings()) {
+        table.addColumn(new MutableColumn(table, columnName));
+      }
+    }
+    return table;
+  }
+
+  private MutableCatalog readCatalogInfo() throws IOException {
+    seek(catalogPosition);
+    return readCatalog();
+  }
+
+  private int[] readIndexes() throws IOException {
+    final int count = in.readCount();
+    final int[] indexes = new int[count];
+    for (int i = 0; i < count; i++) {
+      indexes[i] = in.readVarInt();
+    }
+    return indexes;
+  }
+
+  private void readObjects(
+      final MutableCatalog catalog, final BitSet selectedTables, final BitSet selectedRoutines)
+      throws IOException {
+    tables = new MutableTable[tableEntries.size()];
+    tablePartials = new TablePartial[tableEntries.size()];
+    foreignKeys = new MutableForeignKey[foreignKeyPositions.length];
+    weakAssociations = new MutableWeakAssociation[weakAssociationPositions.length];
+    routines = new MutableRoutine[routineEntries.size()];
+
+    final BitSet selectedForeignKeys = new BitSet(foreignKeyPositions.length);
+    final BitSet selectedWeakAssociations = new BitSet(weakAssociationPositions.length);
+    for (int i = selectedTables.nextSetBit(0); i >= 0; i = selectedTables.nextSetBit(i + 1)) {
+      final TableEntry tableEntry = tableEntries.get(i);
+      tableIndex = i;
+      seek(tableEntry.position);
+      catalog.addTable(readTable());
+
+      for (final int foreignKeyIndex : tableEntry.foreignKeys) {
+        checkIndex(foreignKeyIndex, foreignKeyPositions.length);
+        selectedForeignKeys.set(foreignKeyIndex);
+      }
+      for (final int weakAssociationIndex : tableEntry.weakAssociations) {
+        checkIndex(weakAssociationIndex, weakAssociationPositions.length);
+        selectedWeakAssociations.set(weakAssociationIndex);
+      }
+    }
+
+    // Only foreign keys and weak associations of tables that were read are needed
+    for (int i = selectedForeignKeys.nextSetBit(0);
+        i >= 0;
+        i = selectedForeignKeys.nextSetBit(i + 1)) {
+      seek(foreignKeyPositions[i]);
+      foreignKeys[i] = readForeignKey();
+    }
+    for (int i = selectedWeakAssociations.nextSetBit(0);
+        i >= 0;
+        i = selectedWeakAssociations.nextSetBit(i + 1)) {
+      seek(weakAssociationPositions[i]);
+      weakAssociations[i] = readWeakAssociation();
+    }
+    for (int i = selectedTables.nextSetBit(0); i >= 0; i = selectedTables.nextSetBit(i + 1)) {
+      seek(tableEntries.get(i).relationshipsPosition);
+      readTableRelationships(tables[i]);
+    }
+
+    for (int i = selectedRoutines.nextSetBit(0); i >= 0; i = selectedRoutines.nextSetBit(i + 1)) {
+      seek(routineEntries.get(i).position);
+      final MutableRoutine routine = readRoutine();
+      routines[i] = routine;
+      catalog.addRoutine(routine);
+    }
+
+    seek(sequencesAndSynonymsPosition);
+    readSequencesAndSynonyms(catalog);
+  }
+
+  private int readPosition() throws IOException {
+    return toPosition(in.readVarLong());
+  }
+
+  private void readTableOfContents() throws IOException {
+    catalogPosition = readPosition();
+    sequencesAndSynonymsPosition = readPosition();
+
+    final int tablesCount = in.readCount();
+    for (int i = 0; i < tablesCount; i++) {
+      final TableEntry tableEntry = new TableEntry();
+      tableEntry.position = readPosition();
+      tableEntry.relationshipsPosition = readPosition();
+      tableEntry.tableKind = in.readVarInt();
+      tableEntry.catalogName = in.readString();
+      tableEntry.schemaName = in.readString();
+      tableEntry.name = in.readString();
+      tableEntry.tableType = in.readString();
+      tableEntry.columnNamesPosition = buffer.position();
+      skipStrings();
+      tableEntry.foreignKeys = readIndexes();
+      tableEntry.weakAssociations = readIndexes();
+      tableEntries.add(tableEntry);
+      parentTables.add(new ArrayList<>());
+      childTables.add(new ArrayList<>());
+    }
+
+    final int foreignKeysCount = in.readCount();
+    foreignKeyPositions = new int[foreignKeysCount];
+    for (int i = 0; i < foreignKeysCount; i++) {
+      foreignKeyPositions[i] = readPosition();
+      final int foreignKeyTable = in.readSignedVarInt();
+      final int primaryKeyTable = in.readSignedVarInt();
+      if (foreignKeyTable >= 0 && primaryKeyTable >= 0) {
+        checkIndex(foreignKeyTable, tablesCount);
+        checkIndex(primaryKeyTable, tablesCount);
+        parentTables.get(foreignKeyTable).add(primaryKeyTable);
+        childTables.get(primaryKeyTable).add(foreignKeyTable);
+      }
+    }
+
+    final int weakAssociationsCount = in.readCount();
+    weakAssociationPositions = new int[weakAssociationsCount];
+    for (int i = 0; i < weakAssociationsCount; i++) {
+      weakAssociationPositions[i] = readPosition();
+    }
+
+    final int routinesCount = in.readCount();
+    for (int i = 0; i < routinesCount; i++) {
+      final RoutineEntry routineEntry = new RoutineEntry();
+      routineEntry.position = readPosition();
+      routineEntry.routineType = in.readVarInt();
+      routineEntry.catalogName = in.readString();
+      routineEntry.schemaName = in.readString();
+      routineEntry.name = in.readString();
+      routineEntry.specificName = in.readString();
+      routineEntry.parameterNamesPosition = buffer.position();
+      skipStrings();
+      routineEntries.add(routineEntry);
+    }
+  }
+
+  private void seek(final int position) {
+    ((Buffer) buffer).position(position);
+  }
+
+  private BitSet selectRoutines(final SchemaCrawlerOptions options) throws IOException {
+    final GrepOptions grepOptions = options.getGrepOptions();
+    final Predicate<Routine> routineFilter = routineFilter(indexFilterOptions(options));
+
+    final BitSet selectedRoutines = new BitSet(routineEntries.size());
+    for (int i = 0; i < routineEntries.size(); i++) {
+      final Routine indexRoutine =
+          newIndexRoutine(routineEntries.get(i), grepOptions.isGrepRoutineParameters());
+      if (routineFilter.test(indexRoutine)) {
+        selectedRoutines.set(i);
+      }
+    }
+    return selectedRoutines;
+  }
+
+  private BitSet selectTables(final SchemaCrawlerOptions options) throws IOException {
+    final GrepOptions grepOptions = options.getGrepOptions();
+    final Predicate<Table> tableFilter = tableFilter(indexFilterOptions(options));
+
+    final BitSet greppedTables = new BitSet(tableEntries.size());
+    for (int i = 0; i < tableEntries.size(); i++) {
+      final Table indexTable = newIndexTable(tableEntries.get(i), grepOptions.isGrepColumns());
+      if (tableFilter.test(indexTable)) {
+        greppedTables.set(i);
+      }
+    }
+
+    final FilterOptions filterOptions = options.getFilterOptions();
+    final BitSet selectedTables = (BitSet) greppedTables.clone();
+    includeRelatedTables(
+        childTables, filterOptions.getChildTableFilterDepth(), greppedTables, selectedTables);
+    includeRelatedTables(
+        parentTables, filterOptions.getParentTableFilterDepth(), greppedTables, selectedTables);
+    return selectedTables;
+  }
+
+  /** Skips over names in the table of contents, which are only read if they are needed. */
+  private void skipStrings() throws IOException {
+    final int count = in.readCount();
+    for (int i = 0; i < count; i++) {
+      // Strings are always referred to by number in the indexed layout
+      in.readVarInt();
+    }
+  }
+
+  private int toPosition(final long position) throws IOException {
+    if (position < 0 || position > buffer.limit()) {
+      throw new IOException(String.format("Bad position <%d> in indexed binary catalog", position));
+    }
+    return (int) position;
+  }
+}
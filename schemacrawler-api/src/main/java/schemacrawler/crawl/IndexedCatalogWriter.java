@@ -0,0 +1,216 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+import static schemacrawler.crawl.BinaryCatalogFormat.FUNCTION;
+import static schemacrawler.crawl.BinaryCatalogFormat.INDEXED_FORMAT_VERSION;
+import static schemacrawler.crawl.BinaryCatalogFormat.INDEXED_MAGIC;
+import static schemacrawler.crawl.BinaryCatalogFormat.PROCEDURE;
+import static schemacrawler.crawl.BinaryCatalogFormat.TABLE;
+import static schemacrawler.crawl.BinaryCatalogFormat.VIEW;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Collection;
+import java.util.List;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.View;
+import schemacrawler.schema.WeakAssociation;
+
+/**
+ * Writes a catalog in the indexed layout of the SchemaCrawler binary catalog format, which can be
+ * memory mapped by an {@link IndexedCatalogReader}. Each table, foreign key, weak association and
+ * routine is written separately, and can be read without reading any of the others. The file is not
+ * compressed, since compressed data cannot be read at an arbitrary position.
+ */
+public final class IndexedCatalogWriter implements Closeable {
+
+  private final BinaryCatalogOutput out;
+  private final BinaryCatalogWriter writer;
+
+  public IndexedCatalogWriter(final OutputStream out) {
+    this.out = new BinaryCatalogOutput(out, true);
+    writer = new BinaryCatalogWriter(this.out);
+  }
+
+  @Override
+  public void close() throws IOException {
+    out.close();
+  }
+
+  /**
+   * Writes a catalog, and flushes the stream. The stream is not closed.
+   *
+   * @param catalog Catalog to write
+   */
+  public void write(final Catalog catalog) throws IOException {
+    requireNonNull(catalog, "No catalog provided");
+
+    out.writeHeader(INDEXED_MAGIC, INDEXED_FORMAT_VERSION);
+    writer.indexCatalog(catalog);
+
+    final long catalogPosition = out.position();
+    writer.writeCatalogInfo(catalog);
+
+    final List<Table> tables = writer.getTables();
+    final long[] tablePositions = new long[tables.size()];
+    for (int i = 0; i < tables.size(); i++) {
+      tablePositions[i] = out.position();
+      writer.writeTable(tables.get(i));
+    }
+    final long[] tableRelationshipsPositions = new long[tables.size()];
+    for (int i = 0; i < tables.size(); i++) {
+      tableRelationshipsPositions[i] = out.position();
+      writer.writeTableRelationships(tables.get(i));
+    }
+
+    final List<ForeignKey> foreignKeys = writer.getForeignKeys();
+    final long[] foreignKeyPositions = new long[foreignKeys.size()];
+    for (int i = 0; i < foreignKeys.size(); i++) {
+      foreignKeyPositions[i] = out.position();
+      writer.writeForeignKey(foreignKeys.get(i));
+    }
+
+    final List<WeakAssociation> weakAssociations = writer.getWeakAssociations();
+    final long[] weakAssociationPositions = new long[weakAssociations.size()];
+    for (int i = 0; i < weakAssociations.size(); i++) {
+      weakAssociationPositions[i] = out.position();
+      writer.writeTableReference(weakAssociations.get(i));
+    }
+
+    final List<Routine> routines = writer.getRoutines();
+    final long[] routinePositions = new long[routines.size()];
+    for (int i = 0; i < routines.size(); i++) {
+      routinePositions[i] = out.position();
+      writer.writeRoutine(routines.get(i));
+    }
+
+    final long sequencesAndSynonymsPosition = out.position();
+    writer.writeSequencesAndSynonyms(catalog);
+
+    // Table of contents
+    final long tableOfContentsPosition = out.position();
+    out.writeVarLong(catalogPosition);
+    out.writeVarLong(sequencesAndSynonymsPosition);
+
+    out.writeCount(tables.size());
+    for (int i = 0; i < tables.size(); i++) {
+      out.writeVarLong(tablePositions[i]);
+      out.writeVarLong(tableRelationshipsPositions[i]);
+      writeTableEntry(tables.get(i));
+    }
+
+    out.writeCount(foreignKeys.size());
+    for (int i = 0; i < foreignKeys.size(); i++) {
+      out.writeVarLong(foreignKeyPositions[i]);
+      // Tables at each end, so that related tables can be found without reading foreign keys
+      final ColumnReference columnReference = foreignKeys.get(i).getColumnReferences().get(0);
+      out.writeSignedVarInt(
+          writer.getTableIndex(columnReference.getForeignKeyColumn().getParent()));
+      out.writeSignedVarInt(
+          writer.getTableIndex(columnReference.getPrimaryKeyColumn().getParent()));
+    }
+
+    out.writeCount(weakAssociations.size());
+    for (int i = 0; i < weakAssociations.size(); i++) {
+      out.writeVarLong(weakAssociationPositions[i]);
+    }
+
+    out.writeCount(routines.size());
+    for (int i = 0; i < routines.size(); i++) {
+      out.writeVarLong(routinePositions[i]);
+      writeRoutineEntry(routines.get(i));
+    }
+
+    final long stringTablePosition = out.position();
+    out.writeStringTable();
+
+    out.writeFixedLong(tableOfContentsPosition);
+    out.writeFixedLong(stringTablePosition);
+    out.writeMagic(INDEXED_MAGIC);
+    out.flush();
+  }
+
+  private void writeRoutineEntry(final Routine routine) throws IOException {
+    out.writeVarInt(routine instanceof Function ? FUNCTION : PROCEDURE);
+    writeSchema(routine.getSchema());
+    out.writeString(routine.getName());
+    out.writeString(routine.getSpecificName());
+
+    final List<RoutineParameter<? extends Routine>> parameters = routine.getParameters();
+    out.writeCount(parameters.size());
+    for (final RoutineParameter<? extends Routine> parameter : parameters) {
+      out.writeString(parameter.getName());
+    }
+  }
+
+  private void writeSchema(final Schema schema) throws IOException {
+    out.writeString(schema.getCatalogName());
+    out.writeString(schema.getName());
+  }
+
+  /**
+   * Writes the names that are needed to filter a table, and the foreign keys and weak associations
+   * that need to be read along with the table.
+   */
+  private void writeTableEntry(final Table table) throws IOException {
+    out.writeVarInt(table instanceof View ? VIEW : TABLE);
+    writeSchema(table.getSchema());
+    out.writeString(table.getName());
+    out.writeString(table.getTableType().getTableType());
+
+    final List<Column> columns = table.getColumns();
+    out.writeCount(columns.size());
+    for (final Column column : columns) {
+      out.writeString(column.getName());
+    }
+
+    final Collection<ForeignKey> foreignKeys = table.getForeignKeys();
+    out.writeCount(foreignKeys.size());
+    for (final ForeignKey foreignKey : foreignKeys) {
+      out.writeVarInt(writer.getForeignKeyIndex(foreignKey));
+    }
+    final Collection<WeakAssociation> weakAssociations = table.getWeakAssociations();
+    out.writeCount(weakAssociations.size());
+    for (final WeakAssociation weakAssociation : weakAssociations) {
+      out.writeVarInt(writer.getWeakAssociationIndex(weakAssociation));
+    }
+  }
+}
@@ -0,0 +1,72 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Detects catalogs in JSON. Jackson is only needed to read a catalog in JSON, so the format of a
+ * snapshot can be detected without Jackson on the classpath.
+ */
+public final class JsonCatalogFormat {
+
+  /**
+   * Checks whether a stream has a catalog in JSON, without consuming any of the stream. Only the
+   * start of the stream is checked, so the catalog may still turn out not to be valid.
+   *
+   * @param in Input stream, which needs to support mark and reset
+   * @return True if the stream starts with a JSON object
+   */
+  public static boolean isJsonCatalog(final InputStream in) throws IOException {
+    requireNonNull(in, "No input stream provided");
+    final int readLimit = 1024;
+    in.mark(readLimit);
+    try {
+      for (int i = 0; i < readLimit; i++) {
+        final int b = in.read();
+        if (b == '{') {
+          return true;
+        }
+        if (b != ' ' && b != '\t' && b != '\r' && b != '\n') {
+          return false;
+        }
+      }
+      return false;
+    } finally {
+      in.reset();
+    }
+  }
+
+  private JsonCatalogFormat() {
+    // Prevent instantiation
+  }
+}
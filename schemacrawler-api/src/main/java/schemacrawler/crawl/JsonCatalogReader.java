@@ -0,0 +1,1047 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigInteger;
+import java.sql.DriverPropertyInfo;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import schemacrawler.BaseProductVersion;
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.ActionOrientationType;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.CheckOptionType;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ConditionTimingType;
+import schemacrawler.schema.DataTypeType;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.EventManipulationType;
+import schemacrawler.schema.ForeignKeyDeferrability;
+import schemacrawler.schema.ForeignKeyUpdateRule;
+import schemacrawler.schema.FunctionReturnType;
+import schemacrawler.schema.IndexColumnSortSequence;
+import schemacrawler.schema.IndexType;
+import schemacrawler.schema.ParameterModeType;
+import schemacrawler.schema.ProcedureReturnType;
+import schemacrawler.schema.RoutineBodyType;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.SearchableType;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraintType;
+import schemacrawler.schema.TableType;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.utility.JavaSqlTypes;
+
+/**
+ * Reads a catalog from JSON, as written by the SchemaCrawler JSON serializer. The JSON is read as a
+ * stream, and only one table, routine or other top-level object is held in memory as a tree at a
+ * time. Objects are referred to by name in JSON, so foreign keys, weak associations and other
+ * references between tables are resolved once all the tables have been read. Tables and columns
+ * that were not in the original catalog, such as the other end of a foreign key to a schema that
+ * was not crawled, are read as partial objects, just as they are when the catalog is crawled.
+ * Jackson is not a required dependency of the API, and needs to be on the classpath to read JSON,
+ * though {@link JsonCatalogFormat} can detect a catalog in JSON without it.
+ */
+public final class JsonCatalogReader implements Closeable {
+
+  /**
+   * Object mappers are thread-safe, and are expensive to create, so one is shared. It is created
+   * when a catalog is first read, rather than when this class is loaded.
+   */
+  private static final class MapperHolder {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+  }
+
+  private static boolean bool(final JsonNode node, final String fieldName) {
+    return node.path(fieldName).asBoolean();
+  }
+
+  private static int integer(final JsonNode node, final String fieldName) {
+    return node.path(fieldName).asInt();
+  }
+
+  private static long number(final JsonNode node, final String fieldName) {
+    return node.path(fieldName).asLong();
+  }
+
+  private static <E extends Enum<E>> E readEnum(
+      final JsonNode node, final String fieldName, final Class<E> enumClass, final E defaultValue) {
+    final String value = text(node, fieldName);
+    if (value == null) {
+      return defaultValue;
+    }
+    try {
+      return Enum.valueOf(enumClass, value);
+    } catch (final IllegalArgumentException e) {
+      return defaultValue;
+    }
+  }
+
+  private static String text(final JsonNode node, final String fieldName) {
+    final JsonNode value = node.get(fieldName);
+    if (value == null || value.isNull()) {
+      return null;
+    }
+    return value.asText();
+  }
+
+  private static List<String> texts(final JsonNode node, final String fieldName) {
+    final List<String> texts = new ArrayList<>();
+    for (final JsonNode value : node.path(fieldName)) {
+      texts.add(value.isNull() ? null : value.asText());
+    }
+    return texts;
+  }
+
+  private static Map<String, Object> toAttributes(final JsonNode attributesNode) {
+    final Map<String, Object> attributes = new LinkedHashMap<>();
+    final Iterator<Map.Entry<String, JsonNode>> fields = attributesNode.fields();
+    while (fields.hasNext()) {
+      final Map.Entry<String, JsonNode> field = fields.next();
+      attributes.put(field.getKey(), toValue(field.getValue()));
+    }
+    return attributes;
+  }
+
+  /**
+   * Converts a JSON value back into an attribute value. Values of types that do not have a JSON
+   * representation were written as strings, and are read back as strings.
+   */
+  private static Object toValue(final JsonNode node) {
+    if (node == null || node.isNull()) {
+      return null;
+    } else if (node.isTextual()) {
+      return node.asText();
+    } else if (node.isBoolean()) {
+      return node.asBoolean();
+    } else if (node.isNumber()) {
+      return node.numberValue();
+    } else if (node.isArray()) {
+      final List<Object> list = new ArrayList<>(node.size());
+      for (final JsonNode item : node) {
+        list.add(toValue(item));
+      }
+      return list;
+    } else if (node.isObject()) {
+      final Map<String, Object> map = new LinkedHashMap<>();
+      final Iterator<Map.Entry<String, JsonNode>> fields = node.fields();
+      while (fields.hasNext()) {
+        final Map.Entry<String, JsonNode> field = fields.next();
+        map.put(field.getKey(), toValue(field.getValue()));
+      }
+      return map;
+    } else {
+      return node.asText();
+    }
+  }
+
+  /**
+   * References from a table to other tables, which can only be resolved once all the tables have
+   * been read.
+   */
+  private static final class TableRelationships {
+    private final MutableTable table;
+    private final JsonNode foreignKeys;
+    private final JsonNode weakAssociations;
+    private final JsonNode tableConstraints;
+    private final JsonNode tableUsage;
+    private final Map<MutableColumn, JsonNode> referencedColumns;
+
+    TableRelationships(final MutableTable table, final JsonNode tableNode) {
+      this.table = table;
+      foreignKeys = tableNode.path("foreign-keys");
+      weakAssociations = tableNode.path("weak-associations");
+      tableConstraints = tableNode.path("table-constraints");
+      tableUsage = tableNode.path("table-usage");
+      referencedColumns = new LinkedHashMap<>();
+    }
+  }
+
+  private final JsonParser parser;
+  private final Map<List<String>, SchemaReference> schemas;
+  private final Map<String, MutableColumnDataType> columnDataTypes;
+  private final Map<MutableColumnDataType, String> baseTypeNames;
+  private final Map<String, MutableTable> tables;
+  private final List<TableRelationships> tablesRelationships;
+  private final Map<List<String>, MutableRoutine> routines;
+  private final JavaSqlTypes javaSqlTypes;
+  private MutableCatalog catalog;
+
+  public JsonCatalogReader(final InputStream in) throws IOException {
+    requireNonNull(in, "No input stream provided");
+    parser = MapperHolder.MAPPER.getFactory().createParser(in);
+    schemas = new HashMap<>();
+    columnDataTypes = new HashMap<>();
+    baseTypeNames = new LinkedHashMap<>();
+    tables = new HashMap<>();
+    tablesRelationships = new ArrayList<>();
+    routines = new HashMap<>();
+    javaSqlTypes = new JavaSqlTypes();
+  }
+
+  @Override
+  public void close() throws IOException {
+    parser.close();
+  }
+
+  /**
+   * Reads a catalog. The stream is not closed.
+   *
+   * @return Catalog
+   * @throws IOException On an error reading the stream, or if the stream does not have a catalog in
+   *     JSON
+   */
+  public Catalog read() throws IOException {
+    if (parser.nextToken() != JsonToken.START_OBJECT) {
+      throw new IOException("No catalog in JSON");
+    }
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      parser.nextToken();
+      if ("catalog".equals(fieldName)) {
+        readCatalog();
+      } else {
+        // Other fields, such as the list of all table columns, are derived from the catalog
+        parser.skipChildren();
+      }
+    }
+    if (catalog == null) {
+      throw new IOException("No catalog in JSON");
+    }
+    return catalog;
+  }
+
+  private void addForeignKey(final JsonNode foreignKeyNode) throws IOException {
+    final String name = text(foreignKeyNode, "name");
+    MutableForeignKey foreignKey = null;
+    for (final JsonNode columnReferenceNode : foreignKeyNode.path("column-references")) {
+      final Column fkColumn = lookupColumn(columnReferenceNode.get("foreign-key-column"));
+      final Column pkColumn = lookupColumn(columnReferenceNode.get("primary-key-column"));
+      if (fkColumn == null || pkColumn == null) {
+        throw new IOException(String.format("Bad column reference for foreign key <%s>", name));
+      }
+      final ImmutableColumnReference columnReference =
+          new ImmutableColumnReference(
+              integer(columnReferenceNode, "key-sequence"), fkColumn, pkColumn);
+      if (foreignKey == null) {
+        foreignKey = new MutableForeignKey(name, columnReference);
+      } else {
+        foreignKey.addColumnReference(columnReference);
+      }
+
+      // Link partial columns to the foreign key, the same way as when the catalog is crawled
+      if (fkColumn instanceof ColumnPartial) {
+        ((ColumnPartial) fkColumn).setReferencedColumn(pkColumn);
+      }
+      if (fkColumn.getParent() instanceof TablePartial) {
+        ((TablePartial) fkColumn.getParent()).addForeignKey(foreignKey);
+      }
+      if (pkColumn.getParent() instanceof TablePartial) {
+        ((TablePartial) pkColumn.getParent()).addForeignKey(foreignKey);
+      }
+    }
+    if (foreignKey == null) {
+      throw new IOException(String.format("No column references for foreign key <%s>", name));
+    }
+    foreignKey.addAttributes(readAttributes(foreignKeyNode));
+    foreignKey.setUpdateRule(
+        readEnum(
+            foreignKeyNode,
+            "update-rule",
+            ForeignKeyUpdateRule.class,
+            ForeignKeyUpdateRule.unknown));
+    foreignKey.setDeleteRule(
+        readEnum(
+            foreignKeyNode,
+            "delete-rule",
+            ForeignKeyUpdateRule.class,
+            ForeignKeyUpdateRule.unknown));
+    foreignKey.setDeferrability(
+        readEnum(
+            foreignKeyNode,
+            "deferrability",
+            ForeignKeyDeferrability.class,
+            ForeignKeyDeferrability.unknown));
+    foreignKey.appendDefinition(text(foreignKeyNode, "definition"));
+
+    // Foreign keys are shared by the tables at both ends
+    if (foreignKey.getForeignKeyTable() instanceof MutableTable) {
+      ((MutableTable) foreignKey.getForeignKeyTable()).addForeignKey(foreignKey);
+    }
+    if (foreignKey.getPrimaryKeyTable() instanceof MutableTable) {
+      ((MutableTable) foreignKey.getPrimaryKeyTable()).addForeignKey(foreignKey);
+    }
+  }
+
+  private void addTableConstraints(final TableRelationships tableRelationships) throws IOException {
+    final MutableTable table = tableRelationships.table;
+    for (final JsonNode tableConstraintNode : tableRelationships.tableConstraints) {
+      final String type = text(tableConstraintNode, "@type");
+      final String name = text(tableConstraintNode, "name");
+      if ("primary-key".equals(type)) {
+        if (table.getPrimaryKey() != null) {
+          table.addTableConstraint(table.getPrimaryKey());
+        }
+      } else if ("alternate-key".equals(type)) {
+        final Optional<MutablePrimaryKey> alternateKey = table.lookupAlternateKey(name);
+        if (alternateKey.isPresent()) {
+          table.addTableConstraint(alternateKey.get());
+        }
+      } else if ("foreign-key".equals(type)) {
+        final Optional<MutableForeignKey> foreignKey = table.lookupForeignKey(name);
+        if (foreignKey.isPresent()) {
+          table.addTableConstraint(foreignKey.get());
+        }
+      } else {
+        final MutableTableConstraint tableConstraint = new MutableTableConstraint(table, name);
+        tableConstraint.setTableConstraintType(
+            readEnum(
+                tableConstraintNode,
+                "constraint-type",
+                TableConstraintType.class,
+                TableConstraintType.unknown));
+        readTableConstraintDetails(tableConstraint, table, tableConstraintNode);
+        table.addTableConstraint(tableConstraint);
+      }
+    }
+  }
+
+  private void addWeakAssociation(final JsonNode weakAssociationNode) throws IOException {
+    final String name = text(weakAssociationNode, "name");
+    MutableWeakAssociation weakAssociation = null;
+    for (final JsonNode columnReferenceNode : weakAssociationNode.path("column-references")) {
+      final Column fkColumn = lookupColumn(columnReferenceNode.get("foreign-key-column"));
+      final Column pkColumn = lookupColumn(columnReferenceNode.get("primary-key-column"));
+      if (fkColumn == null || pkColumn == null) {
+        throw new IOException(
+            String.format("Bad column reference for weak association <%s>", name));
+      }
+      final ImmutableColumnReference columnReference =
+          new ImmutableColumnReference(
+              integer(columnReferenceNode, "key-sequence"), fkColumn, pkColumn);
+      if (weakAssociation == null) {
+        weakAssociation = new MutableWeakAssociation(name, columnReference);
+      } else {
+        weakAssociation.addColumnReference(columnReference);
+      }
+    }
+    if (weakAssociation == null) {
+      throw new IOException(String.format("No column references for weak association <%s>", name));
+    }
+    weakAssociation.addAttributes(readAttributes(weakAssociationNode));
+
+    // Weak associations are shared by the tables at both ends
+    if (weakAssociation.getForeignKeyTable() instanceof MutableTable) {
+      ((MutableTable) weakAssociation.getForeignKeyTable()).addWeakAssociation(weakAssociation);
+    }
+    if (weakAssociation.getPrimaryKeyTable() instanceof MutableTable) {
+      ((MutableTable) weakAssociation.getPrimaryKeyTable()).addWeakAssociation(weakAssociation);
+    }
+  }
+
+  private void createCatalog(
+      final String catalogName,
+      final MutableDatabaseInfo databaseInfo,
+      final MutableJdbcDriverInfo jdbcDriverInfo)
+      throws IOException {
+    if (catalog != null) {
+      return;
+    }
+    if (databaseInfo == null || jdbcDriverInfo == null) {
+      throw new IOException("No database or JDBC driver information in JSON catalog");
+    }
+    catalog = new MutableCatalog(catalogName, databaseInfo, jdbcDriverInfo);
+  }
+
+  /**
+   * Looks up a column by the names of its catalog, schema, table and column. Columns of tables that
+   * are not in the catalog are created as partial columns of partial tables.
+   */
+  private Column lookupColumn(final JsonNode columnReferenceNode) {
+    if (columnReferenceNode == null || columnReferenceNode.isNull()) {
+      return null;
+    }
+    final Schema schema = readSchema(columnReferenceNode);
+    final String tableName = text(columnReferenceNode, "table-name");
+    final String columnName = text(columnReferenceNode, "column-name");
+    final Optional<MutableTable> optionalTable = catalog.lookupTable(schema, tableName);
+    if (!optionalTable.isPresent()) {
+      final TablePartial partialTable = new TablePartial(schema, tableName);
+      final ColumnPartial partialColumn = new ColumnPartial(partialTable, columnName);
+      partialTable.addColumn(partialColumn);
+      return partialColumn;
+    }
+    return lookupTableColumn(optionalTable.get(), columnName);
+  }
+
+  /** Schemas are shared, so that all objects in the same schema have the same schema reference. */
+  private SchemaReference lookupSchema(final String catalogName, final String schemaName) {
+    final List<String> key = Arrays.asList(catalogName, schemaName);
+    SchemaReference schema = schemas.get(key);
+    if (schema == null) {
+      schema = new SchemaReference(catalogName, schemaName);
+      schemas.put(key, schema);
+    }
+    return schema;
+  }
+
+  private Column lookupTableColumn(final MutableTable table, final String columnName) {
+    final Optional<MutableColumn> optionalColumn = table.lookupColumn(columnName);
+    if (optionalColumn.isPresent()) {
+      return optionalColumn.get();
+    }
+    return new ColumnPartial(table, columnName);
+  }
+
+  /**
+   * Moves to the next element of the array that the parser is at, and reads it as a tree.
+   *
+   * @return Next element, or null at the end of the array
+   */
+  private JsonNode nextArrayElement() throws IOException {
+    final JsonToken token = parser.nextToken();
+    if (token == JsonToken.END_ARRAY) {
+      return null;
+    }
+    if (token == null) {
+      throw new IOException("Unexpected end of JSON catalog");
+    }
+    return MapperHolder.MAPPER.readTree(parser);
+  }
+
+  private Map<String, Object> readAttributes(final JsonNode node) {
+    return toAttributes(node.path("attributes"));
+  }
+
+  private BigInteger readBigInteger(final JsonNode node, final String fieldName) {
+    final JsonNode value = node.get(fieldName);
+    if (value == null || value.isNull()) {
+      return null;
+    }
+    if (value.isNumber()) {
+      return value.bigIntegerValue();
+    }
+    return new BigInteger(value.asText());
+  }
+
+  /**
+   * Reads the catalog, one field at a time. The catalog is created once the database and driver
+   * information has been read, so that the other objects in the catalog can be added to it as they
+   * are read.
+   */
+  private void readCatalog() throws IOException {
+    if (parser.currentToken() != JsonToken.START_OBJECT) {
+      throw new IOException("No catalog in JSON");
+    }
+
+    String catalogName = null;
+    JsonNode crawlInfoNode = null;
+    MutableDatabaseInfo databaseInfo = null;
+    MutableJdbcDriverInfo jdbcDriverInfo = null;
+    Map<String, Object> catalogAttributes = null;
+    boolean hasTables = false;
+
+    while (parser.nextToken() == JsonToken.FIELD_NAME) {
+      final String fieldName = parser.getCurrentName();
+      final JsonToken token = parser.nextToken();
+      if ("name".equals(fieldName)) {
+        catalogName = parser.getValueAsString();
+        continue;
+      }
+      if (token == JsonToken.START_OBJECT) {
+        final JsonNode node = MapperHolder.MAPPER.readTree(parser);
+        switch (fieldName) {
+          case "crawl-info":
+            crawlInfoNode = node;
+            break;
+          case "database-info":
+            databaseInfo = readDatabaseInfo(node);
+            break;
+          case "jdbc-driver-info":
+            jdbcDriverInfo = readJdbcDriverInfo(node);
+            break;
+          case "attributes":
+            catalogAttributes = toAttributes(node);
+            break;
+          default:
+            break;
+        }
+        continue;
+      }
+      if (token != JsonToken.START_ARRAY) {
+        parser.skipChildren();
+        continue;
+      }
+
+      createCatalog(catalogName, databaseInfo, jdbcDriverInfo);
+      JsonNode node;
+      switch (fieldName) {
+        case "schemas":
+          while ((node = nextArrayElement()) != null) {
+            final SchemaReference schema = readSchema(node);
+            for (final Map.Entry<String, Object> attribute : readAttributes(node).entrySet()) {
+              schema.setAttribute(attribute.getKey(), attribute.getValue());
+            }
+            catalog.addSchema(schema);
+          }
+          break;
+        case "column-data-types":
+          while ((node = nextArrayElement()) != null) {
+            catalog.addColumnDataType(readColumnDataType(node));
+          }
+          break;
+        case "other-column-data-types":
+          while ((node = nextArrayElement()) != null) {
+            readColumnDataType(node);
+          }
+          break;
+        case "database-users":
+          while ((node = nextArrayElement()) != null) {
+            final ImmutableDatabaseUser databaseUser =
+                new ImmutableDatabaseUser(text(node, "name"));
+            databaseUser.addAttributes(readAttributes(node));
+            catalog.addDatabaseUser(databaseUser);
+          }
+          break;
+        case "tables":
+          resolveBaseTypes();
+          while ((node = nextArrayElement()) != null) {
+            catalog.addTable(readTable(node));
+          }
+          readTableRelationships();
+          hasTables = true;
+          break;
+        case "routines":
+          while ((node = nextArrayElement()) != null) {
+            catalog.addRoutine(readRoutine(node));
+          }
+          break;
+        case "sequences":
+          while ((node = nextArrayElement()) != null) {
+            catalog.addSequence(readSequence(node));
+          }
+          break;
+        case "synonyms":
+          while ((node = nextArrayElement()) != null) {
+            catalog.addSynonym(readSynonym(node));
+          }
+          break;
+        default:
+          parser.skipChildren();
+          break;
+      }
+    }
+
+    createCatalog(catalogName, databaseInfo, jdbcDriverInfo);
+    if (catalogAttributes != null) {
+      catalog.addAttributes(catalogAttributes);
+    }
+    if (crawlInfoNode != null) {
+      catalog.setCrawlInfo(readCrawlInfo(crawlInfoNode));
+    }
+    resolveBaseTypes();
+    if (hasTables) {
+      // Sort tables the same way as when the catalog is crawled
+      final TablesGraph tablesGraph = new TablesGraph(catalog.getAllTables());
+      tablesGraph.setTablesSortIndexes();
+    }
+  }
+
+  private MutableColumn readColumn(final MutableTable table, final JsonNode columnNode) {
+    final MutableColumn column = new MutableColumn(table, text(columnNode, "name"));
+    readColumnFields(column, columnNode);
+    column.setAutoIncremented(bool(columnNode, "auto-incremented"));
+    column.setGenerated(bool(columnNode, "generated"));
+    column.setHidden(bool(columnNode, "hidden"));
+    if (bool(columnNode, "part-of-index")) {
+      column.markAsPartOfIndex();
+    }
+    if (bool(columnNode, "part-of-primary-key")) {
+      column.markAsPartOfPrimaryKey();
+    }
+    if (bool(columnNode, "part-of-unique-index")) {
+      column.markAsPartOfUniqueIndex();
+    }
+    column.setDefaultValue(text(columnNode, "default-value"));
+    for (final MutablePrivilege<Column> privilege :
+        readPrivileges(new ColumnPointer(column), columnNode)) {
+      column.addPrivilege(privilege);
+    }
+    return column;
+  }
+
+  private MutableColumnDataType readColumnDataType(final JsonNode columnDataTypeNode) {
+    final MutableColumnDataType columnDataType =
+        new MutableColumnDataType(
+            readSchema(columnDataTypeNode),
+            text(columnDataTypeNode, "name"),
+            readEnum(columnDataTypeNode, "type", DataTypeType.class, DataTypeType.system));
+
+    columnDataType.setAutoIncrementable(bool(columnDataTypeNode, "auto-incrementable"));
+    columnDataType.setCaseSensitive(bool(columnDataTypeNode, "case-sensitive"));
+    columnDataType.setFixedPrecisionScale(bool(columnDataTypeNode, "fixed-precision-scale"));
+    columnDataType.setNullable(bool(columnDataTypeNode, "nullable"));
+    columnDataType.setUnsigned(bool(columnDataTypeNode, "unsigned"));
+
+    columnDataType.setJavaSqlType(
+        javaSqlTypes.valueOf(integer(columnDataTypeNode, "java-sql-type")));
+    columnDataType.setTypeMappedClass(text(columnDataTypeNode, "type-mapped-class"));
+    columnDataType.setCreateParameters(text(columnDataTypeNode, "create-parameters"));
+    columnDataType.setEnumValues(texts(columnDataTypeNode, "enum-values"));
+    columnDataType.setLiteralPrefix(text(columnDataTypeNode, "literal-prefix"));
+    columnDataType.setLiteralSuffix(text(columnDataTypeNode, "literal-suffix"));
+    columnDataType.setLocalTypeName(text(columnDataTypeNode, "local-type-name"));
+    columnDataType.setMaximumScale(integer(columnDataTypeNode, "maximum-scale"));
+    columnDataType.setMinimumScale(integer(columnDataTypeNode, "minimum-scale"));
+    columnDataType.setNumPrecisionRadix(integer(columnDataTypeNode, "num-precision-radix"));
+    columnDataType.setPrecision(number(columnDataTypeNode, "precision"));
+    columnDataType.setSearchable(
+        readEnum(columnDataTypeNode, "searchable", SearchableType.class, SearchableType.unknown));
+    columnDataType.addAttributes(readAttributes(columnDataTypeNode));
+
+    // Base types may be listed after the data types that refer to them
+    final String baseTypeName = text(columnDataTypeNode, "base-type");
+    if (baseTypeName != null) {
+      baseTypeNames.put(columnDataType, baseTypeName);
+    }
+    columnDataTypes.put(text(columnDataTypeNode, "full-name"), columnDataType);
+    return columnDataType;
+  }
+
+  private void readColumnFields(final AbstractColumn<?> column, final JsonNode columnNode) {
+    column.setOrdinalPosition(integer(columnNode, "ordinal-position"));
+    column.setSize(integer(columnNode, "size"));
+    column.setDecimalDigits(integer(columnNode, "decimal-digits"));
+    column.setNullable(bool(columnNode, "nullable"));
+    final String columnDataTypeName = text(columnNode, "column-data-type");
+    if (columnDataTypeName != null) {
+      column.setColumnDataType(columnDataTypes.get(columnDataTypeName));
+    }
+    column.addAttributes(readAttributes(columnNode));
+  }
+
+  private MutableCrawlInfo readCrawlInfo(final JsonNode crawlInfoNode) throws IOException {
+    final Instant crawlTimestamp;
+    final UUID runId;
+    try {
+      crawlTimestamp = Instant.parse(text(crawlInfoNode, "crawl-timestamp"));
+      runId = UUID.fromString(text(crawlInfoNode, "run-id"));
+    } catch (final DateTimeParseException | IllegalArgumentException | NullPointerException e) {
+      throw new IOException("Bad crawl information in JSON catalog", e);
+    }
+    return new MutableCrawlInfo(
+        readProductVersion(crawlInfoNode, "schema-crawler-version"),
+        readProductVersion(crawlInfoNode, "operating-system-version"),
+        readProductVersion(crawlInfoNode, "jvm-version"),
+        readProductVersion(crawlInfoNode, "database-version"),
+        readProductVersion(crawlInfoNode, "jdbc-driver-version"),
+        crawlTimestamp,
+        runId,
+        texts(crawlInfoNode, "skipped-retrievals"));
+  }
+
+  private MutableDatabaseInfo readDatabaseInfo(final JsonNode databaseInfoNode) {
+    final MutableDatabaseInfo databaseInfo =
+        new MutableDatabaseInfo(
+            text(databaseInfoNode, "product-name"),
+            text(databaseInfoNode, "product-version"),
+            text(databaseInfoNode, "user-name"));
+
+    for (final JsonNode serverInfoNode : databaseInfoNode.path("server-info")) {
+      databaseInfo.addServerInfo(
+          new ImmutableServerInfoProperty(
+              text(serverInfoNode, "name"),
+              text(serverInfoNode, "value"),
+              text(serverInfoNode, "description")));
+    }
+
+    final List<ImmutableDatabaseProperty> properties = new ArrayList<>();
+    for (final JsonNode propertyNode : databaseInfoNode.path("properties")) {
+      final String name = text(propertyNode, "name");
+      final JsonNode valueNode = propertyNode.get("value");
+      final Object value;
+      if (valueNode != null && valueNode.isArray()) {
+        // Database properties that are lists are always lists of strings
+        value = texts(propertyNode, "value").toArray(new String[0]);
+      } else {
+        value = toValue(valueNode);
+      }
+      properties.add(new ImmutableDatabaseProperty(name, value));
+    }
+    databaseInfo.addAll(properties);
+
+    return databaseInfo;
+  }
+
+  private MutableIndex readIndex(final MutableTable table, final JsonNode indexNode) {
+    final MutableIndex index = new MutableIndex(table, text(indexNode, "name"));
+    index.setUnique(bool(indexNode, "unique"));
+    index.setIndexType(readEnum(indexNode, "index-type", IndexType.class, IndexType.unknown));
+    index.setCardinality(number(indexNode, "cardinality"));
+    index.setPages(number(indexNode, "pages"));
+    index.appendDefinition(text(indexNode, "definition"));
+    index.addAttributes(readAttributes(indexNode));
+
+    for (final JsonNode indexColumnNode : indexNode.path("columns")) {
+      final Column column = lookupTableColumn(table, text(indexColumnNode, "name"));
+      final MutableIndexColumn indexColumn = new MutableIndexColumn(index, column);
+      indexColumn.setKeyOrdinalPosition(integer(indexColumnNode, "index-ordinal-position"));
+      indexColumn.setSortSequence(
+          readEnum(indexColumnNode, "sort-sequence", IndexColumnSortSequence.class, null));
+      index.addColumn(indexColumn);
+    }
+    return index;
+  }
+
+  private MutableJdbcDriverInfo readJdbcDriverInfo(final JsonNode jdbcDriverInfoNode) {
+    final MutableJdbcDriverInfo jdbcDriverInfo =
+        new MutableJdbcDriverInfo(
+            text(jdbcDriverInfoNode, "product-name"),
+            text(jdbcDriverInfoNode, "driver-class-name"),
+            text(jdbcDriverInfoNode, "product-version"),
+            integer(jdbcDriverInfoNode, "driver-major-version"),
+            integer(jdbcDriverInfoNode, "driver-minor-version"),
+            integer(jdbcDriverInfoNode, "jdbc-major-version"),
+            integer(jdbcDriverInfoNode, "jdbc-minor-version"),
+            bool(jdbcDriverInfoNode, "jdbc-compliant"),
+            text(jdbcDriverInfoNode, "connection-url"));
+
+    for (final JsonNode driverPropertyNode : jdbcDriverInfoNode.path("driver-properties")) {
+      final DriverPropertyInfo driverPropertyInfo =
+          new DriverPropertyInfo(
+              text(driverPropertyNode, "name"), text(driverPropertyNode, "value"));
+      driverPropertyInfo.description = text(driverPropertyNode, "description");
+      driverPropertyInfo.required = bool(driverPropertyNode, "required");
+      driverPropertyInfo.choices = texts(driverPropertyNode, "choices").toArray(new String[0]);
+      jdbcDriverInfo.addJdbcDriverProperty(new ImmutableJdbcDriverProperty(driverPropertyInfo));
+    }
+
+    return jdbcDriverInfo;
+  }
+
+  private <D extends DatabaseObject> List<MutablePrivilege<D>> readPrivileges(
+      final DatabaseObjectReference<D> parent, final JsonNode node) {
+    final List<MutablePrivilege<D>> privileges = new ArrayList<>();
+    for (final JsonNode privilegeNode : node.path("privileges")) {
+      final MutablePrivilege<D> privilege =
+          new MutablePrivilege<>(parent, text(privilegeNode, "name"));
+      privilege.addAttributes(readAttributes(privilegeNode));
+      for (final JsonNode grantNode : privilegeNode.path("grants")) {
+        privilege.addGrant(
+            text(grantNode, "grantor"), text(grantNode, "grantee"), bool(grantNode, "grantable"));
+      }
+      privileges.add(privilege);
+    }
+    return privileges;
+  }
+
+  private ProductVersion readProductVersion(final JsonNode node, final String fieldName) {
+    final JsonNode productVersionNode = node.path(fieldName);
+    return new BaseProductVersion(
+        text(productVersionNode, "product-name"), text(productVersionNode, "product-version"));
+  }
+
+  private MutableRoutine readRoutine(final JsonNode routineNode) throws IOException {
+    final String routineType = text(routineNode, "@type");
+    final Schema schema = readSchema(routineNode);
+    final String name = text(routineNode, "name");
+    final String specificName = text(routineNode, "specific-name");
+
+    final MutableRoutine routine;
+    if ("function".equals(routineType)) {
+      final MutableFunction function = new MutableFunction(schema, name, specificName);
+      function.setReturnType(
+          readEnum(
+              routineNode, "return-type", FunctionReturnType.class, FunctionReturnType.unknown));
+      routine = function;
+    } else if ("procedure".equals(routineType)) {
+      final MutableProcedure procedure = new MutableProcedure(schema, name, specificName);
+      procedure.setReturnType(
+          readEnum(
+              routineNode, "return-type", ProcedureReturnType.class, ProcedureReturnType.unknown));
+      routine = procedure;
+    } else {
+      throw new IOException(String.format("Bad routine type <%s> in JSON catalog", routineType));
+    }
+    routine.setRoutineBodyType(
+        readEnum(routineNode, "routine-body-type", RoutineBodyType.class, RoutineBodyType.unknown));
+    routine.appendDefinition(text(routineNode, "definition"));
+    routine.addAttributes(readAttributes(routineNode));
+
+    for (final JsonNode parameterNode : routineNode.path("parameters")) {
+      final String parameterName = text(parameterNode, "name");
+      final ParameterModeType parameterMode =
+          readEnum(parameterNode, "parameter-mode", ParameterModeType.class, null);
+      if (routine instanceof MutableFunction) {
+        final MutableFunction function = (MutableFunction) routine;
+        final MutableFunctionParameter parameter =
+            new MutableFunctionParameter(function, parameterName);
+        parameter.setParameterMode(parameterMode);
+        readColumnFields(parameter, parameterNode);
+        function.addParameter(parameter);
+      } else {
+        final MutableProcedure procedure = (MutableProcedure) routine;
+        final MutableProcedureParameter parameter =
+            new MutableProcedureParameter(procedure, parameterName);
+        parameter.setParameterMode(parameterMode);
+        readColumnFields(parameter, parameterNode);
+        procedure.addParameter(parameter);
+      }
+    }
+
+    routines.put(Arrays.asList(schema.getCatalogName(), schema.getName(), specificName), routine);
+    return routine;
+  }
+
+  private SchemaReference readSchema(final JsonNode node) {
+    return lookupSchema(text(node, "catalog-name"), text(node, "schema-name"));
+  }
+
+  private MutableSequence readSequence(final JsonNode sequenceNode) {
+    final MutableSequence sequence =
+        new MutableSequence(readSchema(sequenceNode), text(sequenceNode, "name"));
+    sequence.setIncrement(number(sequenceNode, "increment"));
+    sequence.setStartValue(readBigInteger(sequenceNode, "start-value"));
+    sequence.setMinimumValue(readBigInteger(sequenceNode, "minimum-value"));
+    sequence.setMaximumValue(readBigInteger(sequenceNode, "maximum-value"));
+    sequence.setCycle(bool(sequenceNode, "cycle"));
+    sequence.addAttributes(readAttributes(sequenceNode));
+    return sequence;
+  }
+
+  private MutableSynonym readSynonym(final JsonNode synonymNode) {
+    final MutableSynonym synonym =
+        new MutableSynonym(readSchema(synonymNode), text(synonymNode, "name"));
+    synonym.addAttributes(readAttributes(synonymNode));
+
+    final JsonNode referencedObjectNode = synonymNode.path("referenced-object");
+    final String referencedObjectType = text(referencedObjectNode, "@type");
+    final Schema referencedSchema = readSchema(referencedObjectNode);
+    final String referencedObjectName = text(referencedObjectNode, "name");
+    DatabaseObject referencedObject = null;
+    if ("table".equals(referencedObjectType)) {
+      final Optional<MutableTable> table =
+          catalog.lookupTable(referencedSchema, referencedObjectName);
+      if (table.isPresent()) {
+        referencedObject = table.get();
+      } else {
+        referencedObject = new TablePartial(referencedSchema, referencedObjectName);
+      }
+    } else if ("routine".equals(referencedObjectType)) {
+      referencedObject =
+          routines.get(
+              Arrays.asList(
+                  referencedSchema.getCatalogName(),
+                  referencedSchema.getName(),
+                  text(referencedObjectNode, "specific-name")));
+    }
+    if (referencedObject == null) {
+      referencedObject =
+          new SynonymRetriever.UnknownDatabaseObject(referencedSchema, referencedObjectName);
+    }
+    synonym.setReferencedObject(referencedObject);
+    return synonym;
+  }
+
+  private MutableTable readTable(final JsonNode tableNode) throws IOException {
+    final String tableType = text(tableNode, "@type");
+    final Schema schema = readSchema(tableNode);
+    final String name = text(tableNode, "name");
+    final MutableTable table;
+    if ("view".equals(tableType)) {
+      table = new MutableView(schema, name);
+    } else if ("table".equals(tableType)) {
+      table = new MutableTable(schema, name);
+    } else {
+      throw new IOException(String.format("Bad table type <%s> in JSON catalog", tableType));
+    }
+    tables.put(text(tableNode, "full-name"), table);
+    final TableRelationships tableRelationships = new TableRelationships(table, tableNode);
+    tablesRelationships.add(tableRelationships);
+
+    table.setTableType(new TableType(text(tableNode, "table-type")));
+    table.appendDefinition(text(tableNode, "definition"));
+    table.addAttributes(readAttributes(tableNode));
+
+    for (final JsonNode columnNode : tableNode.path("columns")) {
+      final MutableColumn column = readColumn(table, columnNode);
+      tableRelationships.referencedColumns.put(column, columnNode.get("referenced-column"));
+      table.addColumn(column);
+    }
+    for (final JsonNode columnNode : tableNode.path("hidden-columns")) {
+      final MutableColumn column = readColumn(table, columnNode);
+      tableRelationships.referencedColumns.put(column, columnNode.get("referenced-column"));
+      table.addHiddenColumn(column);
+    }
+
+    final JsonNode primaryKeyNode = tableNode.path("primary-key");
+    if (primaryKeyNode.isObject()) {
+      final MutablePrimaryKey primaryKey =
+          MutablePrimaryKey.newPrimaryKey(table, text(primaryKeyNode, "name"));
+      readTableConstraintDetails(primaryKey, table, primaryKeyNode);
+      table.setPrimaryKey(primaryKey);
+    }
+    for (final JsonNode alternateKeyNode : tableNode.path("alternate-keys")) {
+      final MutablePrimaryKey alternateKey =
+          MutablePrimaryKey.newAlternateKey(table, text(alternateKeyNode, "name"));
+      readTableConstraintDetails(alternateKey, table, alternateKeyNode);
+      table.addAlternateKey(alternateKey);
+    }
+
+    for (final JsonNode indexNode : tableNode.path("indexes")) {
+      table.addIndex(readIndex(table, indexNode));
+    }
+
+    for (final JsonNode triggerNode : tableNode.path("triggers")) {
+      final MutableTrigger trigger = new MutableTrigger(table, text(triggerNode, "name"));
+      trigger.setEventManipulationType(
+          readEnum(
+              triggerNode,
+              "event-manipulation-type",
+              EventManipulationType.class,
+              EventManipulationType.unknown));
+      trigger.setActionOrder(integer(triggerNode, "action-order"));
+      trigger.appendActionCondition(text(triggerNode, "action-condition"));
+      trigger.appendActionStatement(text(triggerNode, "action-statement"));
+      trigger.setActionOrientation(
+          readEnum(
+              triggerNode,
+              "action-orientation",
+              ActionOrientationType.class,
+              ActionOrientationType.unknown));
+      trigger.setConditionTiming(
+          readEnum(
+              triggerNode,
+              "condition-timing",
+              ConditionTimingType.class,
+              ConditionTimingType.unknown));
+      trigger.addAttributes(readAttributes(triggerNode));
+      table.addTrigger(trigger);
+    }
+
+    for (final MutablePrivilege<Table> privilege :
+        readPrivileges(new TablePointer(table), tableNode)) {
+      table.addPrivilege(privilege);
+    }
+
+    if (table instanceof MutableView) {
+      final MutableView view = (MutableView) table;
+      view.setCheckOption(readEnum(tableNode, "check-option", CheckOptionType.class, null));
+      view.setUpdatable(bool(tableNode, "updatable"));
+    }
+
+    return table;
+  }
+
+  private void readTableConstraintDetails(
+      final MutableTableConstraint tableConstraint,
+      final MutableTable table,
+      final JsonNode tableConstraintNode) {
+    tableConstraint.setDeferrable(bool(tableConstraintNode, "deferrable"));
+    tableConstraint.setInitiallyDeferred(bool(tableConstraintNode, "initially-deferred"));
+    tableConstraint.appendDefinition(text(tableConstraintNode, "definition"));
+    tableConstraint.addAttributes(readAttributes(tableConstraintNode));
+
+    for (final JsonNode columnNode : tableConstraintNode.path("columns")) {
+      final Column column = lookupTableColumn(table, text(columnNode, "name"));
+      final MutableTableConstraintColumn tableConstraintColumn =
+          new MutableTableConstraintColumn(tableConstraint, column);
+      tableConstraintColumn.setKeyOrdinalPosition(
+          integer(columnNode, "table-constraint-ordinal-position"));
+      tableConstraint.addColumn(tableConstraintColumn);
+    }
+  }
+
+  /**
+   * Resolves references between tables, once all the tables have been read. Foreign keys are added
+   * before table constraints, since foreign keys are also table constraints.
+   */
+  private void readTableRelationships() throws IOException {
+    for (final TableRelationships tableRelationships : tablesRelationships) {
+      for (final JsonNode foreignKeyNode : tableRelationships.foreignKeys) {
+        addForeignKey(foreignKeyNode);
+      }
+      for (final JsonNode weakAssociationNode : tableRelationships.weakAssociations) {
+        addWeakAssociation(weakAssociationNode);
+      }
+    }
+
+    for (final TableRelationships tableRelationships : tablesRelationships) {
+      addTableConstraints(tableRelationships);
+
+      for (final Map.Entry<MutableColumn, JsonNode> referencedColumn :
+          tableRelationships.referencedColumns.entrySet()) {
+        final Column column = lookupColumn(referencedColumn.getValue());
+        if (column != null) {
+          referencedColumn.getKey().setReferencedColumn(column);
+        }
+      }
+
+      if (tableRelationships.table instanceof MutableView) {
+        final MutableView view = (MutableView) tableRelationships.table;
+        for (final JsonNode usedTableNode : tableRelationships.tableUsage) {
+          final MutableTable usedTable = tables.get(usedTableNode.asText());
+          if (usedTable != null) {
+            view.addTableUsage(usedTable);
+          }
+        }
+      }
+    }
+
+    // The trees are no longer needed
+    tablesRelationships.clear();
+  }
+
+  private void resolveBaseTypes() {
+    for (final Map.Entry<MutableColumnDataType, String> baseTypeName : baseTypeNames.entrySet()) {
+      baseTypeName.getKey().setBaseType(columnDataTypes.get(baseTypeName.getValue()));
+    }
+    baseTypeNames.clear();
+  }
+}
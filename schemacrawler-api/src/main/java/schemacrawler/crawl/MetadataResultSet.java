@@ -29,6 +29,7 @@ import static java.sql.Types.LONGVARCHAR;
 import static java.sql.Types.NCLOB;
 import static java.util.Objects.requireNonNull;
 import static schemacrawler.schemacrawler.QueryUtility.executeAgainstSchema;
+import static schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder.DEFAULT_FETCH_SIZE;
 import static schemacrawler.utility.EnumUtility.enumValue;
 import static schemacrawler.utility.EnumUtility.enumValueFromId;
 import static us.fatehi.utility.IOUtility.readFully;
@@ -41,13 +42,11 @@ import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
 import java.util.ArrayList;
+import java.util.BitSet;
 import java.util.HashMap;
-import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Map;
-import java.util.Optional;
-import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import schemacrawler.inclusionrule.InclusionRule;
@@ -58,6 +57,7 @@ import schemacrawler.schemacrawler.Query;
 import schemacrawler.utility.BinaryData;
 import us.fatehi.utility.UtilityLogger;
 import us.fatehi.utility.string.StringFormat;
+import us.fatehi.utility.string.StringInterner;
 
 /**
  * A wrapper around a JDBC resultset obtained from a database metadata call. This allows type-safe
@@ -68,33 +68,104 @@ public final class MetadataResultSet implements AutoCloseable {
 
   private static final Logger LOGGER = Logger.getLogger(MetadataResultSet.class.getName());
 
-  private static final int FETCHSIZE = 20;
+  // Adaptive fetch sizes do not grow beyond this, to limit the memory used for fetched rows
+  private static final int MAX_ADAPTIVE_FETCH_SIZE = 5_000;
+  // Most databases limit identifiers to this length
+  private static final int MAX_INTERNED_LENGTH = 128;
+
+  private static Statement withFetchSize(final Statement statement, final int fetchSize) {
+    if (statement == null || fetchSize <= 0) {
+      return statement;
+    }
+    try {
+      statement.setFetchSize(fetchSize);
+    } catch (final SQLException e) {
+      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    }
+    return statement;
+  }
 
   private final ResultsColumns resultsColumns;
   private final ResultSet results;
   private final String description;
-  private Set<ResultsColumn> readColumns;
+  private final Map<String, Integer> columnOrdinals;
+  private final BitSet readColumns;
   private int rowCount;
   private boolean showLobs;
+  private int fetchSize;
+  private boolean adaptiveFetchSize;
+  private StringInterner stringInterner;
 
   public MetadataResultSet(
       final Query query, final Statement statement, final InclusionRule schemaInclusionRule)
       throws SQLException {
-    this(executeAgainstSchema(query, statement, schemaInclusionRule), query.getName());
+    this(query, statement, schemaInclusionRule, DEFAULT_FETCH_SIZE, false);
+  }
+
+  /**
+   * Executes a data dictionary query, fetching rows from the database with the provided fetch size.
+   * The fetch size is set on the statement before the query is executed, since some JDBC drivers
+   * fetch the first rows when the query is executed.
+   *
+   * @param query Data dictionary query
+   * @param statement Statement to execute the query with
+   * @param schemaInclusionRule Schemas to run the query for
+   * @param fetchSize Number of rows to fetch in each round trip, or zero for the driver default
+   * @param adaptiveFetchSize Whether the fetch size grows with the number of rows read
+   * @throws SQLException On an exception
+   */
+  public MetadataResultSet(
+      final Query query,
+      final Statement statement,
+      final InclusionRule schemaInclusionRule,
+      final int fetchSize,
+      final boolean adaptiveFetchSize)
+      throws SQLException {
+    this(
+        executeAgainstSchema(query, withFetchSize(statement, fetchSize), schemaInclusionRule),
+        query.getName(),
+        fetchSize,
+        adaptiveFetchSize);
   }
 
   public MetadataResultSet(final ResultSet resultSet, final String description)
       throws SQLException {
+    this(resultSet, description, DEFAULT_FETCH_SIZE, false);
+  }
+
+  /**
+   * Wraps a result-set, fetching rows from the database with the provided fetch size. An adaptive
+   * fetch size starts at the provided fetch size, and doubles every time as many rows have been
+   * read, so that large result-sets need only a few more round trips to the database than small
+   * ones.
+   *
+   * @param resultSet Result-set to wrap
+   * @param description Description of the result-set, for logging
+   * @param fetchSize Number of rows to fetch in each round trip, or zero for the driver default
+   * @param adaptiveFetchSize Whether the fetch size grows with the number of rows read
+   * @throws SQLException On an exception
+   */
+  public MetadataResultSet(
+      final ResultSet resultSet,
+      final String description,
+      final int fetchSize,
+      final boolean adaptiveFetchSize)
+      throws SQLException {
     results = requireNonNull(resultSet, "Cannot use null results");
-    try {
-      results.setFetchSize(FETCHSIZE);
-    } catch (final NullPointerException | SQLException e) {
-      LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+    this.fetchSize = Math.max(fetchSize, 0);
+    this.adaptiveFetchSize = adaptiveFetchSize && this.fetchSize > 0;
+    if (this.fetchSize > 0) {
+      try {
+        results.setFetchSize(this.fetchSize);
+      } catch (final NullPointerException | SQLException e) {
+        LOGGER.log(Level.WARNING, "Could not set fetch size", e);
+      }
     }
     this.description = requireNotBlank(description, "No result-set description provided");
 
     resultsColumns = new ResultsCrawler(results).crawl();
-    readColumns = new HashSet<>();
+    columnOrdinals = new HashMap<>();
+    readColumns = new BitSet();
     showLobs = true;
   }
 
@@ -119,7 +190,7 @@ public final class MetadataResultSet implements AutoCloseable {
   public Map<String, Object> getAttributes() {
     final Map<String, Object> attributes = new HashMap<>();
     for (final ResultsColumn resultsColumn : resultsColumns) {
-      if (!readColumns.contains(resultsColumn)) {
+      if (!readColumns.get(resultsColumn.getOrdinalPosition())) {
         try {
           final String key = resultsColumn.getLabel().toUpperCase();
           final Object value = getColumnData(resultsColumn);
@@ -163,9 +234,10 @@ public final class MetadataResultSet implements AutoCloseable {
    * @return Whether the string evaluates to true
    */
   public boolean getBoolean(final String columnName) {
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        final Object booleanValue = results.getObject(columnName);
+        final Object booleanValue = results.getObject(ordinalPosition);
         final String stringBooleanValue;
         if (results.wasNull() || booleanValue == null) {
           LOGGER.log(
@@ -251,9 +323,10 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public int getInt(final String columnName, final int defaultValue) {
     int value = defaultValue;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getInt(columnName);
+        value = results.getInt(ordinalPosition);
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
@@ -281,9 +354,10 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public long getLong(final String columnName, final long defaultValue) {
     long value = defaultValue;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getLong(columnName);
+        value = results.getLong(ordinalPosition);
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
@@ -302,6 +376,15 @@ public final class MetadataResultSet implements AutoCloseable {
     return value;
   }
 
+  /**
+   * Gets the number of rows read so far.
+   *
+   * @return Number of rows read
+   */
+  int getRowCount() {
+    return rowCount;
+  }
+
   /**
    * Reads the value of a column from the result set as a short. If the value was null, returns the
    * default.
@@ -312,9 +395,10 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public short getShort(final String columnName, final short defaultValue) {
     short value = defaultValue;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getShort(columnName);
+        value = results.getShort(ordinalPosition);
         if (results.wasNull()) {
           LOGGER.log(
               Level.FINER,
@@ -341,15 +425,19 @@ public final class MetadataResultSet implements AutoCloseable {
    */
   public String getString(final String columnName) {
     String value = null;
-    if (useColumn(columnName)) {
+    final int ordinalPosition = useColumn(columnName);
+    if (ordinalPosition > 0) {
       try {
-        value = results.getString(columnName);
+        value = results.getString(ordinalPosition);
         if (results.wasNull()) {
           value = null;
         }
 
         if (value != null) {
           value = value.trim();
+          if (stringInterner != null && value.length() <= MAX_INTERNED_LENGTH) {
+            value = stringInterner.intern(value);
+          }
         }
       } catch (final SQLException e) {
         LOGGER.log(
@@ -371,12 +459,15 @@ public final class MetadataResultSet implements AutoCloseable {
    * @throws SQLException On a database access error
    */
   public boolean next() throws SQLException {
-    readColumns = new HashSet<>();
+    readColumns.clear();
 
     final boolean next = results.next();
     new UtilityLogger(LOGGER).logSQLWarnings(results);
     if (next) {
       rowCount = rowCount + 1;
+      if (adaptiveFetchSize && rowCount >= fetchSize) {
+        growFetchSize();
+      }
     }
     return next;
   }
@@ -394,6 +485,34 @@ public final class MetadataResultSet implements AutoCloseable {
     this.showLobs = showLobs;
   }
 
+  /**
+   * Shares instances of short string values, such as catalog, schema, table, data type and column
+   * names, which repeat across rows and across result-sets in a crawl. Longer values, such as
+   * remarks and definitions, are not pooled.
+   *
+   * @param stringInterner Pool of strings for the crawl, or null to not pool strings
+   */
+  void setStringInterner(final StringInterner stringInterner) {
+    this.stringInterner = stringInterner;
+  }
+
+  private void growFetchSize() {
+    final int grownFetchSize = Math.min(fetchSize * 2, MAX_ADAPTIVE_FETCH_SIZE);
+    if (grownFetchSize <= fetchSize) {
+      adaptiveFetchSize = false;
+      return;
+    }
+    try {
+      results.setFetchSize(grownFetchSize);
+      fetchSize = grownFetchSize;
+    } catch (final SQLException e) {
+      // Some JDBC drivers do not allow the fetch size to change once rows are read
+      adaptiveFetchSize = false;
+      LOGGER.log(
+          Level.FINE, e, new StringFormat("Could not change fetch size for <%s>", description));
+    }
+  }
+
   private Object getColumnData(final ResultsColumn resultsColumn) throws SQLException {
     final int javaSqlType =
         resultsColumn.getColumnDataType().getJavaSqlType().getVendorTypeNumber();
@@ -446,9 +565,26 @@ public final class MetadataResultSet implements AutoCloseable {
     return new BinaryData();
   }
 
-  private boolean useColumn(final String columnName) {
-    final Optional<ResultsColumn> optionalResultsColumn = resultsColumns.lookupColumn(columnName);
-    optionalResultsColumn.ifPresent(readColumns::add);
-    return optionalResultsColumn.isPresent();
+  /**
+   * Looks up the JDBC column index for a column name, and marks the column as read. Column names
+   * are resolved only once for each result-set, so that values can be read by index for every row.
+   *
+   * @param columnName Column name
+   * @return Column index, or 0 if the column is not in the result-set
+   */
+  private int useColumn(final String columnName) {
+    if (columnName == null) {
+      return 0;
+    }
+    Integer ordinalPosition = columnOrdinals.get(columnName);
+    if (ordinalPosition == null) {
+      ordinalPosition =
+          resultsColumns.lookupColumn(columnName).map(ResultsColumn::getOrdinalPosition).orElse(0);
+      columnOrdinals.put(columnName, ordinalPosition);
+    }
+    if (ordinalPosition > 0) {
+      readColumns.set(ordinalPosition);
+    }
+    return ordinalPosition;
   }
 }
@@ -81,7 +81,7 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
   private final NamedObjectList<MutableSynonym> synonyms = new NamedObjectList<>();
   private final NamedObjectList<MutableTable> tables = new NamedObjectList<>();
   private final NamedObjectList<ImmutableDatabaseUser> databaseUsers = new NamedObjectList<>();
-  private final MutableCrawlInfo crawlInfo;
+  private MutableCrawlInfo crawlInfo;
 
   MutableCatalog(
       final String name,
@@ -345,6 +345,22 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
     tables.add(table);
   }
 
+  /**
+   * Compacts the catalog once it is fully loaded, and makes it read-only. Lists of named objects
+   * are sized to their contents and their sort order is fixed, and empty attribute maps are shared.
+   */
+  @Override
+  void freeze() {
+    super.freeze();
+    columnDataTypes.freeze();
+    databaseUsers.freeze();
+    schemas.freeze();
+    tables.freeze();
+    routines.freeze();
+    sequences.freeze();
+    synonyms.freeze();
+  }
+
   NamedObjectList<MutableRoutine> getAllRoutines() {
     return routines;
   }
@@ -353,10 +369,18 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
     return schemas;
   }
 
+  NamedObjectList<MutableSynonym> getAllSynonyms() {
+    return synonyms;
+  }
+
   NamedObjectList<MutableTable> getAllTables() {
     return tables;
   }
 
+  boolean isFrozen() {
+    return tables.isFrozen();
+  }
+
   MutableColumnDataType lookupBaseColumnDataTypeByType(final int baseType) {
     final SchemaReference systemSchema = new SchemaReference();
     MutableColumnDataType columnDataType = null;
@@ -382,4 +406,8 @@ final class MutableCatalog extends AbstractNamedObjectWithAttributes implements
   Optional<MutableTable> lookupTable(final NamedObjectKey tableLookupKey) {
     return tables.lookup(tableLookupKey);
   }
+
+  void setCrawlInfo(final MutableCrawlInfo crawlInfo) {
+    this.crawlInfo = requireNonNull(crawlInfo, "No crawl information provided");
+  }
 }
@@ -43,6 +43,9 @@ import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
 import java.time.format.SignStyle;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 import java.util.UUID;
 import schemacrawler.BaseProductVersion;
 import schemacrawler.JvmSystemInfo;
@@ -82,6 +85,7 @@ final class MutableCrawlInfo implements CrawlInfo {
   private final ProductVersion schemaCrawlerVersion;
   private final ProductVersion databaseVersion;
   private final ProductVersion jdbcDriverVersion;
+  private List<String> skippedRetrievals;
 
   MutableCrawlInfo(
       final MutableDatabaseInfo databaseInfo, final MutableJdbcDriverInfo jdbcDriverInfo) {
@@ -97,6 +101,29 @@ final class MutableCrawlInfo implements CrawlInfo {
 
     crawlTimestamp = Instant.now();
     runId = UUID.randomUUID();
+    skippedRetrievals = new ArrayList<>();
+  }
+
+  MutableCrawlInfo(
+      final ProductVersion schemaCrawlerVersion,
+      final ProductVersion operatingSystemVersion,
+      final ProductVersion jvmVersion,
+      final ProductVersion databaseVersion,
+      final ProductVersion jdbcDriverVersion,
+      final Instant crawlTimestamp,
+      final UUID runId,
+      final Collection<String> skippedRetrievals) {
+    this.schemaCrawlerVersion =
+        requireNonNull(schemaCrawlerVersion, "No SchemaCrawler version provided");
+    this.operatingSystemVersion =
+        requireNonNull(operatingSystemVersion, "No operating system version provided");
+    this.jvmVersion = requireNonNull(jvmVersion, "No JVM version provided");
+    this.databaseVersion = requireNonNull(databaseVersion, "No database version provided");
+    this.jdbcDriverVersion = requireNonNull(jdbcDriverVersion, "No JDBC driver version provided");
+    this.crawlTimestamp = requireNonNull(crawlTimestamp, "No crawl timestamp provided");
+    this.runId = requireNonNull(runId, "No run id provided");
+    this.skippedRetrievals =
+        new ArrayList<>(requireNonNull(skippedRetrievals, "No skipped retrievals provided"));
   }
 
   @Override
@@ -140,6 +167,16 @@ final class MutableCrawlInfo implements CrawlInfo {
     return runId.toString();
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public synchronized Collection<String> getSkippedRetrievals() {
+    // Catalogs serialized before skipped retrievals were recorded will not have any
+    if (skippedRetrievals == null) {
+      return new ArrayList<>();
+    }
+    return new ArrayList<>(skippedRetrievals);
+  }
+
   /** {@inheritDoc} */
   @Override
   public ProductVersion getSchemaCrawlerVersion() {
@@ -158,10 +195,26 @@ final class MutableCrawlInfo implements CrawlInfo {
     info.append("-- driver: ").append(jdbcDriverVersion).append(lineSeparator());
     info.append("-- operating system: ").append(operatingSystemVersion).append(lineSeparator());
     info.append("-- JVM system: ").append(jvmVersion).append(lineSeparator());
+    final Collection<String> skippedRetrievals = getSkippedRetrievals();
+    if (!skippedRetrievals.isEmpty()) {
+      info.append("-- skipped retrievals: ")
+          .append(String.join(", ", skippedRetrievals))
+          .append(lineSeparator());
+    }
 
     return info.toString();
   }
 
+  synchronized void addSkippedRetrieval(final String retrievalName) {
+    requireNonNull(retrievalName, "No retrieval name provided");
+    if (skippedRetrievals == null) {
+      skippedRetrievals = new ArrayList<>();
+    }
+    if (!skippedRetrievals.contains(retrievalName)) {
+      skippedRetrievals.add(retrievalName);
+    }
+  }
+
   private ZonedDateTime getCrawlTimestampUTC() {
     return ZonedDateTime.ofInstant(crawlTimestamp, UTC);
   }
@@ -171,6 +171,13 @@ class MutableIndex extends AbstractDependantObject<Table> implements Index {
     }
   }
 
+  @Override
+  final void freeze() {
+    super.freeze();
+    definition.trimToSize();
+    columns.freeze();
+  }
+
   final void setCardinality(final long cardinality) {
     this.cardinality = cardinality;
   }
@@ -80,6 +80,12 @@ final class MutableProcedure extends MutableRoutine implements Procedure {
     columns.add(column);
   }
 
+  @Override
+  void freeze() {
+    super.freeze();
+    columns.freeze();
+  }
+
   void setReturnType(final ProcedureReturnType returnType) {
     this.returnType = requireNonNull(returnType, "Null procedure return type");
   }
@@ -50,6 +50,7 @@ abstract class MutableRoutine extends AbstractDatabaseObject implements Routine
   private RoutineBodyType routineBodyType;
   private final String specificName;
   private transient NamedObjectKey key;
+
   /**
    * Effective Java - Item 17 - Minimize Mutability - Package-private constructors make a class
    * effectively final
@@ -141,6 +142,12 @@ abstract class MutableRoutine extends AbstractDatabaseObject implements Routine
     }
   }
 
+  @Override
+  void freeze() {
+    super.freeze();
+    definition.trimToSize();
+  }
+
   final void setRoutineBodyType(final RoutineBodyType routineBodyType) {
     this.routineBodyType = routineBodyType;
   }
@@ -64,6 +64,24 @@ class MutableTable extends AbstractDatabaseObject implements Table {
     imported
   }
 
+  /** Parent and child tables, sorted alphabetically. */
+  private static final class RelatedTables {
+
+    private final List<Table> parentTables;
+    private final List<Table> childTables;
+
+    RelatedTables(final Set<Table> parentTables, final Set<Table> childTables) {
+      this.parentTables = sorted(parentTables);
+      this.childTables = sorted(childTables);
+    }
+
+    private static List<Table> sorted(final Set<Table> tables) {
+      final List<Table> tablesList = new ArrayList<>(tables);
+      tablesList.sort(alphabetical);
+      return tablesList;
+    }
+  }
+
   private static final long serialVersionUID = 3257290248802284852L;
 
   private final NamedObjectList<MutableColumn> columns = new NamedObjectList<>();
@@ -79,6 +97,7 @@ class MutableTable extends AbstractDatabaseObject implements Table {
   private MutablePrimaryKey primaryKey;
   private int sortIndex;
   private TableType tableType = TableType.UNKNOWN; // Default value
+  private transient volatile RelatedTables relatedTables;
 
   MutableTable(final Schema schema, final String name) {
     super(schema, name);
@@ -172,34 +191,17 @@ class MutableTable extends AbstractDatabaseObject implements Table {
   /** {@inheritDoc} */
   @Override
   public Collection<Table> getRelatedTables(final TableRelationshipType tableRelationshipType) {
-    final Set<Table> relatedTables = new HashSet<>();
-    if (tableRelationshipType != null && tableRelationshipType != TableRelationshipType.none) {
-      final List<MutableForeignKey> foreignKeysList = new ArrayList<>(foreignKeys.values());
-      for (final ForeignKey foreignKey : foreignKeysList) {
-        for (final ColumnReference columnReference : foreignKey) {
-          final Table parentTable = columnReference.getPrimaryKeyColumn().getParent();
-          final Table childTable = columnReference.getForeignKeyColumn().getParent();
-          switch (tableRelationshipType) {
-            case parent:
-              if (equals(childTable)) {
-                relatedTables.add(parentTable);
-              }
-              break;
-            case child:
-              if (equals(parentTable)) {
-                relatedTables.add(childTable);
-              }
-              break;
-            default:
-              break;
-          }
-        }
-      }
+    if (tableRelationshipType == null) {
+      return new ArrayList<>();
+    }
+    switch (tableRelationshipType) {
+      case parent:
+        return new ArrayList<>(getRelatedTables().parentTables);
+      case child:
+        return new ArrayList<>(getRelatedTables().childTables);
+      default:
+        return new ArrayList<>();
     }
-
-    final List<Table> relatedTablesList = new ArrayList<>(relatedTables);
-    relatedTablesList.sort(alphabetical);
-    return relatedTablesList;
   }
 
   /** {@inheritDoc} */
@@ -310,6 +312,7 @@ class MutableTable extends AbstractDatabaseObject implements Table {
 
   final void addForeignKey(final MutableForeignKey foreignKey) {
     foreignKeys.add(foreignKey);
+    relatedTables = null;
   }
 
   final void addHiddenColumn(final MutableColumn column) {
@@ -342,10 +345,37 @@ class MutableTable extends AbstractDatabaseObject implements Table {
     }
   }
 
+  @Override
+  void freeze() {
+    super.freeze();
+    definition.trimToSize();
+    columns.freeze();
+    hiddenColumns.freeze();
+    constraints.freeze();
+    alternateKeys.freeze();
+    foreignKeys.freeze();
+    weakAssociations.freeze();
+    indexes.freeze();
+    privileges.freeze();
+    triggers.freeze();
+    if (primaryKey != null) {
+      primaryKey.freeze();
+    }
+  }
+
   NamedObjectList<MutableColumn> getAllColumns() {
     return columns;
   }
 
+  int getSortIndex() {
+    return sortIndex;
+  }
+
+  void removeForeignKey(final MutableForeignKey foreignKey) {
+    foreignKeys.remove(foreignKey);
+    relatedTables = null;
+  }
+
   void removeTableConstraint(final TableConstraint tableConstraint) {
     constraints.remove(tableConstraint);
   }
@@ -368,6 +398,35 @@ class MutableTable extends AbstractDatabaseObject implements Table {
     }
   }
 
+  /**
+   * Gets parent and child tables from foreign keys. They are worked out when first needed, and kept
+   * until foreign keys are added or removed.
+   *
+   * @return Parent and child tables
+   */
+  private RelatedTables getRelatedTables() {
+    RelatedTables currentRelatedTables = relatedTables;
+    if (currentRelatedTables == null) {
+      final Set<Table> parentTables = new HashSet<>();
+      final Set<Table> childTables = new HashSet<>();
+      for (final ForeignKey foreignKey : foreignKeys.values()) {
+        for (final ColumnReference columnReference : foreignKey) {
+          final Table parentTable = columnReference.getPrimaryKeyColumn().getParent();
+          final Table childTable = columnReference.getForeignKeyColumn().getParent();
+          if (equals(childTable)) {
+            parentTables.add(parentTable);
+          }
+          if (equals(parentTable)) {
+            childTables.add(childTable);
+          }
+        }
+      }
+      currentRelatedTables = new RelatedTables(parentTables, childTables);
+      relatedTables = currentRelatedTables;
+    }
+    return currentRelatedTables;
+  }
+
   private <R extends TableReference> Collection<R> getTableReferences(
       final NamedObjectList<? extends R> tableReferences,
       final TableAssociationType tableAssociationType) {
@@ -101,6 +101,13 @@ class MutableTableConstraint extends AbstractDependantObject<Table> implements T
     }
   }
 
+  @Override
+  void freeze() {
+    super.freeze();
+    definition.trimToSize();
+    columns.freeze();
+  }
+
   void setDeferrable(final boolean deferrable) {
     this.deferrable = deferrable;
   }
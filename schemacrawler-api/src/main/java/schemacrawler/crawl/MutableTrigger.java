@@ -103,6 +103,13 @@ class MutableTrigger extends AbstractDependantObject<Table> implements Trigger {
     }
   }
 
+  @Override
+  void freeze() {
+    super.freeze();
+    actionCondition.trimToSize();
+    actionStatement.trimToSize();
+  }
+
   void setActionOrder(final int actionOrder) {
     this.actionOrder = actionOrder;
   }
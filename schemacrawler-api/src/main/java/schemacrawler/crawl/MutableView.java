@@ -79,6 +79,18 @@ class MutableView extends MutableTable implements View {
     }
   }
 
+  @Override
+  void freeze() {
+    super.freeze();
+    tableUsage.freeze();
+  }
+
+  void removeTableUsage(final MutableTable table) {
+    if (table != null) {
+      tableUsage.remove(table);
+    }
+  }
+
   void setCheckOption(final CheckOptionType checkOption) {
     this.checkOption = checkOption;
   }
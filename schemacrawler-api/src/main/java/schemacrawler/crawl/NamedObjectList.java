@@ -30,8 +30,12 @@ package schemacrawler.crawl;
 
 import static java.util.Comparator.naturalOrder;
 import static java.util.Objects.requireNonNull;
+import java.io.IOException;
+import java.io.ObjectInputStream;
 import java.io.Serializable;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
@@ -39,6 +43,7 @@ import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
 import schemacrawler.schema.AttributedObject;
 import schemacrawler.schema.NamedObject;
@@ -51,11 +56,33 @@ import us.fatehi.utility.ObjectToString;
  * ability to look up by dependent object which is not created yet. That is, by NamedObject +
  * String. Returns values sorted in natural sort order, and is iterable. The iterator does not allow
  * modifications to the underlying data structure.
+ *
+ * <p>The sorted values are cached as an unmodifiable snapshot, which is rebuilt lazily on the first
+ * access after the list is modified. Since the natural sort order of some named objects depends on
+ * fields that are set later in the crawl, the snapshot is also checked to be in order before it is
+ * reused. Once the list is frozen, it can no longer be modified, and the snapshot is fixed. A
+ * frozen list is not frozen after it is deserialized.
  */
 final class NamedObjectList<N extends NamedObject> implements Serializable, ReducibleCollection<N> {
 
   private static final long serialVersionUID = 3257847666804142128L;
 
+  /** Sorted values, tagged with the modification count they were built from. */
+  private static final class SortedSnapshot<N> {
+
+    private final long modificationCount;
+    private final List<N> values;
+
+    SortedSnapshot(final long modificationCount, final List<N> values) {
+      this.modificationCount = modificationCount;
+      this.values = values;
+    }
+  }
+
+  /** Sorted values of all frozen lists that are empty, which are never modified. */
+  private static final SortedSnapshot<?> EMPTY_SNAPSHOT =
+      new SortedSnapshot<>(0, Collections.emptyList());
+
   private static NamedObjectKey makeLookupKey(final NamedObject namedObject) {
     final NamedObjectKey key;
     if (namedObject == null) {
@@ -74,13 +101,17 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
     return key;
   }
 
-  private final Map<NamedObjectKey, N> objects = new ConcurrentHashMap<>();
+  private Map<NamedObjectKey, N> objects = new ConcurrentHashMap<>();
+  private transient AtomicLong modificationCount = new AtomicLong();
+  private transient volatile boolean frozen;
+  private transient volatile SortedSnapshot<N> sortedSnapshot;
 
   @Override
   public void filter(final Predicate<? super N> predicate) {
     if (predicate == null) {
       return;
     }
+    checkNotFrozen();
 
     final Set<Entry<NamedObjectKey, N>> entrySet = objects.entrySet();
     for (final Iterator<Entry<NamedObjectKey, N>> iterator = entrySet.iterator();
@@ -89,6 +120,7 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
       final N namedObject = entry.getValue();
       if (!predicate.test(namedObject)) {
         iterator.remove();
+        modificationCount.incrementAndGet();
         if (namedObject instanceof AttributedObject) {
           final AttributedObject attributedObject = (AttributedObject) namedObject;
           attributedObject.setAttribute("schemacrawler.filtered_out", true);
@@ -140,8 +172,10 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
    */
   boolean add(final N namedObject) {
     requireNonNull(namedObject, "Cannot add a null object to the list");
+    checkNotFrozen();
     final NamedObjectKey key = makeLookupKey(namedObject);
     objects.put(key, namedObject);
+    modificationCount.incrementAndGet();
     return true;
   }
 
@@ -149,10 +183,49 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
     return objects.containsKey(makeLookupKey(namedObject));
   }
 
+  /**
+   * Compacts the list and all the named objects in it, and makes the list read-only. The lookup map
+   * is replaced by one that is sized to the contents, and the sorted values are fixed.
+   */
+  void freeze() {
+    if (frozen) {
+      return;
+    }
+
+    if (objects.isEmpty()) {
+      // Most lists in a large catalog, such as triggers and privileges, are empty, so they all
+      // share the same map and snapshot
+      objects = Collections.emptyMap();
+      sortedSnapshot = emptySnapshot();
+      frozen = true;
+      return;
+    }
+
+    final List<N> values = values();
+    final Map<NamedObjectKey, N> compactObjects =
+        new HashMap<>((int) Math.ceil(objects.size() / 0.75));
+    compactObjects.putAll(objects);
+    objects = compactObjects;
+    sortedSnapshot = new SortedSnapshot<>(modificationCount.get(), values);
+    // Mark as frozen once the snapshot is fixed, and before the named objects are frozen, since
+    // they can be reached again through their children
+    frozen = true;
+
+    for (final N namedObject : values) {
+      if (namedObject instanceof AbstractNamedObjectWithAttributes) {
+        ((AbstractNamedObjectWithAttributes) namedObject).freeze();
+      }
+    }
+  }
+
   boolean isEmpty() {
     return objects.isEmpty();
   }
 
+  boolean isFrozen() {
+    return frozen;
+  }
+
   Optional<N> lookup(final NamedObject namedObject, final String name) {
     final NamedObjectKey key = makeLookupKey(namedObject, name);
     return internalGet(key);
@@ -169,7 +242,10 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
   }
 
   N remove(final N namedObject) {
-    return objects.remove(makeLookupKey(namedObject));
+    checkNotFrozen();
+    final N removed = objects.remove(makeLookupKey(namedObject));
+    modificationCount.incrementAndGet();
+    return removed;
   }
 
   /**
@@ -182,14 +258,62 @@ final class NamedObjectList<N extends NamedObject> implements Serializable, Redu
   }
 
   /**
-   * Gets all named objects in the list, in sorted order.
+   * Gets all named objects in the list, in sorted order. The returned list is an unmodifiable
+   * snapshot, and is shared between calls until the list is modified.
    *
    * @return All named objects
    */
   List<N> values() {
+    // Frozen lists always have a snapshot, which is fixed before the list is marked as frozen
+    if (frozen) {
+      return sortedSnapshot.values;
+    }
+    final SortedSnapshot<N> snapshot = sortedSnapshot;
+    final long currentModificationCount = modificationCount.get();
+    if (snapshot != null
+        && snapshot.modificationCount == currentModificationCount
+        && isSorted(snapshot.values)) {
+      return snapshot.values;
+    }
+
     final List<N> all = new ArrayList<>(objects.values());
     all.sort(naturalOrder());
-    return all;
+    final List<N> values = Collections.unmodifiableList(all);
+    sortedSnapshot = new SortedSnapshot<>(currentModificationCount, values);
+    return values;
+  }
+
+  private void checkNotFrozen() {
+    if (frozen) {
+      throw new UnsupportedOperationException("Cannot modify a frozen catalog");
+    }
+  }
+
+  private void readObject(final ObjectInputStream in) throws IOException, ClassNotFoundException {
+    in.defaultReadObject();
+    // The modification count is not serialized, so that catalogs serialized
+    // before it was added can still be read
+    modificationCount = new AtomicLong();
+    // Frozen lists are read back as regular lists, which can be modified
+    if (!(objects instanceof ConcurrentHashMap)) {
+      objects = new ConcurrentHashMap<>(objects);
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private SortedSnapshot<N> emptySnapshot() {
+    return (SortedSnapshot<N>) EMPTY_SNAPSHOT;
+  }
+
+  private boolean isSorted(final List<N> values) {
+    N previous = null;
+    for (final N current : values) {
+      if (previous != null && previous.compareTo(current) > 0) {
+        return false;
+      }
+      previous = current;
+    }
+    return true;
   }
 
   private Optional<N> internalGet(final NamedObjectKey key) {
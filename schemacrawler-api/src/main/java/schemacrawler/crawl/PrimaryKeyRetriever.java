@@ -35,6 +35,8 @@ import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.pr
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Optional;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -63,12 +65,14 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
   void retrievePrimaryKeys(final NamedObjectList<MutableTable> allTables) throws SQLException {
     requireNonNull(allTables, "No tables provided");
 
-    switch (getRetrieverConnection().get(primaryKeysRetrievalStrategy)) {
+    switch (getRetrievalStrategy(primaryKeysRetrievalStrategy, PRIMARY_KEYS, allTables)) {
       case data_dictionary_all:
         LOGGER.log(Level.INFO, "Retrieving primary keys, using fast data dictionary retrieval");
         retrievePrimaryKeysFromDataDictionary(allTables);
         break;
 
+      case metadata_all:
+        // Primary keys can only be retrieved for one table at a time
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving primary keys");
         retrievePrimaryKeysFromMetadata(allTables);
@@ -124,7 +128,8 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(pkSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                PRIMARY_KEYS, pkSql, statement, getSchemaInclusionRule()); ) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CAT"));
         final String schemaName = normalizeSchemaName(results.getString("TABLE_SCHEM"));
@@ -146,26 +151,32 @@ final class PrimaryKeyRetriever extends AbstractRetriever {
 
   private void retrievePrimaryKeysFromMetadata(final NamedObjectList<MutableTable> allTables)
       throws SQLException {
+    final Collection<MutableTable> tables = new ArrayList<>();
     for (final MutableTable table : allTables) {
-      if (table instanceof View) {
-        continue;
-      }
-      final Schema tableSchema = table.getSchema();
-      try (final Connection connection = getRetrieverConnection().getConnection();
-          final MetadataResultSet results =
-              new MetadataResultSet(
-                  connection
-                      .getMetaData()
-                      .getPrimaryKeys(
-                          tableSchema.getCatalogName(), tableSchema.getName(), table.getName()),
-                  "DatabaseMetaData::getPrimaryKeys"); ) {
-        while (results.next()) {
-          createPrimaryKeyForTable(table, results);
-        }
-      } catch (final SQLException e) {
-        logPossiblyUnsupportedSQLFeature(
-            new StringFormat("Could not retrieve primary keys for table <%s>", table), e);
+      if (!(table instanceof View)) {
+        tables.add(table);
       }
     }
+
+    forEachTable(
+        tables,
+        table -> {
+          final Schema tableSchema = table.getSchema();
+          try (final Connection connection = getRetrieverConnection().getConnection();
+              final MetadataResultSet results =
+                  newMetadataResultSet(
+                      connection
+                          .getMetaData()
+                          .getPrimaryKeys(
+                              tableSchema.getCatalogName(), tableSchema.getName(), table.getName()),
+                      "DatabaseMetaData::getPrimaryKeys"); ) {
+            while (results.next()) {
+              createPrimaryKeyForTable(table, results);
+            }
+          } catch (final SQLException e) {
+            logPossiblyUnsupportedSQLFeature(
+                new StringFormat("Could not retrieve primary keys for table <%s>", table), e);
+          }
+        });
   }
 }
@@ -82,13 +82,15 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
       return;
     }
 
-    switch (getRetrieverConnection().get(procedureParametersRetrievalStrategy)) {
+    switch (getRetrievalStrategy(
+        procedureParametersRetrievalStrategy, PROCEDURE_COLUMNS, allRoutines)) {
       case data_dictionary_all:
         LOGGER.log(
             Level.INFO, "Retrieving procedure parameters, using fast data dictionary retrieval");
         retrieveProcedureParametersFromDataDictionary(allRoutines, parameterFilter);
         break;
 
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving procedure parameters");
         retrieveProcedureParametersFromMetadata(allRoutines, parameterFilter);
@@ -208,7 +210,8 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(procedureColumnsSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                PROCEDURE_COLUMNS, procedureColumnsSql, statement, getSchemaInclusionRule()); ) {
       while (results.next()) {
         createProcedureParameter(results, allRoutines, parameterFilter);
       }
@@ -228,7 +231,7 @@ final class ProcedureParameterRetriever extends AbstractRetriever {
       LOGGER.log(Level.FINE, "Retrieving procedure parameters for " + procedure);
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
-              new MetadataResultSet(
+              newMetadataResultSet(
                   connection
                       .getMetaData()
                       .getProcedureColumns(
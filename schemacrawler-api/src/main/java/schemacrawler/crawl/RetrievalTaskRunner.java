@@ -31,6 +31,11 @@ package schemacrawler.crawl;
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.requireNotBlank;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -38,26 +43,90 @@ import schemacrawler.schemacrawler.SchemaInfoLevel;
 import schemacrawler.schemacrawler.SchemaInfoRetrieval;
 import us.fatehi.utility.scheduler.TaskDefinition;
 import us.fatehi.utility.scheduler.TaskRunner;
-import us.fatehi.utility.scheduler.TaskRunners;
 
 /**
- * Builds a list of task definitions that can be run in parallel. These are then submitted to be run
- * (in parallel) in a blocked way until all are complete.
+ * Builds a graph of task definitions, where each task declares the tasks it depends on. These are
+ * then submitted to be run in a blocked way until all are complete, with each task starting as soon
+ * as the tasks it depends on are complete.
  */
 public final class RetrievalTaskRunner {
 
+  private static final class RetrievalTask {
+    private final String retrievalName;
+    private final boolean shouldRun;
+    private final boolean isLocal;
+    private final TaskDefinition.TaskRunnable function;
+    private final Duration timeout;
+    private final Collection<String> dependencies;
+
+    RetrievalTask(
+        final String retrievalName,
+        final boolean shouldRun,
+        final boolean isLocal,
+        final TaskDefinition.TaskRunnable function,
+        final Duration timeout) {
+      this.retrievalName = requireNotBlank(retrievalName, "No retrieval name provided");
+      this.shouldRun = shouldRun;
+      this.isLocal = isLocal;
+      this.function = requireNonNull(function, "No retrieval task provided");
+      this.timeout = requireNonNull(timeout, "No timeout provided");
+      dependencies = new LinkedHashSet<>();
+    }
+
+    TaskDefinition toTaskDefinition(
+        final CrawlCancellation cancellation, final CrawlListener listener) {
+      if (!shouldRun) {
+        return new TaskDefinition(retrievalName, dependencies);
+      }
+
+      if (isLocal) {
+        final TaskDefinition.TaskRunnable notifyingFunction =
+            () -> {
+              function.run();
+              listener.retrievalCompleted(retrievalName);
+            };
+        return new TaskDefinition(retrievalName, notifyingFunction, dependencies);
+      }
+
+      final TaskDefinition.TaskRunnable cancellableFunction =
+          cancellation.retrieval(retrievalName, timeout, function);
+      final TaskDefinition.TaskRunnable notifyingFunction =
+          () -> {
+            cancellableFunction.run();
+            // Retrievals that ran out of time, or were cancelled, may not have their data
+            if (cancellation.isSkipped(retrievalName)) {
+              listener.retrievalSkipped(retrievalName);
+            } else {
+              listener.retrievalCompleted(retrievalName);
+            }
+          };
+      return new TaskDefinition(retrievalName, notifyingFunction, dependencies);
+    }
+  }
+
   private static final Logger LOGGER = Logger.getLogger(RetrievalTaskRunner.class.getName());
 
   private final TaskRunner taskRunner;
   private final SchemaInfoLevel infoLevel;
+  private final CrawlCancellation cancellation;
+  private final CrawlListener listener;
+  private final List<RetrievalTask> retrievalTasks;
 
-  public RetrievalTaskRunner(
-      final String runId, final SchemaInfoLevel infoLevel, final int maxThreads) {
+  public RetrievalTaskRunner(final TaskRunner taskRunner, final SchemaInfoLevel infoLevel) {
+    this(taskRunner, infoLevel, new CrawlCancellation(), new CrawlListeners());
+  }
 
-    requireNotBlank(runId, "No SchemaCrawler run id provided");
+  RetrievalTaskRunner(
+      final TaskRunner taskRunner,
+      final SchemaInfoLevel infoLevel,
+      final CrawlCancellation cancellation,
+      final CrawlListener listener) {
+    this.taskRunner = requireNonNull(taskRunner, "No task runner provided");
     this.infoLevel = requireNonNull(infoLevel, "No info-level provided");
+    this.cancellation = requireNonNull(cancellation, "No crawl cancellation provided");
+    this.listener = requireNonNull(listener, "No crawl listener provided");
 
-    taskRunner = TaskRunners.getTaskRunner(runId, maxThreads);
+    retrievalTasks = new ArrayList<>();
   }
 
   public RetrievalTaskRunner add(
@@ -66,7 +135,7 @@ public final class RetrievalTaskRunner {
       final SchemaInfoRetrieval... additionalRetrievals)
       throws Exception {
     final boolean shouldRun = shouldRun(retrieval) && shouldRun(additionalRetrievals);
-    add(retrieval.name(), shouldRun, function);
+    add(retrieval.name(), shouldRun, false, function, cancellation.getRetrievalTimeout(retrieval));
     return this;
   }
 
@@ -76,7 +145,60 @@ public final class RetrievalTaskRunner {
       final SchemaInfoRetrieval... additionalRetrievals)
       throws Exception {
     final boolean shouldRun = shouldRun(additionalRetrievals);
-    add(retrievalName, shouldRun, function);
+    add(retrievalName, shouldRun, false, function, cancellation.getRetrievalTimeout(null));
+    return this;
+  }
+
+  /**
+   * Adds a task that only works on the catalog in memory, such as filtering and sorting, without
+   * any database calls. Local tasks are not subject to time limits, and are run even if the crawl
+   * is cancelled, so that a partial catalog is still filtered and sorted.
+   *
+   * @param retrievalName Name of the task
+   * @param function Task to run
+   * @param additionalRetrievals Retrievals that need to be requested for the task to run
+   * @return This task runner.
+   */
+  public RetrievalTaskRunner addLocal(
+      final String retrievalName,
+      final TaskDefinition.TaskRunnable function,
+      final SchemaInfoRetrieval... additionalRetrievals) {
+    final boolean shouldRun = shouldRun(additionalRetrievals);
+    add(retrievalName, shouldRun, true, function, Duration.ZERO);
+    return this;
+  }
+
+  /**
+   * Declares that the most recently added task can only start after the provided retrievals have
+   * completed.
+   *
+   * @param retrievals Retrievals that need to complete first.
+   * @return This task runner.
+   */
+  public RetrievalTaskRunner dependsOn(final SchemaInfoRetrieval... retrievals) {
+    requireNonNull(retrievals, "No retrievals provided");
+    final String[] retrievalNames = new String[retrievals.length];
+    for (int i = 0; i < retrievals.length; i++) {
+      retrievalNames[i] = retrievals[i].name();
+    }
+    return dependsOn(retrievalNames);
+  }
+
+  /**
+   * Declares that the most recently added task can only start after the named tasks have completed.
+   *
+   * @param retrievalNames Names of tasks that need to complete first.
+   * @return This task runner.
+   */
+  public RetrievalTaskRunner dependsOn(final String... retrievalNames) {
+    requireNonNull(retrievalNames, "No retrieval names provided");
+    if (retrievalTasks.isEmpty()) {
+      throw new IllegalStateException("No task added");
+    }
+    final RetrievalTask retrievalTask = retrievalTasks.get(retrievalTasks.size() - 1);
+    for (final String retrievalName : retrievalNames) {
+      retrievalTask.dependencies.add(requireNotBlank(retrievalName, "No retrieval name provided"));
+    }
     return this;
   }
 
@@ -94,19 +216,23 @@ public final class RetrievalTaskRunner {
   }
 
   public void submit() throws Exception {
+    try {
+      for (final RetrievalTask retrievalTask : retrievalTasks) {
+        taskRunner.add(retrievalTask.toTaskDefinition(cancellation, listener));
+      }
+    } finally {
+      retrievalTasks.clear();
+    }
     taskRunner.submit();
   }
 
   private void add(
       final String retrievalName,
       final boolean shouldRun,
-      final TaskDefinition.TaskRunnable function)
-      throws Exception {
-    if (shouldRun) {
-      taskRunner.add(new TaskDefinition(retrievalName, function));
-    } else {
-      taskRunner.add(new TaskDefinition(retrievalName));
-    }
+      final boolean isLocal,
+      final TaskDefinition.TaskRunnable function,
+      final Duration timeout) {
+    retrievalTasks.add(new RetrievalTask(retrievalName, shouldRun, isLocal, function, timeout));
   }
 
   private boolean shouldRun(final SchemaInfoRetrieval... additionalRetrievals) {
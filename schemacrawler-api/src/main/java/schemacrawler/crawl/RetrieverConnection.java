@@ -34,6 +34,7 @@ import java.sql.SQLException;
 import schemacrawler.plugin.EnumDataTypeHelper;
 import schemacrawler.schema.TableTypes;
 import schemacrawler.schemacrawler.Identifiers;
+import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.MetadataRetrievalStrategy;
 import schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy;
@@ -41,6 +42,9 @@ import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.utility.JavaSqlTypes;
 import schemacrawler.utility.TypeMap;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
+import us.fatehi.utility.string.StringInterner;
 
 /** A connection for the retriever. Wraps a live database connection. */
 final class RetrieverConnection {
@@ -48,18 +52,46 @@ final class RetrieverConnection {
   private final DatabaseConnectionSource dataSource;
   private final JavaSqlTypes javaSqlTypes;
   private final SchemaRetrievalOptions schemaRetrievalOptions;
+  private final TaskRunner taskRunner;
+  private final CrawlCancellation cancellation;
+  private final StringInterner stringInterner;
 
   RetrieverConnection(
       final DatabaseConnectionSource dataSource,
       final SchemaRetrievalOptions schemaRetrievalOptions)
       throws SQLException {
+    this(
+        dataSource,
+        schemaRetrievalOptions,
+        TaskRunners.getMainThreadTaskRunner("retriever-connection"));
+  }
+
+  RetrieverConnection(
+      final DatabaseConnectionSource dataSource,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final TaskRunner taskRunner)
+      throws SQLException {
+    this(dataSource, schemaRetrievalOptions, taskRunner, new CrawlCancellation());
+  }
+
+  RetrieverConnection(
+      final DatabaseConnectionSource dataSource,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final TaskRunner taskRunner,
+      final CrawlCancellation cancellation)
+      throws SQLException {
 
     this.dataSource = requireNonNull(dataSource, "Database connection source not provided");
 
     this.schemaRetrievalOptions =
         requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
 
+    this.taskRunner = requireNonNull(taskRunner, "No task runner provided");
+
+    this.cancellation = requireNonNull(cancellation, "No crawl cancellation provided");
+
     javaSqlTypes = new JavaSqlTypes();
+    stringInterner = new StringInterner();
   }
 
   public MetadataRetrievalStrategy get(
@@ -67,14 +99,37 @@ final class RetrieverConnection {
     return schemaRetrievalOptions.get(schemaInfoMetadataRetrievalStrategy);
   }
 
+  /**
+   * Gets the time limits and cancellation for the crawl, which apply to all retrievals.
+   *
+   * @return Crawl cancellation
+   */
+  CrawlCancellation getCancellation() {
+    return cancellation;
+  }
+
+  /**
+   * Gets a database connection, on which statements are tracked so that they can be timed out or
+   * cancelled.
+   *
+   * @return Database connection
+   */
   Connection getConnection() {
-    return dataSource.get();
+    return cancellation.track(dataSource.get());
   }
 
   EnumDataTypeHelper getEnumDataTypeHelper() {
     return schemaRetrievalOptions.getEnumDataTypeHelper();
   }
 
+  int getFetchSize() {
+    return schemaRetrievalOptions.getFetchSize();
+  }
+
+  int getFetchSize(final InformationSchemaKey key) {
+    return schemaRetrievalOptions.getFetchSize(key);
+  }
+
   Identifiers getIdentifiers() {
     return schemaRetrievalOptions.getIdentifiers();
   }
@@ -92,6 +147,26 @@ final class RetrieverConnection {
     return javaSqlTypes;
   }
 
+  /**
+   * Gets the pool of strings for the crawl, so that names that repeat across database objects, such
+   * as schema and table names, share a single instance in the catalog.
+   *
+   * @return Pool of strings for the crawl
+   */
+  StringInterner getStringInterner() {
+    return stringInterner;
+  }
+
+  /**
+   * Gets the task runner shared by all retrievals in the crawl, which limits the number of threads
+   * and database connections in use at the same time. Retrievers can use it to fan out work.
+   *
+   * @return Task runner for the crawl
+   */
+  TaskRunner getTaskRunner() {
+    return taskRunner;
+  }
+
   TableTypes getTableTypes() {
     return schemaRetrievalOptions.getTableTypes();
   }
@@ -100,6 +175,10 @@ final class RetrieverConnection {
     return schemaRetrievalOptions.getTypeMap();
   }
 
+  boolean isAdaptiveFetchSize() {
+    return schemaRetrievalOptions.isAdaptiveFetchSize();
+  }
+
   boolean isSupportsCatalogs() {
     return schemaRetrievalOptions.isSupportsCatalogs();
   }
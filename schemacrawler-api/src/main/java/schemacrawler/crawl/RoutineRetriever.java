@@ -178,6 +178,8 @@ final class RoutineRetriever extends AbstractRetriever {
         retrieveFunctionsFromDataDictionary(schemas, functionFilter);
         break;
 
+      case auto:
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving functions");
         retrieveFunctionsFromMetadata(schemas, functionFilter);
@@ -202,7 +204,8 @@ final class RoutineRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(functionsSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                FUNCTIONS, functionsSql, statement, getSchemaInclusionRule()); ) {
       int numFunctions = 0;
       while (results.next()) {
         numFunctions = numFunctions + 1;
@@ -223,7 +226,7 @@ final class RoutineRetriever extends AbstractRetriever {
 
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
-              new MetadataResultSet(
+              newMetadataResultSet(
                   connection.getMetaData().getFunctions(catalogName, schemaName, null),
                   "DatabaseMetaData::getFunctions"); ) {
         int numFunctions = 0;
@@ -257,6 +260,8 @@ final class RoutineRetriever extends AbstractRetriever {
         retrieveProceduresFromDataDictionary(schemas, procedureFilter);
         break;
 
+      case auto:
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving procedures");
         retrieveProceduresFromMetadata(schemas, procedureFilter);
@@ -280,7 +285,8 @@ final class RoutineRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(proceduresSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                PROCEDURES, proceduresSql, statement, getSchemaInclusionRule()); ) {
       int numProcedures = 0;
       while (results.next()) {
         numProcedures = numProcedures + 1;
@@ -302,7 +308,7 @@ final class RoutineRetriever extends AbstractRetriever {
 
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
-              new MetadataResultSet(
+              newMetadataResultSet(
                   connection.getMetaData().getProcedures(catalogName, schemaName, null),
                   "DatabaseMetaData::getProcedures"); ) {
         int numProcedures = 0;
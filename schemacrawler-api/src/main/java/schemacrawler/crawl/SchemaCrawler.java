@@ -73,6 +73,7 @@ import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveViewInform
 import static schemacrawler.schemacrawler.SchemaInfoRetrieval.retrieveViewTableUsage;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.time.Duration;
 import java.util.Collection;
 import java.util.logging.Level;
 import java.util.logging.Logger;
@@ -94,6 +95,9 @@ import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.exceptions.DatabaseAccessException;
 import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
 import us.fatehi.utility.string.StringFormat;
 
 /** SchemaCrawler uses database meta-data to get the details about the schema. */
@@ -101,10 +105,18 @@ public final class SchemaCrawler {
 
   private static final Logger LOGGER = Logger.getLogger(SchemaCrawler.class.getName());
 
+  /** Time allowed for retrievals to stop, once they are cancelled at the end of the crawl time. */
+  private static final Duration CANCEL_GRACE_PERIOD = Duration.ofSeconds(30);
+
+  private final DatabaseConnectionSource dataSource;
+  private final SchemaRetrievalOptions schemaRetrievalOptions;
   private final SchemaCrawlerOptions options;
-  private final RetrieverConnection retrieverConnection;
   private final SchemaInfoLevel infoLevel;
   private final int maxThreads;
+  private final Duration taskTimeout;
+  private final CrawlCancellation cancellation;
+  private final CrawlListeners listeners;
+  private RetrieverConnection retrieverConnection;
   private RetrievalTaskRunner taskRunner;
   private MutableCatalog catalog;
 
@@ -119,17 +131,46 @@ public final class SchemaCrawler {
       final DatabaseConnectionSource dataSource,
       final SchemaRetrievalOptions schemaRetrievalOptions,
       final SchemaCrawlerOptions options) {
-    try {
-      retrieverConnection = new RetrieverConnection(dataSource, schemaRetrievalOptions);
-      this.options = requireNonNull(options, "No SchemaCrawler options provided");
+    this.dataSource = requireNonNull(dataSource, "Database connection source not provided");
+    this.schemaRetrievalOptions =
+        requireNonNull(schemaRetrievalOptions, "No database specific overrides provided");
+    this.options = requireNonNull(options, "No SchemaCrawler options provided");
+
+    final LoadOptions loadOptions = options.getLoadOptions();
+    infoLevel = loadOptions.getSchemaInfoLevel();
+    maxThreads = loadOptions.getMaxThreads();
+    // Retrievals are cancelled when the crawl runs out of time, so there is no
+    // need to wait for them for much longer than that
+    final Duration crawlTimeout = loadOptions.getCrawlTimeout();
+    if (crawlTimeout.isZero()) {
+      taskTimeout = TaskRunner.DEFAULT_TIMEOUT;
+    } else {
+      taskTimeout = crawlTimeout.plus(CANCEL_GRACE_PERIOD);
+    }
+    cancellation = new CrawlCancellation(loadOptions);
+    listeners = new CrawlListeners();
+  }
 
-      final LoadOptions loadOptions = options.getLoadOptions();
-      infoLevel = loadOptions.getSchemaInfoLevel();
-      maxThreads = loadOptions.getMaxThreads();
+  /**
+   * Adds a listener that is notified as retrievals and tables are completed, so that work on
+   * completed tables can start before the crawl finishes. Tables are completed together, once all
+   * the retrievals for tables are done. Listeners need to be added before the crawl starts.
+   *
+   * @param listener Crawl listener
+   */
+  public void addCrawlListener(final CrawlListener listener) {
+    listeners.add(listener);
+  }
 
-    } catch (final SQLException e) {
-      throw new DatabaseAccessException(e);
-    }
+  /**
+   * Cancels a crawl that is running, from another thread. Statements that are running are
+   * cancelled, and retrievals that have not yet run are skipped. The crawl returns a partial
+   * catalog, and the skipped retrievals are listed in the crawl information. The partial catalog is
+   * still filtered and sorted, so a crawl that is cancelled before any schemas are retrieved fails,
+   * since there are no matching schemas.
+   */
+  public void cancel() {
+    cancellation.cancel();
   }
 
   /**
@@ -139,7 +180,9 @@ public final class SchemaCrawler {
    */
   public Catalog crawl() {
     try {
-      try (final Connection connection = retrieverConnection.getConnection(); ) {
+      cancellation.start();
+
+      try (final Connection connection = dataSource.get(); ) {
         final ConnectionInfoBuilder connectionInfoBuilder =
             ConnectionInfoBuilder.builder(connection);
         final DatabaseInfo databaseInfo = connectionInfoBuilder.buildDatabaseInfo();
@@ -155,18 +198,35 @@ public final class SchemaCrawler {
                 (MutableJdbcDriverInfo) jdbcDriverInfo);
       }
 
+      // All retrievals in the crawl share one task runner, so that the maximum number
+      // of threads (and so, of database connections) applies to the whole crawl; retrievals
+      // in virtual threads are limited by the connections the data source can provide instead
       final String runId = catalog.getCrawlInfo().getRunId();
-      taskRunner = new RetrievalTaskRunner(runId, infoLevel, maxThreads);
+      final TaskRunner crawlTaskRunner =
+          TaskRunners.getTaskRunner(runId, maxThreads, dataSource.getMaxConnections(), taskTimeout);
+      taskRunner = new RetrievalTaskRunner(crawlTaskRunner, infoLevel, cancellation, listeners);
+      retrieverConnection =
+          new RetrieverConnection(
+              dataSource, schemaRetrievalOptions, crawlTaskRunner, cancellation);
 
-      crawlDatabaseInfo();
       LOGGER.log(Level.INFO, String.format("%n%s", catalog.getCrawlInfo()));
 
+      // Build a graph of retrieval tasks, and run them all together, so
+      // that each task starts as soon as the tasks it depends on are done
+      crawlDatabaseInfo();
       crawlSchemas();
       crawlColumnDataTypes();
       crawlTables();
       crawlRoutines();
       crawlSynonyms();
       crawlSequences();
+      taskRunner.submit();
+
+      // Retrievals that ran out of time, or were cancelled, leave a partial catalog
+      final MutableCrawlInfo crawlInfo = (MutableCrawlInfo) catalog.getCrawlInfo();
+      for (final String skippedRetrieval : cancellation.getSkippedRetrievals()) {
+        crawlInfo.addSkippedRetrieval(skippedRetrieval);
+      }
 
       return catalog;
     } catch (final RuntimeException e) {
@@ -176,6 +236,7 @@ public final class SchemaCrawler {
     } catch (final Exception e) {
       throw new ExecutionRuntimeException(e);
     } finally {
+      cancellation.close();
       if (taskRunner != null) {
         taskRunner.stopAndLogTime();
       }
@@ -187,11 +248,13 @@ public final class SchemaCrawler {
     final DataTypeRetriever retriever =
         new DataTypeRetriever(retrieverConnection, catalog, options);
 
-    taskRunner.add(retrieveColumnDataTypes, retriever::retrieveSystemColumnDataTypes).submit();
+    taskRunner
+        .add(retrieveColumnDataTypes, retriever::retrieveSystemColumnDataTypes)
+        .dependsOn("filterAndSortSchemas");
 
     taskRunner
         .add(retrieveUserDefinedColumnDataTypes, retriever::retrieveUserDefinedColumnDataTypes)
-        .submit();
+        .dependsOn(retrieveColumnDataTypes);
   }
 
   private void crawlDatabaseInfo() throws Exception {
@@ -208,8 +271,7 @@ public final class SchemaCrawler {
         .add(retrieveAdditionalDatabaseInfo, retriever::retrieveAdditionalDatabaseInfo)
         .add(retrieveServerInfo, retriever::retrieveServerInfo)
         .add(retrieveDatabaseUsers, retriever::retrieveDatabaseUsers)
-        .add(retrieveAdditionalJdbcDriverInfo, retriever::retrieveAdditionalJdbcDriverInfo)
-        .submit();
+        .add(retrieveAdditionalJdbcDriverInfo, retriever::retrieveAdditionalJdbcDriverInfo);
   }
 
   private void crawlRoutines() throws Exception {
@@ -229,70 +291,77 @@ public final class SchemaCrawler {
         new FunctionParameterRetriever(retrieverConnection, catalog, options);
 
     final Collection<RoutineType> routineTypes = limitOptions.getRoutineTypes();
+    final NamedObjectList<MutableRoutine> allRoutines = catalog.getAllRoutines();
 
     taskRunner
         .add(
             retrieveRoutines,
-            () ->
-                retriever.retrieveRoutines(routineTypes, limitOptions.get(ruleForRoutineInclusion)))
-        .submit();
-
-    final NamedObjectList<MutableRoutine> allRoutines = catalog.getAllRoutines();
-    LOGGER.log(Level.INFO, new StringFormat("Retrieved %d routines", allRoutines.size()));
-    if (allRoutines.isEmpty()) {
-      return;
-    }
+            () -> {
+              retriever.retrieveRoutines(routineTypes, limitOptions.get(ruleForRoutineInclusion));
+              LOGGER.log(Level.INFO, new StringFormat("Retrieved %d routines", allRoutines.size()));
+            })
+        .dependsOn("filterAndSortSchemas");
 
     taskRunner
         .add(
             retrieveRoutineParameters,
-            () -> {
-              LOGGER.log(Level.INFO, "Retrieving routine columns");
-              if (!limitOptions.isExcludeAll(ruleForRoutineParameterInclusion)) {
-                if (routineTypes.contains(RoutineType.procedure)) {
-                  procedureParameterRetriever.retrieveProcedureParameters(
-                      allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
-                }
-
-                if (routineTypes.contains(RoutineType.function)) {
-                  functionParameterRetriever.retrieveFunctionParameters(
-                      allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
-                }
-              }
-            })
-        .submit();
+            unlessEmpty(
+                allRoutines,
+                () -> {
+                  LOGGER.log(Level.INFO, "Retrieving routine columns");
+                  if (!limitOptions.isExcludeAll(ruleForRoutineParameterInclusion)) {
+                    if (routineTypes.contains(RoutineType.procedure)) {
+                      procedureParameterRetriever.retrieveProcedureParameters(
+                          allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
+                    }
+
+                    if (routineTypes.contains(RoutineType.function)) {
+                      functionParameterRetriever.retrieveFunctionParameters(
+                          allRoutines, limitOptions.get(ruleForRoutineParameterInclusion));
+                    }
+                  }
+                }))
+        .dependsOn(retrieveRoutines, retrieveColumnDataTypes, retrieveUserDefinedColumnDataTypes);
 
     taskRunner
-        .add(
+        .addLocal(
             "filterAndSortRoutines",
-            () -> {
-              // Filter the list of routines based on grep criteria
-              catalog.reduce(Routine.class, getRoutineReducer(options));
-            })
-        .submit();
+            unlessEmpty(
+                allRoutines,
+                () -> {
+                  // Filter the list of routines based on grep criteria
+                  catalog.reduce(Routine.class, getRoutineReducer(options));
+                }))
+        .dependsOn(retrieveRoutineParameters);
 
-    taskRunner.add(retrieveRoutineInformation, retrieverExtra::retrieveRoutineInformation).submit();
+    taskRunner
+        .add(
+            retrieveRoutineInformation,
+            unlessEmpty(allRoutines, retrieverExtra::retrieveRoutineInformation))
+        .dependsOn("filterAndSortRoutines");
   }
 
   private void crawlSchemas() throws Exception {
 
     final SchemaRetriever retriever = new SchemaRetriever(retrieverConnection, catalog, options);
 
-    taskRunner
-        .add(
-            "retrieveSchemas",
-            () -> retriever.retrieveSchemas(options.getLimitOptions().get(ruleForSchemaInclusion)))
-        .submit();
+    taskRunner.add(
+        "retrieveSchemas",
+        () -> retriever.retrieveSchemas(options.getLimitOptions().get(ruleForSchemaInclusion)));
 
     taskRunner
-        .add("filterAndSortSchemas", () -> catalog.reduce(Schema.class, getSchemaReducer(options)))
-        .submit();
+        .addLocal(
+            "filterAndSortSchemas",
+            () -> {
+              catalog.reduce(Schema.class, getSchemaReducer(options));
 
-    final NamedObjectList<SchemaReference> schemas = retriever.getAllSchemas();
-    if (schemas.isEmpty()) {
-      throw new ExecutionRuntimeException("No matching schemas found");
-    }
-    LOGGER.log(Level.INFO, new StringFormat("Retrieved %d schemas", schemas.size()));
+              final NamedObjectList<SchemaReference> schemas = retriever.getAllSchemas();
+              if (schemas.isEmpty()) {
+                throw new ExecutionRuntimeException("No matching schemas found");
+              }
+              LOGGER.log(Level.INFO, new StringFormat("Retrieved %d schemas", schemas.size()));
+            })
+        .dependsOn("retrieveSchemas");
   }
 
   private void crawlSequences() throws Exception {
@@ -313,13 +382,13 @@ public final class SchemaCrawler {
             () ->
                 retrieverExtra.retrieveSequenceInformation(
                     limitOptions.get(ruleForSequenceInclusion)))
-        .submit();
+        .dependsOn("filterAndSortSchemas");
 
     taskRunner
-        .add(
+        .addLocal(
             "filterAndSortSequences",
             () -> catalog.reduce(Sequence.class, getSequenceReducer(options)))
-        .submit();
+        .dependsOn(retrieveSequenceInformation);
   }
 
   private void crawlSynonyms() throws Exception {
@@ -334,18 +403,20 @@ public final class SchemaCrawler {
     final SynonymRetriever retrieverExtra =
         new SynonymRetriever(retrieverConnection, catalog, options);
 
+    // Synonyms refer to tables and routines, so wait for those to be
+    // retrieved, if they were requested
     taskRunner
         .add(
             retrieveSynonymInformation,
             () ->
                 retrieverExtra.retrieveSynonymInformation(
                     limitOptions.get(ruleForSynonymInclusion)))
-        .submit();
+        .dependsOn("filterAndSortSchemas", "filterAndSortTables", "filterAndSortRoutines");
 
     taskRunner
-        .add(
+        .addLocal(
             "filterAndSortSynonms", () -> catalog.reduce(Synonym.class, getSynonymReducer(options)))
-        .submit();
+        .dependsOn(retrieveSynonymInformation);
   }
 
   private void crawlTables() throws Exception {
@@ -371,6 +442,8 @@ public final class SchemaCrawler {
         new TablePrivilegeRetriever(retrieverConnection, catalog, options);
     final IndexRetriever indexRetriever = new IndexRetriever(retrieverConnection, catalog, options);
 
+    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
+
     taskRunner
         .add(
             retrieveTables,
@@ -380,108 +453,184 @@ public final class SchemaCrawler {
                   limitOptions.getTableNamePattern(),
                   limitOptions.getTableTypes(),
                   limitOptions.get(ruleForTableInclusion));
+              LOGGER.log(Level.INFO, new StringFormat("Retrieved %d tables", allTables.size()));
             })
-        .submit();
-
-    final NamedObjectList<MutableTable> allTables = catalog.getAllTables();
-    LOGGER.log(Level.INFO, new StringFormat("Retrieved %d tables", allTables.size()));
-    if (allTables.isEmpty()) {
-      return;
-    }
+        .dependsOn("filterAndSortSchemas");
 
     taskRunner
         .add(
             retrieveTableColumns,
-            () -> {
-              if (!limitOptions.isExcludeAll(ruleForColumnInclusion)) {
-                columnRetriever.retrieveTableColumns(
-                    allTables, limitOptions.get(ruleForColumnInclusion));
-              }
-            })
-        .submit();
+            unlessEmpty(
+                allTables,
+                () -> {
+                  if (!limitOptions.isExcludeAll(ruleForColumnInclusion)) {
+                    columnRetriever.retrieveTableColumns(
+                        allTables, limitOptions.get(ruleForColumnInclusion));
+                  }
+                }))
+        .dependsOn(retrieveTables, retrieveColumnDataTypes, retrieveUserDefinedColumnDataTypes);
 
     taskRunner
         .add(
             retrievePrimaryKeys,
-            () -> pkRetriever.retrievePrimaryKeys(allTables),
+            unlessEmpty(allTables, () -> pkRetriever.retrievePrimaryKeys(allTables)),
             retrieveTableColumns)
+        .dependsOn(retrieveTableColumns)
         .add(
             retrieveForeignKeys,
-            () -> fkRetriever.retrieveForeignKeys(allTables),
+            unlessEmpty(allTables, () -> fkRetriever.retrieveForeignKeys(allTables)),
             retrieveTableColumns)
-        .add(retrieveIndexes, () -> indexRetriever.retrieveIndexes(allTables), retrieveTableColumns)
+        .dependsOn(retrieveTableColumns)
+        .add(
+            retrieveIndexes,
+            unlessEmpty(allTables, () -> indexRetriever.retrieveIndexes(allTables)),
+            retrieveTableColumns)
+        .dependsOn(retrieveTableColumns)
         .add(
             retrieveTableConstraints,
-            constraintRetriever::retrieveTableConstraints,
+            unlessEmpty(allTables, constraintRetriever::retrieveTableConstraints),
             retrieveTableColumns)
-        .add(retrieveTriggerInformation, retrieverExtra::retrieveTriggerInformation)
-        .submit();
+        .dependsOn(retrieveTableColumns)
+        .add(
+            retrieveTriggerInformation,
+            unlessEmpty(allTables, retrieverExtra::retrieveTriggerInformation))
+        .dependsOn(retrieveTables);
 
     // Should be run independently, since filter and sort modifies the tables collection
     taskRunner
-        .add(
+        .addLocal(
             "filterAndSortTables",
-            () -> {
-              // Filter the list of tables based on grep criteria, and
-              // parent-child relationships
-              catalog.reduce(Table.class, getTableReducer(options));
-
-              // Sort the remaining tables
-              final TablesGraph tablesGraph = new TablesGraph(allTables);
-              tablesGraph.setTablesSortIndexes();
-            })
-        .submit();
+            unlessEmpty(
+                allTables,
+                () -> {
+                  // Filter the list of tables based on grep criteria, and
+                  // parent-child relationships
+                  catalog.reduce(Table.class, getTableReducer(options));
+
+                  // Sort the remaining tables
+                  final TablesGraph tablesGraph = new TablesGraph(allTables);
+                  tablesGraph.setTablesSortIndexes();
+                }))
+        .dependsOn(
+            retrievePrimaryKeys,
+            retrieveForeignKeys,
+            retrieveIndexes,
+            retrieveTableConstraints,
+            retrieveTriggerInformation);
 
     // Should be run independently, since table constraints are modified
     taskRunner
-        .add(
+        .addLocal(
             "matchTableConstraints",
-            () -> constraintRetriever.matchTableConstraints(allTables),
+            unlessEmpty(allTables, () -> constraintRetriever.matchTableConstraints(allTables)),
             retrieveTableColumns)
-        .submit();
+        .dependsOn("filterAndSortTables");
 
     taskRunner
         .add(
             retrieveTableConstraintDefinitions,
-            constraintRetriever::retrieveTableConstraintDefinitions,
+            unlessEmpty(allTables, constraintRetriever::retrieveTableConstraintDefinitions),
             retrieveTableConstraints)
+        .dependsOn("matchTableConstraints")
         .add(
             retrieveTableConstraintInformation,
-            constraintRetriever::retrieveTableConstraintInformation,
+            unlessEmpty(allTables, constraintRetriever::retrieveTableConstraintInformation),
             retrieveTableConstraints)
-        .add(retrieveViewInformation, retrieverExtra::retrieveViewInformation, retrieveTables)
-        .add(retrieveViewTableUsage, retrieverExtra::retrieveViewTableUsage, retrieveTables)
+        .dependsOn("matchTableConstraints")
+        .add(
+            retrieveViewInformation,
+            unlessEmpty(allTables, retrieverExtra::retrieveViewInformation),
+            retrieveTables)
+        .dependsOn("filterAndSortTables")
+        .add(
+            retrieveViewTableUsage,
+            unlessEmpty(allTables, retrieverExtra::retrieveViewTableUsage),
+            retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveTableDefinitionsInformation,
-            retrieverExtra::retrieveTableDefinitions,
+            unlessEmpty(allTables, retrieverExtra::retrieveTableDefinitions),
             retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveIndexInformation,
-            () -> retrieverExtra.retrieveIndexInformation(),
+            unlessEmpty(allTables, retrieverExtra::retrieveIndexInformation),
             retrieveIndexes)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveAdditionalTableAttributes,
-            () -> retrieverExtra.retrieveAdditionalTableAttributes(),
+            unlessEmpty(allTables, retrieverExtra::retrieveAdditionalTableAttributes),
             retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveTablePrivileges,
-            () -> retrieverPrivilege.retrieveTablePrivileges(),
+            unlessEmpty(allTables, retrieverPrivilege::retrieveTablePrivileges),
             retrieveTables)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveTableColumnPrivileges,
-            retrieverPrivilege::retrieveTableColumnPrivileges,
+            unlessEmpty(allTables, retrieverPrivilege::retrieveTableColumnPrivileges),
             retrieveTableColumns)
+        .dependsOn("filterAndSortTables")
         .add(
             retrieveAdditionalColumnAttributes,
-            retrieverExtra::retrieveAdditionalColumnAttributes,
+            unlessEmpty(allTables, retrieverExtra::retrieveAdditionalColumnAttributes),
             retrieveTableColumns)
-        .submit();
+        .dependsOn("filterAndSortTables");
 
+    // Should be run after additional column attributes, since columns are modified
     taskRunner
         .add(
             retrieveAdditionalColumnMetadata,
-            retrieverExtra::retrieveAdditionalColumnMetadata,
+            unlessEmpty(allTables, retrieverExtra::retrieveAdditionalColumnMetadata),
             retrieveTableColumns)
-        .submit();
+        .dependsOn("filterAndSortTables")
+        .dependsOn(retrieveAdditionalColumnAttributes);
+
+    // Tables are not modified after this point, so listeners can start work on them,
+    // while the rest of the crawl continues - each retrieval covers all tables, so
+    // tables are completed together, at the end of this phase, and not one at a time
+    taskRunner
+        .addLocal(
+            "completeTables",
+            unlessEmpty(
+                allTables,
+                () -> {
+                  if (listeners.isEmpty()) {
+                    return;
+                  }
+                  for (final MutableTable table : allTables) {
+                    listeners.tableCompleted(table);
+                  }
+                }))
+        .dependsOn("matchTableConstraints")
+        .dependsOn(
+            retrieveTableConstraintDefinitions,
+            retrieveTableConstraintInformation,
+            retrieveViewInformation,
+            retrieveViewTableUsage,
+            retrieveTableDefinitionsInformation,
+            retrieveIndexInformation,
+            retrieveAdditionalTableAttributes,
+            retrieveTablePrivileges,
+            retrieveTableColumnPrivileges,
+            retrieveAdditionalColumnMetadata);
+  }
+
+  /**
+   * Since all tasks are defined before any are run, skip tasks that work on the results of an
+   * earlier retrieval, if that retrieval did not find anything.
+   *
+   * @param namedObjects Results of an earlier retrieval
+   * @param task Task to run
+   * @return Task that only runs if there are results
+   */
+  private TaskDefinition.TaskRunnable unlessEmpty(
+      final NamedObjectList<?> namedObjects, final TaskDefinition.TaskRunnable task) {
+    return () -> {
+      if (!namedObjects.isEmpty()) {
+        task.run();
+      }
+    };
   }
 }
@@ -153,7 +153,7 @@ final class SchemaRetriever extends AbstractRetriever {
       int numSchemas = 0;
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
-              new MetadataResultSet(
+              newMetadataResultSet(
                   connection.getMetaData().getSchemas(), "DatabaseMetaData::getSchemas"); ) {
         while (results.next()) {
           numSchemas = numSchemas + 1;
@@ -200,7 +200,8 @@ final class SchemaRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(schemataSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                SCHEMATA, schemataSql, statement, getSchemaInclusionRule()); ) {
       int numSchemas = 0;
       while (results.next()) {
         numSchemas = numSchemas + 1;
@@ -56,7 +56,7 @@ import us.fatehi.utility.string.StringFormat;
  */
 final class SynonymRetriever extends AbstractRetriever {
 
-  private static final class UnknownDatabaseObject extends AbstractDatabaseObject {
+  static final class UnknownDatabaseObject extends AbstractDatabaseObject {
 
     private static final long serialVersionUID = -2212843304418302122L;
 
@@ -104,7 +104,8 @@ final class SynonymRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(synonymsDefinitionSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                EXT_SYNONYMS, synonymsDefinitionSql, statement, getSchemaInclusionRule()); ) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("SYNONYM_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("SYNONYM_SCHEMA"));
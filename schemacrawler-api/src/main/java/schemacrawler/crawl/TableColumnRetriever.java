@@ -54,11 +54,7 @@ import schemacrawler.schemacrawler.InformationSchemaViews;
 import schemacrawler.schemacrawler.Query;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
-import schemacrawler.schemacrawler.exceptions.SchemaCrawlerException;
 import schemacrawler.schemacrawler.exceptions.WrappedSQLException;
-import us.fatehi.utility.scheduler.TaskDefinition;
-import us.fatehi.utility.scheduler.TaskRunner;
-import us.fatehi.utility.scheduler.TaskRunners;
 import us.fatehi.utility.string.StringFormat;
 
 /** A retriever uses database metadata to get the details about the database table columns. */
@@ -88,7 +84,7 @@ final class TableColumnRetriever extends AbstractRetriever {
 
     final Set<NamedObjectKey> hiddenTableColumnsLookupKeys = retrieveHiddenTableColumnsLookupKeys();
 
-    switch (getRetrieverConnection().get(tableColumnsRetrievalStrategy)) {
+    switch (getRetrievalStrategy(tableColumnsRetrievalStrategy, TABLE_COLUMNS, allTables)) {
       case data_dictionary_all:
         LOGGER.log(Level.INFO, "Retrieving table columns, using fast data dictionary retrieval");
         retrieveTableColumnsFromDataDictionary(
@@ -100,6 +96,12 @@ final class TableColumnRetriever extends AbstractRetriever {
         retrieveTableColumnsFromMetadata(allTables, columnFilter, hiddenTableColumnsLookupKeys);
         break;
 
+      case metadata_all:
+        LOGGER.log(Level.INFO, "Retrieving table columns, using schema-wide metadata retrieval");
+        retrieveTableColumnsFromMetadataForAllTables(
+            allTables, columnFilter, hiddenTableColumnsLookupKeys);
+        break;
+
       default:
         LOGGER.log(Level.INFO, "Not retrieving table columns");
         break;
@@ -221,7 +223,11 @@ final class TableColumnRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(hiddenColumnsSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                EXT_HIDDEN_TABLE_COLUMNS,
+                hiddenColumnsSql,
+                statement,
+                getSchemaInclusionRule()); ) {
       while (results.next()) {
         // NOTE: The column names in the extension table are different
         // than the database metadata column names
@@ -259,56 +265,80 @@ final class TableColumnRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tableColumnsSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                TABLE_COLUMNS, tableColumnsSql, statement, getSchemaInclusionRule()); ) {
       while (results.next()) {
         createTableColumn(results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
       }
     }
   }
 
+  private void retrieveTableColumnsFromMetadataForAllTables(
+      final NamedObjectList<MutableTable> allTables,
+      final InclusionRuleFilter<Column> columnFilter,
+      final Set<NamedObjectKey> hiddenTableColumnsLookupKeys)
+      throws SQLException {
+    forEachSchema(
+        allTables,
+        schema -> {
+          LOGGER.log(Level.FINE, new StringFormat("Retrieving table columns for <%s>", schema));
+          try (final Connection connection = getRetrieverConnection().getConnection();
+              final MetadataResultSet results =
+                  newMetadataResultSet(
+                      connection
+                          .getMetaData()
+                          .getColumns(schema.getCatalogName(), schema.getName(), ALL_TABLES, null),
+                      "DatabaseMetaData::getColumns"); ) {
+            // Columns for tables that are not in the catalog are ignored
+            while (results.next()) {
+              createTableColumn(results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
+            }
+            return results.getRowCount() > 0;
+          }
+        },
+        table ->
+            retrieveTableColumnsForTable(
+                table, allTables, columnFilter, hiddenTableColumnsLookupKeys));
+  }
+
   private void retrieveTableColumnsFromMetadata(
       final NamedObjectList<MutableTable> allTables,
       final InclusionRuleFilter<Column> columnFilter,
       final Set<NamedObjectKey> hiddenTableColumnsLookupKeys)
       throws SQLException {
-    try (final TaskRunner taskRunner =
-        TaskRunners.getTaskRunner("retrieve-table-columns-from-metadata", 5); ) {
-      for (final MutableTable table : allTables) {
-        taskRunner.add(
-            new TaskDefinition(
-                table.getFullName(),
-                () -> {
-                  LOGGER.log(
-                      Level.FINE, new StringFormat("Retrieving table columns for <%s>", table));
-                  try (final Connection connection = getRetrieverConnection().getConnection();
-                      final MetadataResultSet results =
-                          new MetadataResultSet(
-                              connection
-                                  .getMetaData()
-                                  .getColumns(
-                                      table.getSchema().getCatalogName(),
-                                      table.getSchema().getName(),
-                                      table.getName(),
-                                      null),
-                              "DatabaseMetaData::getColumns"); ) {
-                    while (results.next()) {
-                      createTableColumn(
-                          results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
-                    }
-                  } catch (final SQLException e) {
-                    throw new WrappedSQLException(
-                        String.format(
-                            "Could not retrieve table columns for %s <%s>",
-                            table.getTableType(), table),
-                        e);
-                  }
-                }));
+    forEachTable(
+        allTables,
+        table ->
+            retrieveTableColumnsForTable(
+                table, allTables, columnFilter, hiddenTableColumnsLookupKeys));
+  }
+
+  private void retrieveTableColumnsForTable(
+      final MutableTable table,
+      final NamedObjectList<MutableTable> allTables,
+      final InclusionRuleFilter<Column> columnFilter,
+      final Set<NamedObjectKey> hiddenTableColumnsLookupKeys)
+      throws SQLException {
+    LOGGER.log(Level.FINE, new StringFormat("Retrieving table columns for <%s>", table));
+    try (final Connection connection = getRetrieverConnection().getConnection();
+        final MetadataResultSet results =
+            newMetadataResultSet(
+                connection
+                    .getMetaData()
+                    .getColumns(
+                        table.getSchema().getCatalogName(),
+                        table.getSchema().getName(),
+                        table.getName(),
+                        null),
+                "DatabaseMetaData::getColumns"); ) {
+      while (results.next()) {
+        createTableColumn(results, allTables, columnFilter, hiddenTableColumnsLookupKeys);
       }
-      taskRunner.submit();
-    } catch (final SQLException | SchemaCrawlerException e) {
-      throw e;
-    } catch (final Exception e) {
-      throw new ExecutionRuntimeException(e.getMessage(), e);
+    } catch (final SQLException e) {
+      throw new WrappedSQLException(
+          String.format(
+              "Could not retrieve table columns for %s <%s>", table.getTableType(), table),
+          e);
     }
   }
 }
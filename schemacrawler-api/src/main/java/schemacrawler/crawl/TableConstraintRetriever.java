@@ -105,8 +105,11 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(
-                extTableConstraintInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                CHECK_CONSTRAINTS,
+                extTableConstraintInformationSql,
+                statement,
+                getSchemaInclusionRule()); ) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("CONSTRAINT_SCHEMA"));
@@ -159,8 +162,11 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(
-                extTableConstraintsInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                EXT_TABLE_CONSTRAINTS,
+                extTableConstraintsInformationSql,
+                statement,
+                getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
@@ -274,8 +280,11 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(
-                tableConstraintsInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                TABLE_CONSTRAINTS,
+                tableConstraintsInformationSql,
+                statement,
+                getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
@@ -356,8 +365,11 @@ final class TableConstraintRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(
-                tableConstraintsColumnsInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                CONSTRAINT_COLUMN_USAGE,
+                tableConstraintsColumnsInformationSql,
+                statement,
+                getSchemaInclusionRule()); ) {
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("CONSTRAINT_CATALOG"));
         final String schemaName = normalizeSchemaName(results.getString("CONSTRAINT_SCHEMA"));
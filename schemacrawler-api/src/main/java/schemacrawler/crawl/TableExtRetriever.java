@@ -84,7 +84,11 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(columnAttributesSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                ADDITIONAL_COLUMN_ATTRIBUTES,
+                columnAttributesSql,
+                statement,
+                getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -179,7 +183,11 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tableAttributesSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                ADDITIONAL_TABLE_ATTRIBUTES,
+                tableAttributesSql,
+                statement,
+                getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -226,8 +234,8 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(
-                extIndexesInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                EXT_INDEXES, extIndexesInformationSql, statement, getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("INDEX_CATALOG"));
@@ -292,8 +300,11 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(
-                tableDefinitionsInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                EXT_TABLES,
+                tableDefinitionsInformationSql,
+                statement,
+                getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TABLE_CATALOG"));
@@ -343,7 +354,8 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(triggerInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                TRIGGERS, triggerInformationSql, statement, getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("TRIGGER_CATALOG"));
@@ -420,7 +432,8 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(viewInformationSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                VIEWS, viewInformationSql, statement, getSchemaInclusionRule()); ) {
 
       while (results.next()) {
 
@@ -481,7 +494,8 @@ final class TableExtRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(viewTableUsageSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                VIEW_TABLE_USAGE, viewTableUsageSql, statement, getSchemaInclusionRule()); ) {
 
       while (results.next()) {
         final String catalogName = normalizeCatalogName(results.getString("VIEW_CATALOG"));
@@ -68,6 +68,8 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
         retrieveTableColumnPrivilegesFromDataDictionary();
         break;
 
+      case auto:
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving column privileges from metadata");
         retrieveTableColumnPrivilegesFromMetadata();
@@ -86,6 +88,8 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
         retrieveTablePrivilegesFromDataDictionary();
         break;
 
+      case auto:
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving table privileges from metadata");
         retrieveTablePrivilegesFromMetadata();
@@ -168,7 +172,11 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablePrivelegesSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                TABLE_COLUMN_PRIVILEGES,
+                tablePrivelegesSql,
+                statement,
+                getSchemaInclusionRule()); ) {
       createPrivileges(results, true);
     }
   }
@@ -176,7 +184,7 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
   private void retrieveTableColumnPrivilegesFromMetadata() {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final MetadataResultSet results =
-            new MetadataResultSet(
+            newMetadataResultSet(
                 connection.getMetaData().getColumnPrivileges(null, null, null, null),
                 "DatabaseMetaData::getColumnPrivileges"); ) {
       createPrivileges(results, true);
@@ -195,7 +203,8 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablePrivelegesSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(
+                TABLE_PRIVILEGES, tablePrivelegesSql, statement, getSchemaInclusionRule()); ) {
       createPrivileges(results, false);
     }
   }
@@ -203,7 +212,7 @@ final class TablePrivilegeRetriever extends AbstractRetriever {
   private void retrieveTablePrivilegesFromMetadata() {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final MetadataResultSet results =
-            new MetadataResultSet(
+            newMetadataResultSet(
                 connection.getMetaData().getTablePrivileges(null, null, null),
                 "DatabaseMetaData::getTablePrivileges"); ) {
       createPrivileges(results, false);
@@ -88,6 +88,8 @@ final class TableRetriever extends AbstractRetriever {
         retrieveTablesFromDataDictionary(schemas, tableNamePattern, tableTypes, tableFilter);
         break;
 
+      case auto:
+      case metadata_all:
       case metadata:
         LOGGER.log(Level.INFO, "Retrieving tables");
         retrieveTablesFromMetadata(schemas, tableNamePattern, tableTypes, tableFilter);
@@ -170,7 +172,7 @@ final class TableRetriever extends AbstractRetriever {
     try (final Connection connection = getRetrieverConnection().getConnection();
         final Statement statement = connection.createStatement();
         final MetadataResultSet results =
-            new MetadataResultSet(tablesSql, statement, getSchemaInclusionRule()); ) {
+            executeDataDictionaryQuery(TABLES, tablesSql, statement, getSchemaInclusionRule()); ) {
       int numTables = 0;
       while (results.next()) {
         numTables = numTables + 1;
@@ -198,7 +200,7 @@ final class TableRetriever extends AbstractRetriever {
 
       try (final Connection connection = getRetrieverConnection().getConnection();
           final MetadataResultSet results =
-              new MetadataResultSet(
+              newMetadataResultSet(
                   connection
                       .getMetaData()
                       .getTables(
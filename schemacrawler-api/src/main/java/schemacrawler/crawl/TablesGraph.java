@@ -29,6 +29,7 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
 import java.util.logging.Level;
 
@@ -40,6 +41,8 @@ import schemacrawler.schema.View;
 import us.fatehi.utility.graph.DirectedGraph;
 import us.fatehi.utility.graph.GraphException;
 import us.fatehi.utility.graph.SimpleTopologicalSort;
+import us.fatehi.utility.graph.TarjanStronglyConnectedComponentFinder;
+import us.fatehi.utility.string.StringFormat;
 
 final class TablesGraph extends DirectedGraph<Table> {
 
@@ -86,6 +89,18 @@ final class TablesGraph extends DirectedGraph<Table> {
       }
     } catch (final GraphException e) {
       LOGGER.log(Level.CONFIG, e.getMessage());
+      logCycles();
+    }
+  }
+
+  private void logCycles() {
+    if (!LOGGER.isLoggable(Level.CONFIG)) {
+      return;
+    }
+    final Collection<List<Table>> cycles =
+        new TarjanStronglyConnectedComponentFinder<>(this).detectCycles();
+    for (final List<Table> cycle : cycles) {
+      LOGGER.log(Level.CONFIG, new StringFormat("Tables in a cycle %s", cycle));
     }
   }
 
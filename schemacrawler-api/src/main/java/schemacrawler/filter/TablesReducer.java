@@ -30,6 +30,7 @@ package schemacrawler.filter;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashSet;
 import java.util.Set;
@@ -72,39 +73,49 @@ final class TablesReducer implements Reducer<Table> {
 
     // Add in referenced tables
     final FilterOptions filterOptions = options.getFilterOptions();
-    final int childTableFilterDepth = filterOptions.getChildTableFilterDepth();
-    final Collection<Table> childTables =
-        includeRelatedTables(TableRelationshipType.child, childTableFilterDepth, reducedTables);
-    final int parentTableFilterDepth = filterOptions.getParentTableFilterDepth();
-    final Collection<Table> parentTables =
-        includeRelatedTables(TableRelationshipType.parent, parentTableFilterDepth, reducedTables);
-
-    final Set<Table> keepTables = new HashSet<>();
-    keepTables.addAll(reducedTables);
-    keepTables.addAll(childTables);
-    keepTables.addAll(parentTables);
+    final Set<Table> keepTables = new HashSet<>(reducedTables);
+    includeRelatedTables(
+        TableRelationshipType.child,
+        filterOptions.getChildTableFilterDepth(),
+        reducedTables,
+        keepTables);
+    includeRelatedTables(
+        TableRelationshipType.parent,
+        filterOptions.getParentTableFilterDepth(),
+        reducedTables,
+        keepTables);
 
     allTables.filter(keepTables::contains);
   }
 
-  private Collection<Table> includeRelatedTables(
+  /**
+   * Breadth-first search from the grepped tables, one level of related tables for each level of
+   * depth. Only tables found at the previous level are expanded, so each table is visited once.
+   *
+   * @param tableRelationshipType Whether to follow parent or child tables
+   * @param depth Number of levels of related tables to include
+   * @param greppedTables Tables to start from
+   * @param keepTables Related tables that are found are added here
+   */
+  private void includeRelatedTables(
       final TableRelationshipType tableRelationshipType,
       final int depth,
-      final Set<Table> greppedTables) {
-    final Set<Table> includedTables = new HashSet<>();
-    includedTables.addAll(greppedTables);
-
-    for (int i = 0; i < depth; i++) {
-      for (final Table table : new HashSet<>(includedTables)) {
+      final Set<Table> greppedTables,
+      final Set<Table> keepTables) {
+    final Set<Table> visitedTables = new HashSet<>(greppedTables);
+    Collection<Table> frontier = greppedTables;
+    for (int i = 0; i < depth && !frontier.isEmpty(); i++) {
+      final Collection<Table> nextFrontier = new ArrayList<>();
+      for (final Table table : frontier) {
         for (final Table relatedTable : table.getRelatedTables(tableRelationshipType)) {
-          if (!isTablePartial(relatedTable)) {
-            includedTables.add(relatedTable);
+          if (!isTablePartial(relatedTable) && visitedTables.add(relatedTable)) {
+            nextFrontier.add(relatedTable);
           }
         }
       }
+      keepTables.addAll(nextFrontier);
+      frontier = nextFrontier;
     }
-
-    return includedTables;
   }
 
   private boolean isTablePartial(final Table table) {
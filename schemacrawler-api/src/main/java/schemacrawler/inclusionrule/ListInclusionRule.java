@@ -0,0 +1,74 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.inclusionrule;
+
+import static us.fatehi.utility.Utility.isBlank;
+
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import us.fatehi.utility.string.StringFormat;
+
+public class ListInclusionRule implements InclusionRule {
+
+  private static final long serialVersionUID = 4271960236374938621L;
+
+  private static final Logger LOGGER = Logger.getLogger(ListInclusionRule.class.getName());
+
+  private final Set<String> inclusions;
+
+  public ListInclusionRule(final Collection<String> inclusions) {
+    if (inclusions == null || inclusions.isEmpty()) {
+      throw new IllegalArgumentException("No inclusions provided");
+    }
+    // Use a set, since the list of inclusions can be large
+    this.inclusions = new HashSet<>(inclusions);
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public boolean test(final String text) {
+
+    if (isBlank(text)) {
+      // Exclude blanks
+      return false;
+    }
+
+    if (inclusions.contains(text)) {
+      LOGGER.log(Level.FINE, new StringFormat("Including <%s>", text));
+      return true;
+    }
+    LOGGER.log(
+        Level.FINE, new StringFormat("Excluding <%s> since it is not on the include list", text));
+    return false;
+  }
+}
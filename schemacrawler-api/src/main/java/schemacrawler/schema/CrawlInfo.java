@@ -30,6 +30,8 @@ package schemacrawler.schema;
 
 import java.io.Serializable;
 import java.time.Instant;
+import java.util.Collection;
+import java.util.Collections;
 
 import schemacrawler.ProductVersion;
 
@@ -84,6 +86,16 @@ public interface CrawlInfo extends Serializable {
    */
   String getRunId();
 
+  /**
+   * Gets the names of retrievals that were skipped, because they ran out of time, or because the
+   * crawl was cancelled. If any retrievals were skipped, the catalog is only partially complete.
+   *
+   * @return Names of skipped retrievals, or an empty collection if the crawl was complete
+   */
+  default Collection<String> getSkippedRetrievals() {
+    return Collections.emptyList();
+  }
+
   /**
    * Gets the SchemaCrawler version.
    *
@@ -37,13 +37,21 @@ public final class NamedObjectKey implements Serializable {
 
   private static final long serialVersionUID = -5008609072012459037L;
 
+  private static final String[] EMPTY_KEY = new String[0];
+
   private final String[] key;
 
   public NamedObjectKey(final String... key) {
+    this(key, true);
+  }
+
+  private NamedObjectKey(final String[] key, final boolean copy) {
     if (key == null || key.length == 0) {
-      this.key = new String[0];
-    } else {
+      this.key = EMPTY_KEY;
+    } else if (copy) {
       this.key = Arrays.copyOf(key, key.length);
+    } else {
+      this.key = key;
     }
   }
 
@@ -81,6 +89,7 @@ public final class NamedObjectKey implements Serializable {
     final int currentLength = key.length;
     final String[] newKey = Arrays.copyOf(key, currentLength + 1);
     newKey[currentLength] = name;
-    return new NamedObjectKey(newKey);
+    // The new key array is not shared, so it does not need to be copied again
+    return new NamedObjectKey(newKey, false);
   }
 }
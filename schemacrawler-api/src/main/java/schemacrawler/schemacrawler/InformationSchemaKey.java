@@ -39,6 +39,7 @@ public enum InformationSchemaKey {
   CHECK_CONSTRAINTS(INFORMATION_SCHEMA),
   CONSTRAINT_COLUMN_USAGE(INFORMATION_SCHEMA),
   DATABASE_USERS(ADDITIONAL_INFO),
+  EXT_CHANGED_TABLES(METADATA_EXTENSION),
   EXT_HIDDEN_TABLE_COLUMNS(METADATA_EXTENSION),
   EXT_INDEXES(METADATA_EXTENSION),
   EXT_TABLE_CONSTRAINTS(METADATA_EXTENSION),
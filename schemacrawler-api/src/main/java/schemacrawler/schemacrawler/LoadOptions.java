@@ -29,20 +29,47 @@ http://www.gnu.org/licenses/
 package schemacrawler.schemacrawler;
 
 import static java.util.Objects.requireNonNull;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
 import us.fatehi.utility.ObjectToString;
 
 public final class LoadOptions implements Options {
 
   private final SchemaInfoLevel schemaInfoLevel;
   private final int maxThreads;
+  private final Duration crawlTimeout;
+  private final Duration retrievalTimeout;
+  private final Map<SchemaInfoRetrieval, Duration> retrievalTimeouts;
 
-  LoadOptions(final SchemaInfoLevel schemaInfoLevel, final int maxThreads) {
+  LoadOptions(
+      final SchemaInfoLevel schemaInfoLevel,
+      final int maxThreads,
+      final Duration crawlTimeout,
+      final Duration retrievalTimeout,
+      final Map<SchemaInfoRetrieval, Duration> retrievalTimeouts) {
     this.schemaInfoLevel = requireNonNull(schemaInfoLevel, "No schema info level provided");
     this.maxThreads = maxThreads;
+    this.crawlTimeout = requireNonNull(crawlTimeout, "No crawl timeout provided");
+    this.retrievalTimeout = requireNonNull(retrievalTimeout, "No retrieval timeout provided");
+    requireNonNull(retrievalTimeouts, "No retrieval timeouts provided");
+    this.retrievalTimeouts = new EnumMap<>(SchemaInfoRetrieval.class);
+    this.retrievalTimeouts.putAll(retrievalTimeouts);
+  }
+
+  /**
+   * Time allowed for the whole crawl. Once it runs out, running retrievals are cancelled, and
+   * retrievals that have not started are skipped. A zero duration means that there is no limit.
+   *
+   * @return Time allowed for the crawl.
+   */
+  public Duration getCrawlTimeout() {
+    return crawlTimeout;
   }
 
   /**
-   * Maximum number of threads.
+   * Maximum number of threads, shared by all retrievals in a crawl.
    *
    * @return Maximum number of threads.
    */
@@ -50,6 +77,31 @@ public final class LoadOptions implements Options {
     return maxThreads;
   }
 
+  /**
+   * Time allowed for a retrieval that does not have its own time allowance. A zero duration means
+   * that there is no limit.
+   *
+   * @return Time allowed for a retrieval.
+   */
+  public Duration getRetrievalTimeout() {
+    return retrievalTimeout;
+  }
+
+  /**
+   * Time allowed for a retrieval. Queries run for the retrieval are given a query timeout, and if
+   * the time runs out the retrieval is cancelled and skipped. A zero duration means that there is
+   * no limit.
+   *
+   * @param retrieval Retrieval to get the time allowance for.
+   * @return Time allowed for the retrieval.
+   */
+  public Duration getRetrievalTimeout(final SchemaInfoRetrieval retrieval) {
+    if (retrieval == null) {
+      return retrievalTimeout;
+    }
+    return retrievalTimeouts.getOrDefault(retrieval, retrievalTimeout);
+  }
+
   /**
    * Gets the schema information level, identifying to what level the schema should be crawled.
    *
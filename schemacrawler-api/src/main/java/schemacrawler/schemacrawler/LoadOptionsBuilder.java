@@ -31,6 +31,10 @@ package schemacrawler.schemacrawler;
 import static us.fatehi.utility.scheduler.TaskRunner.MAX_THREADS;
 import static us.fatehi.utility.scheduler.TaskRunner.MIN_THREADS;
 
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+
 public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuilder, LoadOptions> {
 
   public static LoadOptionsBuilder builder() {
@@ -41,13 +45,26 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
     return builder().toOptions();
   }
 
+  private static Duration timeout(final Duration timeout) {
+    if (timeout == null || timeout.isNegative()) {
+      return Duration.ZERO;
+    }
+    return timeout;
+  }
+
   private SchemaInfoLevel schemaInfoLevel;
   private int maxThreads;
+  private Duration crawlTimeout;
+  private Duration retrievalTimeout;
+  private final Map<SchemaInfoRetrieval, Duration> retrievalTimeouts;
 
   /** Default options. */
   private LoadOptionsBuilder() {
     schemaInfoLevel = SchemaInfoLevelBuilder.standard();
     maxThreads = MAX_THREADS;
+    crawlTimeout = Duration.ZERO;
+    retrievalTimeout = Duration.ZERO;
+    retrievalTimeouts = new EnumMap<>(SchemaInfoRetrieval.class);
   }
 
   @Override
@@ -58,13 +75,35 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
 
     schemaInfoLevel = options.getSchemaInfoLevel();
     maxThreads = options.getMaxThreads();
+    crawlTimeout = options.getCrawlTimeout();
+    retrievalTimeout = options.getRetrievalTimeout();
+    retrievalTimeouts.clear();
+    for (final SchemaInfoRetrieval retrieval : SchemaInfoRetrieval.values()) {
+      final Duration timeout = options.getRetrievalTimeout(retrieval);
+      if (!timeout.equals(retrievalTimeout)) {
+        retrievalTimeouts.put(retrieval, timeout);
+      }
+    }
 
     return this;
   }
 
   @Override
   public LoadOptions toOptions() {
-    return new LoadOptions(schemaInfoLevel, maxThreads);
+    return new LoadOptions(
+        schemaInfoLevel, maxThreads, crawlTimeout, retrievalTimeout, retrievalTimeouts);
+  }
+
+  /**
+   * Time allowed for the whole crawl. Once it runs out, the crawl is cancelled, and the catalog
+   * returned only has the metadata that was retrieved in time.
+   *
+   * @param crawlTimeout Time allowed, or zero for no limit.
+   * @return Builder
+   */
+  public LoadOptionsBuilder withCrawlTimeout(final Duration crawlTimeout) {
+    this.crawlTimeout = timeout(crawlTimeout);
+    return this;
   }
 
   public LoadOptionsBuilder withInfoLevel(final InfoLevel infoLevel) {
@@ -75,16 +114,46 @@ public final class LoadOptionsBuilder implements OptionsBuilder<LoadOptionsBuild
   }
 
   /**
-   * IMPORTANT: Multi-threading is not implemented. It is possibly future functionality.
+   * Maximum number of threads used to crawl the database. All retrievals in a crawl share these
+   * threads, including retrievals that fan out to one database call per table, and since each
+   * running retrieval may use a database connection, this also limits the number of connections in
+   * use at the same time.
    *
    * @param maxThreads Maximum number of threads for multi-threaded operation.
-   * @return Maximum number of threads.
+   * @return Builder
    */
   public LoadOptionsBuilder withMaxThreads(final int maxThreads) {
     this.maxThreads = Math.min(Math.max(maxThreads, MIN_THREADS), MAX_THREADS);
     return this;
   }
 
+  /**
+   * Time allowed for each retrieval, unless a retrieval has its own time allowance. A retrieval
+   * that runs out of time is cancelled, and the crawl continues with other retrievals.
+   *
+   * @param retrievalTimeout Time allowed, or zero for no limit.
+   * @return Builder
+   */
+  public LoadOptionsBuilder withRetrievalTimeout(final Duration retrievalTimeout) {
+    this.retrievalTimeout = timeout(retrievalTimeout);
+    return this;
+  }
+
+  /**
+   * Time allowed for a retrieval, such as retrieving table columns.
+   *
+   * @param retrieval Retrieval to set the time allowance for.
+   * @param retrievalTimeout Time allowed, or zero for no limit.
+   * @return Builder
+   */
+  public LoadOptionsBuilder withRetrievalTimeout(
+      final SchemaInfoRetrieval retrieval, final Duration retrievalTimeout) {
+    if (retrieval != null) {
+      retrievalTimeouts.put(retrieval, timeout(retrievalTimeout));
+    }
+    return this;
+  }
+
   public LoadOptionsBuilder withSchemaInfoLevel(final SchemaInfoLevel schemaInfoLevel) {
     if (schemaInfoLevel != null) {
       this.schemaInfoLevel = schemaInfoLevel;
@@ -34,6 +34,13 @@ public enum MetadataRetrievalStrategy {
   // use JDBC metadata calls to retrieve information one database object at a time;
   // each JDBC driver decides how to honor these requests
   metadata,
+  // use JDBC metadata calls to retrieve information for all database objects in
+  // a schema together, and match results to database objects by name; this needs
+  // drivers that allow a null table name to mean all tables
+  metadata_all,
+  // choose how to retrieve information based on the number of database objects
+  // in the crawl - one at a time for small crawls, and otherwise all together
+  auto,
   // use the INFORMATION_SCHEMA or database-specific data dictionary queries to
   // retrieve information for all database objects together
   data_dictionary_all
@@ -57,6 +57,9 @@ public final class SchemaRetrievalOptions implements Options {
   private final EnumMap<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy>
       metadataRetrievalStrategyMap;
   private final Consumer<Connection> connectionInitializer;
+  private final int fetchSize;
+  private final EnumMap<InformationSchemaKey, Integer> fetchSizes;
+  private final boolean adaptiveFetchSize;
 
   protected SchemaRetrievalOptions(final SchemaRetrievalOptionsBuilder builder) {
     final SchemaRetrievalOptionsBuilder bldr =
@@ -73,6 +76,9 @@ public final class SchemaRetrievalOptions implements Options {
     enumDataTypeHelper = bldr.enumDataTypeHelper;
     metadataRetrievalStrategyMap = new EnumMap<>(bldr.metadataRetrievalStrategyMap);
     connectionInitializer = bldr.connectionInitializer;
+    fetchSize = bldr.fetchSize;
+    fetchSizes = new EnumMap<>(bldr.fetchSizes);
+    adaptiveFetchSize = bldr.adaptiveFetchSize;
   }
 
   public MetadataRetrievalStrategy get(
@@ -98,6 +104,28 @@ public final class SchemaRetrievalOptions implements Options {
     return identifierQuoteString;
   }
 
+  /**
+   * Gets the number of rows to fetch from the database in each round trip, for result-sets that do
+   * not have their own fetch size.
+   *
+   * @return Fetch size, or zero to use the JDBC driver default
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Gets the number of rows to fetch from the database in each round trip, for the result-set of a
+   * data dictionary query.
+   *
+   * @param key Key for the data dictionary query
+   * @return Fetch size, or zero to use the JDBC driver default
+   */
+  public int getFetchSize(final InformationSchemaKey key) {
+    requireNonNull(key, "No SQL query key provided");
+    return fetchSizes.getOrDefault(key, fetchSize);
+  }
+
   public Identifiers getIdentifiers() {
     return identifiers;
   }
@@ -114,6 +142,16 @@ public final class SchemaRetrievalOptions implements Options {
     return typeMap;
   }
 
+  /**
+   * Whether the fetch size grows with the number of rows read from a result-set, so that large
+   * result-sets need fewer round trips to the database.
+   *
+   * @return Whether the fetch size is adaptive
+   */
+  public boolean isAdaptiveFetchSize() {
+    return adaptiveFetchSize;
+  }
+
   public boolean isSupportsCatalogs() {
     return supportsCatalogs;
   }
@@ -132,4 +170,8 @@ public final class SchemaRetrievalOptions implements Options {
       getMetadataRetrievalStrategyMap() {
     return new EnumMap<>(metadataRetrievalStrategyMap);
   }
+
+  Map<InformationSchemaKey, Integer> getFetchSizes() {
+    return new EnumMap<>(fetchSizes);
+  }
 }
@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.schemacrawler;
 
+import static java.util.Objects.requireNonNull;
 import static schemacrawler.plugin.EnumDataTypeHelper.NO_OP_ENUM_DATA_TYPE_HELPER;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata;
 import static us.fatehi.utility.Utility.isBlank;
@@ -46,6 +47,9 @@ import schemacrawler.utility.TypeMap;
 public final class SchemaRetrievalOptionsBuilder
     implements OptionsBuilder<SchemaRetrievalOptionsBuilder, SchemaRetrievalOptions> {
 
+  /** Number of rows fetched in each database round trip, unless configured otherwise. */
+  public static final int DEFAULT_FETCH_SIZE = 20;
+
   public static SchemaRetrievalOptionsBuilder builder() {
     return new SchemaRetrievalOptionsBuilder();
   }
@@ -71,6 +75,9 @@ public final class SchemaRetrievalOptionsBuilder
   EnumDataTypeHelper enumDataTypeHelper;
   Map<SchemaInfoMetadataRetrievalStrategy, MetadataRetrievalStrategy> metadataRetrievalStrategyMap;
   Consumer<Connection> connectionInitializer;
+  int fetchSize;
+  Map<InformationSchemaKey, Integer> fetchSizes;
+  boolean adaptiveFetchSize;
 
   private SchemaRetrievalOptionsBuilder() {
     dbServerType = DatabaseServerType.UNKNOWN;
@@ -86,6 +93,9 @@ public final class SchemaRetrievalOptionsBuilder
         TableTypes.from("TABLE", "VIEW", "SYSTEM TABLE", "GLOBAL TEMPORARY", "LOCAL TEMPORARY");
     enumDataTypeHelper = NO_OP_ENUM_DATA_TYPE_HELPER;
     connectionInitializer = connection -> {};
+    fetchSize = DEFAULT_FETCH_SIZE;
+    fetchSizes = new EnumMap<>(InformationSchemaKey.class);
+    adaptiveFetchSize = false;
 
     metadataRetrievalStrategyMap = new EnumMap<>(SchemaInfoMetadataRetrievalStrategy.class);
     for (final SchemaInfoMetadataRetrievalStrategy key :
@@ -141,8 +151,13 @@ public final class SchemaRetrievalOptionsBuilder
     identifierQuoteString = options.getIdentifierQuoteString();
     identifiers = options.getIdentifiers();
     overridesTypeMap = Optional.empty();
+    tableTypes = options.getTableTypes();
+    enumDataTypeHelper = options.getEnumDataTypeHelper();
     metadataRetrievalStrategyMap = options.getMetadataRetrievalStrategyMap();
     connectionInitializer = options.getConnectionInitializer();
+    fetchSize = options.getFetchSize();
+    fetchSizes = options.getFetchSizes();
+    adaptiveFetchSize = options.isAdaptiveFetchSize();
 
     return this;
   }
@@ -155,10 +170,36 @@ public final class SchemaRetrievalOptionsBuilder
     return null;
   }
 
+  /**
+   * Number of rows to fetch from the database in each round trip, for result-sets that do not have
+   * their own fetch size.
+   *
+   * @return Fetch size, or zero to use the JDBC driver default
+   */
+  public int getFetchSize() {
+    return fetchSize;
+  }
+
+  /**
+   * Number of rows to fetch from the database in each round trip, for the result-set of a data
+   * dictionary query.
+   *
+   * @param key Key for the data dictionary query
+   * @return Fetch size, or zero to use the JDBC driver default
+   */
+  public int getFetchSize(final InformationSchemaKey key) {
+    requireNonNull(key, "No SQL query key provided");
+    return fetchSizes.getOrDefault(key, fetchSize);
+  }
+
   public InformationSchemaViews getInformationSchemaViews() {
     return informationSchemaViews;
   }
 
+  public boolean isAdaptiveFetchSize() {
+    return adaptiveFetchSize;
+  }
+
   @Override
   public SchemaRetrievalOptions toOptions() {
     return new SchemaRetrievalOptions(this);
@@ -182,6 +223,18 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Grows the fetch size with the number of rows read from a result-set, so that large result-sets,
+   * such as table columns for a large schema, need fewer round trips to the database.
+   *
+   * @param adaptiveFetchSize Whether the fetch size is adaptive
+   * @return Builder
+   */
+  public SchemaRetrievalOptionsBuilder withAdaptiveFetchSize(final boolean adaptiveFetchSize) {
+    this.adaptiveFetchSize = adaptiveFetchSize;
+    return this;
+  }
+
   public SchemaRetrievalOptionsBuilder withConnectionInitializer(
       final Consumer<Connection> connectionInitializer) {
     if (connectionInitializer == null) {
@@ -227,6 +280,40 @@ public final class SchemaRetrievalOptionsBuilder
     return this;
   }
 
+  /**
+   * Number of rows to fetch from the database in each round trip, for result-sets that do not have
+   * their own fetch size.
+   *
+   * @param fetchSize Fetch size, or zero to use the JDBC driver default
+   * @return Builder
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(final int fetchSize) {
+    this.fetchSize = Math.max(fetchSize, 0);
+    return this;
+  }
+
+  /**
+   * Number of rows to fetch from the database in each round trip, for the result-set of a data
+   * dictionary query.
+   *
+   * @param key Key for the data dictionary query
+   * @param fetchSize Fetch size, or zero to use the JDBC driver default, or a negative value to
+   *     reset to the fetch size for all result-sets
+   * @return Builder
+   */
+  public SchemaRetrievalOptionsBuilder withFetchSize(
+      final InformationSchemaKey key, final int fetchSize) {
+    if (key == null) {
+      return this;
+    }
+    if (fetchSize < 0) {
+      fetchSizes.remove(key);
+    } else {
+      fetchSizes.put(key, fetchSize);
+    }
+    return this;
+  }
+
   /**
    * Overrides the JDBC driver provided information about the identifier quote string.
    *
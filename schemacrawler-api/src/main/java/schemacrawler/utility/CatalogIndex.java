@@ -0,0 +1,218 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.utility;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+
+/**
+ * Secondary indexes over a catalog, for lookups that would otherwise need a scan of all tables and
+ * their columns. Each index is built the first time it is used, and is then cached. Indexes are not
+ * updated if the catalog is changed after they are built, so create a new catalog index if the
+ * catalog is reduced or reloaded. Results are in the natural sort order of the catalog.
+ */
+public final class CatalogIndex {
+
+  private static final class LazyIndex<K, V> {
+
+    private final Supplier<Map<K, List<V>>> builder;
+    private volatile Map<K, List<V>> index;
+
+    LazyIndex(final Supplier<Map<K, List<V>>> builder) {
+      this.builder = builder;
+    }
+
+    List<V> get(final K key) {
+      if (key == null) {
+        return Collections.emptyList();
+      }
+      return index().getOrDefault(key, Collections.emptyList());
+    }
+
+    private Map<K, List<V>> index() {
+      Map<K, List<V>> currentIndex = index;
+      if (currentIndex == null) {
+        synchronized (this) {
+          currentIndex = index;
+          if (currentIndex == null) {
+            currentIndex = builder.get();
+            index = currentIndex;
+          }
+        }
+      }
+      return currentIndex;
+    }
+  }
+
+  private static <K, V> void addToIndex(final Map<K, List<V>> index, final K key, final V value) {
+    if (key != null) {
+      index.computeIfAbsent(key, k -> new ArrayList<>()).add(value);
+    }
+  }
+
+  private static <K, V> Map<K, List<V>> unmodifiable(final Map<K, List<V>> index) {
+    for (final Map.Entry<K, List<V>> entry : index.entrySet()) {
+      final List<V> values = entry.getValue();
+      ((ArrayList<V>) values).trimToSize();
+      entry.setValue(Collections.unmodifiableList(values));
+    }
+    return index;
+  }
+
+  private final Catalog catalog;
+  private final LazyIndex<String, Column> columnsByName;
+  private final LazyIndex<ColumnDataType, Column> columnsByDataType;
+  private final LazyIndex<Table, ForeignKey> foreignKeysByReferencedTable;
+  private final LazyIndex<String, Routine> routinesByName;
+
+  public CatalogIndex(final Catalog catalog) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+    columnsByName = new LazyIndex<>(this::buildColumnsByName);
+    columnsByDataType = new LazyIndex<>(this::buildColumnsByDataType);
+    foreignKeysByReferencedTable = new LazyIndex<>(this::buildForeignKeysByReferencedTable);
+    routinesByName = new LazyIndex<>(this::buildRoutinesByName);
+  }
+
+  /**
+   * Gets all table columns with a given data type, across all schemas.
+   *
+   * @param columnDataType Column data type
+   * @return Columns with the data type, or an empty list
+   */
+  public List<Column> getColumnsByDataType(final ColumnDataType columnDataType) {
+    return columnsByDataType.get(columnDataType);
+  }
+
+  /**
+   * Gets all table columns with a given name, across all tables and schemas. The name is matched
+   * exactly, as it is for catalog lookups.
+   *
+   * @param columnName Column name
+   * @return Columns with the name, or an empty list
+   */
+  public List<Column> getColumnsByName(final String columnName) {
+    return columnsByName.get(columnName);
+  }
+
+  /**
+   * Gets all foreign keys that reference a given table.
+   *
+   * @param referencedTable Referenced (primary key) table
+   * @return Foreign keys that reference the table, or an empty list
+   */
+  public List<ForeignKey> getForeignKeysReferencing(final Table referencedTable) {
+    return foreignKeysByReferencedTable.get(referencedTable);
+  }
+
+  /**
+   * Gets all tables that have a foreign key to a given table.
+   *
+   * @param referencedTable Referenced (primary key) table
+   * @return Referencing (foreign key) tables, or an empty collection
+   */
+  public Collection<Table> getTablesReferencing(final Table referencedTable) {
+    final Set<Table> referencingTables = new LinkedHashSet<>();
+    for (final ForeignKey foreignKey : getForeignKeysReferencing(referencedTable)) {
+      referencingTables.add(foreignKey.getReferencingTable());
+    }
+    return referencingTables;
+  }
+
+  /**
+   * Gets all routines with a given name, across all schemas. Overloaded routines are all returned.
+   *
+   * @param routineName Routine name
+   * @return Routines with the name, or an empty list
+   */
+  public List<Routine> getRoutinesByName(final String routineName) {
+    return routinesByName.get(routineName);
+  }
+
+  private Map<ColumnDataType, List<Column>> buildColumnsByDataType() {
+    final Map<ColumnDataType, List<Column>> index = new HashMap<>();
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        addToIndex(index, column.getColumnDataType(), column);
+      }
+    }
+    return unmodifiable(index);
+  }
+
+  private Map<String, List<Column>> buildColumnsByName() {
+    final Map<String, List<Column>> index = new HashMap<>();
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        addToIndex(index, column.getName(), column);
+      }
+    }
+    return unmodifiable(index);
+  }
+
+  private Map<Table, List<ForeignKey>> buildForeignKeysByReferencedTable() {
+    final Map<Table, List<ForeignKey>> index = new HashMap<>();
+    for (final Table table : catalog.getTables()) {
+      for (final ForeignKey foreignKey : table.getExportedForeignKeys()) {
+        addToIndex(index, table, foreignKey);
+      }
+      // Tables outside the catalog do not export their foreign keys
+      for (final ForeignKey foreignKey : table.getImportedForeignKeys()) {
+        final Table referencedTable = foreignKey.getReferencedTable();
+        if (referencedTable instanceof PartialDatabaseObject) {
+          addToIndex(index, referencedTable, foreignKey);
+        }
+      }
+    }
+    return unmodifiable(index);
+  }
+
+  private Map<String, List<Routine>> buildRoutinesByName() {
+    final Map<String, List<Routine>> index = new HashMap<>();
+    for (final Routine routine : catalog.getRoutines()) {
+      addToIndex(index, routine.getName(), routine);
+    }
+    return unmodifiable(index);
+  }
+}
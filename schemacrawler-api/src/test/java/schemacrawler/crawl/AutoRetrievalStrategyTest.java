@@ -0,0 +1,152 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static schemacrawler.schemacrawler.InformationSchemaKey.INDEXES;
+import static schemacrawler.schemacrawler.InformationSchemaKey.PRIMARY_KEYS;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.auto;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata_all;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.indexesRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.primaryKeysRetrievalStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@WithTestDatabase
+public class AutoRetrievalStrategyTest {
+
+  private static List<MutableTable> tables(final int schemaCount, final int tablesPerSchema) {
+    final List<MutableTable> tables = new ArrayList<>();
+    for (int i = 0; i < schemaCount; i++) {
+      final SchemaReference schema = new SchemaReference("CATALOG", "SCHEMA" + i);
+      for (int j = 0; j < tablesPerSchema; j++) {
+        tables.add(new MutableTable(schema, "TABLE" + j));
+      }
+    }
+    return tables;
+  }
+
+  @Test
+  public void autoLargeCrawl(final DatabaseConnectionSource dataSource) throws Exception {
+    final IndexRetriever retriever = newRetriever(dataSource, false);
+
+    // Many tables in few schemas
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(2, 100)),
+        is(metadata_all));
+    // Tables spread thinly across schemas
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(200, 1)),
+        is(metadata));
+    // No schema-wide metadata calls for primary keys
+    assertThat(
+        retriever.getRetrievalStrategy(primaryKeysRetrievalStrategy, PRIMARY_KEYS, tables(2, 100)),
+        is(metadata));
+  }
+
+  @Test
+  public void autoLargeCrawlWithDataDictionary(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final IndexRetriever retriever = newRetriever(dataSource, true);
+
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(2, 100)),
+        is(data_dictionary_all));
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(200, 1)),
+        is(data_dictionary_all));
+    // No data dictionary SQL for primary keys
+    assertThat(
+        retriever.getRetrievalStrategy(primaryKeysRetrievalStrategy, PRIMARY_KEYS, tables(2, 100)),
+        is(metadata));
+  }
+
+  @Test
+  public void autoSmallCrawl(final DatabaseConnectionSource dataSource) throws Exception {
+    final IndexRetriever retriever = newRetriever(dataSource, true);
+
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(1, 20)),
+        is(metadata));
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(0, 0)),
+        is(metadata));
+  }
+
+  @Test
+  public void notAuto(final DatabaseConnectionSource dataSource) throws Exception {
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(
+            dataSource,
+            SchemaRetrievalOptionsBuilder.builder()
+                .with(indexesRetrievalStrategy, data_dictionary_all)
+                .toOptions());
+    final IndexRetriever retriever =
+        new IndexRetriever(
+            retrieverConnection, null, SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions());
+
+    assertThat(
+        retriever.getRetrievalStrategy(indexesRetrievalStrategy, INDEXES, tables(1, 20)),
+        is(data_dictionary_all));
+  }
+
+  private IndexRetriever newRetriever(
+      final DatabaseConnectionSource dataSource, final boolean withDataDictionary)
+      throws Exception {
+    final InformationSchemaViewsBuilder informationSchemaViewsBuilder =
+        InformationSchemaViewsBuilder.builder();
+    if (withDataDictionary) {
+      informationSchemaViewsBuilder.withSql(
+          INDEXES, "SELECT * FROM INFORMATION_SCHEMA.SYSTEM_INDEXINFO");
+    }
+    final RetrieverConnection retrieverConnection =
+        new RetrieverConnection(
+            dataSource,
+            SchemaRetrievalOptionsBuilder.builder()
+                .with(indexesRetrievalStrategy, auto)
+                .with(primaryKeysRetrievalStrategy, auto)
+                .withInformationSchemaViews(informationSchemaViewsBuilder.toOptions())
+                .toOptions());
+    return new IndexRetriever(
+        retrieverConnection, null, SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions());
+  }
+}
@@ -0,0 +1,248 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.crawl.BinaryCatalogFormat.STRING_NEW;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_BYTES;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_LIST;
+import static schemacrawler.crawl.BinaryCatalogFormat.VALUE_STRING_ARRAY;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.utility.BinaryData;
+
+@WithTestDatabase
+public class BinaryCatalogTest {
+
+  static List<String> describe(final Catalog catalog) {
+    final List<String> description = new ArrayList<>();
+    description.add(catalog.getDatabaseInfo().toString());
+    description.add(catalog.getJdbcDriverInfo().toString());
+    description.add(catalog.getCrawlInfo().toString());
+    description.add(catalog.getCrawlInfo().getRunId());
+    description.add(String.valueOf(catalog.getSchemas()));
+    for (final ColumnDataType columnDataType : catalog.getColumnDataTypes()) {
+      description.add(
+          columnDataType.getFullName()
+              + " "
+              + columnDataType.getJavaSqlType()
+              + " "
+              + columnDataType.getBaseType());
+    }
+    for (final Table table : catalog.getTables()) {
+      description.add(
+          table.getFullName() + " " + table.getTableType() + " " + table.getAttributes());
+      for (final Column column : table.getColumns()) {
+        description.add(
+            column.getFullName()
+                + " "
+                + column.getColumnDataType()
+                + column.getWidth()
+                + " "
+                + column.getReferencedColumn()
+                + " "
+                + column.isPartOfPrimaryKey()
+                + column.isPartOfForeignKey()
+                + column.isPartOfIndex()
+                + " "
+                + column.getAttributes());
+      }
+      for (final Index index : table.getIndexes()) {
+        description.add(index.getFullName() + " " + index.getColumns());
+      }
+      for (final TableConstraint tableConstraint : table.getTableConstraints()) {
+        description.add(
+            tableConstraint.getFullName()
+                + " "
+                + tableConstraint.getType()
+                + " "
+                + tableConstraint.getConstrainedColumns()
+                + " "
+                + tableConstraint.getDefinition());
+      }
+      description.add(String.valueOf(table.getPrimaryKey()));
+      description.add(String.valueOf(table.getForeignKeys()));
+      description.add(String.valueOf(table.getWeakAssociations()));
+      description.add(String.valueOf(table.getTriggers()));
+      description.add(String.valueOf(table.getPrivileges()));
+    }
+    for (final Routine routine : catalog.getRoutines()) {
+      description.add(
+          routine.getFullName() + " " + routine.getReturnType() + " " + routine.getParameters());
+    }
+    description.add(String.valueOf(catalog.getSequences()));
+    description.add(String.valueOf(catalog.getSynonyms()));
+    return description;
+  }
+
+  private static BinaryCatalogInput input(final int... values) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final BinaryCatalogOutput out = new BinaryCatalogOutput(bytes)) {
+      for (final int value : values) {
+        out.writeVarInt(value);
+      }
+    }
+    return new BinaryCatalogInput(new ByteArrayInputStream(bytes.toByteArray()));
+  }
+
+  private static Catalog javaRoundTrip(final Catalog catalog) throws Exception {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(catalog);
+    }
+    try (final ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      return (Catalog) in.readObject();
+    }
+  }
+
+  private static byte[] write(final Catalog catalog) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final BinaryCatalogWriter writer = new BinaryCatalogWriter(bytes)) {
+      writer.write(catalog);
+    }
+    return bytes.toByteArray();
+  }
+
+  @Test
+  public void roundTrip(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    final byte[] bytes = write(catalog);
+    final Catalog readCatalog;
+    try (final BinaryCatalogReader reader =
+        new BinaryCatalogReader(new ByteArrayInputStream(bytes))) {
+      readCatalog = reader.read();
+    }
+
+    // Full names are not quoted the same way as the database, after a catalog is read back, so
+    // compare against a catalog read back with Java serialization
+    assertThat(describe(readCatalog), is(describe(javaRoundTrip(catalog))));
+
+    // Writing the catalog that was read back gives the same bytes
+    assertThat(write(readCatalog), is(bytes));
+  }
+
+  @Test
+  public void detectFormat(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    final BufferedInputStream binaryStream =
+        new BufferedInputStream(new ByteArrayInputStream(write(catalog)));
+    assertThat(BinaryCatalogReader.isBinaryCatalog(binaryStream), is(true));
+    // Detection does not consume the stream
+    assertThat(
+        new BinaryCatalogReader(binaryStream).read().getTables().size(),
+        is(catalog.getTables().size()));
+
+    final BufferedInputStream otherStream =
+        new BufferedInputStream(new ByteArrayInputStream("SC".getBytes(StandardCharsets.US_ASCII)));
+    assertThat(BinaryCatalogReader.isBinaryCatalog(otherStream), is(false));
+    assertThat(otherStream.read(), is((int) 'S'));
+  }
+
+  @Test
+  public void badInput() throws Exception {
+    assertThrows(
+        IOException.class,
+        () ->
+            new BinaryCatalogReader(
+                    new ByteArrayInputStream("NOT A CATALOG".getBytes(StandardCharsets.US_ASCII)))
+                .read());
+
+    // Unsupported format version
+    final byte[] futureVersion = {'S', 'C', 'B', 'C', 99};
+    assertThrows(
+        IOException.class,
+        () -> new BinaryCatalogReader(new ByteArrayInputStream(futureVersion)).read());
+  }
+
+  @Test
+  public void badCounts() throws Exception {
+    // Counts that are too large are rejected before memory is allocated
+    assertThrows(IOException.class, () -> input(VALUE_STRING_ARRAY, Integer.MAX_VALUE).readValue());
+    assertThrows(IOException.class, () -> input(VALUE_BYTES, 1 << 30).readValue());
+    assertThrows(IOException.class, () -> input(1 << 30).readStrings());
+    assertThrows(IOException.class, () -> input(STRING_NEW, 1 << 30).readString());
+    // Counts that are allowed, but with less data than the count
+    assertThrows(IOException.class, () -> input(VALUE_LIST, 1 << 20).readValue());
+
+    // With a shared string table, counts cannot be more than the remaining bytes
+    final byte[] sharedBytes = {100, 0, 0};
+    assertThrows(
+        IOException.class,
+        () ->
+            new BinaryCatalogInput(
+                    new ByteArrayInputStream(sharedBytes), Collections.<String>emptyList())
+                .readCount());
+  }
+
+  @Test
+  public void binaryDataPlaceholder() throws Exception {
+    // Binary data is a placeholder with no content, so it is read back as a new placeholder
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final BinaryCatalogOutput out = new BinaryCatalogOutput(bytes)) {
+      out.writeValue(new BinaryData());
+      out.writeValue("after");
+    }
+    try (final BinaryCatalogInput in =
+        new BinaryCatalogInput(new ByteArrayInputStream(bytes.toByteArray()))) {
+      final Object value = in.readValue();
+      assertThat(value, is(instanceOf(BinaryData.class)));
+      assertThat(value.toString(), is("<binary>"));
+      assertThat(in.readValue(), is("after"));
+    }
+  }
+}
@@ -0,0 +1,156 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.test.utility.WithTestDatabase;
+
+@WithTestDatabase
+public class CatalogFreezerTest {
+
+  private static final SchemaReference BOOKS = new SchemaReference("PUBLIC", "BOOKS");
+
+  private static List<String> describe(final Catalog catalog) {
+    final List<String> description = new ArrayList<>();
+    for (final Table table : catalog.getTables()) {
+      description.add(table.getFullName() + " " + table.getAttributes());
+      for (final Column column : table.getColumns()) {
+        description.add(column.getFullName() + " " + column.getAttributes());
+      }
+      for (final Index index : table.getIndexes()) {
+        description.add(index.getFullName() + " " + index.getColumns());
+      }
+      for (final TableConstraint tableConstraint : table.getTableConstraints()) {
+        description.add(tableConstraint.getFullName() + " " + tableConstraint.getDefinition());
+      }
+      description.add(String.valueOf(table.getForeignKeys()));
+      description.add(String.valueOf(table.getTriggers()));
+    }
+    description.add(String.valueOf(catalog.getRoutines()));
+    description.add(String.valueOf(catalog.getSequences()));
+    description.add(String.valueOf(catalog.getSynonyms()));
+    return description;
+  }
+
+  @Test
+  public void freeze(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final List<String> description = describe(catalog);
+    assertThat(CatalogFreezer.isFrozen(catalog), is(false));
+
+    assertThat(CatalogFreezer.freeze(catalog), is(sameInstance(catalog)));
+    assertThat(CatalogFreezer.isFrozen(catalog), is(true));
+    assertThat(describe(catalog), is(description));
+
+    // Freezing again has no effect
+    CatalogFreezer.freeze(catalog);
+    assertThat(describe(catalog), is(description));
+
+    // Named objects cannot be added or removed
+    final MutableTable table = (MutableTable) catalog.lookupTable(BOOKS, "AUTHORS").get();
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> table.addColumn(new MutableColumn(table, "NEWCOLUMN")));
+    assertThrows(
+        UnsupportedOperationException.class,
+        () -> catalog.reduce(Table.class, tables -> tables.filter(t -> false)));
+
+    // Attributes can still be set
+    final Column column = table.lookupColumn("ID").get();
+    column.setAttribute("key", "value");
+    assertThat(column.getAttribute("key"), is("value"));
+    column.removeAttribute("key");
+    assertThat(column.hasAttribute("key"), is(false));
+  }
+
+  @Test
+  public void deserializeFrozen(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    CatalogFreezer.freeze(catalog);
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(catalog);
+    }
+    final Catalog deserializedCatalog;
+    try (final ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserializedCatalog = (Catalog) in.readObject();
+    }
+
+    assertThat(CatalogFreezer.isFrozen(deserializedCatalog), is(false));
+    assertThat(describe(deserializedCatalog), is(describe(catalog)));
+
+    final MutableTable table =
+        (MutableTable) deserializedCatalog.lookupTable(BOOKS, "AUTHORS").get();
+    table.addColumn(new MutableColumn(table, "NEWCOLUMN"));
+    assertThat(table.lookupColumn("NEWCOLUMN").isPresent(), is(true));
+  }
+
+  @Test
+  public void freezeEmptyLists() throws Exception {
+    final MutableTable table = new MutableTable(BOOKS, "TABLE");
+    final NamedObjectList<MutableColumn> emptyList = new NamedObjectList<>();
+    final NamedObjectList<MutableColumn> emptiedList = new NamedObjectList<>();
+    final MutableColumn column = new MutableColumn(table, "COLUMN");
+    emptiedList.add(column);
+    emptiedList.remove(column);
+
+    emptyList.freeze();
+    emptiedList.freeze();
+
+    // Empty lists share the same values once frozen
+    assertThat(emptyList.values(), is(empty()));
+    assertThat(emptiedList.values(), is(sameInstance(emptyList.values())));
+    assertThrows(UnsupportedOperationException.class, () -> emptyList.add(column));
+  }
+}
@@ -0,0 +1,249 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.CoreMatchers.containsString;
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItems;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.GrepOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaInfoRetrieval;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.datasource.DatabaseConnectionSourceUtility;
+
+@WithTestDatabase
+public class CrawlCancellationTest {
+
+  @Test
+  public void cancelledBeforeCrawl(final Connection connection) throws Exception {
+    final DatabaseConnectionSource dataSource =
+        DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(connection);
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                    .toOptions());
+
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions);
+    schemaCrawler.cancel();
+
+    // Schemas are still filtered, and there are none
+    final ExecutionRuntimeException exception =
+        assertThrows(ExecutionRuntimeException.class, schemaCrawler::crawl);
+    assertThat(exception.getMessage(), containsString("No matching schemas found"));
+  }
+
+  @Test
+  public void cancelledCrawl(final Connection connection) throws Exception {
+    final DatabaseConnectionSource dataSource =
+        DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(connection);
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                    .toOptions());
+
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions);
+    cancelAfter(schemaCrawler, "retrieveSchemas");
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(catalog.getSchemas().isEmpty(), is(false));
+    assertThat(catalog.getTables(), is(empty()));
+    assertThat(
+        catalog.getCrawlInfo().getSkippedRetrievals(),
+        hasItems(
+            SchemaInfoRetrieval.retrieveTables.name(),
+            SchemaInfoRetrieval.retrieveTableColumns.name()));
+  }
+
+  @Test
+  public void cancelledCrawlIsFiltered(final Connection connection) throws Exception {
+    final DatabaseConnectionSource dataSource =
+        DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(connection);
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                    .toOptions())
+            .withGrepOptions(
+                GrepOptionsBuilder.builder()
+                    .includeGreppedTables(Pattern.compile(".*\\.BOOKS\\.AUTHORS"))
+                    .toOptions());
+
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions);
+    cancelAfter(schemaCrawler, SchemaInfoRetrieval.retrieveTables.name());
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(
+        catalog.getCrawlInfo().getSkippedRetrievals(),
+        hasItem(SchemaInfoRetrieval.retrieveTableColumns.name()));
+    // Tables are still filtered, even though columns were not retrieved
+    final List<String> tableNames = new ArrayList<>();
+    for (final Table table : catalog.getTables()) {
+      tableNames.add(table.getFullName());
+    }
+    assertThat(tableNames, contains("PUBLIC.BOOKS.AUTHORS"));
+  }
+
+  @Test
+  public void completeCrawl(final Connection connection) throws Exception {
+    final DatabaseConnectionSource dataSource =
+        DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(connection);
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                    .withCrawlTimeout(Duration.ofHours(1))
+                    .withRetrievalTimeout(Duration.ofMinutes(10))
+                    .toOptions());
+
+    final SchemaCrawler schemaCrawler =
+        new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions);
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(catalog.getTables().isEmpty(), is(false));
+    assertThat(catalog.getCrawlInfo().getSkippedRetrievals(), is(empty()));
+  }
+
+  @Test
+  public void queryTimeout(final Connection connection) throws Exception {
+    try (final CrawlCancellation cancellation = new CrawlCancellation()) {
+      final int[] queryTimeout = new int[1];
+      cancellation
+          .retrieval(
+              "retrieval",
+              Duration.ofSeconds(5),
+              () -> {
+                try (final Statement statement = cancellation.track(connection).createStatement()) {
+                  queryTimeout[0] = statement.getQueryTimeout();
+                }
+              })
+          .run();
+
+      assertThat(queryTimeout[0], is(5));
+      assertThat(cancellation.getSkippedRetrievals(), is(empty()));
+    }
+  }
+
+  @Test
+  public void retrievalFailure() throws Exception {
+    try (final CrawlCancellation cancellation = new CrawlCancellation()) {
+      final SQLException exception =
+          assertThrows(
+              SQLException.class,
+              () ->
+                  cancellation
+                      .retrieval(
+                          "retrieval",
+                          Duration.ZERO,
+                          () -> {
+                            throw new SQLException("Failure");
+                          })
+                      .run());
+
+      assertThat(exception.getMessage(), is("Failure"));
+      assertThat(cancellation.getSkippedRetrievals(), is(empty()));
+    }
+  }
+
+  @Test
+  public void retrievalTimeout() throws Exception {
+    try (final CrawlCancellation cancellation = new CrawlCancellation()) {
+      cancellation
+          .retrieval(
+              "retrieval",
+              Duration.ofSeconds(1),
+              () -> {
+                throw new SQLTimeoutException("Timed out");
+              })
+          .run();
+
+      assertThat(cancellation.getSkippedRetrievals(), hasItem("retrieval"));
+      assertThat(cancellation.isCancelled(), is(false));
+    }
+  }
+
+  @Test
+  public void cancelledRetrieval() throws Exception {
+    try (final CrawlCancellation cancellation = new CrawlCancellation()) {
+      cancellation.cancel();
+
+      final boolean[] hasRun = new boolean[1];
+      cancellation.retrieval("retrieval", Duration.ZERO, () -> hasRun[0] = true).run();
+
+      assertThat(hasRun[0], is(false));
+      assertThat(cancellation.isCancelled(), is(true));
+      assertThat(cancellation.getSkippedRetrievals(), hasItem("retrieval"));
+    }
+  }
+
+  private void cancelAfter(final SchemaCrawler schemaCrawler, final String retrievalName) {
+    schemaCrawler.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void retrievalCompleted(final String completedRetrievalName) {
+            if (retrievalName.equals(completedRetrievalName)) {
+              schemaCrawler.cancel();
+            }
+          }
+        });
+  }
+}
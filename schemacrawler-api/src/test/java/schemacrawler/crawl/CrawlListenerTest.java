@@ -0,0 +1,164 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.CoreMatchers.hasItems;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.not;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
+
+import java.sql.Connection;
+import java.sql.SQLTimeoutException;
+import java.util.Collection;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaInfoRetrieval;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.datasource.DatabaseConnectionSourceUtility;
+import us.fatehi.utility.scheduler.TaskRunners;
+
+@WithTestDatabase
+public class CrawlListenerTest {
+
+  @Test
+  public void crawlListener(final Connection connection) throws Exception {
+    final Collection<String> completedRetrievals = new ConcurrentLinkedQueue<>();
+    final Collection<Table> completedTables = new ConcurrentLinkedQueue<>();
+
+    final SchemaCrawler schemaCrawler = newSchemaCrawler(connection);
+    // A failing listener should not stop the crawl, or other listeners
+    schemaCrawler.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void tableCompleted(final Table table) {
+            throw new RuntimeException("Listener failure");
+          }
+        });
+    schemaCrawler.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void retrievalCompleted(final String retrievalName) {
+            completedRetrievals.add(retrievalName);
+          }
+
+          @Override
+          public void tableCompleted(final Table table) {
+            // All columns should be available
+            assertThat(table.getColumns().isEmpty(), is(false));
+            completedTables.add(table);
+          }
+        });
+    final Catalog catalog = schemaCrawler.crawl();
+
+    assertThat(completedTables, containsInAnyOrder(catalog.getTables().toArray()));
+    assertThat(
+        completedRetrievals,
+        hasItems(
+            "retrieveSchemas",
+            SchemaInfoRetrieval.retrieveTables.name(),
+            SchemaInfoRetrieval.retrieveTableColumns.name(),
+            "completeTables"));
+    // Retrievals that were not requested are not notified
+    assertThat(
+        completedRetrievals, not(hasItems(SchemaInfoRetrieval.retrieveTablePrivileges.name())));
+  }
+
+  @Test
+  public void noCrawlListeners(final Connection connection) throws Exception {
+    final Catalog catalog = newSchemaCrawler(connection).crawl();
+    assertThat(catalog.getTables().isEmpty(), is(false));
+  }
+
+  @Test
+  public void timedOutRetrieval() throws Exception {
+    final Collection<String> completedRetrievals = new ConcurrentLinkedQueue<>();
+    final Collection<String> skippedRetrievals = new ConcurrentLinkedQueue<>();
+
+    final CrawlListeners listeners = new CrawlListeners();
+    listeners.add(
+        new CrawlListener() {
+          @Override
+          public void retrievalCompleted(final String retrievalName) {
+            completedRetrievals.add(retrievalName);
+          }
+
+          @Override
+          public void retrievalSkipped(final String retrievalName) {
+            skippedRetrievals.add(retrievalName);
+          }
+        });
+
+    try (final CrawlCancellation cancellation = new CrawlCancellation()) {
+      final RetrievalTaskRunner taskRunner =
+          new RetrievalTaskRunner(
+              TaskRunners.getTaskRunner("timedOutRetrieval", 1),
+              SchemaInfoLevelBuilder.standard(),
+              cancellation,
+              listeners);
+      taskRunner
+          .add("completedRetrieval", () -> {})
+          .add(
+              "timedOutRetrieval",
+              () -> {
+                throw new SQLTimeoutException("Timed out");
+              })
+          .addLocal("localTask", () -> {})
+          .dependsOn("timedOutRetrieval");
+      taskRunner.submit();
+      taskRunner.stopAndLogTime();
+    }
+
+    assertThat(completedRetrievals, containsInAnyOrder("completedRetrieval", "localTask"));
+    assertThat(skippedRetrievals, contains("timedOutRetrieval"));
+  }
+
+  private SchemaCrawler newSchemaCrawler(final Connection connection) {
+    final DatabaseConnectionSource dataSource =
+        DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(connection);
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLoadOptions(
+                LoadOptionsBuilder.builder()
+                    .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                    .toOptions());
+    return new SchemaCrawler(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions);
+  }
+}
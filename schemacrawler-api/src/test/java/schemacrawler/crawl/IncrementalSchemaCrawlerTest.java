@@ -0,0 +1,317 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.CoreMatchers.hasItem;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static schemacrawler.schemacrawler.InformationSchemaKey.EXT_CHANGED_TABLES;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.regex.Pattern;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.FilterOptionsBuilder;
+import schemacrawler.schemacrawler.GrepOptionsBuilder;
+import schemacrawler.schemacrawler.InformationSchemaViewsBuilder;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.datasource.DatabaseConnectionSourceUtility;
+
+@WithTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class IncrementalSchemaCrawlerTest {
+
+  private static final SchemaReference BOOKS = new SchemaReference("PUBLIC", "BOOKS");
+  private static final int CHAIN_LENGTH = 2000;
+
+  private static Map<String, List<String>> describe(final Catalog catalog) {
+    final Map<String, List<String>> description = new TreeMap<>();
+    for (final Table table : catalog.getTables()) {
+      final List<String> details = new ArrayList<>();
+      for (final Column column : table.getColumns()) {
+        details.add(column.getFullName());
+      }
+      for (final ForeignKey foreignKey : table.getForeignKeys()) {
+        details.add(foreignKey.toString());
+      }
+      details.add(String.valueOf(table.getTableConstraints().size()));
+      description.put(table.getFullName(), details);
+    }
+    return description;
+  }
+
+  @Test
+  public void changedTable(final Connection connection) throws Exception {
+    final String changedTablesSql =
+        "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE TABLE_SCHEMA = 'BOOKS' AND TABLE_NAME = 'AUTHORS' "
+            + "AND '${changedsince}' IS NOT NULL";
+    final SchemaRetrievalOptions schemaRetrievalOptions = withChangedTables(changedTablesSql);
+
+    final Catalog previousCatalog =
+        new SchemaCrawler(dataSource(connection), schemaRetrievalOptions, options()).crawl();
+    final Map<String, List<String>> previousDescription = describe(previousCatalog);
+    final String previousRunId = previousCatalog.getCrawlInfo().getRunId();
+    final Table previousAuthors = previousCatalog.lookupTable(BOOKS, "AUTHORS").get();
+    final Table previousBookAuthors = previousCatalog.lookupTable(BOOKS, "BOOKAUTHORS").get();
+    final Catalog catalog =
+        new IncrementalSchemaCrawler(dataSource(connection), schemaRetrievalOptions, options())
+            .crawl(previousCatalog);
+
+    // Previous catalog is refreshed in place
+    assertThat(catalog, is(sameInstance(previousCatalog)));
+    assertThat(describe(catalog), is(previousDescription));
+    assertThat(catalog.getCrawlInfo().getRunId(), not(is(previousRunId)));
+
+    // Changed table is crawled again, and linked to unchanged tables
+    final Table authors = catalog.lookupTable(BOOKS, "AUTHORS").get();
+    final Table bookAuthors = catalog.lookupTable(BOOKS, "BOOKAUTHORS").get();
+    assertThat(authors, not(sameInstance(previousAuthors)));
+    assertThat(bookAuthors, is(sameInstance(previousBookAuthors)));
+    final ForeignKey foreignKey = bookAuthors.lookupForeignKey("Z_FK_AUTHOR").get();
+    assertThat(foreignKey.getPrimaryKeyTable(), is(sameInstance(authors)));
+    assertThat(foreignKey.getForeignKeyTable(), is(sameInstance(bookAuthors)));
+    assertThat(authors.getExportedForeignKeys(), hasItem(sameInstance(foreignKey)));
+    assertThat(
+        bookAuthors.lookupColumn("AUTHORID").get().getReferencedColumn().getParent(),
+        is(sameInstance(authors)));
+  }
+
+  @Test
+  public void frozenCatalog(final Connection connection) throws Exception {
+    final String changedTablesSql =
+        "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE TABLE_SCHEMA = 'BOOKS' AND TABLE_NAME = 'AUTHORS' "
+            + "AND '${changedsince}' IS NOT NULL";
+    final SchemaRetrievalOptions schemaRetrievalOptions = withChangedTables(changedTablesSql);
+
+    final Catalog previousCatalog =
+        CatalogFreezer.freeze(
+            new SchemaCrawler(dataSource(connection), schemaRetrievalOptions, options()).crawl());
+    final Catalog catalog =
+        new IncrementalSchemaCrawler(dataSource(connection), schemaRetrievalOptions, options())
+            .crawl(previousCatalog);
+
+    // Frozen catalog cannot be refreshed in place, so the whole database is crawled again
+    assertThat(catalog, not(sameInstance(previousCatalog)));
+    assertThat(describe(catalog), is(describe(previousCatalog)));
+    assertThat(
+        catalog.lookupTable(BOOKS, "BOOKAUTHORS").get(),
+        not(sameInstance(previousCatalog.lookupTable(BOOKS, "BOOKAUTHORS").get())));
+  }
+
+  @Test
+  public void deepForeignKeyChain() throws Exception {
+    final SchemaReference chain = new SchemaReference("PUBLIC", "CHAIN");
+    final String changedTablesSql =
+        "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE TABLE_SCHEMA = 'CHAIN' AND TABLE_NAME = 'TABLE_000001' "
+            + "AND '${changedsince}' IS NOT NULL";
+    final SchemaRetrievalOptions schemaRetrievalOptions = withChangedTables(changedTablesSql);
+    final SchemaCrawlerOptions options =
+        options()
+            .withLimitOptions(
+                LimitOptionsBuilder.builder()
+                    .includeSchemas(new RegularExpressionInclusionRule(".*\\.CHAIN"))
+                    .toOptions());
+
+    try (final Connection connection =
+        DriverManager.getConnection("jdbc:hsqldb:mem:fkchain", "sa", "")) {
+      // Each table references the one before it, so that the tables form one long chain
+      execute(connection, "CREATE SCHEMA CHAIN AUTHORIZATION DBA");
+      execute(connection, "CREATE TABLE CHAIN.TABLE_000001 (ID INTEGER PRIMARY KEY)");
+      for (int i = 2; i <= CHAIN_LENGTH; i++) {
+        execute(
+            connection,
+            String.format(
+                "CREATE TABLE CHAIN.TABLE_%06d (ID INTEGER PRIMARY KEY, PREVIOUSID INTEGER,"
+                    + " CONSTRAINT FK_%06d FOREIGN KEY (PREVIOUSID) REFERENCES CHAIN.TABLE_%06d"
+                    + " (ID))",
+                i, i, i - 1));
+      }
+
+      final Catalog previousCatalog =
+          new SchemaCrawler(dataSource(connection), schemaRetrievalOptions, options).crawl();
+      final Map<String, List<String>> previousDescription = describe(previousCatalog);
+      final Catalog catalog =
+          new IncrementalSchemaCrawler(dataSource(connection), schemaRetrievalOptions, options)
+              .crawl(previousCatalog);
+
+      assertThat(catalog.getTables().size(), is(CHAIN_LENGTH));
+      assertThat(describe(catalog), is(previousDescription));
+      final Table first = catalog.lookupTable(chain, "TABLE_000001").get();
+      final Table second = catalog.lookupTable(chain, "TABLE_000002").get();
+      assertThat(
+          second.lookupForeignKey("FK_000002").get().getPrimaryKeyTable(), is(sameInstance(first)));
+
+      execute(connection, "SHUTDOWN");
+    }
+  }
+
+  @Test
+  public void grepAndFilterOptions(final Connection connection) throws Exception {
+    // Only the child table of the grepped table changes
+    final String changedTablesSql =
+        "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE TABLE_SCHEMA = 'BOOKS' AND TABLE_NAME = 'BOOKAUTHORS' "
+            + "AND '${changedsince}' IS NOT NULL";
+    final SchemaRetrievalOptions schemaRetrievalOptions = withChangedTables(changedTablesSql);
+    final SchemaCrawlerOptions options =
+        options()
+            .withGrepOptions(
+                GrepOptionsBuilder.builder()
+                    .includeGreppedTables(Pattern.compile(".*\\.BOOKS\\.AUTHORS"))
+                    .toOptions())
+            .withFilterOptions(FilterOptionsBuilder.builder().childTableFilterDepth(1).toOptions());
+
+    final Catalog previousCatalog =
+        new SchemaCrawler(dataSource(connection), schemaRetrievalOptions, options).crawl();
+    final Map<String, List<String>> previousDescription = describe(previousCatalog);
+    final Table previousBookAuthors = previousCatalog.lookupTable(BOOKS, "BOOKAUTHORS").get();
+    final Catalog catalog =
+        new IncrementalSchemaCrawler(dataSource(connection), schemaRetrievalOptions, options)
+            .crawl(previousCatalog);
+
+    assertThat(
+        previousDescription.keySet(), contains("PUBLIC.BOOKS.AUTHORS", "PUBLIC.BOOKS.BOOKAUTHORS"));
+    assertThat(describe(catalog), is(previousDescription));
+
+    // Changed child table is crawled again, even though it does not match grep by itself
+    assertThat(
+        catalog.lookupTable(BOOKS, "BOOKAUTHORS").get(), not(sameInstance(previousBookAuthors)));
+  }
+
+  @Test
+  public void newAndDroppedTables(final Connection connection) throws Exception {
+    final String changedTablesSql =
+        "SELECT TABLE_CATALOG, TABLE_SCHEMA, TABLE_NAME FROM INFORMATION_SCHEMA.TABLES "
+            + "WHERE '${changedsince}' IS NULL";
+    final SchemaRetrievalOptions schemaRetrievalOptions = withChangedTables(changedTablesSql);
+    final IncrementalSchemaCrawler incrementalSchemaCrawler =
+        new IncrementalSchemaCrawler(dataSource(connection), schemaRetrievalOptions, options());
+
+    final Catalog previousCatalog =
+        new SchemaCrawler(dataSource(connection), schemaRetrievalOptions, options()).crawl();
+    final Map<String, List<String>> previousDescription = describe(previousCatalog);
+    final int previousTablesCount = previousCatalog.getTables().size();
+
+    execute(
+        connection,
+        "CREATE TABLE BOOKS.REVIEWS (ID INTEGER PRIMARY KEY, AUTHORID INTEGER, "
+            + "CONSTRAINT FK_REVIEW_AUTHOR FOREIGN KEY (AUTHORID) REFERENCES BOOKS.AUTHORS (ID))");
+    final Catalog catalog = incrementalSchemaCrawler.crawl(previousCatalog);
+
+    assertThat(catalog.getTables().size(), is(previousTablesCount + 1));
+    final Table authors = catalog.lookupTable(BOOKS, "AUTHORS").get();
+    final Table reviews = catalog.lookupTable(BOOKS, "REVIEWS").get();
+    final ForeignKey foreignKey = reviews.lookupForeignKey("FK_REVIEW_AUTHOR").get();
+    assertThat(foreignKey.getPrimaryKeyTable(), is(sameInstance(authors)));
+    assertThat(authors.getExportedForeignKeys(), hasItem(sameInstance(foreignKey)));
+
+    execute(connection, "DROP TABLE BOOKS.REVIEWS");
+    final Catalog droppedCatalog = incrementalSchemaCrawler.crawl(catalog);
+
+    assertThat(describe(droppedCatalog), is(previousDescription));
+    assertThat(droppedCatalog.lookupTable(BOOKS, "REVIEWS").isPresent(), is(false));
+  }
+
+  @Test
+  public void noChangedTablesQuery(final Connection connection) throws Exception {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+
+    final Catalog previousCatalog =
+        new SchemaCrawler(dataSource(connection), schemaRetrievalOptions, options()).crawl();
+    final Catalog catalog =
+        new IncrementalSchemaCrawler(dataSource(connection), schemaRetrievalOptions, options())
+            .crawl(previousCatalog);
+
+    // Whole database is crawled again
+    assertThat(describe(catalog), is(describe(previousCatalog)));
+    assertThat(
+        catalog.lookupTable(BOOKS, "AUTHORS").get(),
+        not(sameInstance(previousCatalog.lookupTable(BOOKS, "AUTHORS").get())));
+  }
+
+  private DatabaseConnectionSource dataSource(final Connection connection) {
+    return DatabaseConnectionSourceUtility.newTestDatabaseConnectionSource(connection);
+  }
+
+  private void execute(final Connection connection, final String sql) throws Exception {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute(sql);
+    }
+  }
+
+  private SchemaCrawlerOptions options() {
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionInclusionRule(".*\\.BOOKS"))
+                .toOptions())
+        .withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .withSchemaInfoLevel(SchemaInfoLevelBuilder.standard())
+                .toOptions());
+  }
+
+  private SchemaRetrievalOptions withChangedTables(final String changedTablesSql) {
+    return SchemaRetrievalOptionsBuilder.builder()
+        .withInformationSchemaViews(
+            InformationSchemaViewsBuilder.builder()
+                .withSql(EXT_CHANGED_TABLES, changedTablesSql)
+                .toOptions())
+        .toOptions();
+  }
+}
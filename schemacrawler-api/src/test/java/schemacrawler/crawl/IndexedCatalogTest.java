@@ -0,0 +1,207 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.FilterOptionsBuilder;
+import schemacrawler.schemacrawler.GrepOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.test.utility.WithTestDatabase;
+import us.fatehi.utility.IOUtility;
+
+@WithTestDatabase
+public class IndexedCatalogTest {
+
+  private static Catalog javaRoundTrip(final Catalog catalog) throws Exception {
+    final Path file = IOUtility.createTempFilePath("catalog", ".ser");
+    try (final ObjectOutputStream out = new ObjectOutputStream(Files.newOutputStream(file))) {
+      out.writeObject(catalog);
+    }
+    try (final ObjectInputStream in = new ObjectInputStream(Files.newInputStream(file))) {
+      return (Catalog) in.readObject();
+    }
+  }
+
+  private static List<String> tableNames(final Catalog catalog) {
+    final List<String> tableNames = new ArrayList<>();
+    for (final Table table : catalog.getTables()) {
+      tableNames.add(table.getFullName());
+    }
+    Collections.sort(tableNames);
+    return tableNames;
+  }
+
+  private static Path write(final Catalog catalog) throws IOException {
+    final Path file = IOUtility.createTempFilePath("catalog", ".scidx");
+    try (final IndexedCatalogWriter writer =
+        new IndexedCatalogWriter(Files.newOutputStream(file))) {
+      writer.write(catalog);
+    }
+    return file;
+  }
+
+  @Test
+  public void roundTrip(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    final Path file = write(catalog);
+    assertThat(IndexedCatalogReader.isIndexedCatalog(file), is(true));
+    final Catalog readCatalog = new IndexedCatalogReader(file).read();
+
+    assertThat(
+        BinaryCatalogTest.describe(readCatalog),
+        is(BinaryCatalogTest.describe(javaRoundTrip(catalog))));
+
+    // Writing the catalog that was read back gives the same file
+    assertThat(Files.readAllBytes(write(readCatalog)), is(Files.readAllBytes(file)));
+  }
+
+  @Test
+  public void filteredRead(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final IndexedCatalogReader reader = new IndexedCatalogReader(write(catalog));
+
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        schemaCrawlerOptionsWithMaximumSchemaInfoLevel
+            .withGrepOptions(
+                GrepOptionsBuilder.builder()
+                    .includeGreppedColumns(
+                        new RegularExpressionInclusionRule(".*\\.BOOKAUTHORS\\..*"))
+                    .toOptions())
+            .withFilterOptions(
+                FilterOptionsBuilder.builder().parentTableFilterDepth(1).toOptions());
+    final Catalog readCatalog = reader.read(schemaCrawlerOptions);
+
+    // The same tables are read as are crawled
+    final List<String> tableNames = tableNames(readCatalog);
+    assertThat(tableNames, is(not(empty())));
+    assertThat(tableNames, is(tableNames(getCatalog(connection, schemaCrawlerOptions))));
+
+    // Parent tables were read, so are not partial
+    final Table bookAuthors =
+        readCatalog.getTables().stream()
+            .filter(table -> table.getName().equals("BOOKAUTHORS"))
+            .findFirst()
+            .get();
+    final List<Table> referencingTables = new ArrayList<>();
+    for (final ForeignKey foreignKey : bookAuthors.getForeignKeys()) {
+      for (final ColumnReference columnReference : foreignKey) {
+        referencingTables.add(columnReference.getPrimaryKeyColumn().getParent());
+      }
+    }
+    assertThat(referencingTables, hasSize(2));
+    for (final Table table : referencingTables) {
+      assertThat(table, is(not(instanceOf(TablePartial.class))));
+    }
+
+    // A reader can be used again, with other options
+    assertThat(tableNames(reader.read()), is(tableNames(catalog)));
+  }
+
+  @Test
+  public void partialTables(final Connection connection) throws Exception {
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final IndexedCatalogReader reader = new IndexedCatalogReader(write(catalog));
+
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        schemaCrawlerOptionsWithMaximumSchemaInfoLevel.withGrepOptions(
+            GrepOptionsBuilder.builder()
+                .includeGreppedColumns(new RegularExpressionInclusionRule(".*\\.SALES\\..*"))
+                .toOptions());
+    final Catalog readCatalog = reader.read(schemaCrawlerOptions);
+
+    // Parent tables were not read, so all columns of a foreign key to a parent table have the
+    // same partial table
+    final Table sales =
+        readCatalog.getTables().stream()
+            .filter(table -> table.getName().equals("SALES"))
+            .findFirst()
+            .get();
+    final ForeignKey foreignKey =
+        sales.getForeignKeys().stream()
+            .filter(fk -> fk.getName().equals("FK_SALES_REGIONS"))
+            .findFirst()
+            .get();
+    final List<Table> referencedTables = new ArrayList<>();
+    for (final ColumnReference columnReference : foreignKey) {
+      referencedTables.add(columnReference.getPrimaryKeyColumn().getParent());
+    }
+    assertThat(referencedTables, hasSize(2));
+    assertThat(referencedTables.get(0), is(instanceOf(TablePartial.class)));
+    assertThat(referencedTables.get(1), is(sameInstance(referencedTables.get(0))));
+  }
+
+  @Test
+  public void badInput(final Connection connection) throws Exception {
+    final Path notACatalog = IOUtility.createTempFilePath("catalog", ".scidx");
+    Files.write(notACatalog, "NOT A CATALOG".getBytes(StandardCharsets.US_ASCII));
+    assertThat(IndexedCatalogReader.isIndexedCatalog(notACatalog), is(false));
+    assertThrows(IOException.class, () -> new IndexedCatalogReader(notACatalog));
+
+    // Truncated file
+    final Catalog catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    final byte[] bytes = Files.readAllBytes(write(catalog));
+    final Path truncated = IOUtility.createTempFilePath("catalog", ".scidx");
+    try (final OutputStream out = Files.newOutputStream(truncated)) {
+      out.write(Arrays.copyOf(bytes, bytes.length - 1));
+    }
+    assertThat(IndexedCatalogReader.isIndexedCatalog(truncated), is(true));
+    assertThrows(IOException.class, () -> new IndexedCatalogReader(truncated));
+  }
+}
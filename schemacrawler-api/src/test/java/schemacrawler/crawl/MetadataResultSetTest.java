@@ -29,12 +29,19 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.not;
+import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.nullValue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 
 import java.io.ByteArrayInputStream;
 import java.math.BigInteger;
@@ -45,12 +52,15 @@ import java.sql.SQLException;
 import java.sql.Statement;
 import java.time.DayOfWeek;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 import java.util.function.BiConsumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
+import org.mockito.InOrder;
 
 import schemacrawler.schema.ColumnDataType;
 import schemacrawler.schema.ResultsColumns;
@@ -58,6 +68,7 @@ import schemacrawler.test.utility.ResolveTestContext;
 import schemacrawler.test.utility.WithTestDatabase;
 import schemacrawler.utility.BinaryData;
 import us.fatehi.utility.database.DatabaseUtility;
+import us.fatehi.utility.string.StringInterner;
 
 @WithTestDatabase
 @ResolveTestContext
@@ -110,6 +121,71 @@ public class MetadataResultSetTest {
     }
   }
 
+  @Test
+  @DisplayName("Grow fetch size as rows are read")
+  public void adaptiveFetchSize(final Connection connection) throws Exception {
+
+    final String sql = "SELECT * FROM UNNEST(SEQUENCE_ARRAY(1, 100, 1)) AS T(COLUMN1)";
+    try (final Statement statement = connection.createStatement(); ) {
+
+      final ResultSet resultSet = spy(DatabaseUtility.executeSql(statement, sql));
+      try (final MetadataResultSet results =
+          new MetadataResultSet(resultSet, "adaptiveFetchSize", 10, true)) {
+        int rowCount = 0;
+        while (results.next()) {
+          rowCount = rowCount + 1;
+        }
+        assertThat(rowCount, is(100));
+      }
+      final InOrder inOrder = inOrder(resultSet);
+      for (final int fetchSize : new int[] {10, 20, 40, 80, 160}) {
+        inOrder.verify(resultSet).setFetchSize(fetchSize);
+      }
+      verify(resultSet, times(5)).setFetchSize(anyInt());
+
+      final ResultSet fixedResultSet = spy(DatabaseUtility.executeSql(statement, sql));
+      try (final MetadataResultSet results =
+          new MetadataResultSet(fixedResultSet, "fixedFetchSize", 10, false)) {
+        while (results.next()) {
+          // Read all rows
+        }
+      }
+      verify(fixedResultSet, times(1)).setFetchSize(anyInt());
+      verify(fixedResultSet).setFetchSize(10);
+    }
+  }
+
+  @Test
+  @DisplayName("Retrieve unread values as attributes")
+  public void attributes(final Connection connection) throws Exception {
+
+    try (final Statement statement = connection.createStatement(); ) {
+      final String sql =
+          "SELECT * FROM (VALUES(1, 'A', TRUE), (2, 'B', FALSE)) AS T(COLUMN1, COLUMN2, COLUMN3)";
+      try (final MetadataResultSet results =
+          new MetadataResultSet(DatabaseUtility.executeSql(statement, sql), "attributes")) {
+
+        assertThat(results.next(), is(true));
+        assertThat(results.getInt("column1", 0), is(1));
+        assertThat(results.getString("UNKNOWN"), is(nullValue()));
+        final Map<String, Object> attributes1 = results.getAttributes();
+        assertThat(attributes1.size(), is(2));
+        assertThat(attributes1.get("COLUMN2"), is("A"));
+        assertThat(attributes1.get("COLUMN3"), is(true));
+
+        // Columns read in the previous row are not carried over
+        assertThat(results.next(), is(true));
+        assertThat(results.getString("COLUMN2"), is("B"));
+        assertThat(results.getBoolean("COLUMN3"), is(false));
+        final Map<String, Object> attributes2 = results.getAttributes();
+        assertThat(attributes2.size(), is(1));
+        assertThat(attributes2.get("COLUMN1"), is(2));
+
+        assertThat(results.next(), is(false));
+      }
+    }
+  }
+
   @Test
   @DisplayName("Retrieve boolean values from results")
   public void booleanValues(final Connection connection) throws Exception {
@@ -305,4 +381,40 @@ public class MetadataResultSetTest {
       }
     }
   }
+
+  @Test
+  @DisplayName("Pool identifier strings across rows")
+  public void stringInterning(final Connection connection) throws Exception {
+
+    final String longValue = String.join("", Collections.nCopies(200, "X"));
+    final String sql =
+        "SELECT * FROM (VALUES('A'), ('A'), ('"
+            + longValue
+            + "'), ('"
+            + longValue
+            + "')) AS T(COLUMN1)";
+    final StringInterner stringInterner = new StringInterner();
+    try (final Statement statement = connection.createStatement(); ) {
+      try (final MetadataResultSet results =
+          new MetadataResultSet(DatabaseUtility.executeSql(statement, sql), "stringInterning")) {
+        results.setStringInterner(stringInterner);
+
+        assertThat(results.next(), is(true));
+        final String first = results.getString("COLUMN1");
+        assertThat(results.next(), is(true));
+        final String second = results.getString("COLUMN1");
+        assertThat(second, is(sameInstance(first)));
+        assertThat(second, is("A"));
+
+        // Long values are not pooled
+        assertThat(results.next(), is(true));
+        final String firstLong = results.getString("COLUMN1");
+        assertThat(results.next(), is(true));
+        final String secondLong = results.getString("COLUMN1");
+        assertThat(secondLong, is(firstLong));
+        assertThat(secondLong, is(not(sameInstance(firstLong))));
+      }
+    }
+    assertThat(stringInterner.size(), is(1));
+  }
 }
@@ -29,7 +29,17 @@ http://www.gnu.org/licenses/
 package schemacrawler.crawl;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
@@ -62,4 +72,66 @@ public class NamedObjectTest {
     }
     assertThat(tables.size(), is(schemaNames.length * tableNames.length));
   }
+
+  @Test
+  public void modifiableAfterDeserialization() throws Exception {
+    final Schema schema = new SchemaReference("CATALOG", "PUBLIC");
+    final NamedObjectList<Table> tables = new NamedObjectList<>();
+    tables.add(new MutableTable(schema, "TABLE2"));
+    tables.add(new MutableTable(schema, "TABLE1"));
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+      out.writeObject(tables);
+    }
+    final NamedObjectList<Table> deserializedTables;
+    try (final ObjectInputStream in =
+        new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+      deserializedTables = (NamedObjectList<Table>) in.readObject();
+    }
+
+    final List<Table> values = deserializedTables.values();
+    assertThat(values.size(), is(2));
+    assertThat(values.get(0).getName(), is("TABLE1"));
+
+    final MutableTable table3 = new MutableTable(schema, "TABLE3");
+    deserializedTables.add(table3);
+    assertThat(deserializedTables.values().size(), is(3));
+    deserializedTables.remove(table3);
+    assertThat(deserializedTables.values().size(), is(2));
+  }
+
+  @Test
+  public void sortedValuesSnapshot() {
+    final Schema schema = new SchemaReference("CATALOG", "PUBLIC");
+    final MutableTable table1 = new MutableTable(schema, "TABLE1");
+    final MutableTable table2 = new MutableTable(schema, "TABLE2");
+    final MutableTable table3 = new MutableTable(schema, "TABLE3");
+
+    final NamedObjectList<Table> tables = new NamedObjectList<>();
+    tables.add(table3);
+    tables.add(table1);
+
+    final List<Table> values = tables.values();
+    assertThat(values, contains(table1, table3));
+    assertThat(tables.values(), is(sameInstance(values)));
+    assertThrows(UnsupportedOperationException.class, () -> values.add(table2));
+
+    // Snapshot is rebuilt after a modification
+    tables.add(table2);
+    assertThat(tables.values(), is(not(sameInstance(values))));
+    assertThat(tables.values(), contains(table1, table2, table3));
+    assertThat(values, contains(table1, table3));
+
+    // Snapshot is rebuilt when the sort order changes
+    table3.setSortIndex(-1);
+    assertThat(tables.values(), contains(table3, table1, table2));
+    table3.setSortIndex(0);
+
+    tables.remove(table1);
+    assertThat(tables.values(), contains(table2, table3));
+
+    tables.filter(table -> !table.getName().equals("TABLE3"));
+    assertThat(tables.values(), contains(table2));
+  }
 }
@@ -31,12 +31,31 @@ package schemacrawler.schemacrawler;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
 
+import java.time.Duration;
+
 import org.junit.jupiter.api.Test;
 
 import us.fatehi.utility.scheduler.TaskRunner;
 
 public class LoadOptionsBuilderTest {
 
+  @Test
+  public void crawlTimeout() {
+    final LoadOptionsBuilder loadOptionsBuilder = LoadOptionsBuilder.builder();
+
+    // Default
+    assertThat(loadOptionsBuilder.toOptions().getCrawlTimeout(), is(Duration.ZERO));
+
+    loadOptionsBuilder.withCrawlTimeout(Duration.ofMinutes(5));
+    assertThat(loadOptionsBuilder.toOptions().getCrawlTimeout(), is(Duration.ofMinutes(5)));
+
+    loadOptionsBuilder.withCrawlTimeout(Duration.ofSeconds(-1));
+    assertThat(loadOptionsBuilder.toOptions().getCrawlTimeout(), is(Duration.ZERO));
+
+    loadOptionsBuilder.withCrawlTimeout(null);
+    assertThat(loadOptionsBuilder.toOptions().getCrawlTimeout(), is(Duration.ZERO));
+  }
+
   @Test
   public void maxThreads() {
     final LoadOptionsBuilder loadOptionsBuilder = LoadOptionsBuilder.builder();
@@ -65,4 +84,37 @@ public class LoadOptionsBuilderTest {
     loadOptionsBuilder.withMaxThreads(Integer.MAX_VALUE);
     assertThat(loadOptionsBuilder.toOptions().getMaxThreads(), is(TaskRunner.MAX_THREADS));
   }
+
+  @Test
+  public void retrievalTimeout() {
+    final LoadOptionsBuilder loadOptionsBuilder = LoadOptionsBuilder.builder();
+
+    // Default
+    LoadOptions loadOptions = loadOptionsBuilder.toOptions();
+    assertThat(loadOptions.getRetrievalTimeout(), is(Duration.ZERO));
+    assertThat(
+        loadOptions.getRetrievalTimeout(SchemaInfoRetrieval.retrieveIndexes), is(Duration.ZERO));
+
+    loadOptionsBuilder
+        .withRetrievalTimeout(Duration.ofSeconds(30))
+        .withRetrievalTimeout(SchemaInfoRetrieval.retrieveIndexes, Duration.ofMinutes(2));
+    loadOptions = loadOptionsBuilder.toOptions();
+    assertThat(loadOptions.getRetrievalTimeout(), is(Duration.ofSeconds(30)));
+    assertThat(loadOptions.getRetrievalTimeout(null), is(Duration.ofSeconds(30)));
+    assertThat(
+        loadOptions.getRetrievalTimeout(SchemaInfoRetrieval.retrieveIndexes),
+        is(Duration.ofMinutes(2)));
+    assertThat(
+        loadOptions.getRetrievalTimeout(SchemaInfoRetrieval.retrieveTableColumns),
+        is(Duration.ofSeconds(30)));
+
+    // Copy
+    loadOptions = LoadOptionsBuilder.builder().fromOptions(loadOptions).toOptions();
+    assertThat(
+        loadOptions.getRetrievalTimeout(SchemaInfoRetrieval.retrieveIndexes),
+        is(Duration.ofMinutes(2)));
+
+    loadOptionsBuilder.withRetrievalTimeout(Duration.ofSeconds(-1));
+    assertThat(loadOptionsBuilder.toOptions().getRetrievalTimeout(), is(Duration.ZERO));
+  }
 }
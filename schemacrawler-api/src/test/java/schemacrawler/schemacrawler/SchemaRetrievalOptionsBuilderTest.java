@@ -209,6 +209,46 @@ public class SchemaRetrievalOptionsBuilderTest {
         is(EnumDataTypeInfo.EnumDataTypeTypes.not_enumerated));
   }
 
+  @Test
+  public void fetchSize() {
+    final SchemaRetrievalOptionsBuilder builder = SchemaRetrievalOptionsBuilder.builder();
+
+    SchemaRetrievalOptions options = builder.toOptions();
+    assertThat(options.getFetchSize(), is(20));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(20));
+    assertThat(options.isAdaptiveFetchSize(), is(false));
+
+    builder
+        .withFetchSize(100)
+        .withFetchSize(InformationSchemaKey.TABLE_COLUMNS, 1000)
+        .withFetchSize(null, 10)
+        .withAdaptiveFetchSize(true);
+    options = builder.toOptions();
+    assertThat(options.getFetchSize(), is(100));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(1000));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLES), is(100));
+    assertThat(options.isAdaptiveFetchSize(), is(true));
+    // Current values can be read from the builder
+    assertThat(builder.getFetchSize(), is(100));
+    assertThat(builder.getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(1000));
+    assertThat(builder.getFetchSize(InformationSchemaKey.TABLES), is(100));
+    assertThat(builder.isAdaptiveFetchSize(), is(true));
+
+    final SchemaRetrievalOptions copiedOptions =
+        SchemaRetrievalOptionsBuilder.builder(options).toOptions();
+    assertThat(copiedOptions.getFetchSize(), is(100));
+    assertThat(copiedOptions.getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(1000));
+    assertThat(copiedOptions.isAdaptiveFetchSize(), is(true));
+
+    builder.withFetchSize(-1).withFetchSize(InformationSchemaKey.TABLE_COLUMNS, -1);
+    options = builder.toOptions();
+    assertThat(options.getFetchSize(), is(0));
+    assertThat(options.getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(0));
+
+    assertThrows(NullPointerException.class, () -> builder.toOptions().getFetchSize(null));
+    assertThrows(NullPointerException.class, () -> builder.getFetchSize(null));
+  }
+
   @Test
   public void fromOptions() {
     final SchemaRetrievalOptions options =
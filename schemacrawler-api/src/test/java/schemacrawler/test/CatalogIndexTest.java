@@ -0,0 +1,141 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+import java.sql.Connection;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaReference;
+import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.utility.CatalogIndex;
+
+@WithTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class CatalogIndexTest {
+
+  private Catalog catalog;
+  private CatalogIndex catalogIndex;
+
+  @Test
+  public void columnsByDataType() {
+    for (final ColumnDataType columnDataType : catalog.getColumnDataTypes()) {
+      final List<Column> expectedColumns = new ArrayList<>();
+      for (final Table table : catalog.getTables()) {
+        for (final Column column : table.getColumns()) {
+          if (column.getColumnDataType().equals(columnDataType)) {
+            expectedColumns.add(column);
+          }
+        }
+      }
+      assertThat(catalogIndex.getColumnsByDataType(columnDataType), is(expectedColumns));
+    }
+    assertThat(catalogIndex.getColumnsByDataType(null), is(empty()));
+  }
+
+  @Test
+  public void columnsByName() {
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        final List<Column> expectedColumns = new ArrayList<>();
+        for (final Table otherTable : catalog.getTables()) {
+          otherTable.lookupColumn(column.getName()).ifPresent(expectedColumns::add);
+        }
+        assertThat(catalogIndex.getColumnsByName(column.getName()), is(expectedColumns));
+      }
+    }
+
+    final List<Column> idColumns = catalogIndex.getColumnsByName("ID");
+    assertThat(idColumns.size() > 1, is(true));
+    assertThat(catalogIndex.getColumnsByName("ID"), is(sameInstance(idColumns)));
+    assertThrows(UnsupportedOperationException.class, () -> idColumns.clear());
+
+    assertThat(catalogIndex.getColumnsByName("NO_SUCH_COLUMN"), is(empty()));
+    assertThat(catalogIndex.getColumnsByName(null), is(empty()));
+  }
+
+  @Test
+  public void foreignKeysReferencing() {
+    final SchemaReference books = new SchemaReference("PUBLIC", "BOOKS");
+    final Table authors = catalog.lookupTable(books, "AUTHORS").get();
+    final Table bookAuthors = catalog.lookupTable(books, "BOOKAUTHORS").get();
+
+    final List<ForeignKey> foreignKeys = catalogIndex.getForeignKeysReferencing(authors);
+    assertThat(foreignKeys, hasSize(1));
+    assertThat(foreignKeys.get(0).getName(), is("Z_FK_AUTHOR"));
+    assertThat(catalogIndex.getTablesReferencing(authors), contains(bookAuthors));
+
+    for (final Table table : catalog.getTables()) {
+      assertThat(
+          catalogIndex.getForeignKeysReferencing(table),
+          is(new ArrayList<>(table.getExportedForeignKeys())));
+    }
+    assertThat(catalogIndex.getTablesReferencing(null), is(empty()));
+  }
+
+  @BeforeAll
+  public void loadCatalog(final Connection connection) throws Exception {
+    catalog = getCatalog(connection, schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+    catalogIndex = new CatalogIndex(catalog);
+  }
+
+  @Test
+  public void routinesByName() {
+    for (final Routine routine : catalog.getRoutines()) {
+      final List<Routine> expectedRoutines = new ArrayList<>();
+      for (final Routine otherRoutine : catalog.getRoutines()) {
+        if (otherRoutine.getName().equals(routine.getName())) {
+          expectedRoutines.add(otherRoutine);
+        }
+      }
+      assertThat(catalogIndex.getRoutinesByName(routine.getName()), is(expectedRoutines));
+    }
+    assertThat(catalogIndex.getRoutinesByName("NO_SUCH_ROUTINE"), is(empty()));
+  }
+}
@@ -40,21 +40,27 @@ import static schemacrawler.test.utility.FileHasContent.outputOf;
 
 import java.sql.Connection;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.TreeSet;
 
 import org.junit.jupiter.api.Test;
 
 import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
+import schemacrawler.schema.PartialDatabaseObject;
 import schemacrawler.schema.Routine;
 import schemacrawler.schema.RoutineParameter;
 import schemacrawler.schema.Schema;
 import schemacrawler.schema.Table;
+import schemacrawler.schema.TableRelationshipType;
 import schemacrawler.schemacrawler.FilterOptionsBuilder;
 import schemacrawler.schemacrawler.GrepOptionsBuilder;
 import schemacrawler.schemacrawler.LimitOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaReference;
 import schemacrawler.test.utility.ResolveTestContext;
 import schemacrawler.test.utility.TestContext;
 import schemacrawler.test.utility.TestWriter;
@@ -131,6 +137,55 @@ public class SchemaCrawlerGrepTest {
     assertThat("Table AUTHORS not found", table, notNullValue());
   }
 
+  @Test
+  public void grepColumnsAndIncludeRelatedTablesByDepth(final Connection connection)
+      throws Exception {
+    final Catalog fullCatalog =
+        getCatalog(connection, SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions());
+    final GrepOptionsBuilder grepOptionsBuilder =
+        GrepOptionsBuilder.builder()
+            .includeGreppedColumns(new RegularExpressionInclusionRule(".*\\.BOOKS\\.BOOKS\\..*"));
+    final SchemaCrawlerOptions grepOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withGrepOptions(grepOptionsBuilder.toOptions());
+
+    for (int depth = 0; depth <= 3; depth++) {
+      for (final TableRelationshipType tableRelationshipType :
+          new TableRelationshipType[] {TableRelationshipType.child, TableRelationshipType.parent}) {
+        final FilterOptionsBuilder filterOptionsBuilder = FilterOptionsBuilder.builder();
+        if (tableRelationshipType == TableRelationshipType.child) {
+          filterOptionsBuilder.childTableFilterDepth(depth);
+        } else {
+          filterOptionsBuilder.parentTableFilterDepth(depth);
+        }
+        final Catalog catalog =
+            getCatalog(connection, grepOptions.withFilterOptions(filterOptionsBuilder.toOptions()));
+
+        // Expand one level at a time over the full catalog
+        final Set<String> expectedTables = new TreeSet<>();
+        Set<Table> level = new HashSet<>();
+        level.add(fullCatalog.lookupTable(new SchemaReference("PUBLIC", "BOOKS"), "BOOKS").get());
+        for (int i = 0; i <= depth; i++) {
+          final Set<Table> nextLevel = new HashSet<>();
+          for (final Table table : level) {
+            if (table instanceof PartialDatabaseObject) {
+              continue;
+            }
+            expectedTables.add(table.getFullName());
+            nextLevel.addAll(table.getRelatedTables(tableRelationshipType));
+          }
+          level = nextLevel;
+        }
+
+        final Set<String> actualTables = new TreeSet<>();
+        for (final Table table : catalog.getTables()) {
+          actualTables.add(table.getFullName());
+        }
+        assertThat(tableRelationshipType + " " + depth, actualTables, is(expectedTables));
+      }
+    }
+  }
+
   @Test
   public void grepCombined(final TestContext testContext, final Connection connection)
       throws Exception {
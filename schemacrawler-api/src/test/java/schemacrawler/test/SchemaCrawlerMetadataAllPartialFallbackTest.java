@@ -0,0 +1,175 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test;
+
+import static schemacrawler.crawl.ForeignKeyRetrieverTest.verifyRetrieveForeignKeys;
+import static schemacrawler.crawl.IndexRetrieverTest.verifyRetrieveIndexes;
+import static schemacrawler.crawl.TableColumnRetrieverTest.verifyRetrieveTableColumns;
+import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.metadata_all;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.foreignKeysRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.indexesRetrievalStrategy;
+import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.tableColumnsRetrievalStrategy;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+
+import schemacrawler.inclusionrule.RegularExpressionExclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestUtility;
+import schemacrawler.test.utility.WithTestDatabase;
+
+/**
+ * Schema-wide metadata calls may fail after some rows have been read, so metadata should be
+ * retrieved one table at a time only for tables that did not get any rows.
+ */
+@WithTestDatabase
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+public class SchemaCrawlerMetadataAllPartialFallbackTest {
+
+  private static final Set<String> TABLE_METHODS =
+      new HashSet<>(
+          Arrays.asList("getColumns", "getIndexInfo", "getImportedKeys", "getExportedKeys"));
+
+  private static final int ROWS_BEFORE_FAILURE = 3;
+
+  private static Object invoke(final Object target, final Method method, final Object[] args)
+      throws Throwable {
+    try {
+      return method.invoke(target, args);
+    } catch (final InvocationTargetException e) {
+      throw e.getCause();
+    }
+  }
+
+  /** Wraps a connection so that metadata calls without a table name fail after a few rows. */
+  private static Connection failAfterRowsForAllTables(final Connection connection) {
+    return (Connection)
+        Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] {Connection.class},
+            (proxy, method, args) -> {
+              if (!"getMetaData".equals(method.getName())) {
+                return invoke(connection, method, args);
+              }
+              final DatabaseMetaData metaData = connection.getMetaData();
+              return Proxy.newProxyInstance(
+                  DatabaseMetaData.class.getClassLoader(),
+                  new Class<?>[] {DatabaseMetaData.class},
+                  (metaDataProxy, metaDataMethod, metaDataArgs) -> {
+                    final Object result = invoke(metaData, metaDataMethod, metaDataArgs);
+                    if (TABLE_METHODS.contains(metaDataMethod.getName())
+                        && metaDataArgs[2] == null) {
+                      return failAfterRows((ResultSet) result);
+                    }
+                    return result;
+                  });
+            });
+  }
+
+  private static ResultSet failAfterRows(final ResultSet results) {
+    final AtomicInteger rowCount = new AtomicInteger();
+    return (ResultSet)
+        Proxy.newProxyInstance(
+            ResultSet.class.getClassLoader(),
+            new Class<?>[] {ResultSet.class},
+            (proxy, method, args) -> {
+              if ("next".equals(method.getName())
+                  && rowCount.incrementAndGet() > ROWS_BEFORE_FAILURE) {
+                throw new SQLException("Connection lost while reading rows");
+              }
+              return invoke(results, method, args);
+            });
+  }
+
+  private Catalog catalog;
+
+  @Test
+  public void foreignKeys() throws Exception {
+    verifyRetrieveForeignKeys(catalog);
+  }
+
+  @Test
+  public void indexes() throws Exception {
+    verifyRetrieveIndexes(catalog);
+  }
+
+  @BeforeAll
+  public void loadCatalog(final Connection connection) throws Exception {
+
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaRetrievalOptionsBuilder.builder(TestUtility.newSchemaRetrievalOptions())
+            .with(tableColumnsRetrievalStrategy, metadata_all)
+            .with(indexesRetrievalStrategy, metadata_all)
+            .with(foreignKeysRetrievalStrategy, metadata_all)
+            .toOptions();
+
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder()
+            .includeSchemas(new RegularExpressionExclusionRule(".*\\.FOR_LINT"))
+            .includeAllSynonyms()
+            .includeAllSequences()
+            .includeAllRoutines();
+    final LoadOptionsBuilder loadOptionsBuilder =
+        LoadOptionsBuilder.builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum());
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(limitOptionsBuilder.toOptions())
+            .withLoadOptions(loadOptionsBuilder.toOptions());
+
+    catalog =
+        getCatalog(
+            failAfterRowsForAllTables(connection), schemaRetrievalOptions, schemaCrawlerOptions);
+  }
+
+  @Test
+  public void tableColumns() throws Exception {
+    verifyRetrieveTableColumns(catalog);
+  }
+}
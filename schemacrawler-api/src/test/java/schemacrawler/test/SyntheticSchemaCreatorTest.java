@@ -0,0 +1,194 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static schemacrawler.test.utility.DatabaseTestUtility.getCatalog;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.View;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.testdb.SyntheticSchemaCreator;
+
+public class SyntheticSchemaCreatorTest {
+
+  private static int databaseNumber;
+
+  private static List<String> describe(final Catalog catalog) {
+    final List<String> description = new ArrayList<>();
+    for (final Table table : catalog.getTables()) {
+      description.add(table.getFullName());
+      for (final Column column : table.getColumns()) {
+        description.add(column.getFullName() + " " + column.getColumnDataType());
+      }
+      for (final ForeignKey foreignKey : table.getImportedForeignKeys()) {
+        description.add(foreignKey.toString());
+      }
+    }
+    return description;
+  }
+
+  private static Connection newSyntheticDatabase(final long seed) throws Exception {
+    final Connection connection =
+        DriverManager.getConnection(
+            String.format("jdbc:hsqldb:mem:synthetic%d", ++databaseNumber), "sa", "");
+    new SyntheticSchemaCreator(connection, 2, 50, 6, seed).run();
+    return connection;
+  }
+
+  private static void shutdown(final Connection connection) throws Exception {
+    try (final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+  }
+
+  @Test
+  public void badArguments() throws Exception {
+    try (final Connection connection = newSyntheticDatabase(1)) {
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new SyntheticSchemaCreator(connection, 0, 10, 10, 1));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new SyntheticSchemaCreator(connection, 1, 0, 10, 1));
+      assertThrows(
+          IllegalArgumentException.class,
+          () -> new SyntheticSchemaCreator(connection, 1, 10, 1, 1));
+      shutdown(connection);
+    }
+  }
+
+  @Test
+  public void repeatable() throws Exception {
+    final List<String> description1;
+    final List<String> description2;
+    final List<String> description3;
+    try (final Connection connection = newSyntheticDatabase(42)) {
+      description1 = describe(getCatalog(connection, schemaCrawlerOptions()));
+      shutdown(connection);
+    }
+    try (final Connection connection = newSyntheticDatabase(42)) {
+      description2 = describe(getCatalog(connection, schemaCrawlerOptions()));
+      shutdown(connection);
+    }
+    try (final Connection connection = newSyntheticDatabase(7)) {
+      description3 = describe(getCatalog(connection, schemaCrawlerOptions()));
+      shutdown(connection);
+    }
+
+    assertThat(description1, is(description2));
+    assertThat(description1, is(not(description3)));
+  }
+
+  @Test
+  public void syntheticSchema() throws Exception {
+    try (final Connection connection = newSyntheticDatabase(42)) {
+      final Catalog catalog = getCatalog(connection, schemaCrawlerOptions());
+
+      assertThat(catalog.getSchemas(), hasSize(2));
+      // 50 tables and 5 views in each schema
+      assertThat(catalog.getTables(), hasSize(110));
+      int views = 0;
+      int foreignKeys = 0;
+      for (final Table table : catalog.getTables()) {
+        if (table instanceof View) {
+          views++;
+          continue;
+        }
+        assertThat(table.getName(), startsWith("TABLE_"));
+        assertThat(table.hasPrimaryKey(), is(true));
+        assertThat(table.getColumns().size() - table.getImportedForeignKeys().size(), is(6));
+        foreignKeys = foreignKeys + table.getImportedForeignKeys().size();
+      }
+      assertThat(views, is(10));
+      assertThat(foreignKeys, is(greaterThan(50)));
+      assertThat(catalog.getRoutines().size(), is(greaterThan(0)));
+
+      try (final Statement statement = connection.createStatement()) {
+        assertThat(
+            count(
+                statement,
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SEQUENCES "
+                    + "WHERE SEQUENCE_SCHEMA LIKE 'SYNTHETIC%'"),
+            is(4));
+        assertThat(
+            count(
+                statement,
+                "SELECT COUNT(*) FROM INFORMATION_SCHEMA.SYSTEM_SYNONYMS "
+                    + "WHERE SYNONYM_SCHEMA LIKE 'SYNTHETIC%'"),
+            is(4));
+      }
+
+      shutdown(connection);
+    }
+  }
+
+  private int count(final Statement statement, final String sql) throws Exception {
+    try (final ResultSet results = statement.executeQuery(sql)) {
+      results.next();
+      return results.getInt(1);
+    }
+  }
+
+  private SchemaCrawlerOptions schemaCrawlerOptions() {
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(new RegularExpressionInclusionRule(".*\\.SYNTHETIC_.*"))
+                .includeAllRoutines()
+                .toOptions())
+        .withLoadOptions(
+            LoadOptionsBuilder.builder()
+                .withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum())
+                .toOptions());
+  }
+}
@@ -0,0 +1,80 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.tools.executable.SchemaCrawlerExecutable;
+import schemacrawler.tools.options.OutputOptionsBuilder;
+import schemacrawler.tools.utility.SchemaCrawlerUtility;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+/**
+ * Catalog crawled once from the synthetic database, for benchmarks of operations on a catalog that
+ * has already been loaded.
+ */
+@State(Scope.Benchmark)
+public class CatalogState {
+
+  private Catalog catalog;
+  private DatabaseConnectionSource dataSource;
+
+  /**
+   * Runs a SchemaCrawler command against the loaded catalog, and discards the output.
+   *
+   * @param command SchemaCrawler command
+   * @param outputFormatValue Output format for the command
+   */
+  public void executeCommand(final String command, final String outputFormatValue) {
+    final SchemaCrawlerExecutable executable = new SchemaCrawlerExecutable(command);
+    executable.setSchemaCrawlerOptions(CrawlBenchmark.schemaCrawlerOptions());
+    executable.setOutputOptions(
+        OutputOptionsBuilder.builder()
+            .withOutputFormatValue(outputFormatValue)
+            .withOutputWriter(new DiscardingWriter())
+            .toOptions());
+    executable.setDataSource(dataSource);
+    executable.setCatalog(catalog);
+    executable.execute();
+  }
+
+  public Catalog getCatalog() {
+    return catalog;
+  }
+
+  @Setup(Level.Trial)
+  public void setup(final SyntheticDatabaseState database) {
+    dataSource = database.getDataSource();
+    catalog = SchemaCrawlerUtility.getCatalog(dataSource, CrawlBenchmark.schemaCrawlerOptions());
+  }
+}
@@ -0,0 +1,90 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.inclusionrule.RegularExpressionInclusionRule;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevel;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.tools.utility.SchemaCrawlerUtility;
+
+/** Crawls the synthetic database end to end, including catalog loaders. */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class CrawlBenchmark {
+
+  static SchemaCrawlerOptions schemaCrawlerOptions() {
+    return schemaCrawlerOptions(SchemaInfoLevelBuilder.standard());
+  }
+
+  private static SchemaCrawlerOptions schemaCrawlerOptions(final SchemaInfoLevel infoLevel) {
+    return SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+        .withLimitOptions(
+            LimitOptionsBuilder.builder()
+                .includeSchemas(
+                    new RegularExpressionInclusionRule(
+                        ".*\\." + SyntheticDatabaseState.SCHEMA_NAME))
+                .toOptions())
+        .withLoadOptions(LoadOptionsBuilder.builder().withSchemaInfoLevel(infoLevel).toOptions());
+  }
+
+  @Benchmark
+  public Catalog crawlMaximum(final SyntheticDatabaseState database) {
+    return SchemaCrawlerUtility.getCatalog(
+        database.getDataSource(), schemaCrawlerOptions(SchemaInfoLevelBuilder.maximum()));
+  }
+
+  @Benchmark
+  public Catalog crawlMinimum(final SyntheticDatabaseState database) {
+    return SchemaCrawlerUtility.getCatalog(
+        database.getDataSource(), schemaCrawlerOptions(SchemaInfoLevelBuilder.minimum()));
+  }
+
+  @Benchmark
+  public Catalog crawlStandard(final SyntheticDatabaseState database) {
+    return SchemaCrawlerUtility.getCatalog(database.getDataSource(), schemaCrawlerOptions());
+  }
+}
@@ -0,0 +1,60 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.io.Writer;
+
+/** Writer that discards all output, so that only the cost of producing output is measured. */
+final class DiscardingWriter extends Writer {
+
+  @Override
+  public void close() {
+    // No-op
+  }
+
+  @Override
+  public void flush() {
+    // No-op
+  }
+
+  @Override
+  public void write(final char[] cbuf, final int off, final int len) {
+    // No-op
+  }
+
+  @Override
+  public void write(final int c) {
+    // No-op
+  }
+
+  @Override
+  public void write(final String str, final int off, final int len) {
+    // No-op
+  }
+}
@@ -0,0 +1,122 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package schemacrawler.benchmarks;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.crawl.CatalogFreezer;
+import schemacrawler.schema.Catalog;
+
+/**
+ * Freezes a loaded catalog. Every invocation works on a fresh copy of the catalog, since freezing
+ * modifies the catalog. The retainedHeap benchmark reports the heap retained by a copy of the
+ * catalog before and after it is frozen, as secondary results, and its time is not meaningful. The
+ * heap is averaged over several copies of the catalog, since used heap after a garbage collection
+ * varies by a few megabytes from one measurement to the next. JMH sums event counters over
+ * iterations, so retainedHeap runs a single measurement iteration.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(
+    value = 1,
+    jvmArgsAppend = {SerializedCatalogState.JVM_ARGS, "-XX:+UseSerialGC"})
+@State(Scope.Thread)
+public class FreezeBenchmark {
+
+  /** Heap retained by a copy of the catalog, in bytes. */
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  @State(Scope.Thread)
+  public static class RetainedHeap {
+    public long frozenBytes;
+    public long unfrozenBytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      frozenBytes = 0;
+      unfrozenBytes = 0;
+    }
+  }
+
+  private static final int COPIES = 10;
+  private static final int GC_RUNS = 3;
+
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int i = 0; i < GC_RUNS; i++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  private Catalog catalog;
+
+  @Benchmark
+  public Catalog freeze() {
+    return CatalogFreezer.freeze(catalog);
+  }
+
+  @Benchmark
+  @Warmup(iterations = 1)
+  @Measurement(iterations = 1)
+  public void retainedHeap(
+      final SerializedCatalogState serializedCatalogState, final RetainedHeap retainedHeap) {
+    // Only keep these copies of the catalog on the heap, and do not return them, so that they are
+    // not held on to after the invocation
+    catalog = null;
+    final Catalog[] copies = new Catalog[COPIES];
+    final long baseline = usedHeap();
+    for (int i = 0; i < COPIES; i++) {
+      copies[i] = serializedCatalogState.newCatalogCopy();
+    }
+    retainedHeap.unfrozenBytes = (usedHeap() - baseline) / COPIES;
+    for (final Catalog copy : copies) {
+      CatalogFreezer.freeze(copy);
+    }
+    retainedHeap.frozenBytes = (usedHeap() - baseline) / COPIES;
+  }
+
+  @Setup(Level.Invocation)
+  public void setup(final SerializedCatalogState serializedCatalogState) {
+    catalog = serializedCatalogState.newCatalogCopy();
+  }
+}
@@ -0,0 +1,81 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import schemacrawler.crawl.MetadataResultSet;
+
+/**
+ * Reads the columns of the synthetic schema through a metadata result-set, in the same way that the
+ * retrievers read data dictionary views.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+public class MetadataResultSetBenchmark {
+
+  private static final String COLUMNS_SQL =
+      "SELECT * FROM INFORMATION_SCHEMA.COLUMNS WHERE TABLE_SCHEMA = '"
+          + SyntheticDatabaseState.SCHEMA_NAME
+          + "'";
+
+  @Benchmark
+  public void readColumns(final SyntheticDatabaseState database, final Blackhole blackhole)
+      throws Exception {
+    try (final Connection connection = database.getDataSource().get();
+        final Statement statement = connection.createStatement();
+        final MetadataResultSet results =
+            new MetadataResultSet(statement.executeQuery(COLUMNS_SQL), "COLUMNS")) {
+      while (results.next()) {
+        blackhole.consume(results.getString("TABLE_CATALOG"));
+        blackhole.consume(results.getString("TABLE_SCHEMA"));
+        blackhole.consume(results.getString("TABLE_NAME"));
+        blackhole.consume(results.getString("COLUMN_NAME"));
+        blackhole.consume(results.getInt("ORDINAL_POSITION", 0));
+        blackhole.consume(results.getBoolean("IS_NULLABLE"));
+        blackhole.consume(results.getString("DATA_TYPE"));
+        blackhole.consume(results.getAttributes());
+      }
+    }
+  }
+}
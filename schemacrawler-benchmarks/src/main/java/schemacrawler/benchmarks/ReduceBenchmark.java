@@ -0,0 +1,112 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import static schemacrawler.filter.ReducerFactory.getTableReducer;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.GrepOptionsBuilder;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+
+/**
+ * Reduces a loaded catalog with grep and limit options. Every invocation works on a fresh copy of
+ * the catalog, since reducing modifies the catalog.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(value = 1, jvmArgsAppend = SerializedCatalogState.JVM_ARGS)
+@State(Scope.Thread)
+public class ReduceBenchmark {
+
+  private static final SchemaCrawlerOptions grepColumnsOptions =
+      SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+          .withGrepOptions(
+              GrepOptionsBuilder.builder()
+                  .includeGreppedColumns(Pattern.compile(".*_0000\\d\\d_ID"))
+                  .toOptions());
+
+  private static final SchemaCrawlerOptions grepTablesOptions =
+      SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+          .withGrepOptions(
+              GrepOptionsBuilder.builder()
+                  .includeGreppedTables(Pattern.compile(".*\\.TABLE_\\d+00"))
+                  .toOptions());
+
+  private static final SchemaCrawlerOptions limitTablesOptions =
+      SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+          .withLimitOptions(
+              LimitOptionsBuilder.builder()
+                  .includeTables(Pattern.compile(".*\\.TABLE_\\d+00"))
+                  .toOptions());
+
+  private Catalog catalog;
+
+  @Benchmark
+  public Catalog grepColumns() {
+    catalog.reduce(Table.class, getTableReducer(grepColumnsOptions));
+    return catalog;
+  }
+
+  @Benchmark
+  public Catalog grepTables() {
+    catalog.reduce(Table.class, getTableReducer(grepTablesOptions));
+    return catalog;
+  }
+
+  @Benchmark
+  public Catalog limitTables() {
+    catalog.reduce(Table.class, getTableReducer(limitTablesOptions));
+    return catalog;
+  }
+
+  @Setup(Level.Invocation)
+  public void setup(final SerializedCatalogState serializedCatalogState) {
+    catalog = serializedCatalogState.newCatalogCopy();
+  }
+}
@@ -0,0 +1,72 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Warmup;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.tools.formatter.serialize.JavaSerializedCatalog;
+
+/** Serializes and deserializes a loaded catalog. */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgsAppend = SerializedCatalogState.JVM_ARGS)
+public class SerializationBenchmark {
+
+  @Benchmark
+  public Catalog javaDeserialize(final SerializedCatalogState serializedCatalogState) {
+    return new JavaSerializedCatalog(
+            new ByteArrayInputStream(serializedCatalogState.getSerializedCatalog()))
+        .getCatalog();
+  }
+
+  @Benchmark
+  public byte[] javaSerialize(final CatalogState catalogState) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JavaSerializedCatalog(catalogState.getCatalog()).save(out);
+    return out.toByteArray();
+  }
+
+  @Benchmark
+  public void jsonSerialize(final CatalogState catalogState) {
+    catalogState.executeCommand("serialize", "json");
+  }
+}
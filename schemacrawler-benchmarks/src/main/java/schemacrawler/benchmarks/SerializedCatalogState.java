@@ -0,0 +1,74 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.tools.formatter.serialize.JavaSerializedCatalog;
+
+/**
+ * Java serialized copy of the loaded catalog. Java serialization follows object references
+ * recursively, so benchmarks that use this state need to run with a large thread stack size, set
+ * with JVM_ARGS.
+ */
+@State(Scope.Benchmark)
+public class SerializedCatalogState {
+
+  /** Stack size needed to serialize a catalog with deep chains of foreign keys. */
+  public static final String JVM_ARGS = "-Xss512m";
+
+  private byte[] serializedCatalog;
+
+  public byte[] getSerializedCatalog() {
+    return serializedCatalog;
+  }
+
+  /**
+   * Deserializes a new copy of the catalog, for benchmarks that modify the catalog.
+   *
+   * @return Copy of the catalog
+   */
+  public Catalog newCatalogCopy() {
+    return new JavaSerializedCatalog(new ByteArrayInputStream(serializedCatalog)).getCatalog();
+  }
+
+  @Setup(Level.Trial)
+  public void setup(final CatalogState catalogState) {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    new JavaSerializedCatalog(catalogState.getCatalog()).save(out);
+    serializedCatalog = out.toByteArray();
+  }
+}
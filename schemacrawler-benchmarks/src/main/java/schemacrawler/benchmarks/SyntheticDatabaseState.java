@@ -0,0 +1,86 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.benchmarks;
+
+import java.sql.Connection;
+import java.sql.Statement;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import schemacrawler.testdb.SyntheticSchemaCreator;
+import us.fatehi.utility.LoggingConfig;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+import us.fatehi.utility.datasource.DatabaseConnectionSources;
+import us.fatehi.utility.datasource.MultiUseUserCredentials;
+
+/** In-memory HyperSQL database with a synthetic schema, shared by all benchmark threads. */
+@State(Scope.Benchmark)
+public class SyntheticDatabaseState {
+
+  static final String SCHEMA_NAME = SyntheticSchemaCreator.schemaName(1);
+
+  private static final int COLUMNS = 10;
+  private static final long SEED = 1L;
+
+  @Param({"100", "10000", "100000"})
+  public int tables;
+
+  private DatabaseConnectionSource dataSource;
+
+  public DatabaseConnectionSource getDataSource() {
+    return dataSource;
+  }
+
+  @Setup(Level.Trial)
+  public void setup() throws Exception {
+    new LoggingConfig(java.util.logging.Level.OFF);
+
+    final String connectionUrl = String.format("jdbc:hsqldb:mem:synthetic%d", tables);
+    dataSource =
+        DatabaseConnectionSources.newDatabaseConnectionSource(
+            connectionUrl, new MultiUseUserCredentials("sa", ""));
+    try (final Connection connection = dataSource.get()) {
+      new SyntheticSchemaCreator(connection, 1, tables, COLUMNS, SEED).run();
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws Exception {
+    try (final Connection connection = dataSource.get();
+        final Statement statement = connection.createStatement()) {
+      statement.execute("SHUTDOWN");
+    }
+    dataSource.close();
+  }
+}
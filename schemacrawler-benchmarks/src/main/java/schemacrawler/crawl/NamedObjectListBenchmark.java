@@ -0,0 +1,106 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.crawl;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import schemacrawler.schemacrawler.SchemaReference;
+
+/** Adds, looks up, sorts and iterates over named objects, as the retrievers and formatters do. */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(1)
+@State(Scope.Benchmark)
+public class NamedObjectListBenchmark {
+
+  @Param({"100", "10000", "100000"})
+  public int tables;
+
+  private SchemaReference schema;
+  private MutableTable[] tablesArray;
+  private NamedObjectList<MutableTable> namedObjectList;
+
+  @Benchmark
+  public NamedObjectList<MutableTable> add() {
+    final NamedObjectList<MutableTable> namedObjectList = new NamedObjectList<>();
+    for (final MutableTable table : tablesArray) {
+      namedObjectList.add(table);
+    }
+    return namedObjectList;
+  }
+
+  @Benchmark
+  public void iterate(final Blackhole blackhole) {
+    for (final MutableTable table : namedObjectList) {
+      blackhole.consume(table);
+    }
+  }
+
+  @Benchmark
+  public void lookup(final Blackhole blackhole) {
+    for (final MutableTable table : tablesArray) {
+      blackhole.consume(namedObjectList.lookup(schema, table.getName()));
+    }
+  }
+
+  @Setup(Level.Trial)
+  public void setup() {
+    schema = new SchemaReference("PUBLIC", "SYNTHETIC");
+    tablesArray = new MutableTable[tables];
+    namedObjectList = new NamedObjectList<>();
+    for (int i = 0; i < tables; i++) {
+      // Add in reverse order, so that sorting does some work
+      final MutableTable table = new MutableTable(schema, String.format("TABLE_%06d", tables - i));
+      tablesArray[i] = table;
+      namedObjectList.add(table);
+    }
+  }
+
+  @Benchmark
+  public List<MutableTable> values() {
+    return namedObjectList.values();
+  }
+}
@@ -45,6 +45,7 @@ import schemacrawler.schemacrawler.InfoLevel;
 import schemacrawler.schemacrawler.LoadOptionsBuilder;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.commandline.state.BaseStateHolder;
 import schemacrawler.tools.commandline.state.ShellState;
 import schemacrawler.tools.options.Config;
@@ -81,6 +82,26 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
       })
   private InfoLevel infolevel;
 
+  @Option(
+      names = "--fetch-size",
+      description = {
+        "<fetchsize> is the number of rows fetched from the database in each round trip, "
+            + "when retrieving database metadata",
+        "Larger values need fewer round trips for large schemas, but use more memory",
+        "Optional, defaults to the setting for the database plugin, otherwise 20"
+      })
+  private Integer fetchsize;
+
+  @Option(
+      names = "--adaptive-fetch-size",
+      description = {
+        "Grows the fetch size as rows are read, "
+            + "so that large result-sets need fewer round trips to the database",
+        "Optional, defaults to the setting for the database plugin, otherwise false"
+      },
+      negatable = true)
+  private Boolean adaptiveFetchSize;
+
   @Spec private Model.CommandSpec spec;
 
   public LoadCommand(final ShellState state) {
@@ -144,6 +165,20 @@ public class LoadCommand extends BaseStateHolder implements Runnable {
 
     state.withLoadOptions(loadOptionsBuilder.toOptions());
 
+    final SchemaRetrievalOptions schemaRetrievalOptions = state.getSchemaRetrievalOptions();
+    if (schemaRetrievalOptions != null && (fetchsize != null || adaptiveFetchSize != null)) {
+      final SchemaRetrievalOptionsBuilder schemaRetrievalOptionsBuilder =
+          SchemaRetrievalOptionsBuilder.builder(schemaRetrievalOptions)
+              .withTypeMap(schemaRetrievalOptions.getTypeMap());
+      if (fetchsize != null) {
+        schemaRetrievalOptionsBuilder.withFetchSize(fetchsize);
+      }
+      if (adaptiveFetchSize != null) {
+        schemaRetrievalOptionsBuilder.withAdaptiveFetchSize(adaptiveFetchSize);
+      }
+      state.setSchemaRetrievalOptions(schemaRetrievalOptionsBuilder.toOptions());
+    }
+
     final ParseResult parseResult = spec.commandLine().getParseResult();
     final Map<String, Object> catalogLoaderOptions = matchedOptionValues(parseResult);
     LOGGER.log(Level.INFO, "Loaded command loader options");
@@ -37,6 +37,10 @@ import schemacrawler.tools.options.Config;
 
 public final class SchemaRetrievalOptionsConfig {
 
+  private static final String SC_RETRIEVAL_FETCH_SIZE = "schemacrawler.schema.retrieval.fetch_size";
+  private static final String SC_RETRIEVAL_FETCH_SIZE_ADAPTIVE =
+      "schemacrawler.schema.retrieval.fetch_size.adaptive";
+
   /**
    * Information schema views from a map.
    *
@@ -103,6 +107,21 @@ public final class SchemaRetrievalOptionsConfig {
       builder.with(metadataRetrievalStrategy, configValue);
     }
 
+    builder.withFetchSize(
+        configProperties.getIntegerValue(SC_RETRIEVAL_FETCH_SIZE, builder.getFetchSize()));
+    for (final InformationSchemaKey informationSchemaKey : InformationSchemaKey.values()) {
+      final String configKey = SC_RETRIEVAL_FETCH_SIZE + "." + informationSchemaKey;
+      if (configProperties.containsKey(configKey)) {
+        builder.withFetchSize(
+            informationSchemaKey,
+            configProperties.getIntegerValue(
+                configKey, builder.getFetchSize(informationSchemaKey)));
+      }
+    }
+    builder.withAdaptiveFetchSize(
+        configProperties.getBooleanValue(
+            SC_RETRIEVAL_FETCH_SIZE_ADAPTIVE, builder.isAdaptiveFetchSize()));
+
     return builder;
   }
 }
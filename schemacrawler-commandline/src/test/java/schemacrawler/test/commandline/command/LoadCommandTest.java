@@ -25,7 +25,10 @@ import org.junit.jupiter.api.Test;
 
 import picocli.CommandLine;
 import schemacrawler.schemacrawler.InfoLevel;
+import schemacrawler.schemacrawler.InformationSchemaKey;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.test.utility.CaptureLogs;
 import schemacrawler.test.utility.CapturedLogs;
 import schemacrawler.test.utility.CommandlineTestUtility;
@@ -115,6 +118,32 @@ public class LoadCommandTest {
         () -> CommandlineTestUtility.executeCommandInTest(optionsParser, args));
   }
 
+  @Test
+  public void fetchSize(final DatabaseConnectionSource dataSource) {
+    final String[] args = {
+      "--info-level", "minimum", "--fetch-size", "500", "--adaptive-fetch-size"
+    };
+
+    final ShellState state = new ShellState();
+    state.setSchemaCrawlerOptions(SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions());
+    state.setSchemaRetrievalOptions(
+        SchemaRetrievalOptionsBuilder.builder()
+            .withFetchSize(InformationSchemaKey.TABLE_COLUMNS, 1000)
+            .toOptions());
+    state.setDataSource(dataSource);
+
+    final LoadCommand optionsParser = new LoadCommand(state);
+    final CommandLine commandLine = newCommandLine(optionsParser, null);
+    commandLine.execute(args);
+
+    final SchemaRetrievalOptions schemaRetrievalOptions = state.getSchemaRetrievalOptions();
+    assertThat(schemaRetrievalOptions.getFetchSize(), is(500));
+    assertThat(schemaRetrievalOptions.getFetchSize(InformationSchemaKey.TABLES), is(500));
+    assertThat(schemaRetrievalOptions.getFetchSize(InformationSchemaKey.TABLE_COLUMNS), is(1000));
+    assertThat(schemaRetrievalOptions.isAdaptiveFetchSize(), is(true));
+    assertThat(state.getCatalog().getTables(), hasSize(20));
+  }
+
   @Test
   public void help(final TestContext testContext) throws Exception {
     final ShellState state = new ShellState();
@@ -171,6 +171,7 @@ public class EmbeddedDiagramRenderer extends BaseSchemaCrawlerCommand<DiagramOpt
 
     // Set identifiers strategy
     scCommand.setIdentifiers(identifiers);
+    scCommand.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
     // Initialize, and check if the command is available
     scCommand.initialize();
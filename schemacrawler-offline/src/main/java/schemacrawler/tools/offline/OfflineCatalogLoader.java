@@ -1,12 +1,14 @@
 package schemacrawler.tools.offline;
 
 import static java.nio.file.Files.newInputStream;
+import static java.util.zip.GZIPInputStream.GZIP_MAGIC;
 import static schemacrawler.filter.ReducerFactory.getRoutineReducer;
 import static schemacrawler.filter.ReducerFactory.getSchemaReducer;
 import static schemacrawler.filter.ReducerFactory.getSequenceReducer;
 import static schemacrawler.filter.ReducerFactory.getSynonymReducer;
 import static schemacrawler.filter.ReducerFactory.getTableReducer;
 
+import java.io.BufferedInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.nio.file.Path;
@@ -14,6 +16,9 @@ import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.zip.GZIPInputStream;
 
+import schemacrawler.crawl.BinaryCatalogReader;
+import schemacrawler.crawl.IndexedCatalogReader;
+import schemacrawler.crawl.JsonCatalogFormat;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Reducible;
 import schemacrawler.schema.Routine;
@@ -26,8 +31,12 @@ import schemacrawler.schemacrawler.exceptions.DatabaseAccessException;
 import schemacrawler.schemacrawler.exceptions.IORuntimeException;
 import schemacrawler.tools.catalogloader.BaseCatalogLoader;
 import schemacrawler.tools.executable.CommandDescription;
+import schemacrawler.tools.formatter.serialize.BinarySerializedCatalog;
+import schemacrawler.tools.formatter.serialize.CatalogSerializer;
 import schemacrawler.tools.formatter.serialize.JavaSerializedCatalog;
+import schemacrawler.tools.formatter.serialize.JsonSerializedCatalog;
 import schemacrawler.tools.offline.jdbc.OfflineConnection;
+import us.fatehi.utility.BlockGzipInputStream;
 
 public final class OfflineCatalogLoader extends BaseCatalogLoader {
 
@@ -68,11 +77,23 @@ public final class OfflineCatalogLoader extends BaseCatalogLoader {
       }
 
       final Path offlineDatabasePath = dbConnection.getOfflineDatabasePath();
-      try (final InputStream inputFileStream =
-          new GZIPInputStream(newInputStream(offlineDatabasePath)); ) {
-        final JavaSerializedCatalog deserializedCatalog =
-            new JavaSerializedCatalog(inputFileStream);
-        catalog = deserializedCatalog.getCatalog();
+      if (IndexedCatalogReader.isIndexedCatalog(offlineDatabasePath)) {
+        // Indexed snapshots are not compressed, and only the objects that are needed are read
+        catalog = new IndexedCatalogReader(offlineDatabasePath).read(getSchemaCrawlerOptions());
+      } else {
+        try (final InputStream inputFileStream = openInputStream(offlineDatabasePath); ) {
+          // Offline snapshots may be in the compact binary format, in JSON, or use Java
+          // serialization
+          final CatalogSerializer deserializedCatalog;
+          if (BinaryCatalogReader.isBinaryCatalog(inputFileStream)) {
+            deserializedCatalog = new BinarySerializedCatalog(inputFileStream);
+          } else if (JsonCatalogFormat.isJsonCatalog(inputFileStream)) {
+            deserializedCatalog = new JsonSerializedCatalog(inputFileStream);
+          } else {
+            deserializedCatalog = new JavaSerializedCatalog(inputFileStream);
+          }
+          catalog = deserializedCatalog.getCatalog();
+        }
       }
       reduceCatalog(catalog);
     } catch (final IOException e) {
@@ -84,6 +105,34 @@ public final class OfflineCatalogLoader extends BaseCatalogLoader {
     setCatalog(catalog);
   }
 
+  /**
+   * Opens an offline snapshot, which is compressed unless it was saved as plain JSON. Streams need
+   * to support mark and reset, so that the format of the snapshot can be detected.
+   */
+  private InputStream openInputStream(final Path offlineDatabasePath) throws IOException {
+    final InputStream inputFileStream =
+        new BufferedInputStream(newInputStream(offlineDatabasePath));
+    try {
+      inputFileStream.mark(2);
+      final boolean isCompressed =
+          inputFileStream.read() == (GZIP_MAGIC & 0xFF)
+              && inputFileStream.read() == (GZIP_MAGIC >> 8 & 0xFF);
+      inputFileStream.reset();
+      if (isCompressed) {
+        // Snapshots are block compressed so that they can be decompressed in parallel, but older
+        // snapshots are plain gzip files
+        if (BlockGzipInputStream.isBlockCompressed(inputFileStream)) {
+          return new BufferedInputStream(new BlockGzipInputStream(inputFileStream));
+        }
+        return new BufferedInputStream(new GZIPInputStream(inputFileStream));
+      }
+      return inputFileStream;
+    } catch (final IOException e) {
+      inputFileStream.close();
+      throw e;
+    }
+  }
+
   private void reduceCatalog(final Catalog catalog) {
     final SchemaCrawlerOptions schemaCrawlerOptions = getSchemaCrawlerOptions();
     ((Reducible) catalog).reduce(Schema.class, getSchemaReducer(schemaCrawlerOptions));
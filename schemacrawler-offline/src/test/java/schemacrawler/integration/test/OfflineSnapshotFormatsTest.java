@@ -0,0 +1,234 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.integration.test;
+
+import static java.nio.file.Files.size;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.oneOf;
+import static schemacrawler.test.utility.FileHasContent.classpathResource;
+import static schemacrawler.test.utility.FileHasContent.hasSameContentAs;
+import static schemacrawler.test.utility.FileHasContent.outputOf;
+import static schemacrawler.test.utility.TestUtility.fileHeaderOf;
+import static schemacrawler.test.utility.TestUtility.flattenCommandlineArgs;
+import static schemacrawler.test.utility.TestUtility.javaVersion;
+import static schemacrawler.tools.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.io.BufferedInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.zip.GZIPInputStream;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import schemacrawler.Main;
+import schemacrawler.crawl.BinaryCatalogReader;
+import schemacrawler.crawl.IndexedCatalogReader;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.LimitOptionsBuilder;
+import schemacrawler.schemacrawler.LoadOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaInfoLevelBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
+import schemacrawler.test.utility.TestWriter;
+import schemacrawler.test.utility.WithSystemProperty;
+import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.tools.command.text.schema.options.TextOutputFormat;
+import schemacrawler.tools.formatter.serialize.BinarySerializedCatalog;
+import schemacrawler.tools.formatter.serialize.IndexedSerializedCatalog;
+import schemacrawler.tools.formatter.serialize.JsonSerializedCatalog;
+import schemacrawler.tools.options.Config;
+import us.fatehi.utility.BlockGzipInputStream;
+import us.fatehi.utility.BlockGzipOutputStream;
+import us.fatehi.utility.IOUtility;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+/**
+ * Snapshots in each serialization format should load offline to the same catalog as a Java
+ * serialized snapshot, so the output is compared to the same reference files as {@link
+ * OfflineSnapshotTest}.
+ */
+@WithTestDatabase
+public class OfflineSnapshotFormatsTest {
+
+  enum SnapshotFormat {
+    binary("scbin"),
+    indexed("scidx"),
+    json("json");
+
+    private final String extension;
+
+    SnapshotFormat(final String extension) {
+      this.extension = extension;
+    }
+  }
+
+  private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
+
+  @ParameterizedTest
+  @EnumSource(SnapshotFormat.class)
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void offlineSnapshotCommandLine(
+      final SnapshotFormat format, final DatabaseConnectionSource dataSource) throws Exception {
+    final Path serializedCatalogFile = serializeCatalog(format, dataSource);
+
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("--server", "offline");
+      argsMap.put("--database", serializedCatalogFile.toString());
+
+      argsMap.put("--no-info", Boolean.FALSE.toString());
+      argsMap.put("--info-level", "maximum");
+      argsMap.put("--routines", ".*");
+      argsMap.put("--command", "details");
+      argsMap.put("--output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("--output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+
+    final String expectedResource = String.format("details.%s.txt", javaVersion());
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + expectedResource)));
+  }
+
+  @ParameterizedTest
+  @EnumSource(SnapshotFormat.class)
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void offlineSnapshotCommandLineWithFilters(
+      final SnapshotFormat format, final DatabaseConnectionSource dataSource) throws Exception {
+    final Path serializedCatalogFile = serializeCatalog(format, dataSource);
+
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("--server", "offline");
+      argsMap.put("--database", serializedCatalogFile.toString());
+
+      argsMap.put("--no-info", "true");
+      argsMap.put("--info-level", "maximum");
+      argsMap.put("--command", "details");
+      argsMap.put("--output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("--routines", "");
+      argsMap.put("--tables", ".*SALES");
+      argsMap.put("--output-file", out.toString());
+
+      Main.main(flattenCommandlineArgs(argsMap));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
+  }
+
+  private void assertSnapshotFormat(final SnapshotFormat format, final Path serializedCatalogFile)
+      throws IOException {
+    switch (format) {
+      case binary:
+        try (final InputStream inputStream =
+            new BufferedInputStream(Files.newInputStream(serializedCatalogFile))) {
+          assertThat(BlockGzipInputStream.isBlockCompressed(inputStream), is(true));
+        }
+        // Block compressed snapshots can still be read as plain gzip files
+        try (final InputStream inputStream =
+            new BufferedInputStream(
+                new GZIPInputStream(Files.newInputStream(serializedCatalogFile)))) {
+          assertThat(BinaryCatalogReader.isBinaryCatalog(inputStream), is(true));
+        }
+        break;
+      case indexed:
+        assertThat(IndexedCatalogReader.isIndexedCatalog(serializedCatalogFile), is(true));
+        break;
+      case json:
+        // JSON snapshots are not compressed
+        assertThat(fileHeaderOf(serializedCatalogFile), is(oneOf("7B0D", "7B0A")));
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown snapshot format: " + format);
+    }
+  }
+
+  private Path serializeCatalog(
+      final SnapshotFormat format, final DatabaseConnectionSource dataSource) throws IOException {
+    final LimitOptionsBuilder limitOptionsBuilder =
+        LimitOptionsBuilder.builder().includeAllRoutines();
+    final LoadOptionsBuilder loadOptionsBuilder =
+        LoadOptionsBuilder.builder().withSchemaInfoLevel(SchemaInfoLevelBuilder.maximum());
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions()
+            .withLimitOptions(limitOptionsBuilder.toOptions())
+            .withLoadOptions(loadOptionsBuilder.toOptions());
+
+    final Catalog catalog =
+        getCatalog(
+            dataSource,
+            SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions(),
+            schemaCrawlerOptions,
+            new Config());
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path serializedCatalogFile =
+        IOUtility.createTempFilePath("schemacrawler", format.extension);
+    switch (format) {
+      case binary:
+        // Snapshots are block compressed, the same way as by the serialize command
+        try (final OutputStream outputStream =
+            new BlockGzipOutputStream(Files.newOutputStream(serializedCatalogFile))) {
+          new BinarySerializedCatalog(catalog).save(outputStream);
+        }
+        break;
+      case indexed:
+        try (final OutputStream outputStream = Files.newOutputStream(serializedCatalogFile)) {
+          new IndexedSerializedCatalog(catalog).save(outputStream);
+        }
+        break;
+      case json:
+        try (final OutputStream outputStream = Files.newOutputStream(serializedCatalogFile)) {
+          new JsonSerializedCatalog(catalog).save(outputStream);
+        }
+        break;
+      default:
+        throw new IllegalArgumentException("Unknown snapshot format: " + format);
+    }
+    assertThat("Database was not serialized", size(serializedCatalogFile), greaterThan(0L));
+    assertSnapshotFormat(format, serializedCatalogFile);
+
+    return serializedCatalogFile;
+  }
+}
@@ -33,8 +33,10 @@ import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.empty;
 import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static schemacrawler.test.utility.ExecutableTestUtility.executableExecution;
 import static schemacrawler.test.utility.FileHasContent.classpathResource;
 import static schemacrawler.test.utility.FileHasContent.hasSameContentAndTypeAs;
@@ -46,10 +48,15 @@ import static schemacrawler.test.utility.TestUtility.javaVersion;
 import static schemacrawler.tools.offline.jdbc.OfflineConnectionUtility.newOfflineConnection;
 import static schemacrawler.tools.utility.SchemaCrawlerUtility.getCatalog;
 
+import java.io.File;
 import java.io.IOException;
 import java.io.OutputStream;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.sql.Connection;
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -74,6 +81,7 @@ import schemacrawler.test.utility.WithSystemProperty;
 import schemacrawler.test.utility.WithTestDatabase;
 import schemacrawler.tools.command.text.schema.options.SchemaTextOptionsBuilder;
 import schemacrawler.tools.command.text.schema.options.TextOutputFormat;
+import schemacrawler.tools.commandline.SchemaCrawlerCommandLine;
 import schemacrawler.tools.executable.SchemaCrawlerExecutable;
 import schemacrawler.tools.formatter.serialize.JavaSerializedCatalog;
 import schemacrawler.tools.offline.OfflineDatabaseConnector;
@@ -88,6 +96,44 @@ public class OfflineSnapshotTest {
 
   private static final String OFFLINE_EXECUTABLE_OUTPUT = "offline_executable_output/";
 
+  /**
+   * Runs the command-line in a class loader that cannot load Jackson, the same as when Jackson is
+   * not on the classpath.
+   *
+   * @return Exit code
+   */
+  private static int executeWithoutJackson(final String[] args) throws Exception {
+    String classPath = System.getProperty("surefire.test.class.path");
+    if (classPath == null) {
+      classPath = System.getProperty("java.class.path");
+    }
+    final List<URL> urls = new ArrayList<>();
+    for (final String classPathElement : classPath.split(File.pathSeparator)) {
+      if (!classPathElement.contains("jackson")) {
+        urls.add(Paths.get(classPathElement).toUri().toURL());
+      }
+    }
+
+    final Thread currentThread = Thread.currentThread();
+    final ClassLoader contextClassLoader = currentThread.getContextClassLoader();
+    try (final URLClassLoader classLoader =
+        new URLClassLoader(
+            urls.toArray(new URL[0]), ClassLoader.getSystemClassLoader().getParent())) {
+      assertThrows(
+          ClassNotFoundException.class,
+          () -> classLoader.loadClass("com.fasterxml.jackson.databind.ObjectMapper"));
+
+      currentThread.setContextClassLoader(classLoader);
+      final Method execute =
+          classLoader
+              .loadClass(SchemaCrawlerCommandLine.class.getName())
+              .getMethod("execute", String[].class);
+      return (int) execute.invoke(null, (Object) args);
+    } finally {
+      currentThread.setContextClassLoader(contextClassLoader);
+    }
+  }
+
   private Path serializedCatalogFile;
 
   @Test
@@ -139,6 +185,31 @@ public class OfflineSnapshotTest {
         hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
   }
 
+  @Test
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void offlineSnapshotCommandLineWithoutJackson() throws Exception {
+    // Detecting the format of a Java serialized snapshot does not need Jackson
+    final TestWriter testout = new TestWriter();
+    try (final TestWriter out = testout) {
+      final Map<String, String> argsMap = new HashMap<>();
+      argsMap.put("--server", "offline");
+      argsMap.put("--database", serializedCatalogFile.toString());
+
+      argsMap.put("--no-info", "true");
+      argsMap.put("--info-level", "maximum");
+      argsMap.put("--command", "details");
+      argsMap.put("--output-format", TextOutputFormat.text.getFormat());
+      argsMap.put("--routines", "");
+      argsMap.put("--tables", ".*SALES");
+      argsMap.put("--output-file", out.toString());
+
+      assertThat(executeWithoutJackson(flattenCommandlineArgs(argsMap)), is(0));
+    }
+    assertThat(
+        outputOf(testout),
+        hasSameContentAs(classpathResource(OFFLINE_EXECUTABLE_OUTPUT + "offlineWithFilters.txt")));
+  }
+
   @Test
   @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
   public void offlineSnapshotCommandLineWithSchemaFilters() throws Exception {
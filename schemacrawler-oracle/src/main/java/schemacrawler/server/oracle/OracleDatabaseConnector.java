@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.server.oracle;
 
+import static schemacrawler.schemacrawler.InformationSchemaKey.TABLE_COLUMNS;
 import static schemacrawler.schemacrawler.MetadataRetrievalStrategy.data_dictionary_all;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.foreignKeysRetrievalStrategy;
 import static schemacrawler.schemacrawler.SchemaInfoMetadataRetrievalStrategy.functionParametersRetrievalStrategy;
@@ -65,7 +66,10 @@ public final class OracleDatabaseConnector extends DatabaseConnector {
                 .with(proceduresRetrievalStrategy, data_dictionary_all)
                 .with(procedureParametersRetrievalStrategy, data_dictionary_all)
                 .with(functionsRetrievalStrategy, data_dictionary_all)
-                .with(functionParametersRetrievalStrategy, data_dictionary_all),
+                .with(functionParametersRetrievalStrategy, data_dictionary_all)
+                .withFetchSize(200)
+                .withFetchSize(TABLE_COLUMNS, 1000)
+                .withAdaptiveFetchSize(true),
         limitOptionsBuilder -> limitOptionsBuilder.includeSchemas(new OracleSchemaExclusionRule()),
         () ->
             DatabaseConnectionSourceBuilder.builder(
@@ -0,0 +1,16 @@
+SELECT
+  NULL AS TABLE_CATALOG,
+  OBJECTS.OWNER AS TABLE_SCHEMA,
+  OBJECTS.OBJECT_NAME AS TABLE_NAME
+FROM
+  ${catalogscope}_OBJECTS OBJECTS
+WHERE
+  REGEXP_LIKE(OBJECTS.OWNER, '${schemas}')
+  AND OBJECTS.OBJECT_TYPE IN ('TABLE', 'VIEW', 'MATERIALIZED VIEW')
+  AND OBJECTS.OBJECT_NAME NOT LIKE 'BIN$%'
+  AND OBJECTS.LAST_DDL_TIME
+    - (SYSDATE - CAST(SYS_EXTRACT_UTC(SYSTIMESTAMP) AS DATE))
+    >= TO_DATE('${changedsince}', 'YYYY-MM-DD HH24:MI:SS')
+ORDER BY
+  OBJECTS.OWNER,
+  OBJECTS.OBJECT_NAME
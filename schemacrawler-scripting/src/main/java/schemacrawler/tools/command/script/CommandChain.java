@@ -132,6 +132,7 @@ public final class CommandChain extends BaseSchemaCrawlerCommand<LanguageOptions
       scCommand.setCatalog(catalog);
       scCommand.setConnection(connection);
       scCommand.setIdentifiers(identifiers);
+      scCommand.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
       scCommands.add(scCommand);
 
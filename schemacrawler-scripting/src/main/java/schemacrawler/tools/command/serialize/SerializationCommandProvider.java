@@ -58,7 +58,8 @@ public class SerializationCommandProvider extends BaseCommandProvider {
                 },
             () ->
                 new String[] {
-                  "Deserialization is possible with the \"offline\" command for Java serialization"
+                  "Deserialization is possible with the \"offline\" command for Java serialization,"
+                      + " and for the compact binary and indexed binary formats"
                 });
 
     return pluginCommand;
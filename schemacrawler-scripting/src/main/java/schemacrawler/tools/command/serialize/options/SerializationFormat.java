@@ -38,6 +38,15 @@ import us.fatehi.utility.string.StringFormat;
 
 public enum SerializationFormat implements OutputFormat {
   ser("Java serialization", "schemacrawler.tools.formatter.serialize.JavaSerializedCatalog", true),
+  scbin(
+      "SchemaCrawler compact binary serialization format",
+      "schemacrawler.tools.formatter.serialize.BinarySerializedCatalog",
+      true),
+  scidx(
+      "SchemaCrawler indexed binary serialization format, which is not compressed",
+      "schemacrawler.tools.formatter.serialize.IndexedSerializedCatalog",
+      true,
+      false),
   json(
       "JavaScript Object Notation (JSON) serialization format",
       "schemacrawler.tools.formatter.serialize.JsonSerializedCatalog",
@@ -89,12 +98,22 @@ public enum SerializationFormat implements OutputFormat {
   private final OutputFormatState outputFormatState;
   private final String serializerClassName;
   private final boolean isBinaryFormat;
+  private final boolean isCompressed;
 
   SerializationFormat(
       final String description, final String serializerClassName, final boolean isBinaryFormat) {
+    this(description, serializerClassName, isBinaryFormat, isBinaryFormat);
+  }
+
+  SerializationFormat(
+      final String description,
+      final String serializerClassName,
+      final boolean isBinaryFormat,
+      final boolean isCompressed) {
     outputFormatState = new OutputFormatState(name(), description);
     this.serializerClassName = serializerClassName;
     this.isBinaryFormat = isBinaryFormat;
+    this.isCompressed = isCompressed;
   }
 
   @Override
@@ -125,6 +144,16 @@ public enum SerializationFormat implements OutputFormat {
     return isBinaryFormat;
   }
 
+  /**
+   * Binary formats are compressed when they are saved to a file, unless they need to be read at an
+   * arbitrary position.
+   *
+   * @return True if the serialized file is compressed
+   */
+  public boolean isCompressed() {
+    return isCompressed;
+  }
+
   @Override
   public String toString() {
     return outputFormatState.toString();
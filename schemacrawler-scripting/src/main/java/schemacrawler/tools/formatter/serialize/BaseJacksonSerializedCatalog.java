@@ -28,106 +28,47 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.formatter.serialize;
 
-import static com.fasterxml.jackson.databind.SerializationFeature.INDENT_OUTPUT;
-import static com.fasterxml.jackson.databind.SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS;
-import static com.fasterxml.jackson.databind.SerializationFeature.USE_EQUALITY_FOR_OBJECT_ID;
-import static com.fasterxml.jackson.databind.SerializationFeature.WRITE_ENUMS_USING_TO_STRING;
-import static java.nio.charset.StandardCharsets.UTF_8;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.OutputStreamWriter;
 import java.io.Writer;
-import java.util.Arrays;
-import java.util.List;
 import java.util.Set;
-import java.util.SortedSet;
 import java.util.TreeSet;
-import java.util.logging.Level;
-import java.util.logging.Logger;
-
-import com.fasterxml.jackson.annotation.JsonFilter;
-import com.fasterxml.jackson.annotation.JsonIdentityInfo;
-import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
-import com.fasterxml.jackson.annotation.JsonPropertyOrder;
-import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.core.JsonGenerator;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.databind.PropertyNamingStrategies;
-import com.fasterxml.jackson.databind.SerializerProvider;
-import com.fasterxml.jackson.databind.annotation.JsonNaming;
-import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
-import com.fasterxml.jackson.databind.ser.FilterProvider;
-import com.fasterxml.jackson.databind.ser.PropertyFilter;
-import com.fasterxml.jackson.databind.ser.PropertyWriter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
-import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.Column;
-import schemacrawler.schema.PartialDatabaseObject;
 import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.exceptions.IORuntimeException;
 
-/** Decorates a database to allow for serialization to and from plain Java serialization. */
+/**
+ * Decorates a database to allow for serialization to formats supported by Jackson streaming
+ * generators. The catalog is written out one object at a time, with objects referred to by name.
+ */
 public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer {
 
-  private static class IgnoreExceptionBeanPropertyFilter extends SimpleBeanPropertyFilter {
-
-    private static final List<String> PARTIAL_PROPERTIES =
-        Arrays.asList(
-            "name", "short-name", "full-name", "attributes", "parent-partial", "remarks", "schema");
-
-    @Override
-    public void serializeAsField(
-        final Object pojo,
-        final JsonGenerator jgen,
-        final SerializerProvider provider,
-        final PropertyWriter writer)
-        throws Exception {
-      if (include(writer)) {
-        try {
-          if (pojo instanceof PartialDatabaseObject
-              && !PARTIAL_PROPERTIES.contains(writer.getName())) {
-            return;
-          }
-          writer.serializeAsField(pojo, jgen, provider);
-        } catch (final Exception e) {
-          LOGGER.log(Level.FINE, e.getMessage(), e);
-          return;
-        }
-      } else if (!jgen.canOmitFields()) {
-        writer.serializeAsOmittedField(pojo, jgen, provider);
-      }
-    }
-
-    @Override
-    protected boolean include(final BeanPropertyWriter writer) {
-      return true;
-    }
-
-    @Override
-    protected boolean include(final PropertyWriter writer) {
-      return true;
-    }
-  }
-
-  private static final Logger LOGGER =
-      Logger.getLogger(BaseJacksonSerializedCatalog.class.getName());
-
   private final Catalog catalog;
-  private final SortedSet<Column> allTableColumns;
 
   public BaseJacksonSerializedCatalog(final Catalog catalog) {
     this.catalog = requireNonNull(catalog, "No catalog provided");
-    allTableColumns = new TreeSet<>();
-    loadAllTableColumns();
   }
 
+  /**
+   * Gets all columns of all tables in the catalog, in sorted order. The columns are collected each
+   * time that this is called, and are not needed for serialization.
+   *
+   * @return All table columns
+   */
   public Set<Column> getAllTableColumns() {
-    return new TreeSet<>(allTableColumns);
+    final Set<Column> allTableColumns = new TreeSet<>();
+    for (final Table table : catalog.getTables()) {
+      allTableColumns.addAll(table.getColumns());
+    }
+    return allTableColumns;
   }
 
   @Override
@@ -139,7 +80,11 @@ public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer
   @Override
   public void save(final OutputStream out) {
     requireNonNull(out, "No output stream provided");
-    save(new OutputStreamWriter(out, UTF_8));
+    try {
+      save(getJsonFactory().createGenerator(out, JsonEncoding.UTF8));
+    } catch (final IOException e) {
+      throw new IORuntimeException("Could not serialize catalog", e);
+    }
   }
 
   /** {@inheritDoc} */
@@ -147,69 +92,24 @@ public abstract class BaseJacksonSerializedCatalog implements CatalogSerializer
   public void save(final Writer out) {
     requireNonNull(out, "No writer provided");
     try {
-      final ObjectMapper mapper = newConfiguredObjectMapper();
-      mapper.writeValue(out, this);
+      save(getJsonFactory().createGenerator(out));
     } catch (final IOException e) {
       throw new IORuntimeException("Could not serialize catalog", e);
     }
   }
 
-  protected abstract ObjectMapper newObjectMapper();
-
-  private void loadAllTableColumns() {
-    for (final Table table : catalog.getTables()) {
-      for (final Column column : table.getColumns()) {
-        allTableColumns.add(column);
-      }
+  /**
+   * Gets the factory for generators. Factories are thread-safe, and should be shared, since they
+   * are expensive to create.
+   *
+   * @return Factory for generators
+   */
+  protected abstract JsonFactory getJsonFactory();
+
+  private void save(final JsonGenerator generator) throws IOException {
+    // The generator closes the output, the same way that Jackson does for an object mapper
+    try (final JsonGenerator jsonGenerator = generator.useDefaultPrettyPrinter()) {
+      new JsonCatalogWriter(jsonGenerator).write(catalog);
     }
   }
-
-  private ObjectMapper newConfiguredObjectMapper() {
-
-    @JsonIgnoreProperties({
-      "parent",
-      "referenced-column",
-      "exported-foreign-keys",
-      "imported-foreign-keys"
-    })
-    @JsonPropertyOrder(
-        value = {
-          "@uuid",
-          "name",
-          "short-name",
-          "full-name",
-          "crawl-info",
-          "schema-crawler-info",
-          "jvm-system-info",
-          "operating-system-info",
-          "database-info",
-          "jdbc-driver-info",
-          "schemas",
-          "system-column-data-types",
-          "column-data-types",
-          "all-table-columns"
-        },
-        alphabetic = true)
-    @JsonIdentityInfo(generator = ObjectIdGenerators.UUIDGenerator.class, property = "@uuid")
-    @JsonNaming(PropertyNamingStrategies.KebabCaseStrategy.class)
-    @JsonFilter("ignore-getter-errors-filter")
-    class JacksonAnnotationMixIn {}
-
-    final FilterProvider filters =
-        new SimpleFilterProvider()
-            .addFilter(
-                "ignore-getter-errors-filter",
-                (PropertyFilter) new IgnoreExceptionBeanPropertyFilter());
-
-    final ObjectMapper mapper = newObjectMapper();
-    mapper.enable(
-        ORDER_MAP_ENTRIES_BY_KEYS,
-        INDENT_OUTPUT,
-        USE_EQUALITY_FOR_OBJECT_ID,
-        WRITE_ENUMS_USING_TO_STRING);
-    mapper.registerModule(new JavaTimeModule());
-    mapper.addMixIn(Object.class, JacksonAnnotationMixIn.class);
-    mapper.setFilterProvider(filters);
-    return mapper;
-  }
 }
@@ -0,0 +1,91 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.formatter.serialize;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.file.Path;
+
+import schemacrawler.crawl.IndexedCatalogReader;
+import schemacrawler.crawl.IndexedCatalogWriter;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
+import schemacrawler.schemacrawler.exceptions.IORuntimeException;
+
+/**
+ * Decorates a database to allow for serialization to and from the indexed layout of the
+ * SchemaCrawler binary format. Indexed files are not compressed, so that they can be memory mapped,
+ * and only the tables and routines that are needed are read when the catalog is loaded.
+ */
+public final class IndexedSerializedCatalog implements CatalogSerializer {
+
+  private static Catalog readCatalog(final Path file) {
+    requireNonNull(file, "No file provided");
+    try {
+      return new IndexedCatalogReader(file).read();
+    } catch (final IOException e) {
+      throw new ExecutionRuntimeException("Cannot deserialize catalog", e);
+    }
+  }
+
+  private final Catalog catalog;
+
+  public IndexedSerializedCatalog(final Catalog catalog) {
+    this.catalog = requireNonNull(catalog, "No catalog provided");
+  }
+
+  public IndexedSerializedCatalog(final Path file) {
+    this(readCatalog(file));
+  }
+
+  @Override
+  public Catalog getCatalog() {
+    return catalog;
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final OutputStream out) {
+    requireNonNull(out, "No output stream provided");
+    try (final IndexedCatalogWriter writer = new IndexedCatalogWriter(out)) {
+      writer.write(catalog);
+    } catch (final IOException e) {
+      throw new IORuntimeException("Could not serialize catalog", e);
+    }
+  }
+
+  /** {@inheritDoc} */
+  @Override
+  public void save(final Writer out) {
+    throw new UnsupportedOperationException("Cannot serialize binary format using character data");
+  }
+}
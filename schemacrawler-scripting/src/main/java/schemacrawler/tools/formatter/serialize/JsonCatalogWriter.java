@@ -0,0 +1,771 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.tools.formatter.serialize;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import schemacrawler.ProductVersion;
+import schemacrawler.schema.BaseColumn;
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Column;
+import schemacrawler.schema.ColumnDataType;
+import schemacrawler.schema.ColumnReference;
+import schemacrawler.schema.CrawlInfo;
+import schemacrawler.schema.DatabaseInfo;
+import schemacrawler.schema.DatabaseObject;
+import schemacrawler.schema.DatabaseProperty;
+import schemacrawler.schema.DatabaseUser;
+import schemacrawler.schema.ForeignKey;
+import schemacrawler.schema.Function;
+import schemacrawler.schema.Grant;
+import schemacrawler.schema.Index;
+import schemacrawler.schema.IndexColumn;
+import schemacrawler.schema.JdbcDriverInfo;
+import schemacrawler.schema.JdbcDriverProperty;
+import schemacrawler.schema.PartialDatabaseObject;
+import schemacrawler.schema.PrimaryKey;
+import schemacrawler.schema.Privilege;
+import schemacrawler.schema.Procedure;
+import schemacrawler.schema.Property;
+import schemacrawler.schema.Routine;
+import schemacrawler.schema.RoutineParameter;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Sequence;
+import schemacrawler.schema.Synonym;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.TableConstraint;
+import schemacrawler.schema.TableConstraintColumn;
+import schemacrawler.schema.TableReference;
+import schemacrawler.schema.Trigger;
+import schemacrawler.schema.View;
+import schemacrawler.schema.WeakAssociation;
+
+/**
+ * Writes a catalog to a Jackson streaming generator, one object at a time, so that the serialized
+ * catalog is never held in memory. Objects that are written out in the catalog, such as column data
+ * types and tables, are referred to by full name, and schemas by catalog and schema name. Columns
+ * are referred to by the names of their catalog, schema, table and column, so that columns of
+ * tables that are not in the catalog can be referred to as well. Each foreign key and weak
+ * association is written once, with the table at the foreign key end, or with the table at the
+ * primary key end if the table at the foreign key end is not in the catalog.
+ */
+final class JsonCatalogWriter {
+
+  private static boolean isPartial(final DatabaseObject databaseObject) {
+    return databaseObject instanceof PartialDatabaseObject;
+  }
+
+  private final JsonGenerator generator;
+
+  JsonCatalogWriter(final JsonGenerator generator) {
+    this.generator = requireNonNull(generator, "No JSON generator provided");
+  }
+
+  /**
+   * Writes a catalog, and flushes the generator.
+   *
+   * @param catalog Catalog to write
+   */
+  void write(final Catalog catalog) throws IOException {
+    requireNonNull(catalog, "No catalog provided");
+
+    generator.writeStartObject();
+
+    generator.writeFieldName("catalog");
+    generator.writeStartObject();
+    generator.writeStringField("name", catalog.getName());
+    generator.writeStringField("full-name", catalog.getFullName());
+    writeCrawlInfo(catalog.getCrawlInfo());
+    writeDatabaseInfo(catalog.getDatabaseInfo());
+    writeJdbcDriverInfo(catalog.getJdbcDriverInfo());
+    writeAttributes(catalog.getAttributes());
+
+    generator.writeArrayFieldStart("schemas");
+    for (final Schema schema : catalog.getSchemas()) {
+      generator.writeStartObject();
+      writeSchemaFields(schema);
+      generator.writeStringField("full-name", schema.getFullName());
+      writeRemarks(schema.getRemarks());
+      writeAttributes(schema.getAttributes());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    writeColumnDataTypes(catalog);
+
+    generator.writeArrayFieldStart("database-users");
+    for (final DatabaseUser databaseUser : catalog.getDatabaseUsers()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", databaseUser.getName());
+      writeAttributes(databaseUser.getAttributes());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("tables");
+    for (final Table table : catalog.getTables()) {
+      writeTable(table);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("routines");
+    for (final Routine routine : catalog.getRoutines()) {
+      writeRoutine(routine);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("sequences");
+    for (final Sequence sequence : catalog.getSequences()) {
+      writeSequence(sequence);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("synonyms");
+    for (final Synonym synonym : catalog.getSynonyms()) {
+      writeSynonym(synonym);
+    }
+    generator.writeEndArray();
+
+    generator.writeEndObject();
+
+    // Columns are listed table by table, so there is no need to collect them all first
+    generator.writeArrayFieldStart("all-table-columns");
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        generator.writeString(column.getFullName());
+      }
+    }
+    generator.writeEndArray();
+
+    generator.writeEndObject();
+    generator.flush();
+  }
+
+  private void addOtherColumnDataType(
+      final ColumnDataType columnDataType,
+      final Set<String> columnDataTypeNames,
+      final Map<String, ColumnDataType> otherColumnDataTypes) {
+    if (columnDataType == null) {
+      return;
+    }
+    final String fullName = columnDataType.getFullName();
+    if (!columnDataTypeNames.contains(fullName) && !otherColumnDataTypes.containsKey(fullName)) {
+      otherColumnDataTypes.put(fullName, columnDataType);
+      addOtherColumnDataType(
+          columnDataType.getBaseType(), columnDataTypeNames, otherColumnDataTypes);
+    }
+  }
+
+  /**
+   * Foreign keys and weak associations are shared by the tables at both ends, so they are written
+   * with only one of them.
+   */
+  private boolean isWrittenWith(final TableReference tableReference, final Table table) {
+    final Table foreignKeyTable = tableReference.getForeignKeyTable();
+    if (isPartial(foreignKeyTable)) {
+      return tableReference.getPrimaryKeyTable() == table;
+    } else {
+      return foreignKeyTable == table;
+    }
+  }
+
+  private void writeAttributes(final Map<String, Object> attributes) throws IOException {
+    generator.writeFieldName("attributes");
+    // Attributes are written sorted by name, so that the output is the same every time
+    writeValue(attributes);
+  }
+
+  private void writeBigInteger(final String fieldName, final BigInteger value) throws IOException {
+    generator.writeFieldName(fieldName);
+    if (value == null) {
+      generator.writeNull();
+    } else {
+      generator.writeNumber(value);
+    }
+  }
+
+  private void writeColumn(final Column column) throws IOException {
+    generator.writeStartObject();
+    writeColumnFields(column);
+    generator.writeBooleanField("auto-incremented", column.isAutoIncremented());
+    generator.writeBooleanField("generated", column.isGenerated());
+    generator.writeBooleanField("hidden", column.isHidden());
+    generator.writeBooleanField("part-of-primary-key", column.isPartOfPrimaryKey());
+    generator.writeBooleanField("part-of-index", column.isPartOfIndex());
+    generator.writeBooleanField("part-of-unique-index", column.isPartOfUniqueIndex());
+    generator.writeStringField("default-value", column.getDefaultValue());
+    generator.writeFieldName("referenced-column");
+    writeColumnReference(column.getReferencedColumn());
+    writeRemarks(column.getRemarks());
+    writeAttributes(column.getAttributes());
+    writePrivileges(column.getPrivileges());
+    generator.writeEndObject();
+  }
+
+  private void writeColumnDataType(final ColumnDataType columnDataType) throws IOException {
+    generator.writeStartObject();
+    writeSchemaFields(columnDataType.getSchema());
+    generator.writeStringField("name", columnDataType.getName());
+    generator.writeStringField("full-name", columnDataType.getFullName());
+    writeEnum("type", columnDataType.getType());
+    generator.writeNumberField(
+        "java-sql-type", columnDataType.getJavaSqlType().getVendorTypeNumber());
+    generator.writeStringField("type-mapped-class", columnDataType.getTypeMappedClass().getName());
+    final ColumnDataType baseType = columnDataType.getBaseType();
+    generator.writeStringField("base-type", baseType == null ? null : baseType.getFullName());
+    generator.writeBooleanField("auto-incrementable", columnDataType.isAutoIncrementable());
+    generator.writeBooleanField("case-sensitive", columnDataType.isCaseSensitive());
+    generator.writeBooleanField("fixed-precision-scale", columnDataType.isFixedPrecisionScale());
+    generator.writeBooleanField("nullable", columnDataType.isNullable());
+    generator.writeBooleanField("unsigned", columnDataType.isUnsigned());
+    generator.writeStringField("create-parameters", columnDataType.getCreateParameters());
+    generator.writeFieldName("enum-values");
+    writeValue(columnDataType.getEnumValues());
+    generator.writeStringField("literal-prefix", columnDataType.getLiteralPrefix());
+    generator.writeStringField("literal-suffix", columnDataType.getLiteralSuffix());
+    generator.writeStringField("local-type-name", columnDataType.getLocalTypeName());
+    generator.writeNumberField("maximum-scale", columnDataType.getMaximumScale());
+    generator.writeNumberField("minimum-scale", columnDataType.getMinimumScale());
+    generator.writeNumberField("num-precision-radix", columnDataType.getNumPrecisionRadix());
+    generator.writeNumberField("precision", columnDataType.getPrecision());
+    writeEnum("searchable", columnDataType.getSearchable());
+    writeRemarks(columnDataType.getRemarks());
+    writeAttributes(columnDataType.getAttributes());
+    generator.writeEndObject();
+  }
+
+  /**
+   * Column data types that are not in the catalog are written out separately, since they are needed
+   * by columns and routine parameters. Data types are referred to by full name.
+   */
+  private void writeColumnDataTypes(final Catalog catalog) throws IOException {
+    final Collection<ColumnDataType> columnDataTypes = catalog.getColumnDataTypes();
+    final Set<String> columnDataTypeNames = new HashSet<>();
+    for (final ColumnDataType columnDataType : columnDataTypes) {
+      columnDataTypeNames.add(columnDataType.getFullName());
+    }
+    final Map<String, ColumnDataType> otherColumnDataTypes = new TreeMap<>();
+    for (final Table table : catalog.getTables()) {
+      for (final Column column : table.getColumns()) {
+        addOtherColumnDataType(
+            column.getColumnDataType(), columnDataTypeNames, otherColumnDataTypes);
+      }
+      for (final Column column : table.getHiddenColumns()) {
+        addOtherColumnDataType(
+            column.getColumnDataType(), columnDataTypeNames, otherColumnDataTypes);
+      }
+    }
+    for (final Routine routine : catalog.getRoutines()) {
+      for (final RoutineParameter<? extends Routine> parameter : routine.getParameters()) {
+        addOtherColumnDataType(
+            parameter.getColumnDataType(), columnDataTypeNames, otherColumnDataTypes);
+      }
+    }
+    for (final ColumnDataType columnDataType : columnDataTypes) {
+      addOtherColumnDataType(
+          columnDataType.getBaseType(), columnDataTypeNames, otherColumnDataTypes);
+    }
+
+    generator.writeArrayFieldStart("column-data-types");
+    for (final ColumnDataType columnDataType : columnDataTypes) {
+      writeColumnDataType(columnDataType);
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("other-column-data-types");
+    for (final ColumnDataType columnDataType : otherColumnDataTypes.values()) {
+      writeColumnDataType(columnDataType);
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeColumnFields(final BaseColumn<?> column) throws IOException {
+    generator.writeStringField("name", column.getName());
+    generator.writeStringField("full-name", column.getFullName());
+    generator.writeNumberField("ordinal-position", column.getOrdinalPosition());
+    final ColumnDataType columnDataType = column.getColumnDataType();
+    generator.writeStringField(
+        "column-data-type", columnDataType == null ? null : columnDataType.getFullName());
+    generator.writeNumberField("size", column.getSize());
+    generator.writeNumberField("decimal-digits", column.getDecimalDigits());
+    generator.writeBooleanField("nullable", column.isNullable());
+  }
+
+  /**
+   * Columns are referred to by name, whether or not the table is in the catalog, so that partial
+   * tables can be created for tables that are not.
+   */
+  private void writeColumnReference(final Column column) throws IOException {
+    if (column == null) {
+      generator.writeNull();
+      return;
+    }
+    final Table table = column.getParent();
+    final Schema schema = table.getSchema();
+    generator.writeStartObject();
+    writeSchemaFields(schema);
+    generator.writeStringField("table-name", table.getName());
+    generator.writeStringField("column-name", column.getName());
+    generator.writeEndObject();
+  }
+
+  private void writeCrawlInfo(final CrawlInfo crawlInfo) throws IOException {
+    generator.writeFieldName("crawl-info");
+    generator.writeStartObject();
+    writeProductVersion("schema-crawler-version", crawlInfo.getSchemaCrawlerVersion());
+    writeProductVersion("operating-system-version", crawlInfo.getOperatingSystemVersion());
+    writeProductVersion("jvm-version", crawlInfo.getJvmVersion());
+    writeProductVersion("database-version", crawlInfo.getDatabaseVersion());
+    writeProductVersion("jdbc-driver-version", crawlInfo.getJdbcDriverVersion());
+    generator.writeStringField("crawl-timestamp", crawlInfo.getCrawlTimestampInstant().toString());
+    generator.writeStringField("run-id", crawlInfo.getRunId());
+    generator.writeFieldName("skipped-retrievals");
+    writeValue(crawlInfo.getSkippedRetrievals());
+    generator.writeEndObject();
+  }
+
+  private void writeDatabaseInfo(final DatabaseInfo databaseInfo) throws IOException {
+    generator.writeFieldName("database-info");
+    generator.writeStartObject();
+    generator.writeStringField("product-name", databaseInfo.getProductName());
+    generator.writeStringField("product-version", databaseInfo.getProductVersion());
+    generator.writeStringField("user-name", databaseInfo.getUserName());
+    generator.writeArrayFieldStart("server-info");
+    for (final Property property : databaseInfo.getServerInfo()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", property.getName());
+      generator.writeFieldName("value");
+      writeValue(property.getValue());
+      generator.writeStringField("description", property.getDescription());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("properties");
+    for (final DatabaseProperty property : databaseInfo.getProperties()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", property.getName());
+      generator.writeFieldName("value");
+      writeValue(property.getValue());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeEnum(final String fieldName, final Enum<?> value) throws IOException {
+    generator.writeStringField(fieldName, value == null ? null : value.name());
+  }
+
+  private void writeForeignKey(final ForeignKey foreignKey) throws IOException {
+    generator.writeStartObject();
+    writeTableReferenceFields(foreignKey);
+    writeEnum("update-rule", foreignKey.getUpdateRule());
+    writeEnum("delete-rule", foreignKey.getDeleteRule());
+    writeEnum("deferrability", foreignKey.getDeferrability());
+    generator.writeStringField("definition", foreignKey.getDefinition());
+    generator.writeEndObject();
+  }
+
+  private void writeIndex(final Index index) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("name", index.getName());
+    generator.writeBooleanField("unique", index.isUnique());
+    writeEnum("index-type", index.getIndexType());
+    generator.writeNumberField("cardinality", index.getCardinality());
+    generator.writeNumberField("pages", index.getPages());
+    generator.writeStringField("definition", index.getDefinition());
+    writeRemarks(index.getRemarks());
+    writeAttributes(index.getAttributes());
+    generator.writeArrayFieldStart("columns");
+    for (final IndexColumn column : index.getColumns()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", column.getName());
+      generator.writeNumberField("index-ordinal-position", column.getIndexOrdinalPosition());
+      writeEnum("sort-sequence", column.getSortSequence());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private void writeJdbcDriverInfo(final JdbcDriverInfo jdbcDriverInfo) throws IOException {
+    generator.writeFieldName("jdbc-driver-info");
+    generator.writeStartObject();
+    generator.writeStringField("product-name", jdbcDriverInfo.getProductName());
+    generator.writeStringField("product-version", jdbcDriverInfo.getProductVersion());
+    generator.writeStringField("driver-class-name", jdbcDriverInfo.getDriverClassName());
+    generator.writeNumberField("driver-major-version", jdbcDriverInfo.getDriverMajorVersion());
+    generator.writeNumberField("driver-minor-version", jdbcDriverInfo.getDriverMinorVersion());
+    generator.writeNumberField("jdbc-major-version", jdbcDriverInfo.getJdbcMajorVersion());
+    generator.writeNumberField("jdbc-minor-version", jdbcDriverInfo.getJdbcMinorVersion());
+    generator.writeBooleanField("jdbc-compliant", jdbcDriverInfo.isJdbcCompliant());
+    generator.writeStringField("connection-url", jdbcDriverInfo.getConnectionUrl());
+    generator.writeArrayFieldStart("driver-properties");
+    for (final JdbcDriverProperty property : jdbcDriverInfo.getDriverProperties()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", property.getName());
+      generator.writeStringField("value", property.getValue());
+      generator.writeStringField("description", property.getDescription());
+      generator.writeBooleanField("required", property.isRequired());
+      generator.writeFieldName("choices");
+      writeValue(property.getChoices());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  private <D extends DatabaseObject> void writePrivileges(final Collection<Privilege<D>> privileges)
+      throws IOException {
+    generator.writeArrayFieldStart("privileges");
+    for (final Privilege<D> privilege : privileges) {
+      generator.writeStartObject();
+      generator.writeStringField("name", privilege.getName());
+      writeRemarks(privilege.getRemarks());
+      writeAttributes(privilege.getAttributes());
+      generator.writeArrayFieldStart("grants");
+      for (final Grant<D> grant : privilege.getGrants()) {
+        generator.writeStartObject();
+        generator.writeStringField("grantor", grant.getGrantor());
+        generator.writeStringField("grantee", grant.getGrantee());
+        generator.writeBooleanField("grantable", grant.isGrantable());
+        generator.writeEndObject();
+      }
+      generator.writeEndArray();
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeProductVersion(final String fieldName, final ProductVersion productVersion)
+      throws IOException {
+    generator.writeFieldName(fieldName);
+    generator.writeStartObject();
+    generator.writeStringField("product-name", productVersion.getProductName());
+    generator.writeStringField("product-version", productVersion.getProductVersion());
+    generator.writeEndObject();
+  }
+
+  private void writeRemarks(final String remarks) throws IOException {
+    generator.writeStringField("remarks", remarks);
+  }
+
+  private void writeRoutine(final Routine routine) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("@type", routine instanceof Function ? "function" : "procedure");
+    writeSchemaFields(routine.getSchema());
+    generator.writeStringField("name", routine.getName());
+    generator.writeStringField("full-name", routine.getFullName());
+    generator.writeStringField("specific-name", routine.getSpecificName());
+    if (routine instanceof Function) {
+      writeEnum("return-type", ((Function) routine).getReturnType());
+    } else if (routine instanceof Procedure) {
+      writeEnum("return-type", ((Procedure) routine).getReturnType());
+    }
+    writeEnum("routine-body-type", routine.getRoutineBodyType());
+    generator.writeStringField("definition", routine.getDefinition());
+    writeRemarks(routine.getRemarks());
+    writeAttributes(routine.getAttributes());
+    generator.writeArrayFieldStart("parameters");
+    for (final RoutineParameter<? extends Routine> parameter : routine.getParameters()) {
+      generator.writeStartObject();
+      writeColumnFields(parameter);
+      writeEnum("parameter-mode", parameter.getParameterMode());
+      writeRemarks(parameter.getRemarks());
+      writeAttributes(parameter.getAttributes());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+    generator.writeEndObject();
+  }
+
+  /**
+   * Schemas are referred to by catalog and schema name, rather than by full name, since the names
+   * cannot always be recovered from the full name.
+   */
+  private void writeSchemaFields(final Schema schema) throws IOException {
+    generator.writeStringField("catalog-name", schema.getCatalogName());
+    generator.writeStringField("schema-name", schema.getName());
+  }
+
+  private void writeSequence(final Sequence sequence) throws IOException {
+    generator.writeStartObject();
+    writeSchemaFields(sequence.getSchema());
+    generator.writeStringField("name", sequence.getName());
+    generator.writeStringField("full-name", sequence.getFullName());
+    generator.writeNumberField("increment", sequence.getIncrement());
+    writeBigInteger("start-value", sequence.getStartValue());
+    writeBigInteger("minimum-value", sequence.getMinimumValue());
+    writeBigInteger("maximum-value", sequence.getMaximumValue());
+    generator.writeBooleanField("cycle", sequence.isCycle());
+    writeRemarks(sequence.getRemarks());
+    writeAttributes(sequence.getAttributes());
+    generator.writeEndObject();
+  }
+
+  private void writeSynonym(final Synonym synonym) throws IOException {
+    generator.writeStartObject();
+    writeSchemaFields(synonym.getSchema());
+    generator.writeStringField("name", synonym.getName());
+    generator.writeStringField("full-name", synonym.getFullName());
+
+    final DatabaseObject referencedObject = synonym.getReferencedObject();
+    final Schema referencedSchema = referencedObject.getSchema();
+    generator.writeFieldName("referenced-object");
+    generator.writeStartObject();
+    if (referencedObject instanceof Table && !isPartial(referencedObject)) {
+      generator.writeStringField("@type", "table");
+    } else if (referencedObject instanceof Routine) {
+      generator.writeStringField("@type", "routine");
+      generator.writeStringField("specific-name", ((Routine) referencedObject).getSpecificName());
+    } else {
+      generator.writeStringField("@type", "other");
+    }
+    writeSchemaFields(referencedSchema);
+    generator.writeStringField("name", referencedObject.getName());
+    generator.writeEndObject();
+
+    writeRemarks(synonym.getRemarks());
+    writeAttributes(synonym.getAttributes());
+    generator.writeEndObject();
+  }
+
+  private void writeTable(final Table table) throws IOException {
+    generator.writeStartObject();
+    generator.writeStringField("@type", table instanceof View ? "view" : "table");
+    writeSchemaFields(table.getSchema());
+    generator.writeStringField("name", table.getName());
+    generator.writeStringField("full-name", table.getFullName());
+    generator.writeStringField("table-type", table.getTableType().getTableType());
+    generator.writeStringField("definition", table.getDefinition());
+    writeRemarks(table.getRemarks());
+    writeAttributes(table.getAttributes());
+
+    generator.writeArrayFieldStart("columns");
+    for (final Column column : table.getColumns()) {
+      writeColumn(column);
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("hidden-columns");
+    for (final Column column : table.getHiddenColumns()) {
+      writeColumn(column);
+    }
+    generator.writeEndArray();
+
+    final PrimaryKey primaryKey = table.getPrimaryKey();
+    generator.writeFieldName("primary-key");
+    if (primaryKey == null) {
+      generator.writeNull();
+    } else {
+      writeTableConstraint(primaryKey);
+    }
+    generator.writeArrayFieldStart("alternate-keys");
+    for (final PrimaryKey alternateKey : table.getAlternateKeys()) {
+      writeTableConstraint(alternateKey);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("foreign-keys");
+    for (final ForeignKey foreignKey : table.getForeignKeys()) {
+      if (isWrittenWith(foreignKey, table)) {
+        writeForeignKey(foreignKey);
+      }
+    }
+    generator.writeEndArray();
+    generator.writeArrayFieldStart("weak-associations");
+    for (final WeakAssociation weakAssociation : table.getWeakAssociations()) {
+      if (isWrittenWith(weakAssociation, table)) {
+        generator.writeStartObject();
+        writeTableReferenceFields(weakAssociation);
+        generator.writeEndObject();
+      }
+    }
+    generator.writeEndArray();
+
+    // Primary keys, alternate keys and foreign keys are also table constraints, but are written
+    // out once, above, so they are referred to by name
+    generator.writeArrayFieldStart("table-constraints");
+    for (final TableConstraint tableConstraint : table.getTableConstraints()) {
+      generator.writeStartObject();
+      if (tableConstraint instanceof ForeignKey) {
+        generator.writeStringField("@type", "foreign-key");
+        generator.writeStringField("name", tableConstraint.getName());
+      } else if (tableConstraint instanceof PrimaryKey) {
+        generator.writeStringField(
+            "@type", tableConstraint == primaryKey ? "primary-key" : "alternate-key");
+        generator.writeStringField("name", tableConstraint.getName());
+      } else {
+        generator.writeStringField("@type", "table-constraint");
+        writeTableConstraintFields(tableConstraint);
+      }
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("indexes");
+    for (final Index index : table.getIndexes()) {
+      writeIndex(index);
+    }
+    generator.writeEndArray();
+
+    generator.writeArrayFieldStart("triggers");
+    for (final Trigger trigger : table.getTriggers()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", trigger.getName());
+      writeEnum("event-manipulation-type", trigger.getEventManipulationType());
+      generator.writeNumberField("action-order", trigger.getActionOrder());
+      generator.writeStringField("action-condition", trigger.getActionCondition());
+      generator.writeStringField("action-statement", trigger.getActionStatement());
+      writeEnum("action-orientation", trigger.getActionOrientation());
+      writeEnum("condition-timing", trigger.getConditionTiming());
+      writeRemarks(trigger.getRemarks());
+      writeAttributes(trigger.getAttributes());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+
+    writePrivileges(table.getPrivileges());
+
+    if (table instanceof View) {
+      final View view = (View) table;
+      writeEnum("check-option", view.getCheckOption());
+      generator.writeBooleanField("updatable", view.isUpdatable());
+      generator.writeArrayFieldStart("table-usage");
+      for (final Table usedTable : view.getTableUsage()) {
+        generator.writeString(usedTable.getFullName());
+      }
+      generator.writeEndArray();
+    }
+
+    generator.writeEndObject();
+  }
+
+  private void writeTableConstraint(final TableConstraint tableConstraint) throws IOException {
+    generator.writeStartObject();
+    writeTableConstraintFields(tableConstraint);
+    generator.writeEndObject();
+  }
+
+  private void writeTableConstraintFields(final TableConstraint tableConstraint)
+      throws IOException {
+    generator.writeStringField("name", tableConstraint.getName());
+    writeEnum("constraint-type", tableConstraint.getType());
+    generator.writeBooleanField("deferrable", tableConstraint.isDeferrable());
+    generator.writeBooleanField("initially-deferred", tableConstraint.isInitiallyDeferred());
+    generator.writeStringField("definition", tableConstraint.getDefinition());
+    writeRemarks(tableConstraint.getRemarks());
+    writeAttributes(tableConstraint.getAttributes());
+    generator.writeArrayFieldStart("columns");
+    for (final TableConstraintColumn column : tableConstraint.getConstrainedColumns()) {
+      generator.writeStartObject();
+      generator.writeStringField("name", column.getName());
+      generator.writeNumberField(
+          "table-constraint-ordinal-position", column.getTableConstraintOrdinalPosition());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  private void writeTableReferenceFields(final TableReference tableReference) throws IOException {
+    generator.writeStringField("name", tableReference.getName());
+    writeRemarks(tableReference.getRemarks());
+    writeAttributes(tableReference.getAttributes());
+    generator.writeArrayFieldStart("column-references");
+    for (final ColumnReference columnReference : tableReference.getColumnReferences()) {
+      generator.writeStartObject();
+      generator.writeNumberField("key-sequence", columnReference.getKeySequence());
+      generator.writeFieldName("foreign-key-column");
+      writeColumnReference(columnReference.getForeignKeyColumn());
+      generator.writeFieldName("primary-key-column");
+      writeColumnReference(columnReference.getPrimaryKeyColumn());
+      generator.writeEndObject();
+    }
+    generator.writeEndArray();
+  }
+
+  /**
+   * Writes an attribute value. Values of types that do not have a JSON representation are written
+   * as strings.
+   */
+  private void writeValue(final Object value) throws IOException {
+    if (value == null) {
+      generator.writeNull();
+    } else if (value instanceof String) {
+      generator.writeString((String) value);
+    } else if (value instanceof Boolean) {
+      generator.writeBoolean((Boolean) value);
+    } else if (value instanceof Integer || value instanceof Short || value instanceof Byte) {
+      generator.writeNumber(((Number) value).intValue());
+    } else if (value instanceof Long) {
+      generator.writeNumber((Long) value);
+    } else if (value instanceof Double || value instanceof Float) {
+      generator.writeNumber(((Number) value).doubleValue());
+    } else if (value instanceof BigInteger) {
+      generator.writeNumber((BigInteger) value);
+    } else if (value instanceof BigDecimal) {
+      generator.writeNumber((BigDecimal) value);
+    } else if (value instanceof Map) {
+      // Sort by key, so that output does not depend on the type of map
+      final Map<String, Object> sortedMap = new TreeMap<>();
+      for (final Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+        sortedMap.put(String.valueOf(entry.getKey()), entry.getValue());
+      }
+      generator.writeStartObject();
+      for (final Map.Entry<String, Object> entry : sortedMap.entrySet()) {
+        generator.writeFieldName(entry.getKey());
+        writeValue(entry.getValue());
+      }
+      generator.writeEndObject();
+    } else if (value instanceof Collection) {
+      generator.writeStartArray();
+      for (final Object item : (Collection<?>) value) {
+        writeValue(item);
+      }
+      generator.writeEndArray();
+    } else if (value instanceof Object[]) {
+      generator.writeStartArray();
+      for (final Object item : (Object[]) value) {
+        writeValue(item);
+      }
+      generator.writeEndArray();
+    } else {
+      generator.writeString(String.valueOf(value));
+    }
+  }
+}
@@ -28,19 +28,44 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.formatter.serialize;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import static java.util.Objects.requireNonNull;
 
+import java.io.IOException;
+import java.io.InputStream;
+
+import com.fasterxml.jackson.core.JsonFactory;
+
+import schemacrawler.crawl.JsonCatalogReader;
 import schemacrawler.schema.Catalog;
+import schemacrawler.schemacrawler.exceptions.ExecutionRuntimeException;
 
-/** Decorates a database to allow for serialization to JSON serialization. */
+/**
+ * Decorates a database to allow for serialization to JSON serialization, and to read a catalog back
+ * from JSON.
+ */
 public final class JsonSerializedCatalog extends BaseJacksonSerializedCatalog {
 
+  private static final JsonFactory FACTORY = new JsonFactory();
+
+  private static Catalog readCatalog(final InputStream in) {
+    requireNonNull(in, "No input stream provided");
+    try (final JsonCatalogReader reader = new JsonCatalogReader(in)) {
+      return reader.read();
+    } catch (final IOException e) {
+      throw new ExecutionRuntimeException("Cannot deserialize catalog", e);
+    }
+  }
+
   public JsonSerializedCatalog(final Catalog catalog) {
     super(catalog);
   }
 
+  public JsonSerializedCatalog(final InputStream in) {
+    this(readCatalog(in));
+  }
+
   @Override
-  protected ObjectMapper newObjectMapper() {
-    return new ObjectMapper();
+  protected JsonFactory getJsonFactory() {
+    return FACTORY;
   }
 }
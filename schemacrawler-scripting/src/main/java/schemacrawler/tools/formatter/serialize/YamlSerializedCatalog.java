@@ -28,19 +28,22 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.formatter.serialize;
 
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonFactory;
 import com.fasterxml.jackson.dataformat.yaml.YAMLFactory;
+
 import schemacrawler.schema.Catalog;
 
 /** Decorates a database to allow for serialization to YAML serialization. */
 public final class YamlSerializedCatalog extends BaseJacksonSerializedCatalog {
 
+  private static final JsonFactory FACTORY = new YAMLFactory();
+
   public YamlSerializedCatalog(final Catalog catalog) {
     super(catalog);
   }
 
   @Override
-  protected ObjectMapper newObjectMapper() {
-    return new ObjectMapper(new YAMLFactory());
+  protected JsonFactory getJsonFactory() {
+    return FACTORY;
   }
 }
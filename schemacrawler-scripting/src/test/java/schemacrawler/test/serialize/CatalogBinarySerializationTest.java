@@ -0,0 +1,126 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.test.serialize;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
+import static schemacrawler.test.utility.TestUtility.fileHeaderOf;
+import static schemacrawler.tools.utility.SchemaCrawlerUtility.getCatalog;
+
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
+import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.test.utility.DatabaseTestUtility;
+import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.tools.formatter.serialize.BinarySerializedCatalog;
+import schemacrawler.tools.formatter.serialize.IndexedSerializedCatalog;
+import schemacrawler.tools.options.Config;
+import us.fatehi.utility.IOUtility;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@WithTestDatabase
+public class CatalogBinarySerializationTest {
+
+  @Test
+  public void catalogSerializationWithBinary(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog =
+        getCatalog(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions, new Config());
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+    assertThat("Could not find any schemas", catalog.getSchemas(), not(empty()));
+
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertThat("Could not obtain schema", schema, notNullValue());
+    assertThat("Unexpected number of tables in the schema", catalog.getTables(schema), hasSize(11));
+
+    final Path testOutputFile = IOUtility.createTempFilePath("sc_binary_serialization", "scbin");
+    final BinarySerializedCatalog binarySerializedCatalogForSave =
+        new BinarySerializedCatalog(catalog);
+    binarySerializedCatalogForSave.save(Files.newOutputStream(testOutputFile));
+    assertThat("Catalog was not serialized", Files.size(testOutputFile), greaterThan(0L));
+    assertThat(fileHeaderOf(testOutputFile), is("5343"));
+
+    final BinarySerializedCatalog binarySerializedCatalogForLoad =
+        new BinarySerializedCatalog(Files.newInputStream(testOutputFile));
+    final Catalog catalogDeserialized = binarySerializedCatalogForLoad.getCatalog();
+
+    final Schema schemaDeserialized = catalogDeserialized.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat(
+        "Unexpected number of tables in the schema",
+        catalogDeserialized.getTables(schemaDeserialized),
+        hasSize(11));
+  }
+
+  @Test
+  public void catalogSerializationWithIndexedBinary(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog =
+        getCatalog(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions, new Config());
+    assertThat("Could not obtain catalog", catalog, notNullValue());
+
+    final Path testOutputFile = IOUtility.createTempFilePath("sc_indexed_serialization", "scidx");
+    final IndexedSerializedCatalog indexedSerializedCatalogForSave =
+        new IndexedSerializedCatalog(catalog);
+    try (final OutputStream out = Files.newOutputStream(testOutputFile)) {
+      indexedSerializedCatalogForSave.save(out);
+    }
+    assertThat("Catalog was not serialized", Files.size(testOutputFile), greaterThan(0L));
+    assertThat(fileHeaderOf(testOutputFile), is("5343"));
+
+    final IndexedSerializedCatalog indexedSerializedCatalogForLoad =
+        new IndexedSerializedCatalog(testOutputFile);
+    final Catalog catalogDeserialized = indexedSerializedCatalogForLoad.getCatalog();
+
+    final Schema schemaDeserialized = catalogDeserialized.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat(
+        "Unexpected number of tables in the schema",
+        catalogDeserialized.getTables(schemaDeserialized),
+        hasSize(11));
+  }
+}
@@ -28,11 +28,15 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.test.serialize;
 
+import static java.nio.charset.StandardCharsets.UTF_8;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.oneOf;
 import static org.junit.jupiter.api.Assertions.fail;
 import static schemacrawler.test.utility.DatabaseTestUtility.schemaRetrievalOptionsDefault;
@@ -44,11 +48,16 @@ import static schemacrawler.tools.utility.SchemaCrawlerUtility.getCatalog;
 
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.OutputStream;
 import java.net.URISyntaxException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -59,6 +68,8 @@ import com.fasterxml.jackson.databind.node.MissingNode;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 
 import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.test.utility.DatabaseTestUtility;
 import schemacrawler.test.utility.ResolveTestContext;
@@ -86,6 +97,84 @@ public class CatalogJsonSerializationTest {
     directory = testContext.resolveTargetFromRootPath(".");
   }
 
+  @Test
+  public void catalogDeserializationFromJson(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog =
+        getCatalog(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions, new Config());
+
+    final Path testOutputFile = IOUtility.createTempFilePath("sc_serialized_catalog", "json");
+    try (final OutputStream out = new FileOutputStream(testOutputFile.toFile())) {
+      new JsonSerializedCatalog(catalog).save(out);
+    }
+
+    final Catalog catalogDeserialized;
+    try (final InputStream in = Files.newInputStream(testOutputFile)) {
+      catalogDeserialized = new JsonSerializedCatalog(in).getCatalog();
+    }
+
+    final Schema schemaDeserialized = catalogDeserialized.lookupSchema("PUBLIC.BOOKS").orElse(null);
+    assertThat("Could not obtain schema", schemaDeserialized, notNullValue());
+    assertThat(
+        "Unexpected number of tables in the schema",
+        catalogDeserialized.getTables(schemaDeserialized),
+        hasSize(11));
+    final Table table =
+        catalogDeserialized.lookupTable(schemaDeserialized, "BOOKAUTHORS").orElse(null);
+    assertThat("Could not obtain table", table, notNullValue());
+    assertThat("Unexpected number of foreign keys", table.getForeignKeys(), hasSize(2));
+
+    // A catalog that is read back is serialized exactly the same way as the original
+    final Path testOutputFile2 = IOUtility.createTempFilePath("sc_serialized_catalog", "json");
+    try (final OutputStream out = new FileOutputStream(testOutputFile2.toFile())) {
+      new JsonSerializedCatalog(catalogDeserialized).save(out);
+    }
+    assertThat(
+        "Catalog was not deserialized completely",
+        new String(Files.readAllBytes(testOutputFile2), UTF_8),
+        is(new String(Files.readAllBytes(testOutputFile), UTF_8)));
+  }
+
+  @Test
+  public void catalogSerializationWithMapAttribute(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final SchemaCrawlerOptions schemaCrawlerOptions =
+        DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel;
+
+    final Catalog catalog =
+        getCatalog(dataSource, schemaRetrievalOptionsDefault, schemaCrawlerOptions, new Config());
+    final Schema schema = catalog.lookupSchema("PUBLIC.BOOKS").get();
+    final Table table = catalog.lookupTable(schema, "AUTHORS").get();
+
+    final Map<String, Object> nestedMap = new HashMap<>();
+    final Map<String, Object> mapAttribute = new HashMap<>();
+    for (final String key : new String[] {"zulu", "kilo", "alpha", "yankee", "mike", "bravo"}) {
+      nestedMap.put(key, key.length());
+      mapAttribute.put(key, key);
+    }
+    mapAttribute.put("nested", nestedMap);
+    table.setAttribute("map-attribute", mapAttribute);
+
+    final Path testOutputFile = IOUtility.createTempFilePath("sc_serialized_catalog", "json");
+    try (final OutputStream out = new FileOutputStream(testOutputFile.toFile())) {
+      new JsonSerializedCatalog(catalog).save(out);
+    }
+
+    final JsonNode mapAttributeNode =
+        new ObjectMapper().readTree(testOutputFile.toFile()).findPath("map-attribute");
+    assertThat(
+        "Map attribute was not serialized", mapAttributeNode, not(instanceOf(MissingNode.class)));
+    assertThat(
+        fieldNames(mapAttributeNode),
+        contains("alpha", "bravo", "kilo", "mike", "nested", "yankee", "zulu"));
+    assertThat(
+        fieldNames(mapAttributeNode.get("nested")),
+        contains("alpha", "bravo", "kilo", "mike", "yankee", "zulu"));
+  }
+
   @Test
   public void catalogSerializationWithJson(
       final TestContext testContext, final DatabaseConnectionSource dataSource) throws Exception {
@@ -107,6 +196,16 @@ public class CatalogJsonSerializationTest {
       Files.copy(testOutputFile, copied, StandardCopyOption.REPLACE_EXISTING);
     }
 
+    // References are by name, so the same catalog is always serialized the same way
+    final Path testOutputFile2 = IOUtility.createTempFilePath("sc_serialized_catalog", "json");
+    try (final OutputStream out = new FileOutputStream(testOutputFile2.toFile())) {
+      new JsonSerializedCatalog(catalog).save(out);
+    }
+    assertThat(
+        "Catalog was not serialized the same way",
+        Files.readAllBytes(testOutputFile2),
+        is(Files.readAllBytes(testOutputFile)));
+
     // Read generated JSON file, and assert values
     final ObjectMapper mapper = new ObjectMapper();
     mapper.registerModule(new JavaTimeModule());
@@ -128,12 +227,10 @@ public class CatalogJsonSerializationTest {
           .elements()
           .forEachRemaining(
               columnNode -> {
-                final JsonNode columnFullnameNode = columnNode.get("full-name");
-                if (columnFullnameNode != null) {
-                  out.println("- column @uuid: " + columnNode.get("@uuid").asText());
-                  out.println("  " + columnFullnameNode.asText());
+                if (columnNode.isTextual()) {
+                  out.println("- column: " + columnNode.asText());
                 } else {
-                  fail("Table column object not found - " + columnNode.asText());
+                  fail("Table column reference not found - " + columnNode);
                 }
               });
     }
@@ -141,4 +238,10 @@ public class CatalogJsonSerializationTest {
     assertThat(
         outputOf(testout), hasSameContentAs(classpathResource(testContext.testMethodFullName())));
   }
+
+  private List<String> fieldNames(final JsonNode node) {
+    final List<String> fieldNames = new ArrayList<>();
+    node.fieldNames().forEachRemaining(fieldNames::add);
+    return fieldNames;
+  }
 }
@@ -76,6 +76,19 @@ public class CommandLineSerializeCommandTest {
     directory = testContext.resolveTargetFromRootPath(".");
   }
 
+  @Test
+  public void commandLineBinary(final DatabaseConnectionInfo connectionInfo) throws Exception {
+    assertThatOutputIsCorrect(
+        commandlineSerialize(connectionInfo, SerializationFormat.scbin), is("1F8B"));
+  }
+
+  @Test
+  public void commandLineIndexed(final DatabaseConnectionInfo connectionInfo) throws Exception {
+    // Indexed files are not compressed, so that they can be memory mapped
+    assertThatOutputIsCorrect(
+        commandlineSerialize(connectionInfo, SerializationFormat.scidx), is("5343"));
+  }
+
   @Test
   public void commandLineJava(final DatabaseConnectionInfo connectionInfo) throws Exception {
     assertThatOutputIsCorrect(
@@ -0,0 +1,95 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.integration.test;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.greaterThan;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.is;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.jupiter.api.Test;
+
+import schemacrawler.schema.Catalog;
+import schemacrawler.schema.Table;
+import schemacrawler.schema.View;
+import schemacrawler.test.utility.BaseSqliteTest;
+import schemacrawler.test.utility.DatabaseTestUtility;
+import schemacrawler.test.utility.DisableLogging;
+import schemacrawler.testdb.TestSchemaCreatorMain;
+import schemacrawler.tools.utility.SchemaCrawlerUtility;
+import us.fatehi.utility.IOUtility;
+import us.fatehi.utility.datasource.DatabaseConnectionSource;
+
+@DisableLogging
+public class SyntheticSchemaTest extends BaseSqliteTest {
+
+  @Test
+  public void syntheticSchema() throws Exception {
+    final Path sqliteDbFile = createSyntheticDatabase();
+
+    final DatabaseConnectionSource dataSource = createDataSourceFromFile(sqliteDbFile);
+    final Catalog catalog =
+        SchemaCrawlerUtility.getCatalog(
+            dataSource, DatabaseTestUtility.schemaCrawlerOptionsWithMaximumSchemaInfoLevel);
+
+    // 3 schemas of 40 tables, each with 4 views, are prefixed into one database
+    assertThat(catalog.getTables(), hasSize(132));
+    int foreignKeys = 0;
+    for (final Table table : catalog.getTables()) {
+      if (!(table instanceof View)) {
+        assertThat(table.hasPrimaryKey(), is(true));
+        foreignKeys = foreignKeys + table.getImportedForeignKeys().size();
+      }
+    }
+    assertThat(foreignKeys, is(greaterThan(40)));
+  }
+
+  private Path createSyntheticDatabase() throws IOException {
+    final Path sqliteDbFile =
+        IOUtility.createTempFilePath("sc", ".db").normalize().toAbsolutePath();
+    final int exitCode =
+        TestSchemaCreatorMain.call(
+            "--url",
+            "jdbc:sqlite:" + sqliteDbFile,
+            "--synthetic",
+            "--schemas",
+            "3",
+            "--tables",
+            "40",
+            "--columns",
+            "5",
+            "--seed",
+            "11");
+    assertThat(exitCode, is(0));
+    return sqliteDbFile;
+  }
+}
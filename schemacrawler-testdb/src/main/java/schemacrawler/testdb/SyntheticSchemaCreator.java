@@ -0,0 +1,324 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package schemacrawler.testdb;
+
+import static java.util.Objects.requireNonNull;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Creates a large synthetic database schema for scale testing. Schemas, tables, columns, foreign
+ * keys, indexes, views, routines, synonyms and sequences are generated from a seeded random number
+ * generator, so the same arguments always create the same schema. Foreign keys are skewed towards
+ * tables created earlier in each schema, so that a few tables are referenced by many others, as in
+ * real databases. HyperSQL and SQLite are supported. SQLite does not have schemas, routines,
+ * synonyms or sequences, so tables and views are prefixed with the schema name instead, and the
+ * other objects are not created.
+ */
+public class SyntheticSchemaCreator implements Runnable {
+
+  private enum Dialect {
+    hsqldb(true),
+    sqlite(false);
+
+    private final boolean supportsSchemaObjects;
+
+    private Dialect(final boolean supportsSchemaObjects) {
+      this.supportsSchemaObjects = supportsSchemaObjects;
+    }
+
+    /** Name of an object that cannot be qualified with a schema, such as a constraint. */
+    String localName(final String schemaName, final String name) {
+      if (supportsSchemaObjects) {
+        return name;
+      } else {
+        return schemaName + "_" + name;
+      }
+    }
+
+    String qualify(final String schemaName, final String name) {
+      if (supportsSchemaObjects) {
+        return schemaName + "." + name;
+      } else {
+        return localName(schemaName, name);
+      }
+    }
+  }
+
+  private static final Logger LOGGER = Logger.getLogger(SyntheticSchemaCreator.class.getName());
+
+  private static final int BATCH_SIZE = 500;
+  private static final String[] COLUMN_TYPES = {
+    "INTEGER",
+    "BIGINT",
+    "VARCHAR(20)",
+    "VARCHAR(100)",
+    "VARCHAR(1000)",
+    "DECIMAL(12,2)",
+    "DATE",
+    "TIMESTAMP",
+    "BOOLEAN",
+  };
+
+  public static String schemaName(final int schemaNumber) {
+    return String.format("SYNTHETIC_%03d", schemaNumber);
+  }
+
+  public static String tableName(final int tableNumber) {
+    return String.format("TABLE_%06d", tableNumber);
+  }
+
+  private final Connection connection;
+  private final int numberOfSchemas;
+  private final int tablesPerSchema;
+  private final int columnsPerTable;
+  private final Random random;
+  private Dialect dialect;
+  private int batchCount;
+
+  /**
+   * Sets up a synthetic schema generator.
+   *
+   * @param connection Connection to a HyperSQL or SQLite database
+   * @param numberOfSchemas Number of schemas to create
+   * @param tablesPerSchema Number of tables in each schema
+   * @param columnsPerTable Number of columns in each table, not counting foreign key columns
+   * @param seed Seed for the random number generator
+   */
+  public SyntheticSchemaCreator(
+      final Connection connection,
+      final int numberOfSchemas,
+      final int tablesPerSchema,
+      final int columnsPerTable,
+      final long seed) {
+    this.connection = requireNonNull(connection, "No database connection provided");
+    if (numberOfSchemas <= 0 || tablesPerSchema <= 0) {
+      throw new IllegalArgumentException("Number of schemas and tables need to be positive");
+    }
+    if (columnsPerTable < 2) {
+      throw new IllegalArgumentException("Tables need at least two columns");
+    }
+    this.numberOfSchemas = numberOfSchemas;
+    this.tablesPerSchema = tablesPerSchema;
+    this.columnsPerTable = columnsPerTable;
+    random = new Random(seed);
+  }
+
+  @Override
+  public void run() {
+    LOGGER.log(
+        Level.INFO,
+        String.format(
+            "Creating synthetic schema with %d schemas of %d tables",
+            numberOfSchemas, tablesPerSchema));
+    try (final Statement statement = connection.createStatement()) {
+      dialect = lookupDialect();
+
+      final boolean autoCommit = connection.getAutoCommit();
+      connection.setAutoCommit(false);
+      for (int schemaNumber = 1; schemaNumber <= numberOfSchemas; schemaNumber++) {
+        final String schemaName = schemaName(schemaNumber);
+        if (dialect.supportsSchemaObjects) {
+          add(statement, String.format("CREATE SCHEMA %s AUTHORIZATION DBA", schemaName));
+        }
+        for (int tableNumber = 1; tableNumber <= tablesPerSchema; tableNumber++) {
+          createTable(statement, schemaName, tableNumber);
+        }
+        createSchemaObjects(statement, schemaName);
+      }
+      statement.executeBatch();
+      connection.commit();
+      connection.setAutoCommit(autoCommit);
+    } catch (final SQLException e) {
+      throw new RuntimeException(e.getMessage(), e);
+    }
+  }
+
+  private void add(final Statement statement, final String sql) throws SQLException {
+    statement.addBatch(sql);
+    batchCount++;
+    if (batchCount % BATCH_SIZE == 0) {
+      statement.executeBatch();
+    }
+  }
+
+  private void createSchemaObjects(final Statement statement, final String schemaName)
+      throws SQLException {
+    // Views over every tenth table
+    for (int tableNumber = 1; tableNumber <= tablesPerSchema; tableNumber += 10) {
+      final String tableName = dialect.qualify(schemaName, tableName(tableNumber));
+      add(
+          statement,
+          String.format(
+              "CREATE VIEW %s AS SELECT ID, NAME FROM %s",
+              dialect.qualify(schemaName, String.format("VIEW_%06d", tableNumber)), tableName));
+    }
+
+    if (!dialect.supportsSchemaObjects) {
+      return;
+    }
+
+    for (int i = 1; i <= Math.max(1, tablesPerSchema / 50); i++) {
+      final String tableName = schemaName + "." + tableName(randomTableNumber(tablesPerSchema));
+      add(
+          statement,
+          String.format(
+              "CREATE FUNCTION %s.FUNCTION_%06d(X INTEGER) RETURNS INTEGER "
+                  + "READS SQL DATA RETURN (SELECT COUNT(*) FROM %s WHERE ID > X)",
+              schemaName, i, tableName));
+      add(
+          statement,
+          String.format(
+              "CREATE PROCEDURE %s.PROCEDURE_%06d(IN X INTEGER) "
+                  + "MODIFIES SQL DATA BEGIN ATOMIC DELETE FROM %s WHERE ID = X; END",
+              schemaName, i, tableName));
+    }
+    for (int i = 1; i <= Math.max(1, tablesPerSchema / 20); i++) {
+      add(
+          statement,
+          String.format(
+              "CREATE SEQUENCE %s.SEQUENCE_%06d START WITH %d INCREMENT BY %d",
+              schemaName, i, random.nextInt(1000) + 1, random.nextInt(10) + 1));
+      add(
+          statement,
+          String.format(
+              "CREATE SYNONYM %s.SYNONYM_%06d FOR %s.%s",
+              schemaName, i, schemaName, tableName(randomTableNumber(tablesPerSchema))));
+    }
+  }
+
+  private void createTable(
+      final Statement statement, final String schemaName, final int tableNumber)
+      throws SQLException {
+    final String tableName = dialect.qualify(schemaName, tableName(tableNumber));
+
+    final StringBuilder createTable = new StringBuilder();
+    createTable
+        .append(String.format("CREATE TABLE %s (", tableName))
+        .append("ID INTEGER NOT NULL PRIMARY KEY, ")
+        .append("NAME VARCHAR(100) NOT NULL");
+    for (int columnNumber = 3; columnNumber <= columnsPerTable; columnNumber++) {
+      createTable.append(
+          String.format(
+              ", COLUMN_%03d %s%s",
+              columnNumber,
+              COLUMN_TYPES[random.nextInt(COLUMN_TYPES.length)],
+              random.nextInt(4) == 0 ? " NOT NULL" : ""));
+    }
+
+    // Foreign key columns, followed by constraints, since SQLite needs columns to be defined first
+    final Set<Integer> parentTableNumbers = parentTableNumbers(tableNumber);
+    final List<String> indexedColumns = new ArrayList<>();
+    for (final int parentTableNumber : parentTableNumbers) {
+      final String fkColumnName = tableName(parentTableNumber) + "_ID";
+      createTable.append(String.format(", %s INTEGER", fkColumnName));
+      indexedColumns.add(fkColumnName);
+    }
+    for (final int parentTableNumber : parentTableNumbers) {
+      final String parentTableName = tableName(parentTableNumber);
+      final String fkColumnName = parentTableName + "_ID";
+      createTable.append(
+          String.format(
+              ", CONSTRAINT %s FOREIGN KEY (%s) REFERENCES %s (ID)",
+              dialect.localName(
+                  schemaName, String.format("FK_%s_%s", tableName(tableNumber), parentTableName)),
+              fkColumnName,
+              dialect.qualify(schemaName, parentTableName)));
+    }
+    createTable.append(")");
+    add(statement, createTable.toString());
+
+    // Index foreign key columns, and some other columns
+    if (random.nextInt(3) == 0) {
+      indexedColumns.add("NAME");
+    }
+    for (final String indexedColumn : indexedColumns) {
+      add(
+          statement,
+          String.format(
+              "CREATE INDEX %s ON %s (%s)",
+              dialect.localName(
+                  schemaName, String.format("IDX_%s_%s", tableName(tableNumber), indexedColumn)),
+              tableName,
+              indexedColumn));
+    }
+  }
+
+  private Dialect lookupDialect() throws SQLException {
+    final String databaseProductName = connection.getMetaData().getDatabaseProductName();
+    if (databaseProductName.startsWith("HSQL")) {
+      return Dialect.hsqldb;
+    } else if (databaseProductName.equalsIgnoreCase("SQLite")) {
+      return Dialect.sqlite;
+    } else {
+      throw new SQLException(
+          String.format("Cannot create synthetic schema for %s", databaseProductName));
+    }
+  }
+
+  /**
+   * Tables have between zero and three foreign keys to tables created before them. Parent tables
+   * are skewed towards the tables created first in the schema.
+   */
+  private Set<Integer> parentTableNumbers(final int tableNumber) {
+    final Set<Integer> parentTableNumbers = new LinkedHashSet<>();
+    if (tableNumber == 1) {
+      return parentTableNumbers;
+    }
+    final int fanOut = random.nextInt(10);
+    final int numberOfParents;
+    if (fanOut < 2) {
+      numberOfParents = 0;
+    } else if (fanOut < 7) {
+      numberOfParents = 1;
+    } else if (fanOut < 9) {
+      numberOfParents = 2;
+    } else {
+      numberOfParents = 3;
+    }
+    for (int i = 0; i < numberOfParents; i++) {
+      parentTableNumbers.add(randomTableNumber(tableNumber - 1));
+    }
+    return parentTableNumbers;
+  }
+
+  private int randomTableNumber(final int maxTableNumber) {
+    final double skew = Math.pow(random.nextDouble(), 3);
+    return 1 + (int) (skew * maxTableNumber);
+  }
+}
@@ -80,12 +80,49 @@ public class TestSchemaCreatorMain implements Callable<Integer> {
       description = "Debug trace")
   private boolean debug;
 
+  @CommandLine.Option(
+      names = {"--synthetic"},
+      description = "Create a large synthetic schema for scale testing, instead of the test schema")
+  private boolean synthetic;
+
+  @CommandLine.Option(
+      names = {"--schemas"},
+      description = "Number of synthetic schemas",
+      paramLabel = "<schemas>",
+      defaultValue = "1")
+  private int schemas;
+
+  @CommandLine.Option(
+      names = {"--tables"},
+      description = "Number of tables in each synthetic schema",
+      paramLabel = "<tables>",
+      defaultValue = "100")
+  private int tables;
+
+  @CommandLine.Option(
+      names = {"--columns"},
+      description = "Number of columns in each synthetic table, not counting foreign keys",
+      paramLabel = "<columns>",
+      defaultValue = "10")
+  private int columns;
+
+  @CommandLine.Option(
+      names = {"--seed"},
+      description = "Seed for generating the synthetic schema",
+      paramLabel = "<seed>",
+      defaultValue = "1")
+  private long seed;
+
   private TestSchemaCreatorMain() {}
 
   @Override
   public Integer call() {
     try (final Connection connection =
         DriverManager.getConnection(connectionUrl, user, passwordProvided)) {
+      if (synthetic) {
+        new SyntheticSchemaCreator(connection, schemas, tables, columns, seed).run();
+        return 0;
+      }
       findScriptsResource();
       System.setProperty(SqlScript.class.getCanonicalName() + ".debug", String.valueOf(debug));
       final TestSchemaCreator testSchemaCreator =
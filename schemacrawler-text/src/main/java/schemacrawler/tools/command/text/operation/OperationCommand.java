@@ -141,7 +141,12 @@ public final class OperationCommand extends BaseSchemaCrawlerCommand<OperationOp
     final Operation operation = commandOptions.getOperation();
 
     final DataTraversalHandler formatter =
-        new DataTextFormatter(operation, commandOptions, outputOptions, identifiers);
+        new DataTextFormatter(
+            operation,
+            commandOptions,
+            outputOptions,
+            identifiers,
+            schemaRetrievalOptions.getFetchSize());
     return formatter;
   }
 
@@ -68,6 +68,7 @@ public final class DataTextFormatter extends BaseTabularFormatter<OperationOptio
   }
 
   private final Operation operation;
+  private final int fetchSize;
   private int dataBlockCount;
 
   /**
@@ -77,14 +78,17 @@ public final class DataTextFormatter extends BaseTabularFormatter<OperationOptio
    * @param options Options for text formatting of data
    * @param outputOptions Options for text formatting of data
    * @param identifierQuoteString Quote character for identifier
+   * @param fetchSize Number of rows to fetch at first, from the schema retrieval options
    */
   public DataTextFormatter(
       final Operation operation,
       final OperationOptions options,
       final OutputOptions outputOptions,
-      final Identifiers identifiers) {
+      final Identifiers identifiers,
+      final int fetchSize) {
     super(schema, options, outputOptions, identifiers);
     this.operation = requireNonNull(operation, "No operation provided");
+    this.fetchSize = fetchSize;
   }
 
   /** {@inheritDoc} */
@@ -159,7 +163,9 @@ public final class DataTextFormatter extends BaseTabularFormatter<OperationOptio
       formattingHelper.println();
       formattingHelper.writeObjectStart();
       formattingHelper.writeObjectNameRow("", title, "", Color.white);
-      try (final MetadataResultSet dataRows = new MetadataResultSet(rows, "Data")) {
+      // Tables can have many rows, so grow the fetch size as rows are read
+      try (final MetadataResultSet dataRows =
+          new MetadataResultSet(rows, "Data", fetchSize, true)) {
         dataRows.setShowLobs(options.isShowLobs());
 
         formattingHelper.writeRowHeader(quoteColumnNames(dataRows.getColumnNames()));
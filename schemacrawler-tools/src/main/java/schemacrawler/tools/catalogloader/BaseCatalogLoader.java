@@ -33,8 +33,12 @@ import static java.util.Comparator.nullsLast;
 import static java.util.Objects.compare;
 import static java.util.Objects.requireNonNull;
 
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
 
+import schemacrawler.crawl.CrawlListener;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
@@ -53,6 +57,7 @@ public abstract class BaseCatalogLoader implements CatalogLoader {
 
   private final int priority;
   private final CommandDescription commandDescription;
+  private final List<CrawlListener> crawlListeners;
   private SchemaRetrievalOptions schemaRetrievalOptions;
   private SchemaCrawlerOptions schemaCrawlerOptions;
   private Config additionalConfig;
@@ -62,6 +67,12 @@ public abstract class BaseCatalogLoader implements CatalogLoader {
   protected BaseCatalogLoader(final CommandDescription commandDescription, final int priority) {
     this.commandDescription = requireNonNull(commandDescription, "No command description provided");
     this.priority = priority;
+    crawlListeners = new CopyOnWriteArrayList<>();
+  }
+
+  @Override
+  public void addCrawlListener(final CrawlListener listener) {
+    crawlListeners.add(requireNonNull(listener, "No crawl listener provided"));
   }
 
   @Override
@@ -144,6 +155,10 @@ public abstract class BaseCatalogLoader implements CatalogLoader {
     return additionalConfig;
   }
 
+  protected Collection<CrawlListener> getCrawlListeners() {
+    return crawlListeners;
+  }
+
   protected boolean isDatabaseSystemIdentifier(final String databaseSystemIdentifier) {
     final String actualDatabaseSystemIdentifier =
         getSchemaRetrievalOptions().getDatabaseServerType().getDatabaseSystemIdentifier();
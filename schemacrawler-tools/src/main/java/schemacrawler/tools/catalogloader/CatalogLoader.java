@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.catalogloader;
 
+import schemacrawler.crawl.CrawlListener;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
@@ -38,6 +39,24 @@ import us.fatehi.utility.datasource.DatabaseConnectionSource;
 
 public interface CatalogLoader extends Comparable<CatalogLoader> {
 
+  /**
+   * Adds a listener that is notified as the database is crawled. Listeners need to be added before
+   * the catalog is loaded. Catalog loaders that do not crawl a database ignore listeners.
+   *
+   * @param listener Crawl listener
+   */
+  default void addCrawlListener(final CrawlListener listener) {
+    // Default implementation - NO-OP
+  }
+
+  /**
+   * Cancels loading the catalog, from another thread. A crawl that is running returns a partial
+   * catalog. Catalog loaders that do not crawl a database cannot be cancelled.
+   */
+  default void cancel() {
+    // Default implementation - NO-OP
+  }
+
   Catalog getCatalog();
 
   CommandDescription getCommandDescription();
@@ -34,6 +34,7 @@ import java.util.ArrayList;
 import java.util.Iterator;
 import java.util.List;
 
+import schemacrawler.crawl.CrawlListener;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaRetrievalOptions;
@@ -54,6 +55,21 @@ public class ChainedCatalogLoader extends BaseCatalogLoader implements Iterable<
     this.chainedCatalogLoaders = new ArrayList<>(chainedCatalogLoaders);
   }
 
+  @Override
+  public void addCrawlListener(final CrawlListener listener) {
+    super.addCrawlListener(listener);
+    for (final CatalogLoader catalogLoader : chainedCatalogLoaders) {
+      catalogLoader.addCrawlListener(listener);
+    }
+  }
+
+  @Override
+  public void cancel() {
+    for (final CatalogLoader catalogLoader : chainedCatalogLoaders) {
+      catalogLoader.cancel();
+    }
+  }
+
   @Override
   public Iterator<CatalogLoader> iterator() {
     return chainedCatalogLoaders.iterator();
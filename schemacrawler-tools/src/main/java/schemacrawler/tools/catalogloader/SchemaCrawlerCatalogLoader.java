@@ -28,18 +28,31 @@ http://www.gnu.org/licenses/
 
 package schemacrawler.tools.catalogloader;
 
+import schemacrawler.crawl.CrawlListener;
 import schemacrawler.crawl.SchemaCrawler;
 import schemacrawler.schema.Catalog;
 import schemacrawler.tools.executable.CommandDescription;
 
 public class SchemaCrawlerCatalogLoader extends BaseCatalogLoader {
 
+  private volatile SchemaCrawler runningSchemaCrawler;
+  private volatile boolean isCancelled;
+
   public SchemaCrawlerCatalogLoader() {
     super(
         new CommandDescription("schemacrawlerloader", "Loader for SchemaCrawler metadata catalog"),
         0);
   }
 
+  @Override
+  public void cancel() {
+    isCancelled = true;
+    final SchemaCrawler schemaCrawler = runningSchemaCrawler;
+    if (schemaCrawler != null) {
+      schemaCrawler.cancel();
+    }
+  }
+
   @Override
   public void loadCatalog() {
     if (isLoaded()) {
@@ -48,7 +61,19 @@ public class SchemaCrawlerCatalogLoader extends BaseCatalogLoader {
 
     final SchemaCrawler schemaCrawler =
         new SchemaCrawler(getDataSource(), getSchemaRetrievalOptions(), getSchemaCrawlerOptions());
-    final Catalog catalog = schemaCrawler.crawl();
-    setCatalog(catalog);
+    for (final CrawlListener listener : getCrawlListeners()) {
+      schemaCrawler.addCrawlListener(listener);
+    }
+    runningSchemaCrawler = schemaCrawler;
+    // Cancel a crawl that was cancelled before it started
+    if (isCancelled) {
+      schemaCrawler.cancel();
+    }
+    try {
+      final Catalog catalog = schemaCrawler.crawl();
+      setCatalog(catalog);
+    } finally {
+      runningSchemaCrawler = null;
+    }
   }
 }
@@ -37,6 +37,8 @@ import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
 import schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.options.OutputOptions;
 import schemacrawler.tools.options.OutputOptionsBuilder;
 
@@ -51,12 +53,14 @@ public abstract class BaseSchemaCrawlerCommand<C extends CommandOptions>
   protected Identifiers identifiers;
   protected OutputOptions outputOptions;
   protected SchemaCrawlerOptions schemaCrawlerOptions;
+  protected SchemaRetrievalOptions schemaRetrievalOptions;
 
   protected BaseSchemaCrawlerCommand(final String command) {
     this.command = requireNotBlank(command, "No command specified");
 
     schemaCrawlerOptions = SchemaCrawlerOptionsBuilder.newSchemaCrawlerOptions();
     outputOptions = OutputOptionsBuilder.newOutputOptions();
+    schemaRetrievalOptions = SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
   }
 
   /** Runtime exceptions will be thrown if the command is not available. */
@@ -101,6 +105,12 @@ public abstract class BaseSchemaCrawlerCommand<C extends CommandOptions>
     return schemaCrawlerOptions;
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final SchemaRetrievalOptions getSchemaRetrievalOptions() {
+    return schemaRetrievalOptions;
+  }
+
   @Override
   public void initialize() {
     checkOptions();
@@ -146,6 +156,16 @@ public abstract class BaseSchemaCrawlerCommand<C extends CommandOptions>
     }
   }
 
+  /** {@inheritDoc} */
+  @Override
+  public final void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions) {
+    if (schemaRetrievalOptions != null) {
+      this.schemaRetrievalOptions = schemaRetrievalOptions;
+    } else {
+      this.schemaRetrievalOptions = SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+    }
+  }
+
   /** {@inheritDoc} */
   @Override
   public final String toString() {
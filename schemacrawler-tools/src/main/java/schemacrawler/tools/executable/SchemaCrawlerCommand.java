@@ -33,6 +33,8 @@ import java.sql.Connection;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schemacrawler.Identifiers;
 import schemacrawler.schemacrawler.SchemaCrawlerOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
+import schemacrawler.schemacrawler.SchemaRetrievalOptionsBuilder;
 import schemacrawler.tools.options.OutputOptions;
 
 /** A SchemaCrawler tools executable unit. */
@@ -63,6 +65,16 @@ public interface SchemaCrawlerCommand<C extends CommandOptions> {
 
   SchemaCrawlerOptions getSchemaCrawlerOptions();
 
+  /**
+   * Database-specific schema retrieval options, such as the fetch size, for commands that access
+   * the database.
+   *
+   * @return Schema retrieval options, or default options if the command does not keep them
+   */
+  default SchemaRetrievalOptions getSchemaRetrievalOptions() {
+    return SchemaRetrievalOptionsBuilder.newSchemaRetrievalOptions();
+  }
+
   /** Initializes the command for execution. */
   void initialize();
 
@@ -78,6 +90,16 @@ public interface SchemaCrawlerCommand<C extends CommandOptions> {
 
   void setSchemaCrawlerOptions(SchemaCrawlerOptions schemaCrawlerOptions);
 
+  /**
+   * Sets database-specific schema retrieval options. Commands that do not access the database
+   * directly can ignore them.
+   *
+   * @param schemaRetrievalOptions Schema retrieval options
+   */
+  default void setSchemaRetrievalOptions(final SchemaRetrievalOptions schemaRetrievalOptions) {
+    // Default implementation - NO-OP
+  }
+
   default boolean usesConnection() {
     return false;
   }
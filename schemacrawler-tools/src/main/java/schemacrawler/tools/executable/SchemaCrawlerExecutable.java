@@ -94,6 +94,7 @@ public final class SchemaCrawlerExecutable {
 
       // Set identifiers strategy
       scCommand.setIdentifiers(schemaRetrievalOptions.getIdentifiers());
+      scCommand.setSchemaRetrievalOptions(schemaRetrievalOptions);
 
       // Initialize, and check if the command is available
       scCommand.initialize();
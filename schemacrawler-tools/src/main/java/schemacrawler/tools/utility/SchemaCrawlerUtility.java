@@ -94,20 +94,9 @@ public final class SchemaCrawlerUtility {
       final SchemaCrawlerOptions schemaCrawlerOptions,
       final Config additionalConfig) {
 
-    LOGGER.log(Level.CONFIG, new ObjectToStringFormat(schemaCrawlerOptions));
-
-    updateConnectionDataSource(dataSource, schemaRetrievalOptions);
-
-    final CatalogLoaderRegistry catalogLoaderRegistry = new CatalogLoaderRegistry();
-    final CatalogLoader catalogLoader = catalogLoaderRegistry.newChainedCatalogLoader();
-
-    LOGGER.log(Level.CONFIG, new StringFormat("Catalog loader: %s", catalogLoader));
-
-    catalogLoader.setDataSource(dataSource);
-    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
-    catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
-    catalogLoader.setAdditionalConfiguration(additionalConfig);
-
+    final CatalogLoader catalogLoader =
+        newCatalogLoader(
+            dataSource, schemaRetrievalOptions, schemaCrawlerOptions, additionalConfig);
     catalogLoader.loadCatalog();
     final Catalog catalog = catalogLoader.getCatalog();
     requireNonNull(catalog, "Catalog could not be retrieved");
@@ -154,6 +143,40 @@ public final class SchemaCrawlerUtility {
     }
   }
 
+  /**
+   * Creates a catalog loader that crawls a database, without loading the catalog. Crawl listeners
+   * can be added to the catalog loader, and the catalog can be loaded on one thread while it is
+   * cancelled from another.
+   *
+   * @param dataSource Database connection source.
+   * @param schemaRetrievalOptions Database specific options.
+   * @param schemaCrawlerOptions Options.
+   * @param additionalConfig Additional configuration for catalog loaders.
+   * @return Catalog loader, ready to load the catalog.
+   */
+  public static CatalogLoader newCatalogLoader(
+      final DatabaseConnectionSource dataSource,
+      final SchemaRetrievalOptions schemaRetrievalOptions,
+      final SchemaCrawlerOptions schemaCrawlerOptions,
+      final Config additionalConfig) {
+
+    LOGGER.log(Level.CONFIG, new ObjectToStringFormat(schemaCrawlerOptions));
+
+    updateConnectionDataSource(dataSource, schemaRetrievalOptions);
+
+    final CatalogLoaderRegistry catalogLoaderRegistry = new CatalogLoaderRegistry();
+    final CatalogLoader catalogLoader = catalogLoaderRegistry.newChainedCatalogLoader();
+
+    LOGGER.log(Level.CONFIG, new StringFormat("Catalog loader: %s", catalogLoader));
+
+    catalogLoader.setDataSource(dataSource);
+    catalogLoader.setSchemaRetrievalOptions(schemaRetrievalOptions);
+    catalogLoader.setSchemaCrawlerOptions(schemaCrawlerOptions);
+    catalogLoader.setAdditionalConfiguration(additionalConfig);
+
+    return catalogLoader;
+  }
+
   /**
    * Updates the connection data source by attaching a connection initializer.
    *
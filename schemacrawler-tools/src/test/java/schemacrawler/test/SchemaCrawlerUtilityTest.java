@@ -31,6 +31,8 @@ package schemacrawler.test;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.nullValue;
@@ -42,18 +44,27 @@ import static schemacrawler.schemacrawler.SchemaCrawlerOptionsBuilder.newSchemaC
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
+import schemacrawler.crawl.CrawlListener;
 import schemacrawler.schema.Catalog;
 import schemacrawler.schema.ResultsColumns;
 import schemacrawler.schema.Schema;
+import schemacrawler.schema.Table;
+import schemacrawler.schemacrawler.SchemaInfoRetrieval;
+import schemacrawler.schemacrawler.SchemaRetrievalOptions;
 import schemacrawler.schemacrawler.exceptions.DatabaseAccessException;
 import schemacrawler.schemacrawler.exceptions.InternalRuntimeException;
 import schemacrawler.test.utility.CaptureLogs;
 import schemacrawler.test.utility.CapturedLogs;
 import schemacrawler.test.utility.WithSystemProperty;
 import schemacrawler.test.utility.WithTestDatabase;
+import schemacrawler.tools.catalogloader.CatalogLoader;
+import schemacrawler.tools.options.Config;
 import schemacrawler.tools.utility.SchemaCrawlerUtility;
 import us.fatehi.utility.datasource.DatabaseConnectionSource;
 import us.fatehi.utility.datasource.DatabaseConnectionSourceUtility;
@@ -124,4 +135,55 @@ public class SchemaCrawlerUtilityTest {
           DatabaseAccessException.class, () -> SchemaCrawlerUtility.getResultsColumns(results));
     }
   }
+
+  @Test
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void newCatalogLoaderCancelled(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final CatalogLoader catalogLoader = newCatalogLoader(dataSource);
+    catalogLoader.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public void retrievalCompleted(final String retrievalName) {
+            if (SchemaInfoRetrieval.retrieveTables.name().equals(retrievalName)) {
+              catalogLoader.cancel();
+            }
+          }
+        });
+    catalogLoader.loadCatalog();
+
+    final Catalog catalog = catalogLoader.getCatalog();
+    assertThat(
+        catalog.getCrawlInfo().getSkippedRetrievals(),
+        hasItem(SchemaInfoRetrieval.retrieveTableColumns.name()));
+  }
+
+  @Test
+  @WithSystemProperty(key = "SC_WITHOUT_DATABASE_PLUGIN", value = "hsqldb")
+  public void newCatalogLoaderWithListener(final DatabaseConnectionSource dataSource)
+      throws Exception {
+    final List<Table> completedTables = new ArrayList<>();
+    final CatalogLoader catalogLoader = newCatalogLoader(dataSource);
+    catalogLoader.addCrawlListener(
+        new CrawlListener() {
+          @Override
+          public synchronized void tableCompleted(final Table table) {
+            completedTables.add(table);
+          }
+        });
+    catalogLoader.loadCatalog();
+
+    final Catalog catalog = catalogLoader.getCatalog();
+    final Collection<Table> tables = catalog.getTables();
+    assertThat(tables, is(not(empty())));
+    assertThat(completedTables.size(), is(tables.size()));
+    assertThat(catalog.getCrawlInfo().getSkippedRetrievals(), is(empty()));
+  }
+
+  private CatalogLoader newCatalogLoader(final DatabaseConnectionSource dataSource) {
+    final SchemaRetrievalOptions schemaRetrievalOptions =
+        SchemaCrawlerUtility.matchSchemaRetrievalOptions(dataSource);
+    return SchemaCrawlerUtility.newCatalogLoader(
+        dataSource, schemaRetrievalOptions, newSchemaCrawlerOptions(), new Config());
+  }
 }
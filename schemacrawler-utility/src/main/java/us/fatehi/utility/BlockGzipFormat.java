@@ -0,0 +1,144 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility;
+
+import static java.util.zip.GZIPInputStream.GZIP_MAGIC;
+
+import java.util.zip.Deflater;
+
+/**
+ * Layout of block compressed gzip streams. Data is split into blocks, and each block is compressed
+ * independently into a complete gzip member, so that blocks can be compressed and decompressed in
+ * parallel. Concatenated gzip members are themselves a valid gzip stream, so block compressed
+ * streams can also be read by any gzip reader. The size of each member is stored in an extra field
+ * in the member header, in the same way as in the BGZF format, so that a reader can find the next
+ * member without decompressing the current one.
+ */
+final class BlockGzipFormat {
+
+  /** Default size of uncompressed data in each block. */
+  static final int DEFAULT_BLOCK_SIZE = 1 << 20;
+
+  /** Header with an extra field, followed by a subfield with the size of the whole member. */
+  static final int HEADER_SIZE = 20;
+
+  /** CRC-32 and uncompressed size. */
+  static final int TRAILER_SIZE = 8;
+
+  /**
+   * Largest size of uncompressed data in a block, for both writers and readers. A reader allocates
+   * memory for each block from the size recorded in the stream, so this limits the memory used for
+   * each block that is held, even if the stream is corrupt.
+   */
+  static final int MAXIMUM_BLOCK_SIZE = 1 << 26;
+
+  /** Largest member that a reader accepts, which is what the largest block can compress to. */
+  static final int MAXIMUM_MEMBER_SIZE = maximumMemberSize(MAXIMUM_BLOCK_SIZE);
+
+  private static final int FLAG_EXTRA = 4;
+  private static final int OS_UNKNOWN = 255;
+  private static final byte SUBFIELD_ID1 = 'S';
+  private static final byte SUBFIELD_ID2 = 'C';
+  private static final int SUBFIELD_LENGTH = 4;
+
+  /**
+   * Checks whether a gzip member header is for a block compressed member.
+   *
+   * @param header At least the first {@link #HEADER_SIZE} bytes of a member
+   * @return True if the header has the member size subfield
+   */
+  static boolean isBlockHeader(final byte[] header) {
+    return header.length >= HEADER_SIZE
+        && (header[0] & 0xFF) == (GZIP_MAGIC & 0xFF)
+        && (header[1] & 0xFF) == (GZIP_MAGIC >> 8 & 0xFF)
+        && header[2] == Deflater.DEFLATED
+        && (header[3] & FLAG_EXTRA) != 0
+        && readShort(header, 10) == SUBFIELD_LENGTH + 4
+        && header[12] == SUBFIELD_ID1
+        && header[13] == SUBFIELD_ID2
+        && readShort(header, 14) == SUBFIELD_LENGTH;
+  }
+
+  /**
+   * Largest size of a member for a block, allowing for incompressible data, which grows by a few
+   * bytes for every deflate block.
+   *
+   * @param blockSize Size of uncompressed data in the block
+   * @return Size of the member, including the header and trailer
+   */
+  static int maximumMemberSize(final int blockSize) {
+    return HEADER_SIZE + blockSize + blockSize / 1000 + 64 + TRAILER_SIZE;
+  }
+
+  static int readInt(final byte[] bytes, final int offset) {
+    return readShort(bytes, offset) | readShort(bytes, offset + 2) << 16;
+  }
+
+  /**
+   * Reads the size of the whole member from a block header.
+   *
+   * @param header Block header, which has already been checked
+   * @return Size of the member, including the header and trailer
+   */
+  static int readMemberSize(final byte[] header) {
+    return readInt(header, 16);
+  }
+
+  static int readShort(final byte[] bytes, final int offset) {
+    return bytes[offset] & 0xFF | (bytes[offset + 1] & 0xFF) << 8;
+  }
+
+  static void writeHeader(final byte[] member, final int memberSize) {
+    member[0] = (byte) GZIP_MAGIC;
+    member[1] = (byte) (GZIP_MAGIC >> 8);
+    member[2] = Deflater.DEFLATED;
+    member[3] = FLAG_EXTRA;
+    // Modification time and extra flags are left as zero, so that output is reproducible
+    member[9] = (byte) OS_UNKNOWN;
+    writeShort(member, 10, SUBFIELD_LENGTH + 4);
+    member[12] = SUBFIELD_ID1;
+    member[13] = SUBFIELD_ID2;
+    writeShort(member, 14, SUBFIELD_LENGTH);
+    writeInt(member, 16, memberSize);
+  }
+
+  static void writeInt(final byte[] bytes, final int offset, final int value) {
+    writeShort(bytes, offset, value);
+    writeShort(bytes, offset + 2, value >>> 16);
+  }
+
+  static void writeShort(final byte[] bytes, final int offset, final int value) {
+    bytes[offset] = (byte) value;
+    bytes[offset + 1] = (byte) (value >>> 8);
+  }
+
+  private BlockGzipFormat() {
+    // Prevent instantiation
+  }
+}
@@ -0,0 +1,283 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.BlockGzipFormat.HEADER_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.MAXIMUM_BLOCK_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.MAXIMUM_MEMBER_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.TRAILER_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.isBlockHeader;
+import static us.fatehi.utility.BlockGzipFormat.readInt;
+import static us.fatehi.utility.BlockGzipFormat.readMemberSize;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * Decompresses a block compressed gzip stream, as written by a {@link BlockGzipOutputStream},
+ * decompressing blocks in parallel in a fork-join pool. Compressed blocks are read ahead, and only
+ * a few blocks for each thread in the pool are held in memory at a time. Other gzip streams cannot
+ * be read, since the size of each member is needed to find the next one, so use {@link
+ * #isBlockCompressed(InputStream)} to check a stream first.
+ */
+public final class BlockGzipInputStream extends InputStream {
+
+  /**
+   * Checks whether a stream is block compressed, without consuming any of the stream.
+   *
+   * @param in Input stream, which needs to support mark and reset
+   * @return True if the stream starts with a block compressed gzip member
+   */
+  public static boolean isBlockCompressed(final InputStream in) throws IOException {
+    requireNonNull(in, "No input stream provided");
+    final byte[] header = new byte[HEADER_SIZE];
+    in.mark(HEADER_SIZE);
+    try {
+      return readFully(in, header) == HEADER_SIZE && isBlockHeader(header);
+    } finally {
+      in.reset();
+    }
+  }
+
+  private static byte[] decompress(final byte[] member) {
+    final int memberSize = member.length;
+    final int uncompressedSize = readInt(member, memberSize - 4);
+    if (uncompressedSize < 0 || uncompressedSize > MAXIMUM_BLOCK_SIZE) {
+      throw new UncheckedIOException(
+          new ZipException(String.format("Bad block size <%d> in gzip member", uncompressedSize)));
+    }
+    final byte[] block = new byte[uncompressedSize];
+
+    final Inflater inflater = new Inflater(true);
+    try {
+      inflater.setInput(member, HEADER_SIZE, memberSize - HEADER_SIZE - TRAILER_SIZE);
+      int position = 0;
+      while (!inflater.finished()) {
+        final int count = inflater.inflate(block, position, uncompressedSize - position);
+        if (count == 0
+            && !inflater.finished()
+            && (inflater.needsInput()
+                || inflater.needsDictionary()
+                || position == uncompressedSize)) {
+          // More data than the recorded size, or not enough compressed data
+          break;
+        }
+        position += count;
+      }
+      if (position != uncompressedSize || !inflater.finished()) {
+        throw new UncheckedIOException(new ZipException("Corrupt gzip member"));
+      }
+    } catch (final DataFormatException e) {
+      throw new UncheckedIOException(new ZipException("Corrupt gzip member: " + e.getMessage()));
+    } finally {
+      inflater.end();
+    }
+
+    final CRC32 crc = new CRC32();
+    crc.update(block, 0, uncompressedSize);
+    if ((int) crc.getValue() != readInt(member, memberSize - TRAILER_SIZE)) {
+      throw new UncheckedIOException(new ZipException("Corrupt gzip member: bad CRC"));
+    }
+    return block;
+  }
+
+  private static int readFully(final InputStream in, final byte[] bytes) throws IOException {
+    return readFully(in, bytes, 0, bytes.length);
+  }
+
+  private static int readFully(
+      final InputStream in, final byte[] bytes, final int offset, final int length)
+      throws IOException {
+    int position = 0;
+    while (position < length) {
+      final int count = in.read(bytes, offset + position, length - position);
+      if (count < 0) {
+        break;
+      }
+      position += count;
+    }
+    return position;
+  }
+
+  private final InputStream in;
+  private final ForkJoinPool pool;
+  private final int maximumPendingBlocks;
+  private final Deque<ForkJoinTask<byte[]>> pendingBlocks;
+  private byte[] block;
+  private int blockPosition;
+  private boolean endOfStream;
+  private boolean closed;
+
+  /**
+   * Decompresses data in the common fork-join pool.
+   *
+   * @param in Block compressed gzip stream
+   */
+  public BlockGzipInputStream(final InputStream in) {
+    this(in, ForkJoinPool.commonPool());
+  }
+
+  /**
+   * Decompresses data in the given fork-join pool.
+   *
+   * @param in Block compressed gzip stream
+   * @param pool Pool to decompress blocks in
+   */
+  public BlockGzipInputStream(final InputStream in, final ForkJoinPool pool) {
+    this.in = requireNonNull(in, "No input stream provided");
+    this.pool = requireNonNull(pool, "No fork-join pool provided");
+    maximumPendingBlocks = Math.max(2, pool.getParallelism() * 2);
+    pendingBlocks = new ArrayDeque<>();
+    block = new byte[0];
+  }
+
+  @Override
+  public int available() throws IOException {
+    ensureOpen();
+    return block.length - blockPosition;
+  }
+
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    for (final ForkJoinTask<byte[]> pendingBlock : pendingBlocks) {
+      pendingBlock.cancel(false);
+    }
+    pendingBlocks.clear();
+    in.close();
+  }
+
+  @Override
+  public int read() throws IOException {
+    ensureOpen();
+    if (!nextBlock()) {
+      return -1;
+    }
+    return block[blockPosition++] & 0xFF;
+  }
+
+  @Override
+  public int read(final byte[] bytes, final int offset, final int length) throws IOException {
+    ensureOpen();
+    if (offset < 0 || length < 0 || offset > bytes.length - length) {
+      throw new IndexOutOfBoundsException();
+    }
+    if (length == 0) {
+      return 0;
+    }
+    if (!nextBlock()) {
+      return -1;
+    }
+    final int count = Math.min(length, block.length - blockPosition);
+    System.arraycopy(block, blockPosition, bytes, offset, count);
+    blockPosition += count;
+    return count;
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  /**
+   * Makes sure that there is data in the current block, moving to the next block that has data if
+   * needed.
+   *
+   * @return False at the end of the stream
+   */
+  private boolean nextBlock() throws IOException {
+    while (blockPosition == block.length) {
+      readAhead();
+      if (pendingBlocks.isEmpty()) {
+        return false;
+      }
+      try {
+        block = pendingBlocks.removeFirst().join();
+      } catch (final UncheckedIOException e) {
+        throw e.getCause();
+      }
+      blockPosition = 0;
+    }
+    return true;
+  }
+
+  /** Reads compressed members ahead, and starts decompressing them. */
+  private void readAhead() throws IOException {
+    while (!endOfStream && pendingBlocks.size() < maximumPendingBlocks) {
+      final byte[] member = readMember();
+      if (member == null) {
+        endOfStream = true;
+      } else {
+        pendingBlocks.addLast(pool.submit(() -> decompress(member)));
+      }
+    }
+  }
+
+  /**
+   * Reads the next compressed member.
+   *
+   * @return Member, including the header and trailer, or null at the end of the stream
+   */
+  private byte[] readMember() throws IOException {
+    final byte[] header = new byte[HEADER_SIZE];
+    final int headerLength = readFully(in, header);
+    if (headerLength == 0) {
+      return null;
+    }
+    if (headerLength < HEADER_SIZE || !isBlockHeader(header)) {
+      throw new ZipException("Not a block compressed gzip member");
+    }
+    final int memberSize = readMemberSize(header);
+    if (memberSize < HEADER_SIZE + TRAILER_SIZE || memberSize > MAXIMUM_MEMBER_SIZE) {
+      throw new ZipException(String.format("Bad gzip member size <%d>", memberSize));
+    }
+
+    final byte[] member = new byte[memberSize];
+    System.arraycopy(header, 0, member, 0, HEADER_SIZE);
+    if (readFully(in, member, HEADER_SIZE, memberSize - HEADER_SIZE) != memberSize - HEADER_SIZE) {
+      throw new EOFException("Unexpected end of gzip stream");
+    }
+    return member;
+  }
+}
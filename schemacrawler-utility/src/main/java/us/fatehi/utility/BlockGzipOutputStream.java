@@ -0,0 +1,212 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility;
+
+import static java.util.Objects.requireNonNull;
+import static us.fatehi.utility.BlockGzipFormat.DEFAULT_BLOCK_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.HEADER_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.MAXIMUM_BLOCK_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.TRAILER_SIZE;
+import static us.fatehi.utility.BlockGzipFormat.maximumMemberSize;
+import static us.fatehi.utility.BlockGzipFormat.writeHeader;
+import static us.fatehi.utility.BlockGzipFormat.writeInt;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Compresses data into a block compressed gzip stream, compressing blocks in parallel in a
+ * fork-join pool. Compressed blocks are written out in order, and only a few blocks for each thread
+ * in the pool are held in memory at a time. The output can be read by any gzip reader, and in
+ * parallel by a {@link BlockGzipInputStream}.
+ */
+public final class BlockGzipOutputStream extends FilterOutputStream {
+
+  private static byte[] compress(final byte[] block, final int length) {
+    final Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+    try {
+      deflater.setInput(block, 0, length);
+      deflater.finish();
+
+      byte[] member = new byte[maximumMemberSize(length)];
+      int position = HEADER_SIZE;
+      while (!deflater.finished()) {
+        if (position == member.length - TRAILER_SIZE) {
+          member = Arrays.copyOf(member, member.length * 2);
+        }
+        position += deflater.deflate(member, position, member.length - TRAILER_SIZE - position);
+      }
+
+      final CRC32 crc = new CRC32();
+      crc.update(block, 0, length);
+      final int memberSize = position + TRAILER_SIZE;
+      writeHeader(member, memberSize);
+      writeInt(member, position, (int) crc.getValue());
+      writeInt(member, position + 4, length);
+      return member.length == memberSize ? member : Arrays.copyOf(member, memberSize);
+    } finally {
+      deflater.end();
+    }
+  }
+
+  private final ForkJoinPool pool;
+  private final int blockSize;
+  private final int maximumPendingBlocks;
+  private final Deque<ForkJoinTask<byte[]>> pendingBlocks;
+  private byte[] block;
+  private int blockLength;
+  private boolean hasBlocks;
+  private boolean closed;
+
+  /**
+   * Compresses data in the common fork-join pool.
+   *
+   * @param out Output stream for compressed data
+   */
+  public BlockGzipOutputStream(final OutputStream out) {
+    this(out, ForkJoinPool.commonPool(), DEFAULT_BLOCK_SIZE);
+  }
+
+  /**
+   * Compresses data in the given fork-join pool.
+   *
+   * @param out Output stream for compressed data
+   * @param pool Pool to compress blocks in
+   * @param blockSize Size of uncompressed data in each block, no more than 64 MB
+   */
+  public BlockGzipOutputStream(
+      final OutputStream out, final ForkJoinPool pool, final int blockSize) {
+    super(requireNonNull(out, "No output stream provided"));
+    this.pool = requireNonNull(pool, "No fork-join pool provided");
+    if (blockSize <= 0 || blockSize > MAXIMUM_BLOCK_SIZE) {
+      // Larger blocks could not be read back
+      throw new IllegalArgumentException(
+          String.format("Block size must be between 1 and %d", MAXIMUM_BLOCK_SIZE));
+    }
+    this.blockSize = blockSize;
+    maximumPendingBlocks = Math.max(2, pool.getParallelism() * 2);
+    pendingBlocks = new ArrayDeque<>();
+    block = new byte[blockSize];
+  }
+
+  /**
+   * Compresses any remaining data, writes out all the compressed blocks, and closes the underlying
+   * stream.
+   */
+  @Override
+  public void close() throws IOException {
+    if (closed) {
+      return;
+    }
+    closed = true;
+    try {
+      // An empty stream still needs one member to be a valid gzip stream
+      if (blockLength > 0 || !hasBlocks) {
+        submitBlock();
+      }
+      while (!pendingBlocks.isEmpty()) {
+        writeBlock();
+      }
+      out.flush();
+    } finally {
+      out.close();
+    }
+  }
+
+  /**
+   * Flushes the underlying stream. Data in a block that is not full is not compressed until the
+   * block is full, or the stream is closed, so that blocks are not made smaller than they need to
+   * be.
+   */
+  @Override
+  public void flush() throws IOException {
+    ensureOpen();
+    out.flush();
+  }
+
+  @Override
+  public void write(final byte[] bytes, final int offset, final int length) throws IOException {
+    ensureOpen();
+    if (offset < 0 || length < 0 || offset > bytes.length - length) {
+      throw new IndexOutOfBoundsException();
+    }
+    int position = offset;
+    int remaining = length;
+    while (remaining > 0) {
+      final int count = Math.min(remaining, blockSize - blockLength);
+      System.arraycopy(bytes, position, block, blockLength, count);
+      blockLength += count;
+      position += count;
+      remaining -= count;
+      if (blockLength == blockSize) {
+        submitBlock();
+      }
+    }
+  }
+
+  @Override
+  public void write(final int b) throws IOException {
+    ensureOpen();
+    block[blockLength++] = (byte) b;
+    if (blockLength == blockSize) {
+      submitBlock();
+    }
+  }
+
+  private void ensureOpen() throws IOException {
+    if (closed) {
+      throw new IOException("Stream closed");
+    }
+  }
+
+  private void submitBlock() throws IOException {
+    // Limit the number of blocks in memory, by waiting for the oldest block to be compressed
+    while (pendingBlocks.size() >= maximumPendingBlocks) {
+      writeBlock();
+    }
+    final byte[] fullBlock = block;
+    final int length = blockLength;
+    pendingBlocks.addLast(pool.submit(() -> compress(fullBlock, length)));
+    hasBlocks = true;
+    block = new byte[blockSize];
+    blockLength = 0;
+  }
+
+  private void writeBlock() throws IOException {
+    out.write(pendingBlocks.removeFirst().join());
+  }
+}
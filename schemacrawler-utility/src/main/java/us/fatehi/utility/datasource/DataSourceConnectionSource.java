@@ -13,6 +13,14 @@ final class DataSourceConnectionSource extends AbstractDatabaseConnectionSource
 
   private static final Logger LOGGER = Logger.getLogger(DataSourceConnectionSource.class.getName());
 
+  /**
+   * Methods that return the maximum size of a connection pool, for HikariCP, Apache Commons DBCP,
+   * c3p0 and Tomcat JDBC data sources.
+   */
+  private static final String[] MAX_POOL_SIZE_METHODS = {
+    "getMaximumPoolSize", "getMaxTotal", "getMaxPoolSize", "getMaxActive"
+  };
+
   private final DataSource dataSource;
 
   DataSourceConnectionSource(final DataSource dataSource) {
@@ -43,6 +51,28 @@ final class DataSourceConnectionSource extends AbstractDatabaseConnectionSource
     }
   }
 
+  /**
+   * Data sources that pool connections usually have a maximum pool size, which is found by name,
+   * since there is no standard interface for it.
+   */
+  @Override
+  public int getMaxConnections() {
+    for (final String methodName : MAX_POOL_SIZE_METHODS) {
+      try {
+        final Method method = dataSource.getClass().getMethod(methodName);
+        final Object maxPoolSize = method.invoke(dataSource);
+        if (maxPoolSize instanceof Integer) {
+          return Math.max((Integer) maxPoolSize, 0);
+        }
+      } catch (final NoSuchMethodException e) {
+        // Try the next method
+      } catch (final Exception e) {
+        LOGGER.log(Level.FINE, "Could not get maximum pool size from " + methodName, e);
+      }
+    }
+    return 0;
+  }
+
   @Override
   public boolean releaseConnection(final Connection connection) {
     try {
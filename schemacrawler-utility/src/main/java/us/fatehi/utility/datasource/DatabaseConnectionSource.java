@@ -34,6 +34,16 @@ import java.util.function.Supplier;
 
 public interface DatabaseConnectionSource extends AutoCloseable, Supplier<Connection> {
 
+  /**
+   * Maximum number of connections that can be in use at the same time, if the connection source has
+   * a limit.
+   *
+   * @return Maximum number of connections, or zero if there is no known limit
+   */
+  default int getMaxConnections() {
+    return 0;
+  }
+
   boolean releaseConnection(Connection connection);
 
   void setConnectionInitializer(Consumer<Connection> connectionInitializer);
@@ -61,6 +61,12 @@ final class SingleDatabaseConnectionSource extends AbstractDatabaseConnectionSou
     connection.close();
   }
 
+  /** All connections share the one database connection. */
+  @Override
+  public int getMaxConnections() {
+    return 1;
+  }
+
   @Override
   public Connection get() {
     return PooledConnectionUtility.newPooledConnection(connection, this);
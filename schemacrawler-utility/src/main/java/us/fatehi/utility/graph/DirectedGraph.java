@@ -28,6 +28,7 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.graph;
 
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.LinkedHashSet;
 import java.util.Map;
@@ -39,11 +40,13 @@ public class DirectedGraph<T extends Comparable<? super T>> {
   private final Set<DirectedEdge<T>> edges;
   private final String name;
   private final Map<T, Vertex<T>> verticesMap;
+  private final Map<Vertex<T>, Set<DirectedEdge<T>>> outgoingEdgesMap;
 
   public DirectedGraph(final String name) {
     this.name = name;
     verticesMap = new LinkedHashMap<>();
     edges = new LinkedHashSet<>();
+    outgoingEdgesMap = new HashMap<>();
   }
 
   /**
@@ -55,7 +58,10 @@ public class DirectedGraph<T extends Comparable<? super T>> {
    */
   public void addEdge(final T from, final T to) {
     if (!from.equals(to)) {
-      edges.add(new DirectedEdge<>(addVertex(from), addVertex(to)));
+      final DirectedEdge<T> edge = new DirectedEdge<>(addVertex(from), addVertex(to));
+      if (edges.add(edge)) {
+        outgoingEdgesMap.computeIfAbsent(edge.getFrom(), vertex -> new LinkedHashSet<>()).add(edge);
+      }
     }
   }
 
@@ -90,13 +96,11 @@ public class DirectedGraph<T extends Comparable<? super T>> {
   public Set<DirectedEdge<T>> getOutgoingEdges(final Vertex<T> vertexFrom) {
     Objects.requireNonNull(vertexFrom, "No vertex provided");
 
-    final Set<DirectedEdge<T>> outgoingEdges = new LinkedHashSet<>();
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.getFrom().equals(vertexFrom)) {
-        outgoingEdges.add(edge);
-      }
+    final Set<DirectedEdge<T>> outgoingEdges = outgoingEdgesMap.get(vertexFrom);
+    if (outgoingEdges == null) {
+      return new LinkedHashSet<>();
     }
-    return outgoingEdges;
+    return new LinkedHashSet<>(outgoingEdges);
   }
 
   @Override
@@ -0,0 +1,92 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Snapshot of a directed graph, with vertices numbered from zero, and the successors of each vertex
+ * held in primitive arrays. Graph algorithms can then work over arrays of counters and flags,
+ * rather than over vertex and edge objects.
+ */
+final class IndexedGraph<T extends Comparable<? super T>> {
+
+  private final List<T> values;
+  private final int[][] successors;
+
+  IndexedGraph(final DirectedGraph<T> graph) {
+    final Set<Vertex<T>> vertices = graph.vertexSet();
+    final int vertexCount = vertices.size();
+
+    values = new ArrayList<>(vertexCount);
+    final Map<T, Integer> vertexIndexes = new HashMap<>();
+    for (final Vertex<T> vertex : vertices) {
+      vertexIndexes.put(vertex.getValue(), values.size());
+      values.add(vertex.getValue());
+    }
+
+    final Set<DirectedEdge<T>> edges = graph.edgeSet();
+    final int[] from = new int[edges.size()];
+    final int[] to = new int[edges.size()];
+    final int[] outDegrees = new int[vertexCount];
+    int edgeCount = 0;
+    for (final DirectedEdge<T> edge : edges) {
+      from[edgeCount] = vertexIndexes.get(edge.getFrom().getValue());
+      to[edgeCount] = vertexIndexes.get(edge.getTo().getValue());
+      outDegrees[from[edgeCount]]++;
+      edgeCount++;
+    }
+
+    successors = new int[vertexCount][];
+    for (int i = 0; i < vertexCount; i++) {
+      successors[i] = new int[outDegrees[i]];
+    }
+    // Fill in successors in the order that edges were added
+    final int[] positions = new int[vertexCount];
+    for (int i = 0; i < edgeCount; i++) {
+      successors[from[i]][positions[from[i]]++] = to[i];
+    }
+  }
+
+  int size() {
+    return values.size();
+  }
+
+  int[] successors(final int vertex) {
+    return successors[vertex];
+  }
+
+  T value(final int vertex) {
+    return values.get(vertex);
+  }
+}
@@ -86,16 +86,14 @@ public class SimpleCycleDetector<T extends Comparable<? super T>> {
   private boolean visitForCyles(final Vertex<T> vertex) {
     vertex.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.inProgress);
 
-    for (final DirectedEdge<T> edge : graph.edgeSet()) {
-      if (edge.isFrom(vertex)) {
-        final Vertex<T> to = edge.getTo();
-        if (to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.inProgress) {
-          to.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.marked);
-          return true;
-        } else if ((to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted)
-            && visitForCyles(to)) {
-          return true;
-        }
+    for (final DirectedEdge<T> edge : graph.getOutgoingEdges(vertex)) {
+      final Vertex<T> to = edge.getTo();
+      if (to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.inProgress) {
+        to.putAttribute(ATTRIBUTE_TRAVERSAL_STATE, TraversalState.marked);
+        return true;
+      } else if ((to.getAttribute(ATTRIBUTE_TRAVERSAL_STATE) == TraversalState.notStarted)
+          && visitForCyles(to)) {
+        return true;
       }
     }
 
@@ -31,11 +31,15 @@ package us.fatehi.utility.graph;
 import static java.util.Comparator.naturalOrder;
 
 import java.util.ArrayList;
-import java.util.Collection;
-import java.util.Iterator;
 import java.util.List;
 import java.util.Objects;
 
+/**
+ * Topological sort by levels, using Kahn's algorithm. Vertices with no incoming edges are at the
+ * first level, and every other vertex is one level after the last of its predecessors. Vertices at
+ * the same level are in natural sort order. A graph with a cycle cannot be sorted, and this is
+ * detected in the same pass, since the vertices on a cycle are never reached.
+ */
 public class SimpleTopologicalSort<T extends Comparable<? super T>> {
 
   private final DirectedGraph<T> graph;
@@ -45,83 +49,54 @@ public class SimpleTopologicalSort<T extends Comparable<? super T>> {
   }
 
   public List<T> topologicalSort() throws GraphException {
-    if (containsCycle()) {
-      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
-    }
-
-    final Collection<Vertex<T>> vertices = graph.vertexSet();
-    final int collectionSize = vertices.size();
 
-    final Collection<DirectedEdge<T>> edges = new ArrayList<>(graph.edgeSet());
-    final List<T> sortedValues = new ArrayList<>(collectionSize);
+    final IndexedGraph<T> indexedGraph = new IndexedGraph<>(graph);
+    final int vertexCount = indexedGraph.size();
 
-    while (!vertices.isEmpty()) {
-
-      final List<T> nodesAtLevel = new ArrayList<>(collectionSize);
-
-      // Remove unattached nodes
-      for (final Iterator<Vertex<T>> iterator = vertices.iterator(); iterator.hasNext(); ) {
-        final Vertex<T> vertex = iterator.next();
-        if (isUnattachedNode(vertex, edges)) {
-          nodesAtLevel.add(vertex.getValue());
-          iterator.remove();
-        }
+    final int[] inDegrees = new int[vertexCount];
+    for (int i = 0; i < vertexCount; i++) {
+      for (final int successor : indexedGraph.successors(i)) {
+        inDegrees[successor]++;
       }
+    }
 
-      // Find all nodes at the current level
-      final List<Vertex<T>> startNodes = new ArrayList<>(collectionSize);
-      for (final Vertex<T> vertex : vertices) {
-        if (isStartNode(vertex, edges)) {
-          startNodes.add(vertex);
-        }
+    int[] level = new int[vertexCount];
+    int levelSize = 0;
+    for (int i = 0; i < vertexCount; i++) {
+      if (inDegrees[i] == 0) {
+        level[levelSize++] = i;
       }
+    }
 
-      for (final Vertex<T> vertex : startNodes) {
-        // Save the vertex value
-        nodesAtLevel.add(vertex.getValue());
-        // Remove all out edges
-        dropOutEdges(vertex, edges);
-        // Remove the vertex itself
-        vertices.remove(vertex);
+    final List<T> sortedValues = new ArrayList<>(vertexCount);
+    int[] nextLevel = new int[vertexCount];
+    while (levelSize > 0) {
+      final List<T> nodesAtLevel = new ArrayList<>(levelSize);
+      int nextLevelSize = 0;
+      for (int i = 0; i < levelSize; i++) {
+        final int vertex = level[i];
+        nodesAtLevel.add(indexedGraph.value(vertex));
+        for (final int successor : indexedGraph.successors(vertex)) {
+          inDegrees[successor]--;
+          if (inDegrees[successor] == 0) {
+            nextLevel[nextLevelSize++] = successor;
+          }
+        }
       }
 
       nodesAtLevel.sort(naturalOrder());
       sortedValues.addAll(nodesAtLevel);
-    }
-
-    return sortedValues;
-  }
-
-  private boolean containsCycle() {
-    final SimpleCycleDetector<T> cycleDetector = new SimpleCycleDetector<>(graph);
-    return cycleDetector.containsCycle();
-  }
 
-  private void dropOutEdges(final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final Iterator<DirectedEdge<T>> iterator = edges.iterator(); iterator.hasNext(); ) {
-      final DirectedEdge<T> edge = iterator.next();
-      if (edge.isFrom(vertex)) {
-        iterator.remove();
-      }
+      final int[] swap = level;
+      level = nextLevel;
+      nextLevel = swap;
+      levelSize = nextLevelSize;
     }
-  }
 
-  private boolean isStartNode(final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.isTo(vertex)) {
-        return false;
-      }
+    if (sortedValues.size() < vertexCount) {
+      throw new GraphException("Graph contains a cycle, so cannot be topologically sorted");
     }
-    return true;
-  }
 
-  private boolean isUnattachedNode(
-      final Vertex<T> vertex, final Collection<DirectedEdge<T>> edges) {
-    for (final DirectedEdge<T> edge : edges) {
-      if (edge.isTo(vertex) || edge.isFrom(vertex)) {
-        return false;
-      }
-    }
-    return true;
+    return sortedValues;
   }
 }
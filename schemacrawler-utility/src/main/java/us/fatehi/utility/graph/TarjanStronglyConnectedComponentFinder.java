@@ -28,34 +28,29 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.graph;
 
-import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
-import java.util.Deque;
 import java.util.HashSet;
-import java.util.LinkedList;
 import java.util.List;
 import java.util.Objects;
 
 /**
  * Implementation of <a href=
  * "https://en.wikipedia.org/wiki/Tarjan%27s_strongly_connected_components_algorithm"> Tarjan's
- * algorithm</a>
+ * algorithm</a>. The depth-first search is iterative, with an explicit stack of vertex numbers, so
+ * that long chains of edges do not overflow the call stack.
  *
  * @param <T> Any comparable class
  */
 public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super T>> {
 
-  private static final String ATTRIBUTE_INDEX = "index";
-  private static final String ATTRIBUTE_LOWLINK = "lowlink";
+  private static final int UNVISITED = -1;
+
   private final DirectedGraph<T> graph;
-  private final Deque<Vertex<T>> stack;
-  private final Collection<List<T>> stronglyConnectedComponents;
 
   public TarjanStronglyConnectedComponentFinder(final DirectedGraph<T> graph) {
     this.graph = Objects.requireNonNull(graph, "No diagram provided");
-
-    stronglyConnectedComponents = new HashSet<>();
-    stack = new ArrayDeque<>();
   }
 
   /**
@@ -64,49 +59,86 @@ public class TarjanStronglyConnectedComponentFinder<T extends Comparable<? super
    * @return Set of strongly connected components (sets of vertices)
    */
   public Collection<List<T>> detectCycles() {
-    for (final Vertex<T> vertex : graph.vertexSet()) {
-      if (!vertex.hasAttribute(ATTRIBUTE_INDEX)) {
-        strongConnect(vertex, 0);
+    final Collection<List<T>> stronglyConnectedComponents = new HashSet<>();
+
+    final IndexedGraph<T> indexedGraph = new IndexedGraph<>(graph);
+    final int vertexCount = indexedGraph.size();
+
+    final int[] indexes = new int[vertexCount];
+    final int[] lowlinks = new int[vertexCount];
+    final boolean[] onStack = new boolean[vertexCount];
+    final int[] stack = new int[vertexCount];
+    int stackSize = 0;
+    // Depth-first search path, with the position of the next edge to follow from each vertex
+    final int[] path = new int[vertexCount];
+    final int[] edgePositions = new int[vertexCount];
+    int pathSize = 0;
+    int index = 0;
+
+    Arrays.fill(indexes, UNVISITED);
+
+    for (int root = 0; root < vertexCount; root++) {
+      if (indexes[root] != UNVISITED) {
+        continue;
       }
-    }
-    return stronglyConnectedComponents;
-  }
 
-  private void strongConnect(final Vertex<T> vertexFrom, final int index) {
-    vertexFrom.putAttribute(ATTRIBUTE_INDEX, index);
-    vertexFrom.putAttribute(ATTRIBUTE_LOWLINK, index);
-    stack.push(vertexFrom);
-
-    for (final DirectedEdge<T> edge : graph.getOutgoingEdges(vertexFrom)) {
-      final Vertex<T> vertexTo = edge.getTo();
-      if (!vertexTo.hasAttribute(ATTRIBUTE_INDEX)) {
-        // Successor vertex has not yet been visited; recurse on it
-        strongConnect(vertexTo, index + 1);
-        vertexFrom.putAttribute(
-            ATTRIBUTE_LOWLINK,
-            Math.min(
-                vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                vertexTo.getAttribute(ATTRIBUTE_LOWLINK)));
-      } else if (stack.contains(vertexTo)) {
-        // Successor vertex is on stack, hence in the current SCC
-        vertexFrom.putAttribute(
-            ATTRIBUTE_LOWLINK,
-            Math.min(
-                vertexFrom.getAttribute(ATTRIBUTE_LOWLINK),
-                vertexTo.getAttribute(ATTRIBUTE_INDEX)));
+      indexes[root] = index;
+      lowlinks[root] = index;
+      index++;
+      stack[stackSize++] = root;
+      onStack[root] = true;
+      path[pathSize] = root;
+      edgePositions[pathSize] = 0;
+      pathSize++;
+
+      while (pathSize > 0) {
+        final int vertexFrom = path[pathSize - 1];
+        final int[] successors = indexedGraph.successors(vertexFrom);
+        if (edgePositions[pathSize - 1] < successors.length) {
+          final int vertexTo = successors[edgePositions[pathSize - 1]++];
+          if (indexes[vertexTo] == UNVISITED) {
+            // Successor vertex has not yet been visited; descend into it
+            indexes[vertexTo] = index;
+            lowlinks[vertexTo] = index;
+            index++;
+            stack[stackSize++] = vertexTo;
+            onStack[vertexTo] = true;
+            path[pathSize] = vertexTo;
+            edgePositions[pathSize] = 0;
+            pathSize++;
+          } else if (onStack[vertexTo]) {
+            // Successor vertex is on stack, hence in the current SCC
+            lowlinks[vertexFrom] = Math.min(lowlinks[vertexFrom], indexes[vertexTo]);
+          }
+          continue;
+        }
+
+        // All successors have been visited, so return to the previous vertex on the path
+        pathSize--;
+        if (pathSize > 0) {
+          final int parent = path[pathSize - 1];
+          lowlinks[parent] = Math.min(lowlinks[parent], lowlinks[vertexFrom]);
+        }
+
+        if (lowlinks[vertexFrom] == indexes[vertexFrom]) {
+          int sccStart = stackSize;
+          do {
+            sccStart--;
+            onStack[stack[sccStart]] = false;
+          } while (stack[sccStart] != vertexFrom);
+
+          if (stackSize - sccStart > 1) {
+            final List<T> scc = new ArrayList<>(stackSize - sccStart);
+            for (int i = sccStart; i < stackSize; i++) {
+              scc.add(indexedGraph.value(stack[i]));
+            }
+            stronglyConnectedComponents.add(scc);
+          }
+          stackSize = sccStart;
+        }
       }
     }
 
-    if (vertexFrom.getAttribute(ATTRIBUTE_LOWLINK) == vertexFrom.getAttribute(ATTRIBUTE_INDEX)) {
-      final LinkedList<T> scc = new LinkedList<>();
-      Vertex<T> sccVertex;
-      do {
-        sccVertex = stack.pop();
-        scc.addFirst(sccVertex.getValue());
-      } while (!vertexFrom.equals(sccVertex));
-      if (scc.size() > 1) {
-        stronglyConnectedComponents.add(scc);
-      }
-    }
+    return stronglyConnectedComponents;
   }
 }
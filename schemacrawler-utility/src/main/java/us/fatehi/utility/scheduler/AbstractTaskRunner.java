@@ -38,7 +38,12 @@ import java.time.Duration;
 import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.time.format.DateTimeFormatterBuilder;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Queue;
 import java.util.concurrent.LinkedBlockingDeque;
 import java.util.function.BiFunction;
@@ -146,26 +151,85 @@ abstract class AbstractTaskRunner implements TaskRunner {
     taskDefinitions.clear();
 
     // Stop, report and throw on an exception
-    boolean hasException = false;
+    try {
+      throwOnException(runTaskResults);
+    } catch (final Exception e) {
+      stop();
+      LOGGER.log(Level.CONFIG, report());
+      throw e;
+    }
+  }
+
+  /**
+   * Throws the exception from the first failed task, with exceptions from any other failed tasks
+   * added as suppressed exceptions.
+   *
+   * @param runTaskResults Results of tasks that were run
+   * @throws Exception Exception from a failed task
+   */
+  final void throwOnException(final Collection<TimedTaskResult> runTaskResults) throws Exception {
     Exception exception = null;
     for (final TimedTaskResult runTaskResult : runTaskResults) {
       if (runTaskResult.hasException()) {
-        hasException = true;
         final Exception runTaskException = runTaskResult.getException();
         if (exception == null) {
           exception = runTaskException;
-        } else {
+        } else if (exception != runTaskException) {
           exception.addSuppressed(runTaskException);
         }
       }
     }
-    if (hasException) {
-      stop();
-      LOGGER.log(Level.CONFIG, report());
+    if (exception != null) {
       throw exception;
     }
   }
 
+  /**
+   * Orders task definitions so that every task comes after the tasks it depends on, otherwise
+   * preserving the order in which tasks were added. Dependencies on tasks that are not in the
+   * provided collection are ignored.
+   *
+   * @param taskDefinitions Task definitions to order.
+   * @return Ordered list of task definitions.
+   */
+  final List<TaskDefinition> sortByDependencies(final Collection<TaskDefinition> taskDefinitions) {
+
+    final Map<String, Integer> pendingTaskCounts = new HashMap<>();
+    for (final TaskDefinition taskDefinition : taskDefinitions) {
+      pendingTaskCounts.merge(taskDefinition.getTaskName(), 1, Integer::sum);
+    }
+
+    final List<TaskDefinition> pending = new ArrayList<>(taskDefinitions);
+    final List<TaskDefinition> sorted = new ArrayList<>(taskDefinitions.size());
+    while (!pending.isEmpty()) {
+      boolean isProgress = false;
+      for (final Iterator<TaskDefinition> iterator = pending.iterator(); iterator.hasNext(); ) {
+        final TaskDefinition taskDefinition = iterator.next();
+        if (isReady(taskDefinition, pendingTaskCounts)) {
+          iterator.remove();
+          sorted.add(taskDefinition);
+          pendingTaskCounts.merge(taskDefinition.getTaskName(), -1, Integer::sum);
+          isProgress = true;
+        }
+      }
+      if (!isProgress) {
+        throw new IllegalStateException(
+            String.format("Cyclic dependencies for tasks in <%s> - %s", id, pending));
+      }
+    }
+    return sorted;
+  }
+
   abstract Collection<TimedTaskResult> runTimed(final Collection<TaskDefinition> taskDefinitions)
       throws Exception;
+
+  private boolean isReady(
+      final TaskDefinition taskDefinition, final Map<String, Integer> pendingTaskCounts) {
+    for (final String dependency : taskDefinition.getDependencies()) {
+      if (pendingTaskCounts.getOrDefault(dependency, 0) > 0) {
+        return false;
+      }
+    }
+    return true;
+  }
 }
@@ -30,16 +30,39 @@ package us.fatehi.utility.scheduler;
 
 import static java.util.Objects.requireNonNull;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import us.fatehi.utility.string.StringFormat;
 
 final class MainThreadTaskRunner extends AbstractTaskRunner {
 
+  private static final Logger LOGGER = Logger.getLogger(MainThreadTaskRunner.class.getName());
+
   MainThreadTaskRunner(final String id) {
     super(id);
   }
 
+  @Override
+  public void invokeAll(final Collection<TaskDefinition> taskDefinitions) throws Exception {
+    requireNonNull(taskDefinitions, "Tasks not provided");
+
+    final Collection<TimedTaskResult> runTaskResults = new ArrayList<>();
+    for (final TaskDefinition taskDefinition : taskDefinitions) {
+      final TimedTaskResult taskResult = new TimedTask(taskDefinition).call();
+      runTaskResults.add(taskResult);
+      if (taskResult.hasException()) {
+        break;
+      }
+    }
+    throwOnException(runTaskResults);
+  }
+
   @Override
   public boolean isStopped() {
     return false;
@@ -60,8 +83,20 @@ final class MainThreadTaskRunner extends AbstractTaskRunner {
     }
 
     final Collection<TimedTaskResult> runTaskResults = new CopyOnWriteArrayList<>();
-    for (final TaskDefinition taskDefinition : taskDefinitions) {
+    final Set<String> failedTaskNames = new HashSet<>();
+    for (final TaskDefinition taskDefinition : sortByDependencies(taskDefinitions)) {
+      if (!failedTaskNames.isEmpty()) {
+        // Do not start any more tasks once a task has failed
+        LOGGER.log(
+            Level.INFO,
+            new StringFormat(
+                "Not running <%s>, since <%s> failed", taskDefinition, failedTaskNames));
+        continue;
+      }
       final TimedTaskResult taskResult = new TimedTask(taskDefinition).call();
+      if (taskResult.hasException()) {
+        failedTaskNames.add(taskDefinition.getTaskName());
+      }
       runTaskResults.add(taskResult);
     }
     return runTaskResults;
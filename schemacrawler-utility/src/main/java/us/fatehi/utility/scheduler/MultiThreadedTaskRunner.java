@@ -29,47 +29,146 @@ http://www.gnu.org/licenses/
 package us.fatehi.utility.scheduler;
 
 import static java.util.Objects.requireNonNull;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import us.fatehi.utility.string.StringFormat;
 
-final class MultiThreadedTaskRunner extends AbstractTaskRunner {
+class MultiThreadedTaskRunner extends AbstractTaskRunner {
 
   private static final Logger LOGGER = Logger.getLogger(MultiThreadedTaskRunner.class.getName());
 
+  /**
+   * Time allowed for running tasks to finish once the task runner is stopped, after which they are
+   * interrupted. By then, all submitted tasks have either completed or timed out.
+   */
+  private static final Duration STOP_GRACE_PERIOD = Duration.ofSeconds(10);
+
+  private static int maxThreads(final int maxThreadsSuggested) {
+    return Math.min(Math.max(maxThreadsSuggested, MIN_THREADS), MAX_THREADS);
+  }
+
+  private static ExecutorService newFixedThreadPool(final int maxThreadsSuggested) {
+    return Executors.newFixedThreadPool(maxThreads(maxThreadsSuggested));
+  }
+
   private final ExecutorService executorService;
+  private final int maxRunningTasks;
+  private final Semaphore runningTasks;
+  private final ThreadLocal<Boolean> holdsPermit;
+  private final Duration timeout;
 
-  MultiThreadedTaskRunner(final String id, final int maxThreadsSuggested) {
+  MultiThreadedTaskRunner(final String id, final int maxThreadsSuggested, final Duration timeout) {
+    this(id, newFixedThreadPool(maxThreadsSuggested), maxThreads(maxThreadsSuggested), timeout);
+  }
+
+  /**
+   * Task runner that runs tasks on the provided executor, but with no more than the given number of
+   * tasks running at the same time.
+   *
+   * @param id Id of the task runner
+   * @param executorService Executor to run tasks
+   * @param maxRunningTasks Maximum number of tasks that can run at the same time
+   * @param timeout Time to wait for submitted tasks to complete
+   */
+  MultiThreadedTaskRunner(
+      final String id,
+      final ExecutorService executorService,
+      final int maxRunningTasks,
+      final Duration timeout) {
     super(id);
 
-    final int maxThreads = Math.min(Math.max(maxThreadsSuggested, MIN_THREADS), MAX_THREADS);
-    executorService = Executors.newFixedThreadPool(maxThreads);
+    this.executorService = requireNonNull(executorService, "No executor provided");
+    this.maxRunningTasks = Math.max(maxRunningTasks, MIN_THREADS);
+    this.timeout = requireNonNull(timeout, "No timeout provided");
+    runningTasks = new Semaphore(this.maxRunningTasks);
+    holdsPermit = ThreadLocal.withInitial(() -> false);
     LOGGER.log(
         Level.INFO,
         new StringFormat(
-            "Started thread pool <%s> for <%s> with <%d> threads",
-            executorService, id, maxThreads));
+            "Started executor <%s> for <%s> with <%d> concurrent tasks",
+            executorService, id, this.maxRunningTasks));
   }
 
   @Override
-  public boolean isStopped() {
+  public final void invokeAll(final Collection<TaskDefinition> taskDefinitions) throws Exception {
+    requireNonNull(taskDefinitions, "Tasks not provided");
+    if (taskDefinitions.isEmpty()) {
+      return;
+    }
+    if (isStopped()) {
+      throw new IllegalStateException("Task runner is stopped");
+    }
+
+    // Tasks are shared between the calling thread and helpers running on the executor;
+    // since the calling thread keeps taking tasks from the queue, this makes progress even
+    // if every thread of the executor is busy, and so nested calls cannot deadlock
+    final Queue<TaskDefinition> queue = new ConcurrentLinkedQueue<>(taskDefinitions);
+    final CountDownLatch completed = new CountDownLatch(taskDefinitions.size());
+    final Collection<TimedTaskResult> runTaskResults = new ConcurrentLinkedQueue<>();
+    final AtomicBoolean hasFailed = new AtomicBoolean(false);
+
+    final int helpers = Math.min(taskDefinitions.size(), maxRunningTasks) - 1;
+    for (int i = 0; i < helpers; i++) {
+      executorService.execute(
+          () -> {
+            if (queue.isEmpty()) {
+              return;
+            }
+            acquirePermit();
+            try {
+              runQueued(queue, completed, runTaskResults, hasFailed);
+            } finally {
+              releasePermit();
+            }
+          });
+    }
+    // The calling thread also runs tasks, so it needs a permit, unless it is
+    // already counted as a running task of this task runner
+    final boolean needsPermit = !holdsPermit.get();
+    if (needsPermit) {
+      acquirePermit();
+    }
+    try {
+      runQueued(queue, completed, runTaskResults, hasFailed);
+    } finally {
+      if (needsPermit) {
+        releasePermit();
+      }
+    }
+    completed.await();
+
+    throwOnException(runTaskResults);
+  }
+
+  @Override
+  public final boolean isStopped() {
     return executorService.isShutdown();
   }
 
   @Override
-  public void stop() {
+  public final void stop() {
     try {
       executorService.shutdown();
-      if (!executorService.awaitTermination(1, TimeUnit.HOURS)) {
+      if (!executorService.awaitTermination(STOP_GRACE_PERIOD.toNanos(), TimeUnit.NANOSECONDS)) {
         executorService.shutdownNow();
       }
     } catch (final InterruptedException ex) {
@@ -79,7 +178,7 @@ final class MultiThreadedTaskRunner extends AbstractTaskRunner {
   }
 
   @Override
-  Collection<TimedTaskResult> runTimed(final Collection<TaskDefinition> taskDefinitions)
+  final Collection<TimedTaskResult> runTimed(final Collection<TaskDefinition> taskDefinitions)
       throws Exception {
 
     requireNonNull(taskDefinitions, "Tasks not provided");
@@ -90,23 +189,43 @@ final class MultiThreadedTaskRunner extends AbstractTaskRunner {
       throw new IllegalStateException("Task runner is stopped");
     }
 
-    try {
-      final Collection<TimedTask> timedTasks = new CopyOnWriteArrayList<>();
-      for (final TaskDefinition taskDefinition : taskDefinitions) {
-        final TimedTask timedTask = new TimedTask(taskDefinition);
-        timedTasks.add(timedTask);
+    // Each task is started as soon as all the tasks that it depends on
+    // have completed, rather than waiting for a whole batch of tasks
+    final AtomicBoolean hasFailed = new AtomicBoolean(false);
+    final Map<String, List<CompletableFuture<TimedTaskResult>>> futuresByTaskName = new HashMap<>();
+    final List<CompletableFuture<TimedTaskResult>> futureResults = new ArrayList<>();
+    for (final TaskDefinition taskDefinition : sortByDependencies(taskDefinitions)) {
+      final List<CompletableFuture<TimedTaskResult>> dependencyFutures = new ArrayList<>();
+      for (final String dependency : taskDefinition.getDependencies()) {
+        dependencyFutures.addAll(
+            futuresByTaskName.getOrDefault(dependency, Collections.emptyList()));
       }
+      final CompletableFuture<TimedTaskResult> futureResult =
+          CompletableFuture.allOf(dependencyFutures.toArray(new CompletableFuture<?>[0]))
+              .thenApplyAsync(ignore -> runTimed(taskDefinition, hasFailed), executorService);
+      futuresByTaskName
+          .computeIfAbsent(taskDefinition.getTaskName(), key -> new ArrayList<>())
+          .add(futureResult);
+      futureResults.add(futureResult);
+    }
 
-      final Collection<TimedTaskResult> runTaskResults = new CopyOnWriteArrayList<>();
+    try {
+      CompletableFuture.allOf(futureResults.toArray(new CompletableFuture<?>[0]))
+          .get(timeout.toNanos(), TimeUnit.NANOSECONDS);
 
-      final List<Future<TimedTaskResult>> futureResults =
-          executorService.invokeAll(timedTasks, 1, TimeUnit.HOURS);
-      for (final Future<TimedTaskResult> futureResult : futureResults) {
+      final Collection<TimedTaskResult> runTaskResults = new CopyOnWriteArrayList<>();
+      for (final CompletableFuture<TimedTaskResult> futureResult : futureResults) {
         final TimedTaskResult timedTaskResult = futureResult.get();
-        runTaskResults.add(timedTaskResult);
+        if (timedTaskResult != null) {
+          runTaskResults.add(timedTaskResult);
+        }
       }
 
       return runTaskResults;
+    } catch (final TimeoutException e) {
+      // Do not start any tasks that are still waiting
+      hasFailed.set(true);
+      throw e;
     } catch (final ExecutionException e) {
       final Throwable cause = e.getCause();
       if (cause instanceof Exception) {
@@ -116,4 +235,62 @@ final class MultiThreadedTaskRunner extends AbstractTaskRunner {
       }
     }
   }
+
+  private void acquirePermit() {
+    runningTasks.acquireUninterruptibly();
+    holdsPermit.set(true);
+  }
+
+  private void releasePermit() {
+    holdsPermit.remove();
+    runningTasks.release();
+  }
+
+  private void runQueued(
+      final Queue<TaskDefinition> queue,
+      final CountDownLatch completed,
+      final Collection<TimedTaskResult> runTaskResults,
+      final AtomicBoolean hasFailed) {
+    TaskDefinition taskDefinition;
+    while ((taskDefinition = queue.poll()) != null) {
+      try {
+        if (!hasFailed.get()) {
+          final TimedTaskResult timedTaskResult = new TimedTask(taskDefinition).call();
+          if (timedTaskResult.hasException()) {
+            hasFailed.set(true);
+          }
+          runTaskResults.add(timedTaskResult);
+        }
+      } finally {
+        completed.countDown();
+      }
+    }
+  }
+
+  /**
+   * Runs a task, unless another task has already failed, in which case there is no point in
+   * continuing.
+   *
+   * @return Result of the task run, or null if the task was not run
+   */
+  private TimedTaskResult runTimed(
+      final TaskDefinition taskDefinition, final AtomicBoolean hasFailed) {
+    if (hasFailed.get()) {
+      LOGGER.log(
+          Level.INFO,
+          new StringFormat("Not running <%s>, since another task failed", taskDefinition));
+      return null;
+    }
+    final TimedTaskResult timedTaskResult;
+    acquirePermit();
+    try {
+      timedTaskResult = new TimedTask(taskDefinition).call();
+    } finally {
+      releasePermit();
+    }
+    if (timedTaskResult.hasException()) {
+      hasFailed.set(true);
+    }
+    return timedTaskResult;
+  }
 }
@@ -31,6 +31,10 @@ package us.fatehi.utility.scheduler;
 import static java.util.Objects.requireNonNull;
 import static us.fatehi.utility.Utility.requireNotBlank;
 import static us.fatehi.utility.Utility.toSnakeCase;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import us.fatehi.utility.string.StringFormat;
@@ -50,17 +54,59 @@ public final class TaskDefinition {
 
   private final String taskName;
   private final TaskRunnable task;
+  private final Set<String> dependencies;
 
   public TaskDefinition(final String taskName) {
-    this.taskName = toSnakeCase(requireNotBlank(taskName, "Task name not provided"));
-    this.task = () -> LOGGER.log(Level.INFO, new StringFormat("Not running task <%s>", taskName));
+    this(taskName, Collections.emptySet());
+  }
+
+  /**
+   * Task definition that does not run anything, but which can still be depended on by other tasks.
+   *
+   * @param taskName Name of the task.
+   * @param dependencies Names of tasks that need to complete before this one.
+   */
+  public TaskDefinition(final String taskName, final Collection<String> dependencies) {
+    this(
+        taskName,
+        () -> LOGGER.log(Level.INFO, new StringFormat("Not running task <%s>", taskName)),
+        dependencies);
   }
 
   public TaskDefinition(final String taskName, final TaskRunnable task) {
+    this(taskName, task, Collections.emptySet());
+  }
+
+  /**
+   * Task definition that can only start once all the tasks that it depends on have completed.
+   * Dependencies on tasks that were never added to the task runner are considered to be complete.
+   *
+   * @param taskName Name of the task.
+   * @param task Task to run.
+   * @param dependencies Names of tasks that need to complete before this one.
+   */
+  public TaskDefinition(
+      final String taskName, final TaskRunnable task, final Collection<String> dependencies) {
     requireNotBlank(taskName, "Task name not provided");
+    requireNonNull(dependencies, "Task dependencies not provided");
 
     this.taskName = toSnakeCase(taskName);
     this.task = requireNonNull(task, "Task not provided");
+
+    final Set<String> taskDependencies = new LinkedHashSet<>();
+    for (final String dependency : dependencies) {
+      taskDependencies.add(toSnakeCase(requireNotBlank(dependency, "Blank task dependency")));
+    }
+    this.dependencies = Collections.unmodifiableSet(taskDependencies);
+  }
+
+  /**
+   * Names of the tasks that need to complete before this task can start.
+   *
+   * @return Task names, in snake case.
+   */
+  public Set<String> getDependencies() {
+    return dependencies;
   }
 
   public TaskRunnable getTask() {
@@ -28,6 +28,8 @@ http://www.gnu.org/licenses/
 
 package us.fatehi.utility.scheduler;
 
+import java.time.Duration;
+import java.util.Collection;
 import java.util.concurrent.ExecutionException;
 import java.util.function.Supplier;
 
@@ -35,6 +37,7 @@ public interface TaskRunner extends AutoCloseable {
 
   int MIN_THREADS = 1;
   int MAX_THREADS = 10;
+  Duration DEFAULT_TIMEOUT = Duration.ofHours(1);
 
   /** Add a task definition to the list of tasks to run. */
   void add(TaskDefinition taskDefinition) throws Exception;
@@ -45,6 +48,19 @@ public interface TaskRunner extends AutoCloseable {
     stop();
   }
 
+  /**
+   * Runs the provided tasks, and blocks until they are all complete. Tasks share the threads and
+   * the limit on the number of concurrently running tasks of this task runner, so this can be
+   * called from within a running task to fan out work, without creating another thread pool. The
+   * calling thread also runs tasks while it waits, and counts towards the limit on running tasks,
+   * so a call from outside a running task may wait until other tasks finish. Tasks are not added to
+   * the timing report, and any dependencies between them are ignored.
+   *
+   * @param taskDefinitions Tasks to run
+   * @throws Exception On an exception in any one of the tasks.
+   */
+  void invokeAll(Collection<TaskDefinition> taskDefinitions) throws Exception;
+
   /**
    * Id of this task runner.
    *
@@ -77,7 +93,8 @@ public interface TaskRunner extends AutoCloseable {
 
   /**
    * Submit the current list of tasks for execution, and block until execution is complete. Then
-   * clears the task list.
+   * clears the task list. Each task is started as soon as the tasks it depends on have completed.
+   * If any task fails, no further tasks are started.
    *
    * @throws Exception On an exception in any one of the tasks.
    */
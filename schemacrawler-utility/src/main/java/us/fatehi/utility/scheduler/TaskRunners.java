@@ -30,6 +30,7 @@ package us.fatehi.utility.scheduler;
 
 import static us.fatehi.utility.PropertiesUtility.getSystemConfigurationProperty;
 
+import java.time.Duration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
@@ -37,16 +38,77 @@ public class TaskRunners {
 
   private static final Logger LOGGER = Logger.getLogger(TaskRunners.class.getName());
 
+  /**
+   * Gets a task runner that runs all tasks in the calling thread, one after the other.
+   *
+   * @param id Id of the task runner
+   * @return Single-threaded task runner
+   */
+  public static TaskRunner getMainThreadTaskRunner(final String id) {
+    return new MainThreadTaskRunner(id);
+  }
+
   public static TaskRunner getTaskRunner(final String id, final int maxThreadsSuggested) {
+    return getTaskRunner(id, maxThreadsSuggested, TaskRunner.DEFAULT_TIMEOUT);
+  }
+
+  /**
+   * Gets a task runner that runs tasks on multiple threads, unless configured to run them in the
+   * calling thread.
+   *
+   * @param id Id of the task runner
+   * @param maxThreadsSuggested Number of threads to use
+   * @param timeout Time to wait for submitted tasks to complete, before giving up on them
+   * @return Task runner
+   */
+  public static TaskRunner getTaskRunner(
+      final String id, final int maxThreadsSuggested, final Duration timeout) {
+    return getTaskRunner(id, maxThreadsSuggested, 0, timeout);
+  }
+
+  /**
+   * Gets a task runner that runs tasks on multiple threads, unless configured to run them in the
+   * calling thread. Tasks that run in virtual threads do not use up a thread while they wait on the
+   * database, so they are limited by the number of database connections instead of by the number of
+   * threads, and may run more than {@link TaskRunner#MAX_THREADS} tasks at a time.
+   *
+   * @param id Id of the task runner
+   * @param maxThreadsSuggested Number of threads to use
+   * @param maxConnections Number of database connections that tasks can use at the same time, or
+   *     zero if this is not known
+   * @param timeout Time to wait for submitted tasks to complete, before giving up on them
+   * @return Task runner
+   */
+  public static TaskRunner getTaskRunner(
+      final String id,
+      final int maxThreadsSuggested,
+      final int maxConnections,
+      final Duration timeout) {
     final boolean isSingleThreaded =
         Boolean.valueOf(
             getSystemConfigurationProperty("SC_SINGLE_THREADED", Boolean.FALSE.toString()));
     if (isSingleThreaded) {
       LOGGER.log(Level.CONFIG, "Loading database schema in the main thread");
-      return new MainThreadTaskRunner(id);
-    } else {
-      LOGGER.log(Level.CONFIG, "Loading database schema using multiple threads");
-      return new MultiThreadedTaskRunner(id, maxThreadsSuggested);
+      return getMainThreadTaskRunner(id);
     }
+
+    // Virtual threads are opt-in, since JDBC drivers may pin virtual threads to their carrier
+    // threads while they wait on the database
+    final boolean useVirtualThreads =
+        Boolean.valueOf(
+            getSystemConfigurationProperty("SC_VIRTUAL_THREADS", Boolean.FALSE.toString()));
+    if (useVirtualThreads && VirtualThreadTaskRunner.isSupported()) {
+      try {
+        final int maxRunningTasks = maxConnections > 0 ? maxConnections : maxThreadsSuggested;
+        final TaskRunner taskRunner = new VirtualThreadTaskRunner(id, maxRunningTasks, timeout);
+        LOGGER.log(Level.CONFIG, "Loading database schema using virtual threads");
+        return taskRunner;
+      } catch (final Exception e) {
+        LOGGER.log(Level.WARNING, "Could not use virtual threads, so using a thread pool", e);
+      }
+    }
+
+    LOGGER.log(Level.CONFIG, "Loading database schema using multiple threads");
+    return new MultiThreadedTaskRunner(id, maxThreadsSuggested, timeout);
   }
 }
@@ -0,0 +1,108 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.scheduler;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * Runs each task in a virtual thread of its own. Since retrieval tasks spend most of their time
+ * waiting on database calls, the number of tasks that run at the same time is limited by the number
+ * of database connections they may use, rather than by a number of platform threads. Virtual
+ * threads are only available on newer Java versions, so the executor is created reflectively.
+ */
+public final class VirtualThreadTaskRunner extends MultiThreadedTaskRunner {
+
+  private static final Logger LOGGER = Logger.getLogger(VirtualThreadTaskRunner.class.getName());
+
+  private static final boolean isSupported;
+
+  static {
+    boolean supported;
+    try {
+      newVirtualThreadPerTaskExecutor().shutdown();
+      supported = true;
+    } catch (final Exception e) {
+      LOGGER.log(Level.CONFIG, "Virtual threads are not supported - " + e.getMessage());
+      supported = false;
+    }
+    isSupported = supported;
+  }
+
+  /**
+   * Checks whether the Java runtime supports virtual threads. On older Java versions the method to
+   * create a virtual thread executor does not exist, and on some versions it is a preview feature
+   * that throws an exception unless previews are enabled.
+   *
+   * @return True if virtual threads can be used
+   */
+  public static boolean isSupported() {
+    return isSupported;
+  }
+
+  private static ExecutorService newVirtualThreadPerTaskExecutor() throws Exception {
+    final Method method = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+    return (ExecutorService) method.invoke(null);
+  }
+
+  /**
+   * Task runner that runs each task in a virtual thread.
+   *
+   * @param id Id of the task runner
+   * @param maxConnections Maximum number of tasks that can run at the same time
+   * @param timeout Time to wait for submitted tasks to complete
+   * @throws Exception If virtual threads are not supported
+   */
+  public VirtualThreadTaskRunner(final String id, final int maxConnections, final Duration timeout)
+      throws Exception {
+    super(id, newVirtualThreadPerTaskExecutor(), maxConnections, timeout);
+  }
+
+  /**
+   * Task runner that runs each task in a thread from the provided thread factory, rather than in a
+   * virtual thread, with the same limit on the number of running tasks. This can be used on Java
+   * versions that do not support virtual threads.
+   *
+   * @param id Id of the task runner
+   * @param maxConnections Maximum number of tasks that can run at the same time
+   * @param timeout Time to wait for submitted tasks to complete
+   * @param threadFactory Factory for threads to run tasks in
+   */
+  public VirtualThreadTaskRunner(
+      final String id,
+      final int maxConnections,
+      final Duration timeout,
+      final ThreadFactory threadFactory) {
+    super(id, Executors.newCachedThreadPool(threadFactory), maxConnections, timeout);
+  }
+}
@@ -0,0 +1,73 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.string;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A pool of strings, so that equal strings can share a single instance. Unlike {@link
+ * String#intern()}, strings are only held for as long as the pool itself, so a pool can be used for
+ * the duration of a task, and then discarded. The pool can be shared between threads.
+ */
+public final class StringInterner {
+
+  private final Map<String, String> pool;
+
+  public StringInterner() {
+    pool = new ConcurrentHashMap<>();
+  }
+
+  /**
+   * Gets the pooled instance of a string that is equal to the provided string. If there is no such
+   * string in the pool yet, the provided string is added to the pool, and returned.
+   *
+   * @param value String to look up
+   * @return Pooled instance of the string, or null if the provided string is null
+   */
+  public String intern(final String value) {
+    if (value == null) {
+      return null;
+    }
+    final String pooledValue = pool.putIfAbsent(value, value);
+    if (pooledValue == null) {
+      return value;
+    }
+    return pooledValue;
+  }
+
+  /**
+   * Number of distinct strings in the pool.
+   *
+   * @return Number of strings
+   */
+  public int size() {
+    return pool.size();
+  }
+}
@@ -0,0 +1,62 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.datasource;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+
+public class DataSourceConnectionSourceTest {
+
+  /** Data source with a maximum pool size, named the same as in HikariCP. */
+  public static class PooledDataSource extends DriverManagerDataSource {
+
+    private final int maximumPoolSize;
+
+    public PooledDataSource(final int maximumPoolSize) {
+      this.maximumPoolSize = maximumPoolSize;
+    }
+
+    public int getMaximumPoolSize() {
+      return maximumPoolSize;
+    }
+  }
+
+  @Test
+  public void maxConnections() throws Exception {
+    assertThat(
+        new DataSourceConnectionSource(new DriverManagerDataSource()).getMaxConnections(), is(0));
+    assertThat(
+        new DataSourceConnectionSource(new PooledDataSource(25)).getMaxConnections(), is(25));
+    // Negative sizes mean that the pool has no limit
+    assertThat(new DataSourceConnectionSource(new PooledDataSource(-1)).getMaxConnections(), is(0));
+  }
+}
@@ -84,6 +84,12 @@ public class SimpleDatabaseConnectionSourceTest {
     assertThat(unwrappedConnection.isClosed(), is(true));
   }
 
+  @Test
+  public void maxConnections() throws Exception {
+    // Connections are opened as they are needed, with no limit
+    assertThat(databaseConnectionSource.getMaxConnections(), is(0));
+  }
+
   @BeforeEach
   public void createDatabase() throws Exception {
 
@@ -0,0 +1,207 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+import java.util.zip.ZipException;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.TestInstance.Lifecycle;
+
+import us.fatehi.utility.BlockGzipInputStream;
+import us.fatehi.utility.BlockGzipOutputStream;
+
+@TestInstance(Lifecycle.PER_CLASS)
+public class BlockGzipStreamTest {
+
+  private final ForkJoinPool pool = new ForkJoinPool(3);
+
+  @Test
+  public void badCrc() throws IOException {
+    final byte[] compressed = compress(data(1000), 100);
+    // Change the CRC of the last member
+    compressed[compressed.length - 8] ^= 1;
+
+    assertThrows(
+        ZipException.class,
+        () -> readFully(new BlockGzipInputStream(new ByteArrayInputStream(compressed), pool)));
+  }
+
+  @Test
+  public void badUncompressedSize() throws IOException {
+    final byte[] compressed = compress(data(1000), 100);
+    // Record a huge uncompressed size for the last member
+    for (int i = compressed.length - 4; i < compressed.length; i++) {
+      compressed[i] = (byte) 0xFF;
+    }
+    compressed[compressed.length - 1] = 0x7F;
+
+    assertThrows(
+        ZipException.class,
+        () -> readFully(new BlockGzipInputStream(new ByteArrayInputStream(compressed), pool)));
+  }
+
+  @Test
+  public void blockSizeTooLarge() {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    assertThrows(
+        IllegalArgumentException.class,
+        () -> new BlockGzipOutputStream(bytes, pool, Integer.MAX_VALUE));
+    assertThrows(IllegalArgumentException.class, () -> new BlockGzipOutputStream(bytes, pool, 0));
+  }
+
+  @Test
+  public void emptyStream() throws IOException {
+    final byte[] compressed = compress(new byte[0], 100);
+
+    assertThat(isBlockCompressed(compressed), is(true));
+    assertThat(
+        readFully(new BlockGzipInputStream(new ByteArrayInputStream(compressed), pool)).length,
+        is(0));
+    assertThat(readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))).length, is(0));
+  }
+
+  @Test
+  public void gzipStream() throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final OutputStream out = new GZIPOutputStream(bytes)) {
+      out.write(data(1000));
+    }
+    final byte[] compressed = bytes.toByteArray();
+
+    assertThat(isBlockCompressed(compressed), is(false));
+    assertThat(isBlockCompressed(new byte[] {31}), is(false));
+    assertThrows(
+        ZipException.class,
+        () -> readFully(new BlockGzipInputStream(new ByteArrayInputStream(compressed), pool)));
+  }
+
+  @Test
+  public void roundTrip() throws IOException {
+    final byte[] data = data(100_000);
+    // Small blocks, so that many blocks are compressed and read ahead in parallel
+    final byte[] compressed = compress(data, 1000);
+
+    assertThat(isBlockCompressed(compressed), is(true));
+    assertThat(
+        readFully(new BlockGzipInputStream(new ByteArrayInputStream(compressed), pool)), is(data));
+    // Block compressed streams are also plain gzip streams
+    assertThat(readFully(new GZIPInputStream(new ByteArrayInputStream(compressed))), is(data));
+  }
+
+  @Test
+  public void roundTripByteAtATime() throws IOException {
+    final byte[] data = data(2500);
+
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final OutputStream out = new BlockGzipOutputStream(bytes, pool, 1000)) {
+      for (final byte b : data) {
+        out.write(b);
+      }
+    }
+
+    final ByteArrayOutputStream uncompressed = new ByteArrayOutputStream();
+    try (final InputStream in =
+        new BlockGzipInputStream(new ByteArrayInputStream(bytes.toByteArray()), pool)) {
+      int b;
+      while ((b = in.read()) != -1) {
+        uncompressed.write(b);
+      }
+    }
+    assertThat(uncompressed.toByteArray(), is(data));
+  }
+
+  @AfterAll
+  public void shutdownPool() {
+    pool.shutdown();
+  }
+
+  @Test
+  public void truncatedStream() throws IOException {
+    final byte[] compressed = compress(data(10_000), 1000);
+    final byte[] truncated = new byte[compressed.length - 10];
+    System.arraycopy(compressed, 0, truncated, 0, truncated.length);
+
+    assertThrows(
+        IOException.class,
+        () -> readFully(new BlockGzipInputStream(new ByteArrayInputStream(truncated), pool)));
+  }
+
+  private byte[] compress(final byte[] data, final int blockSize) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final OutputStream out = new BlockGzipOutputStream(bytes, pool, blockSize)) {
+      out.write(data);
+    }
+    return bytes.toByteArray();
+  }
+
+  /** Data that compresses, but not trivially. */
+  private byte[] data(final int length) {
+    final Random random = new Random(length);
+    final byte[] data = new byte[length];
+    for (int i = 0; i < length; i++) {
+      data[i] = (byte) ('a' + random.nextInt(8));
+    }
+    return data;
+  }
+
+  private boolean isBlockCompressed(final byte[] compressed) throws IOException {
+    final InputStream in = new BufferedInputStream(new ByteArrayInputStream(compressed));
+    final boolean isBlockCompressed = BlockGzipInputStream.isBlockCompressed(in);
+    assertThat("Stream was consumed", in.read(), is(compressed[0] & 0xFF));
+    return isBlockCompressed;
+  }
+
+  private byte[] readFully(final InputStream in) throws IOException {
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    try (final InputStream input = in) {
+      final byte[] buffer = new byte[777];
+      int count;
+      while ((count = input.read(buffer)) != -1) {
+        bytes.write(buffer, 0, count);
+      }
+    }
+    return bytes.toByteArray();
+  }
+}
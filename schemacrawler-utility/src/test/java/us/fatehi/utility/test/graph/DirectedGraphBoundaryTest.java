@@ -29,11 +29,18 @@ http://www.gnu.org/licenses/
 package us.fatehi.utility.test.graph;
 
 import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.is;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Collection;
+import java.util.List;
 
 import org.junit.jupiter.api.Test;
 
 import us.fatehi.utility.graph.DirectedGraph;
+import us.fatehi.utility.graph.GraphException;
+import us.fatehi.utility.graph.TarjanStronglyConnectedComponentFinder;
 
 /**
  * Tests from https://github.com/danielrbradley/CycleDetection/blob/master/
@@ -66,4 +73,60 @@ public class DirectedGraphBoundaryTest extends GraphTestBase {
     assertThat(containsCycleSimple(graph), is(false));
     assertThat(containsCycleTarjan(graph), is(false));
   }
+
+  @Test
+  public void longChain() throws Exception {
+    final int size = 100_000;
+    final DirectedGraph<Integer> graph = new DirectedGraph<>("");
+    for (int i = size - 1; i > 0; i--) {
+      graph.addEdge(i - 1, i);
+    }
+
+    final List<Integer> sorted = topologicalSort(graph);
+    assertThat(sorted.size(), is(size));
+    for (int i = 0; i < size; i++) {
+      assertThat(sorted.get(i), is(i));
+    }
+
+    graph.addEdge(size - 1, 0);
+    assertThrows(GraphException.class, () -> topologicalSort(graph));
+  }
+
+  @Test
+  public void longCycle() throws Exception {
+    final int size = 100_000;
+    final DirectedGraph<Integer> graph = new DirectedGraph<>("");
+    for (int i = 1; i < size; i++) {
+      graph.addEdge(i - 1, i);
+    }
+    graph.addEdge(size - 1, 0);
+    // Separate short cycle, reached from the long one
+    graph.addEdge(0, size);
+    graph.addEdge(size, size + 1);
+    graph.addEdge(size + 1, size);
+
+    final Collection<List<Integer>> sccs =
+        new TarjanStronglyConnectedComponentFinder<>(graph).detectCycles();
+    assertThat(sccs.size(), is(2));
+    for (final List<Integer> scc : sccs) {
+      if (scc.size() == 2) {
+        assertThat(scc, contains(size, size + 1));
+      } else {
+        assertThat(scc.size(), is(size));
+        assertThat(scc.get(0), is(0));
+        assertThat(scc.get(size - 1), is(size - 1));
+      }
+    }
+  }
+
+  @Test
+  public void levels() throws Exception {
+    final DirectedGraph<String> graph = new DirectedGraph<>("");
+    graph.addEdge("Z", "B");
+    graph.addEdge("B", "A");
+    graph.addEdge("Y", "A");
+    graph.addVertex("C");
+
+    assertThat(topologicalSort(graph), contains("C", "Y", "Z", "B", "A"));
+  }
 }
@@ -0,0 +1,231 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+package us.fatehi.utility.test.scheduler;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
+
+public class TaskRunnerTest {
+
+  @Test
+  public void cyclicDependencies() throws Exception {
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("cyclic", 2)) {
+      taskRunner.add(new TaskDefinition("taskA", () -> {}, asList("taskB")));
+      taskRunner.add(new TaskDefinition("taskB", () -> {}, asList("taskA")));
+      assertThrows(IllegalStateException.class, () -> taskRunner.submit());
+    }
+  }
+
+  @Test
+  public void dependenciesRunFirst() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("dependencies", 4)) {
+      // Added in reverse order of dependencies
+      taskRunner.add(
+          new TaskDefinition("taskC", () -> completed.add("taskC"), asList("taskB", "unknown")));
+      taskRunner.add(new TaskDefinition("taskB", () -> completed.add("taskB"), asList("taskA")));
+      taskRunner.add(
+          new TaskDefinition(
+              "taskA",
+              () -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                completed.add("taskA");
+              }));
+      taskRunner.submit();
+    }
+    assertThat(completed, contains("taskA", "taskB", "taskC"));
+  }
+
+  @Test
+  public void failedTaskStopsDependents() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("failed", 2)) {
+      taskRunner.add(
+          new TaskDefinition(
+              "taskA",
+              () -> {
+                throw new RuntimeException("Forced failure");
+              }));
+      taskRunner.add(new TaskDefinition("taskB", () -> completed.add("taskB"), asList("taskA")));
+      assertThrows(RuntimeException.class, () -> taskRunner.submit());
+    }
+    assertThat(completed, is(empty()));
+  }
+
+  @Test
+  public void fanOutFromRunningTask() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+    // With a single thread, fanned out tasks can only run if the
+    // calling thread runs them
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("fanOut", 1)) {
+      taskRunner.add(
+          new TaskDefinition(
+              "outerTask",
+              () -> {
+                final List<TaskDefinition> innerTasks = new ArrayList<>();
+                for (int i = 0; i < 5; i++) {
+                  final String taskName = "innerTask" + i;
+                  innerTasks.add(new TaskDefinition(taskName, () -> completed.add(taskName)));
+                }
+                taskRunner.invokeAll(innerTasks);
+                completed.add("outerTask");
+              }));
+      taskRunner.submit();
+    }
+    assertThat(completed.size(), is(6));
+    assertThat(completed.get(5), is("outerTask"));
+  }
+
+  @Test
+  public void fanOutFailure() throws Exception {
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("fanOutFailure", 3)) {
+      final List<TaskDefinition> tasks = new ArrayList<>();
+      for (int i = 0; i < 5; i++) {
+        tasks.add(
+            new TaskDefinition(
+                "task" + i,
+                () -> {
+                  throw new RuntimeException("Forced failure");
+                }));
+      }
+      assertThrows(RuntimeException.class, () -> taskRunner.invokeAll(tasks));
+    }
+  }
+
+  @Test
+  public void fanOutFromSeveralThreads() throws Exception {
+    // Calling threads also run tasks, and count towards the limit on running tasks
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    final ExecutorService callers = Executors.newFixedThreadPool(3);
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("callers", 2)) {
+      final List<Future<Void>> calls = new ArrayList<>();
+      for (int i = 0; i < 3; i++) {
+        final List<TaskDefinition> tasks = new ArrayList<>();
+        for (int j = 0; j < 4; j++) {
+          tasks.add(
+              new TaskDefinition(
+                  String.format("task%d%d", i, j),
+                  () -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    TimeUnit.MILLISECONDS.sleep(50);
+                    running.decrementAndGet();
+                  }));
+        }
+        calls.add(
+            callers.submit(
+                () -> {
+                  taskRunner.invokeAll(tasks);
+                  return null;
+                }));
+      }
+      for (final Future<Void> call : calls) {
+        call.get();
+      }
+    } finally {
+      callers.shutdown();
+    }
+    assertThat(maxRunning.get(), is(lessThanOrEqualTo(2)));
+  }
+
+  @Test
+  public void independentTaskDoesNotWaitForSlowTask() throws Exception {
+    final CountDownLatch slowTaskLatch = new CountDownLatch(1);
+    final List<String> completed = new CopyOnWriteArrayList<>();
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("independent", 3)) {
+      taskRunner.add(
+          new TaskDefinition(
+              "slowTask",
+              () -> {
+                slowTaskLatch.await(5, TimeUnit.SECONDS);
+                completed.add("slowTask");
+              }));
+      taskRunner.add(new TaskDefinition("fastTask", () -> completed.add("fastTask")));
+      // Only depends on the fast task, so can release the slow task
+      taskRunner.add(
+          new TaskDefinition(
+              "followOnTask",
+              () -> {
+                completed.add("followOnTask");
+                slowTaskLatch.countDown();
+              },
+              asList("fastTask")));
+      taskRunner.submit();
+    }
+    assertThat(completed.indexOf("followOnTask"), lessThan(completed.indexOf("slowTask")));
+  }
+
+  @Test
+  public void timedOutTasks() throws Exception {
+    final CountDownLatch stuckTaskLatch = new CountDownLatch(1);
+    final List<String> completed = new CopyOnWriteArrayList<>();
+    try (final TaskRunner taskRunner =
+        TaskRunners.getTaskRunner("timedOut", 2, Duration.ofMillis(200))) {
+      taskRunner.add(
+          new TaskDefinition(
+              "stuckTask",
+              () -> {
+                stuckTaskLatch.await(30, TimeUnit.SECONDS);
+                completed.add("stuckTask");
+              }));
+      taskRunner.add(
+          new TaskDefinition(
+              "dependentTask", () -> completed.add("dependentTask"), asList("stuckTask")));
+      // Does not wait for the stuck task to complete
+      assertThrows(TimeoutException.class, () -> taskRunner.submit());
+      assertThat(completed, is(empty()));
+      stuckTaskLatch.countDown();
+    }
+    // Tasks waiting on a timed out task are not started
+    assertThat(completed, contains("stuckTask"));
+  }
+}
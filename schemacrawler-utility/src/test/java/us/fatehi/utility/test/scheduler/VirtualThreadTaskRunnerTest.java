@@ -0,0 +1,174 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.scheduler;
+
+import static java.util.Arrays.asList;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.everyItem;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+import static us.fatehi.utility.scheduler.TaskRunner.DEFAULT_TIMEOUT;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.scheduler.TaskDefinition;
+import us.fatehi.utility.scheduler.TaskRunner;
+import us.fatehi.utility.scheduler.TaskRunners;
+import us.fatehi.utility.scheduler.VirtualThreadTaskRunner;
+
+/**
+ * Tests run tasks in platform threads, so that the limits on running tasks are checked on every
+ * Java version, and only use virtual threads where they are supported.
+ */
+public class VirtualThreadTaskRunnerTest {
+
+  private static List<TaskDefinition> countingTasks(
+      final int count, final AtomicInteger running, final AtomicInteger maxRunning) {
+    final List<TaskDefinition> tasks = new ArrayList<>();
+    for (int i = 0; i < count; i++) {
+      tasks.add(
+          new TaskDefinition(
+              "task" + i,
+              () -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                TimeUnit.MILLISECONDS.sleep(50);
+                running.decrementAndGet();
+              }));
+    }
+    return tasks;
+  }
+
+  private static TaskRunner newTaskRunner(final String id, final int maxConnections) {
+    return new VirtualThreadTaskRunner(
+        id, maxConnections, DEFAULT_TIMEOUT, Executors.defaultThreadFactory());
+  }
+
+  @Test
+  public void dependenciesRunFirst() throws Exception {
+    final List<String> completed = new CopyOnWriteArrayList<>();
+    try (final TaskRunner taskRunner = newTaskRunner("dependencies", 4)) {
+      taskRunner.add(new TaskDefinition("taskC", () -> completed.add("taskC"), asList("taskB")));
+      taskRunner.add(new TaskDefinition("taskB", () -> completed.add("taskB"), asList("taskA")));
+      taskRunner.add(
+          new TaskDefinition(
+              "taskA",
+              () -> {
+                TimeUnit.MILLISECONDS.sleep(100);
+                completed.add("taskA");
+              }));
+      taskRunner.submit();
+    }
+    assertThat(completed, contains("taskA", "taskB", "taskC"));
+  }
+
+  @Test
+  public void limitedByConnections() throws Exception {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    try (final TaskRunner taskRunner = newTaskRunner("limited", 2)) {
+      for (final TaskDefinition task : countingTasks(8, running, maxRunning)) {
+        taskRunner.add(task);
+      }
+      taskRunner.submit();
+    }
+    assertThat(maxRunning.get(), is(lessThanOrEqualTo(2)));
+    assertThat(running.get(), is(0));
+  }
+
+  @Test
+  public void limitedToAtLeastOneTask() throws Exception {
+    final AtomicInteger running = new AtomicInteger();
+    final AtomicInteger maxRunning = new AtomicInteger();
+    try (final TaskRunner taskRunner = newTaskRunner("clamped", 0)) {
+      taskRunner.invokeAll(countingTasks(4, running, maxRunning));
+    }
+    assertThat(maxRunning.get(), is(1));
+  }
+
+  @Test
+  public void notLimitedByMaxThreads() throws Exception {
+    // Every task waits until all of them are running at the same time
+    final int maxConnections = TaskRunner.MAX_THREADS + 2;
+    final CountDownLatch allRunning = new CountDownLatch(maxConnections);
+    final List<TaskDefinition> tasks = new ArrayList<>();
+    for (int i = 0; i < maxConnections; i++) {
+      tasks.add(
+          new TaskDefinition(
+              "task" + i,
+              () -> {
+                allRunning.countDown();
+                if (!allRunning.await(5, TimeUnit.SECONDS)) {
+                  throw new TimeoutException("Not all tasks are running");
+                }
+              }));
+    }
+    try (final TaskRunner taskRunner = newTaskRunner("unlimited", maxConnections)) {
+      taskRunner.invokeAll(tasks);
+    }
+    assertThat(allRunning.getCount(), is(0L));
+  }
+
+  @Test
+  public void runsInVirtualThreads() throws Exception {
+    assumeTrue(VirtualThreadTaskRunner.isSupported(), "Virtual threads are not supported");
+
+    final Method isVirtual = Thread.class.getMethod("isVirtual");
+    final List<Boolean> virtualThreads = new CopyOnWriteArrayList<>();
+    try (final TaskRunner taskRunner = new VirtualThreadTaskRunner("virtual", 2, DEFAULT_TIMEOUT)) {
+      for (int i = 0; i < 4; i++) {
+        taskRunner.add(
+            new TaskDefinition(
+                "task" + i,
+                () -> virtualThreads.add((Boolean) isVirtual.invoke(Thread.currentThread()))));
+      }
+      taskRunner.submit();
+    }
+    assertThat(virtualThreads, everyItem(is(true)));
+  }
+
+  @Test
+  public void taskRunnerType() throws Exception {
+    // Virtual threads are not used unless they are asked for
+    try (final TaskRunner taskRunner = TaskRunners.getTaskRunner("type", 2)) {
+      assertThat(taskRunner instanceof VirtualThreadTaskRunner, is(false));
+    }
+  }
+}
@@ -0,0 +1,89 @@
+/*
+========================================================================
+SchemaCrawler
+http://www.schemacrawler.com
+Copyright (c) 2000-2023, Sualeh Fatehi <sualeh@hotmail.com>.
+All rights reserved.
+------------------------------------------------------------------------
+
+SchemaCrawler is distributed in the hope that it will be useful, but
+WITHOUT ANY WARRANTY; without even the implied warranty of
+MERCHANTABILITY or FITNESS FOR A PARTICULAR PURPOSE.
+
+SchemaCrawler and the accompanying materials are made available under
+the terms of the Eclipse Public License v1.0, GNU General Public License
+v3 or GNU Lesser General Public License v3.
+
+You may elect to redistribute this code under any of these licenses.
+
+The Eclipse Public License is available at:
+http://www.eclipse.org/legal/epl-v10.html
+
+The GNU General Public License v3 and the GNU Lesser General Public
+License v3 are available at:
+http://www.gnu.org/licenses/
+
+========================================================================
+*/
+
+package us.fatehi.utility.test.string;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.Test;
+
+import us.fatehi.utility.string.StringInterner;
+
+public class StringInternerTest {
+
+  @Test
+  public void intern() {
+    final StringInterner stringInterner = new StringInterner();
+
+    final String value1 = new String("TABLE_NAME");
+    final String value2 = new String("TABLE_NAME");
+    assertThat(value1, is(not(sameInstance(value2))));
+
+    assertThat(stringInterner.intern(value1), is(sameInstance(value1)));
+    assertThat(stringInterner.intern(value2), is(sameInstance(value1)));
+    assertThat(stringInterner.intern("COLUMN_NAME"), is("COLUMN_NAME"));
+    assertThat(stringInterner.size(), is(2));
+  }
+
+  @Test
+  public void internConcurrently() throws Exception {
+    final StringInterner stringInterner = new StringInterner();
+
+    final ExecutorService executorService = Executors.newFixedThreadPool(4);
+    try {
+      final List<Future<String>> futures = new ArrayList<>();
+      for (int i = 0; i < 100; i++) {
+        futures.add(executorService.submit(() -> stringInterner.intern(new String("SCHEMA"))));
+      }
+      final String pooledValue = stringInterner.intern("SCHEMA");
+      for (final Future<String> future : futures) {
+        assertThat(future.get(), is(sameInstance(pooledValue)));
+      }
+    } finally {
+      executorService.shutdownNow();
+    }
+    assertThat(stringInterner.size(), is(1));
+  }
+
+  @Test
+  public void internNull() {
+    final StringInterner stringInterner = new StringInterner();
+    assertThat(stringInterner.intern(null), is(nullValue()));
+    assertThat(stringInterner.size(), is(0));
+  }
+}